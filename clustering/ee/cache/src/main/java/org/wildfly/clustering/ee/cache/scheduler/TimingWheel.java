@@ -0,0 +1,274 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.logging.Logger;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A hierarchical timing wheel driven by a single thread, which may be shared by any number of schedulers.
+ * <p>
+ * Time is divided into ticks of a fixed, coarse-grained duration. Each level of the wheel is an array of slots, where a single slot
+ * spans all the slots of the level below it. A timeout is placed in the slot of the lowest level able to hold its deadline, and is
+ * moved down a level once the wheel reaches that slot, so that scheduling and canceling a timeout run in O(1) time, regardless of the
+ * number of pending timeouts. A timeout expires on the first tick following its deadline.
+ * <p>
+ * Timeouts are scheduled and canceled via lock-free queues, which are drained by the wheel thread on every tick.
+ * Expiration tasks run on the wheel thread, and should therefore complete quickly.
+ */
+public class TimingWheel implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(TimingWheel.class);
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(TimingWheel.class);
+
+    static final String TICK_PROPERTY = "org.wildfly.clustering.scheduler.timing-wheel.tick";
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    // Number of ticks spanned by the wheel, beyond which timeouts are parked in the last slot of the highest level
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private static class DefaultTimingWheelHolder {
+        static final TimingWheel INSTANCE = new TimingWheel(Duration.ofMillis(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(TICK_PROPERTY, "100"))));
+    }
+
+    /**
+     * Returns the timing wheel shared by all schedulers, whose tick duration is configured via the {@value #TICK_PROPERTY} system property,
+     * in milliseconds, and defaults to 100 ms.
+     * @return the shared timing wheel
+     */
+    public static TimingWheel getDefault() {
+        return DefaultTimingWheelHolder.INSTANCE;
+    }
+
+    private final long tickNanos;
+    private final long origin = System.nanoTime();
+    private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean closed = false;
+    // Accessed by the wheel thread only
+    private long currentTick = 0;
+
+    /**
+     * Creates and starts a timing wheel using the specified tick duration.
+     * @param tick the duration of a tick
+     */
+    public TimingWheel(Duration tick) {
+        this.tickNanos = Math.max(1L, tick.toNanos());
+        for (Slot[] level : this.wheel) {
+            for (int i = 0; i < SLOTS; ++i) {
+                level[i] = new Slot();
+            }
+        }
+        this.thread = THREAD_FACTORY.newThread(this::run);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Returns the duration of a tick of this wheel.
+     * @return the duration of a tick
+     */
+    public Duration getTick() {
+        return Duration.ofNanos(this.tickNanos);
+    }
+
+    /**
+     * Schedules the specified task to run on the first tick following the specified instant.
+     * @param instant the instant after which the task should run
+     * @param task a task which should complete quickly
+     * @return a timeout which may be used to cancel the task
+     */
+    public Timeout schedule(Instant instant, Runnable task) {
+        long nanos;
+        try {
+            nanos = Duration.between(Instant.now(), instant).toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE / 2;
+        }
+        long elapsed = System.nanoTime() - this.origin + Math.max(0L, Math.min(nanos, Long.MAX_VALUE / 2));
+        // Round up to the next tick
+        Timeout timeout = new Timeout(this, (elapsed + this.tickNanos - 1) / this.tickNanos, task);
+        this.additions.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.thread);
+    }
+
+    private void run() {
+        long nextTick = this.origin + this.tickNanos;
+        while (!this.closed) {
+            long delay = nextTick - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(this, delay);
+                continue;
+            }
+            this.tick();
+            nextTick += this.tickNanos;
+        }
+    }
+
+    // Accessed by the wheel thread only
+    private void tick() {
+        long tick = ++this.currentTick;
+        // Move the timeouts of the higher level slots reached by this tick to the lower levels, starting with the highest level
+        for (int level = LEVELS - 1; level > 0; --level) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                Slot slot = this.wheel[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK];
+                for (Timeout timeout : slot.clear()) {
+                    if (timeout.state == Timeout.PENDING) {
+                        this.place(timeout);
+                    }
+                }
+            }
+        }
+        Timeout canceled = this.cancellations.poll();
+        while (canceled != null) {
+            if (canceled.slot != null) {
+                canceled.slot.remove(canceled);
+            }
+            canceled = this.cancellations.poll();
+        }
+        Timeout added = this.additions.poll();
+        while (added != null) {
+            if (added.state == Timeout.PENDING) {
+                this.place(added);
+            }
+            added = this.additions.poll();
+        }
+        for (Timeout timeout : this.wheel[0][(int) tick & SLOT_MASK].clear()) {
+            timeout.expire();
+        }
+    }
+
+    // Accessed by the wheel thread only
+    private void place(Timeout timeout) {
+        long deadline = timeout.deadline;
+        long delta = deadline - this.currentTick;
+        if (delta >= SPAN) {
+            deadline = this.currentTick + SPAN - 1;
+            delta = SPAN - 1;
+        }
+        int level = 0;
+        while ((level < LEVELS - 1) && (delta >= (1L << (SLOT_BITS * (level + 1))))) {
+            level += 1;
+        }
+        // Overdue timeouts are placed in the current slot, which expires at the end of the current tick
+        long slotTick = Math.max(deadline, this.currentTick);
+        this.wheel[level][(int) (slotTick >>> (SLOT_BITS * level)) & SLOT_MASK].add(timeout);
+    }
+
+    /**
+     * A scheduled task of a timing wheel.
+     */
+    public static class Timeout {
+        static final int PENDING = 0;
+        static final int CANCELED = 1;
+        static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        volatile int state = PENDING;
+        // Links of the slot holding this timeout, accessed by the wheel thread only
+        Slot slot;
+        Timeout previous;
+        Timeout next;
+
+        Timeout(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels this timeout, if it did not expire yet.
+         * @return true, if this timeout was canceled, false if it already expired or was canceled
+         */
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, PENDING, CANCELED)) {
+                this.wheel.cancellations.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        void expire() {
+            if (STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                try {
+                    this.task.run();
+                } catch (Throwable e) {
+                    LOGGER.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts, accessed by the wheel thread only.
+     */
+    static class Slot {
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = this.head;
+            if (this.head != null) {
+                this.head.previous = timeout;
+            }
+            this.head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                this.head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        List<Timeout> clear() {
+            List<Timeout> timeouts = new ArrayList<>();
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.slot = null;
+                timeout.previous = null;
+                timeout.next = null;
+                timeouts.add(timeout);
+                timeout = next;
+            }
+            this.head = null;
+            return timeouts;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.wildfly.clustering.context.DefaultExecutorService;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Scheduler that schedules its entries on a {@link TimingWheel}, typically shared with the schedulers of other deployments.
+ * Scheduling and canceling an entry run in O(1) time.
+ * Tasks never run on the thread of the timing wheel: they run either on a thread owned by this scheduler, as with {@link LocalScheduler},
+ * or via a specified executor.
+ * As with {@link LocalScheduler}, an entry is only removed once its task is successful, otherwise the task is retried on the next tick,
+ * unless the task itself rescheduled the entry.
+ */
+public class TimingWheelScheduler<T> implements Scheduler<T, Instant> {
+
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(TimingWheelScheduler.class);
+
+    static final String ENABLED_PROPERTY = "org.wildfly.clustering.scheduler.timing-wheel";
+
+    /**
+     * Indicates whether expiration schedulers should use the shared timing wheel, as configured via the {@value #ENABLED_PROPERTY} system property.
+     * @return true, if the shared timing wheel should be used, false otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+    }
+
+    private final TimingWheel wheel;
+    private final Predicate<T> task;
+    private final Executor executor;
+    // The executor owned by this scheduler, if any, which is shut down on close
+    private final ExecutorService ownedExecutor;
+    private final Duration closeTimeout;
+    private final Map<T, ScheduledTask> tasks = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a scheduler using the shared timing wheel, whose tasks run sequentially on a thread owned by this scheduler.
+     * @param task a task, returning true if the entry should be removed
+     * @param closeTimeout the duration for which {@link #close()} waits for a running task to complete
+     */
+    public TimingWheelScheduler(Predicate<T> task, Duration closeTimeout) {
+        this(TimingWheel.getDefault(), task, createExecutor(), closeTimeout);
+    }
+
+    /**
+     * Creates a scheduler using the shared timing wheel, whose tasks run via the specified executor.
+     * The lifecycle of the executor is managed by the caller.
+     * @param task a task, returning true if the entry should be removed
+     * @param executor the executor of the tasks
+     */
+    public TimingWheelScheduler(Predicate<T> task, Executor executor) {
+        this(TimingWheel.getDefault(), task, executor);
+    }
+
+    public TimingWheelScheduler(TimingWheel wheel, Predicate<T> task, Executor executor) {
+        this.wheel = wheel;
+        this.task = task;
+        this.executor = executor;
+        this.ownedExecutor = null;
+        this.closeTimeout = Duration.ZERO;
+    }
+
+    TimingWheelScheduler(TimingWheel wheel, Predicate<T> task, ExecutorService executor, Duration closeTimeout) {
+        this.wheel = wheel;
+        this.task = task;
+        this.executor = executor;
+        this.ownedExecutor = executor;
+        this.closeTimeout = closeTimeout;
+    }
+
+    static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), THREAD_FACTORY);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void schedule(T id, Instant instant) {
+        if (this.closed) return;
+        ScheduledTask task = new ScheduledTask(id);
+        ScheduledTask previous = this.tasks.put(id, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        task.schedule(instant);
+    }
+
+    @Override
+    public void cancel(T id) {
+        ScheduledTask task = this.tasks.remove(id);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public boolean contains(T id) {
+        return this.tasks.containsKey(id);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return this.tasks.keySet().stream();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        for (ScheduledTask task : this.tasks.values()) {
+            task.cancel();
+        }
+        this.tasks.clear();
+        ExecutorService executor = this.ownedExecutor;
+        if (executor != null) {
+            WildFlySecurityManager.doPrivilegedWithParameter(executor, DefaultExecutorService.SHUTDOWN_ACTION);
+            // Wait for a running task to complete
+            if (!this.closeTimeout.isNegative() && !this.closeTimeout.isZero()) {
+                try {
+                    executor.awaitTermination(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.tasks.keySet().toString();
+    }
+
+    private class ScheduledTask implements Runnable {
+        private final T id;
+        private volatile TimingWheel.Timeout timeout;
+
+        ScheduledTask(T id) {
+            this.id = id;
+        }
+
+        void schedule(Instant instant) {
+            this.timeout = TimingWheelScheduler.this.wheel.schedule(instant, this);
+        }
+
+        void cancel() {
+            TimingWheel.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                TimingWheelScheduler.this.executor.execute(this::expire);
+            } catch (RejectedExecutionException e) {
+                // Executor was shutdown
+            }
+        }
+
+        private void expire() {
+            Map<T, ScheduledTask> tasks = TimingWheelScheduler.this.tasks;
+            // Skip if this entry was canceled or rescheduled
+            if (TimingWheelScheduler.this.closed || (tasks.get(this.id) != this)) return;
+            // Remove only if task is successful
+            if (TimingWheelScheduler.this.task.test(this.id)) {
+                tasks.remove(this.id, this);
+            } else if (!TimingWheelScheduler.this.closed && (tasks.get(this.id) == this)) {
+                // Retry on the next tick, unless the task rescheduled this entry
+                this.schedule(Instant.now());
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.ee.Scheduler;
+
+/**
+ * Compares the throughput of {@link TimingWheelScheduler} against {@link LocalScheduler} for the access pattern of a session or bean manager,
+ * i.e. cancelling the expiration of an entry when it is accessed and rescheduling it when the access completes, with many entries scheduled concurrently.
+ * Not executed by the test suite; run via, e.g.:
+ * <pre>java -cp target/test-classes:&lt;test class path&gt; org.openjdk.jmh.Main SchedulerBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class SchedulerBenchmark {
+
+    @Param({ "local-linked", "local-sorted", "timing-wheel" })
+    private String type;
+
+    @Param({ "1024" })
+    private int entries;
+
+    private TimingWheel wheel;
+    private Scheduler<UUID, Instant> scheduler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Entries never expire during a measurement, so the task itself does not contribute
+        Duration closeTimeout = Duration.ofSeconds(1);
+        switch (this.type) {
+            case "local-linked":
+                this.scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), id -> true, closeTimeout);
+                break;
+            case "local-sorted":
+                this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), id -> true, closeTimeout);
+                break;
+            case "timing-wheel":
+                this.wheel = new TimingWheel(Duration.ofMillis(100));
+                this.scheduler = new TimingWheelScheduler<>(this.wheel, id -> true, Runnable::run);
+                break;
+            default:
+                throw new IllegalArgumentException(this.type);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void destroy() {
+        this.scheduler.close();
+        if (this.wheel != null) {
+            this.wheel.close();
+        }
+    }
+
+    /**
+     * The entries accessed by a given benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Entries {
+        private UUID[] ids;
+        private int index = 0;
+
+        @Setup(Level.Trial)
+        public void setup(SchedulerBenchmark benchmark) {
+            this.ids = new UUID[benchmark.entries];
+            Instant expiration = Instant.now().plus(Duration.ofHours(1));
+            for (int i = 0; i < this.ids.length; ++i) {
+                this.ids[i] = UUID.randomUUID();
+                benchmark.scheduler.schedule(this.ids[i], expiration);
+            }
+        }
+
+        UUID next() {
+            UUID id = this.ids[this.index];
+            this.index = (this.index + 1) % this.ids.length;
+            return id;
+        }
+    }
+
+    @Benchmark
+    public void reschedule(Entries entries) {
+        UUID id = entries.next();
+        this.scheduler.cancel(id);
+        this.scheduler.schedule(id, Instant.now().plus(Duration.ofHours(1)));
+    }
+
+    @Benchmark
+    public boolean contains(Entries entries) {
+        return this.scheduler.contains(entries.next());
+    }
+}
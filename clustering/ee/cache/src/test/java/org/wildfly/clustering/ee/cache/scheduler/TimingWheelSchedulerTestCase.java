@@ -0,0 +1,156 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Scheduler;
+
+/**
+ * Unit test for {@link TimingWheelScheduler}.
+ */
+public class TimingWheelSchedulerTestCase {
+
+    private final TimingWheel wheel = new TimingWheel(Duration.ofMillis(10));
+
+    @After
+    public void destroy() {
+        this.wheel.close();
+    }
+
+    @Test
+    public void successfulTask() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (Scheduler<UUID, Instant> scheduler = new TimingWheelScheduler<>(this.wheel, task, Runnable::run)) {
+            when(task.test(id)).thenReturn(true);
+
+            scheduler.schedule(id, Instant.now());
+
+            Assert.assertTrue(scheduler.contains(id));
+
+            verify(task, timeout(500)).test(id);
+
+            Thread.sleep(100);
+
+            // Verify that entry was removed
+            Assert.assertFalse(scheduler.contains(id));
+            verify(task, times(1)).test(id);
+        }
+    }
+
+    @Test
+    public void retryUntilSuccessfulTask() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (Scheduler<UUID, Instant> scheduler = new TimingWheelScheduler<>(this.wheel, task, Runnable::run)) {
+            when(task.test(id)).thenReturn(false, true);
+
+            scheduler.schedule(id, Instant.now());
+
+            verify(task, timeout(500).times(2)).test(id);
+
+            Thread.sleep(100);
+
+            // Verify that entry was eventually removed
+            Assert.assertFalse(scheduler.contains(id));
+        }
+    }
+
+    @Test
+    public void futureTask() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (Scheduler<UUID, Instant> scheduler = new TimingWheelScheduler<>(this.wheel, task, Runnable::run)) {
+            when(task.test(id)).thenReturn(true);
+
+            // Beyond the span of the first level of the wheel
+            scheduler.schedule(id, Instant.now().plusMillis(1000));
+
+            Thread.sleep(500);
+
+            verify(task, never()).test(id);
+
+            verify(task, timeout(1000)).test(id);
+        }
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (Scheduler<UUID, Instant> scheduler = new TimingWheelScheduler<>(this.wheel, task, Runnable::run)) {
+            scheduler.schedule(id, Instant.now().plusMillis(100));
+
+            scheduler.cancel(id);
+
+            Assert.assertFalse(scheduler.contains(id));
+
+            Thread.sleep(300);
+
+            verify(task, never()).test(id);
+        }
+    }
+
+    @Test
+    public void reschedule() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (Scheduler<UUID, Instant> scheduler = new TimingWheelScheduler<>(this.wheel, task, Runnable::run)) {
+            when(task.test(id)).thenReturn(true);
+
+            scheduler.schedule(id, Instant.now().plusMillis(100));
+            scheduler.schedule(id, Instant.now().plusMillis(10000));
+
+            Thread.sleep(300);
+
+            // Verify that the original schedule was replaced
+            verify(task, never()).test(id);
+            Assert.assertTrue(scheduler.contains(id));
+        }
+    }
+
+    @Test
+    public void closeWaitsForRunningTask() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean completed = new AtomicBoolean(false);
+        UUID id = UUID.randomUUID();
+        Predicate<UUID> task = value -> {
+            started.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.set(true);
+            return true;
+        };
+
+        Scheduler<UUID, Instant> scheduler = new TimingWheelScheduler<>(this.wheel, task, TimingWheelScheduler.createExecutor(), Duration.ofSeconds(5));
+        scheduler.schedule(id, Instant.now());
+
+        Assert.assertTrue(started.await(500, TimeUnit.MILLISECONDS));
+        scheduler.close();
+
+        Assert.assertTrue(completed.get());
+    }
+}
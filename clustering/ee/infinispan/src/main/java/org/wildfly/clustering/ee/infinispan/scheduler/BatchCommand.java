@@ -0,0 +1,47 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+
+/**
+ * Command that executes a batch of schedule/cancel commands, in order, on the primary owner.
+ */
+public class BatchCommand<I, M> implements Command<Void, CacheEntryScheduler<I, M>> {
+    private static final long serialVersionUID = -3284157412398711953L;
+
+    private final List<Command<Void, CacheEntryScheduler<I, M>>> commands;
+
+    public BatchCommand(List<Command<Void, CacheEntryScheduler<I, M>>> commands) {
+        this.commands = commands;
+    }
+
+    List<Command<Void, CacheEntryScheduler<I, M>>> getCommands() {
+        return Collections.unmodifiableList(this.commands);
+    }
+
+    @Override
+    public Void execute(CacheEntryScheduler<I, M> scheduler) {
+        for (Command<Void, CacheEntryScheduler<I, M>> command : this.commands) {
+            // A failed command must not prevent execution of the remainder of the batch
+            try {
+                command.execute(scheduler);
+            } catch (Exception e) {
+                Logger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%s", this.getClass().getSimpleName(), this.commands);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+
+/**
+ * ProtoStream marshaller for a {@link BatchCommand}.
+ */
+public class BatchCommandMarshaller<I, M> implements ProtoStreamMarshaller<BatchCommand<I, M>> {
+
+    private static final byte COMMAND_INDEX = 1;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<? extends BatchCommand<I, M>> getJavaClass() {
+        return (Class<BatchCommand<I, M>>) (Class<?>) BatchCommand.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public BatchCommand<I, M> readFrom(ProtoStreamReader reader) throws IOException {
+        List<Command<Void, CacheEntryScheduler<I, M>>> commands = new LinkedList<>();
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            switch (WireType.getTagFieldNumber(tag)) {
+                case COMMAND_INDEX:
+                    commands.add((Command<Void, CacheEntryScheduler<I, M>>) reader.readAny());
+                    break;
+                default:
+                    reader.skipField(tag);
+            }
+        }
+        return new BatchCommand<>(commands);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, BatchCommand<I, M> command) throws IOException {
+        for (Command<Void, CacheEntryScheduler<I, M>> entry : command.getCommands()) {
+            writer.writeAny(COMMAND_INDEX, entry);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.wildfly.clustering.context.DefaultExecutorService;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Coalesces the schedule/cancel commands destined for a given remote primary owner within a short window into a single {@link BatchCommand}.
+ * Commands for a given primary owner are executed in the order in which they were submitted.
+ */
+public class PrimaryOwnerCommandBatcher<I, M> implements AutoCloseable {
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(PrimaryOwnerCommandBatcher.class);
+
+    static final String WINDOW_PROPERTY = "org.wildfly.clustering.scheduler.batch-window";
+    static final String MAX_SIZE_PROPERTY = "org.wildfly.clustering.scheduler.batch-max-size";
+
+    private static final Duration WINDOW = Duration.ofMillis(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(WINDOW_PROPERTY, "0")));
+    private static final int MAX_SIZE = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_SIZE_PROPERTY, "256"));
+
+    /**
+     * Indicates whether batching of schedule/cancel commands is enabled, i.e. whether the {@value #WINDOW_PROPERTY} system property specifies a positive number of milliseconds.
+     * @return true, if batching is enabled, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return !WINDOW.isZero() && !WINDOW.isNegative();
+    }
+
+    private final CommandDispatcher<CacheEntryScheduler<I, M>> dispatcher;
+    private final PrimaryOwnerSchedulerStatistics statistics;
+    private final Duration window;
+    private final int maxSize;
+    private final ScheduledExecutorService executor;
+    // Guarded by this
+    private final Map<Node, Batch<I, M>> batches = new HashMap<>();
+
+    public PrimaryOwnerCommandBatcher(CommandDispatcher<CacheEntryScheduler<I, M>> dispatcher, PrimaryOwnerSchedulerStatistics statistics) {
+        this(dispatcher, statistics, WINDOW, MAX_SIZE);
+    }
+
+    PrimaryOwnerCommandBatcher(CommandDispatcher<CacheEntryScheduler<I, M>> dispatcher, PrimaryOwnerSchedulerStatistics statistics, Duration window, int maxSize) {
+        this.dispatcher = dispatcher;
+        this.statistics = statistics;
+        this.window = window;
+        this.maxSize = maxSize;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        // Pending batches are flushed explicitly on close
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Submits the specified command for execution on the specified primary owner as part of the next batch.
+     * @param node the primary owner
+     * @param command a schedule/cancel command
+     * @return a stage that completes when the batch containing the specified command was executed.
+     */
+    public CompletionStage<Void> submit(Node node, Command<Void, CacheEntryScheduler<I, M>> command) {
+        Batch<I, M> flushable = null;
+        Batch<I, M> batch = null;
+        synchronized (this) {
+            batch = this.batches.get(node);
+            boolean created = (batch == null);
+            if (created) {
+                batch = new Batch<>();
+                this.batches.put(node, batch);
+            }
+            batch.add(command);
+            if (batch.size() >= this.maxSize) {
+                this.batches.remove(node);
+                flushable = batch;
+            } else if (created) {
+                Batch<I, M> scheduled = batch;
+                try {
+                    this.executor.schedule(() -> this.flush(node, scheduled), this.window.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Batcher was closed
+                    this.batches.remove(node);
+                    flushable = batch;
+                }
+            }
+        }
+        if (flushable != null) {
+            this.send(node, flushable);
+        }
+        return batch.getResult();
+    }
+
+    /**
+     * Immediately sends any pending batch for the specified primary owner.
+     * @param node the primary owner
+     * @return a stage that completes when the pending batch, if any, was executed.
+     */
+    public CompletionStage<Void> flush(Node node) {
+        Batch<I, M> batch = null;
+        synchronized (this) {
+            batch = this.batches.remove(node);
+        }
+        if (batch == null) return CompletableFuture.completedStage(null);
+        this.send(node, batch);
+        return batch.getResult();
+    }
+
+    private void flush(Node node, Batch<I, M> batch) {
+        synchronized (this) {
+            // Batch may have already been flushed
+            if (!this.batches.remove(node, batch)) return;
+        }
+        this.send(node, batch);
+    }
+
+    private void send(Node node, Batch<I, M> batch) {
+        List<Command<Void, CacheEntryScheduler<I, M>>> commands = batch.getCommands();
+        // Avoid the overhead of a batch for a single command
+        Command<Void, CacheEntryScheduler<I, M>> command = (commands.size() == 1) ? commands.get(0) : new BatchCommand<>(commands);
+        Logger.ROOT_LOGGER.tracef("Executing command %s on %s", command, node);
+        try {
+            CompletionStage<Void> stage = this.dispatcher.executeOnMember(command, node);
+            if (commands.size() == 1) {
+                this.statistics.recordRemoteInvocation();
+            } else {
+                this.statistics.recordBatch(commands.size());
+            }
+            stage.whenComplete(batch);
+        } catch (CommandDispatcherException e) {
+            batch.getResult().completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        Map<Node, Batch<I, M>> batches = null;
+        synchronized (this) {
+            batches = new HashMap<>(this.batches);
+            this.batches.clear();
+        }
+        for (Map.Entry<Node, Batch<I, M>> entry : batches.entrySet()) {
+            this.send(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static class Batch<I, M> implements BiConsumer<Void, Throwable> {
+        private final List<Command<Void, CacheEntryScheduler<I, M>>> commands = new ArrayList<>();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        void add(Command<Void, CacheEntryScheduler<I, M>> command) {
+            this.commands.add(command);
+        }
+
+        int size() {
+            return this.commands.size();
+        }
+
+        List<Command<Void, CacheEntryScheduler<I, M>>> getCommands() {
+            return this.commands;
+        }
+
+        CompletableFuture<Void> getResult() {
+            return this.result;
+        }
+
+        @Override
+        public void accept(Void result, Throwable exception) {
+            if (exception != null) {
+                this.result.completeExceptionally(exception);
+            } else {
+                this.result.complete(null);
+            }
+        }
+    }
+}
@@ -37,22 +37,52 @@ public class PrimaryOwnerScheduler<I, K, M> implements Scheduler<I, M>, Function
     private final Function<I, K> keyFactory;
     private final CommandDispatcher<CacheEntryScheduler<I, M>> dispatcher;
     private final BiFunction<I, M, ScheduleCommand<I, M>> scheduleCommandFactory;
+    private final boolean asynchronousCancel;
+    private final Node localMember;
+    private final PrimaryOwnerSchedulerStatistics statistics;
+    private final PrimaryOwnerCommandBatcher<I, M> batcher;
 
     public <C, L> PrimaryOwnerScheduler(CommandDispatcherFactory dispatcherFactory, String name, CacheEntryScheduler<I, M> scheduler, Function<K, Node> primaryOwnerLocator, Function<I, K> keyFactory) {
         this(dispatcherFactory, name, scheduler, primaryOwnerLocator, keyFactory, ScheduleWithTransientMetaDataCommand::new);
     }
 
     public <C, L> PrimaryOwnerScheduler(CommandDispatcherFactory dispatcherFactory, String name, CacheEntryScheduler<I, M> scheduler, Function<K, Node> primaryOwnerLocator, Function<I, K> keyFactory, BiFunction<I, M, ScheduleCommand<I, M>> scheduleCommandFactory) {
+        this(dispatcherFactory, name, scheduler, primaryOwnerLocator, keyFactory, scheduleCommandFactory, false, new PrimaryOwnerSchedulerStatistics());
+    }
+
+    /**
+     * Creates a scheduler that schedules/cancels a given object on its primary owner.
+     * Schedule/cancel commands destined for a remote primary owner are batched if {@link PrimaryOwnerCommandBatcher#isEnabled()}.
+     * @param dispatcherFactory a command dispatcher factory
+     * @param name the name of the command dispatcher
+     * @param scheduler the local scheduler
+     * @param primaryOwnerLocator locates the primary owner of a given key
+     * @param keyFactory creates the key of a given identifier
+     * @param scheduleCommandFactory creates the command that schedules a given identifier
+     * @param asynchronousCancel indicates whether {@link #cancel(Object)} may return before the cancellation completes on the primary owner.
+     *        This is only appropriate if the scheduled task of the primary owner verifies that its object is still eligible for execution.
+     * @param statistics records the remote invocations of this scheduler
+     */
+    public <C, L> PrimaryOwnerScheduler(CommandDispatcherFactory dispatcherFactory, String name, CacheEntryScheduler<I, M> scheduler, Function<K, Node> primaryOwnerLocator, Function<I, K> keyFactory, BiFunction<I, M, ScheduleCommand<I, M>> scheduleCommandFactory, boolean asynchronousCancel, PrimaryOwnerSchedulerStatistics statistics) {
         this.dispatcher = dispatcherFactory.createCommandDispatcher(name, scheduler, keyFactory.apply(null).getClass().getClassLoader());
         this.primaryOwnerLocator = primaryOwnerLocator;
         this.keyFactory = keyFactory;
         this.scheduleCommandFactory = scheduleCommandFactory;
+        this.asynchronousCancel = asynchronousCancel;
+        this.localMember = dispatcherFactory.getGroup().getLocalMember();
+        this.statistics = statistics;
+        this.batcher = PrimaryOwnerCommandBatcher.isEnabled() ? new PrimaryOwnerCommandBatcher<>(this.dispatcher, statistics) : null;
     }
 
     @Override
     public void schedule(I id, M metaData) {
         try {
-            this.executeOnPrimaryOwner(id, this.scheduleCommandFactory.apply(id, metaData));
+            this.submitToPrimaryOwner(id, this.scheduleCommandFactory.apply(id, metaData)).exceptionally(e -> {
+                if (!(e instanceof CancellationException)) {
+                    Logger.ROOT_LOGGER.failedToSchedule(e, id);
+                }
+                return null;
+            });
         } catch (CommandDispatcherException e) {
             Logger.ROOT_LOGGER.failedToSchedule(e, id);
         }
@@ -61,7 +91,17 @@ public class PrimaryOwnerScheduler<I, K, M> implements Scheduler<I, M>, Function
     @Override
     public void cancel(I id) {
         try {
-            this.executeOnPrimaryOwner(id, new CancelCommand<>(id)).toCompletableFuture().join();
+            CompletionStage<Void> stage = this.submitToPrimaryOwner(id, new CancelCommand<>(id));
+            if (this.asynchronousCancel) {
+                stage.exceptionally(e -> {
+                    if (!(e instanceof CancellationException)) {
+                        Logger.ROOT_LOGGER.failedToCancel(e, id);
+                    }
+                    return null;
+                });
+            } else {
+                stage.toCompletableFuture().join();
+            }
         } catch (CommandDispatcherException | CompletionException e) {
             Logger.ROOT_LOGGER.failedToCancel(e, id);
         } catch (CancellationException e) {
@@ -81,22 +121,53 @@ public class PrimaryOwnerScheduler<I, K, M> implements Scheduler<I, M>, Function
         }
     }
 
+    private CompletionStage<Void> submitToPrimaryOwner(I id, Command<Void, CacheEntryScheduler<I, M>> command) throws CommandDispatcherException {
+        PrimaryOwnerCommandBatcher<I, M> batcher = this.batcher;
+        if (batcher == null) {
+            return this.executeOnPrimaryOwner(id, command);
+        }
+        K key = this.keyFactory.apply(id);
+        Function<K, Node> primaryOwnerLocator = this.primaryOwnerLocator;
+        Node localMember = this.localMember;
+        ExceptionSupplier<CompletionStage<Void>, CommandDispatcherException> action = new ExceptionSupplier<>() {
+            @Override
+            public CompletionStage<Void> get() throws CommandDispatcherException {
+                Node node = primaryOwnerLocator.apply(key);
+                // Local commands are never batched
+                return node.equals(localMember) ? PrimaryOwnerScheduler.this.execute(node, command) : batcher.submit(node, command);
+            }
+        };
+        return INVOKER.invoke(action);
+    }
+
     private <R> CompletionStage<R> executeOnPrimaryOwner(I id, Command<R, CacheEntryScheduler<I, M>> command) throws CommandDispatcherException {
         K key = this.keyFactory.apply(id);
         Function<K, Node> primaryOwnerLocator = this.primaryOwnerLocator;
-        CommandDispatcher<CacheEntryScheduler<I, M>> dispatcher = this.dispatcher;
+        PrimaryOwnerCommandBatcher<I, M> batcher = this.batcher;
         ExceptionSupplier<CompletionStage<R>, CommandDispatcherException> action = new ExceptionSupplier<>() {
             @Override
             public CompletionStage<R> get() throws CommandDispatcherException {
                 Node node = primaryOwnerLocator.apply(key);
-                Logger.ROOT_LOGGER.tracef("Executing command %s on %s", command, node);
-                // This should only go remote following a failover
-                return dispatcher.executeOnMember(command, node);
+                if (batcher != null) {
+                    // Ensure any pending commands for this primary owner are executed first
+                    batcher.flush(node).handle((result, exception) -> null).toCompletableFuture().join();
+                }
+                return PrimaryOwnerScheduler.this.execute(node, command);
             }
         };
         return INVOKER.invoke(action);
     }
 
+    private <R> CompletionStage<R> execute(Node node, Command<R, CacheEntryScheduler<I, M>> command) throws CommandDispatcherException {
+        Logger.ROOT_LOGGER.tracef("Executing command %s on %s", command, node);
+        // This should only go remote following a failover
+        CompletionStage<R> stage = this.dispatcher.executeOnMember(command, node);
+        if (!node.equals(this.localMember)) {
+            this.statistics.recordRemoteInvocation();
+        }
+        return stage;
+    }
+
     @Override
     public Stream<I> stream() {
         try {
@@ -121,6 +192,9 @@ public class PrimaryOwnerScheduler<I, K, M> implements Scheduler<I, M>, Function
 
     @Override
     public void close() {
+        if (this.batcher != null) {
+            this.batcher.close();
+        }
         this.dispatcher.close();
         this.dispatcher.getContext().close();
     }
@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the remote invocations of a {@link PrimaryOwnerScheduler}.
+ * A single instance may be shared by multiple schedulers.
+ */
+public class PrimaryOwnerSchedulerStatistics {
+
+    private final LongAdder remoteInvocations = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedCommands = new LongAdder();
+
+    /**
+     * Returns the number of commands sent to a remote primary owner, where a batch of commands counts as a single invocation.
+     * @return a number of remote invocations
+     */
+    public long getRemoteInvocations() {
+        return this.remoteInvocations.sum();
+    }
+
+    /**
+     * Returns the number of batches of commands sent to a remote primary owner.
+     * @return a number of batches
+     */
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Returns the total number of commands sent to a remote primary owner within a batch.
+     * The average batch size is the ratio of this value to {@link #getBatches()}.
+     * @return a number of commands
+     */
+    public long getBatchedCommands() {
+        return this.batchedCommands.sum();
+    }
+
+    void recordRemoteInvocation() {
+        this.remoteInvocations.increment();
+    }
+
+    void recordBatch(int size) {
+        this.remoteInvocations.increment();
+        this.batches.increment();
+        this.batchedCommands.add(size);
+    }
+}
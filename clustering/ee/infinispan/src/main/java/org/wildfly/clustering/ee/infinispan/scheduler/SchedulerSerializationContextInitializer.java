@@ -26,5 +26,6 @@ public class SchedulerSerializationContextInitializer extends AbstractSerializat
         context.registerMarshaller(new FunctionalScalarMarshaller<>(ScheduleWithTransientMetaDataCommand.class, Scalar.ANY, ScheduleWithTransientMetaDataCommand::getId, ScheduleWithTransientMetaDataCommand::new));
         context.registerMarshaller(new ScheduleWithMetaDataCommandMarshaller<>());
         context.registerMarshaller(new ValueMarshaller<>(new EntriesCommand<>()));
+        context.registerMarshaller(new BatchCommandMarshaller<>());
     }
 }
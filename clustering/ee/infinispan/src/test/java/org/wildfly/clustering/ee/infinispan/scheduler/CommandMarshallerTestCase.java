@@ -6,9 +6,11 @@
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.marshalling.MarshallingTesterFactory;
 import org.wildfly.clustering.marshalling.Tester;
 import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
@@ -56,4 +58,24 @@ public class CommandMarshallerTestCase {
         Assert.assertEquals(expected.getId(), actual.getId());
         Assert.assertEquals(expected.getMetaData(), actual.getMetaData());
     }
+
+    @Test
+    public void testBatchCommand() throws IOException {
+        Tester<BatchCommand<String, String>> tester = this.factory.createTester();
+
+        tester.test(new BatchCommand<>(List.of()), this::assertEquals);
+        tester.test(new BatchCommand<>(List.of(new ScheduleWithMetaDataCommand<>("foo", "bar"), new CancelCommand<>("bar"), new ScheduleWithTransientMetaDataCommand<>("baz"))), this::assertEquals);
+    }
+
+    <I, M> void assertEquals(BatchCommand<I, M> expected, BatchCommand<I, M> actual) {
+        List<Command<Void, CacheEntryScheduler<I, M>>> expectedCommands = expected.getCommands();
+        List<Command<Void, CacheEntryScheduler<I, M>>> actualCommands = actual.getCommands();
+        Assert.assertEquals(expectedCommands.size(), actualCommands.size());
+        for (int i = 0; i < expectedCommands.size(); ++i) {
+            Command<Void, CacheEntryScheduler<I, M>> expectedCommand = expectedCommands.get(i);
+            Command<Void, CacheEntryScheduler<I, M>> actualCommand = actualCommands.get(i);
+            Assert.assertSame(expectedCommand.getClass(), actualCommand.getClass());
+            Assert.assertEquals(expectedCommand.toString(), actualCommand.toString());
+        }
+    }
 }
@@ -13,6 +13,7 @@ import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.expiration.AbstractExpirationScheduler;
 import org.wildfly.clustering.ejb.bean.Bean;
@@ -36,7 +37,7 @@ public class BeanExpirationScheduler<K, V extends BeanInstance<K>, M> extends Ab
     private final ImmutableBeanMetaDataFactory<K, M> factory;
 
     public BeanExpirationScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<K, V, M> factory, BeanExpirationConfiguration<K, V> expiration, Duration closeTimeout) {
-        super(new LocalScheduler<>(group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>(), new BeanRemoveTask<>(batcher, factory, expiration.getExpirationListener()), closeTimeout));
+        super(TimingWheelScheduler.isEnabled() ? new TimingWheelScheduler<>(new BeanRemoveTask<>(batcher, factory, expiration.getExpirationListener()), closeTimeout) : new LocalScheduler<>(group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>(), new BeanRemoveTask<>(batcher, factory, expiration.getExpirationListener()), closeTimeout));
         this.factory = factory.getMetaDataFactory();
     }
 
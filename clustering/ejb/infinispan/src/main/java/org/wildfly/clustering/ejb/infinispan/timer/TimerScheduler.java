@@ -8,22 +8,23 @@ package org.wildfly.clustering.ejb.infinispan.timer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.wildfly.clustering.context.DefaultThreadFactory;
 import org.wildfly.clustering.ee.Scheduler;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.scheduler.AbstractCacheEntryScheduler;
@@ -46,27 +47,16 @@ public class TimerScheduler<I, V, C> extends AbstractCacheEntryScheduler<I, Immu
     private final TimerFactory<I, V, C> factory;
 
     public TimerScheduler(TimerFactory<I, V, C> factory, TimerManager<I, TransactionBatch> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry) {
-        this(factory, manager, locality, closeTimeout, registry, new SortedScheduledEntries<>(), Executors.newSingleThreadExecutor(THREAD_FACTORY));
+        this(factory, manager, locality, closeTimeout, registry, Executors.newSingleThreadExecutor(THREAD_FACTORY));
     }
 
-    private TimerScheduler(TimerFactory<I, V, C> factory, TimerManager<I, TransactionBatch> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry, ScheduledEntries<I, Instant> entries, ExecutorService executor) {
-        this(entries, new InvokeTask<>(factory, manager, locality, entries, registry, executor), closeTimeout, registry, executor, factory);
+    private TimerScheduler(TimerFactory<I, V, C> factory, TimerManager<I, TransactionBatch> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry, ExecutorService executor) {
+        this(new InvokeTask<>(factory, manager, locality, registry, executor), closeTimeout, registry, executor, factory);
     }
 
-    private <T extends Predicate<I> & Consumer<Scheduler<I, ImmutableTimerMetaData>>> TimerScheduler(ScheduledEntries<I, Instant> entries, T invokeTask, Duration closeTimeout, TimerRegistry<I> registry, ExecutorService executor, TimerFactory<I, V, C> factory) {
-        this(new LocalScheduler<>(entries, invokeTask, closeTimeout) {
-            @Override
-            public void cancel(I id) {
-                registry.unregister(id);
-                super.cancel(id);
-            }
-
-            @Override
-            public void close() {
-                super.close();
-                executor.shutdown();
-            }
-        }, invokeTask, factory);
+    private TimerScheduler(InvokeTask<I, V, C> invokeTask, Duration closeTimeout, TimerRegistry<I> registry, ExecutorService executor, TimerFactory<I, V, C> factory) {
+        // Timeouts scheduled on the shared timing wheel are invoked directly by the executor
+        this(new TimerRegistryScheduler<>(TimingWheelScheduler.isEnabled() ? new TimingWheelScheduler<>(invokeTask::invoke, executor) : new LocalScheduler<>(new SortedScheduledEntries<>(), invokeTask, closeTimeout), registry, executor, closeTimeout), invokeTask, factory);
     }
 
     private TimerScheduler(Scheduler<I, Instant> scheduler, Consumer<Scheduler<I, ImmutableTimerMetaData>> injector, TimerFactory<I, V, C> factory) {
@@ -89,16 +79,14 @@ public class TimerScheduler<I, V, C> extends AbstractCacheEntryScheduler<I, Immu
         private final TimerFactory<I, V, C> factory;
         private final TimerManager<I, TransactionBatch> manager;
         private final Supplier<Locality> locality;
-        private final ScheduledEntries<I, Instant> entries;
         private final TimerRegistry<I> registry;
         private final ExecutorService executor;
         private Scheduler<I, ImmutableTimerMetaData> scheduler;
 
-        InvokeTask(TimerFactory<I, V, C> factory, TimerManager<I, TransactionBatch> manager, Supplier<Locality> locality, ScheduledEntries<I, Instant> entries, TimerRegistry<I> registry, ExecutorService executor) {
+        InvokeTask(TimerFactory<I, V, C> factory, TimerManager<I, TransactionBatch> manager, Supplier<Locality> locality, TimerRegistry<I> registry, ExecutorService executor) {
             this.factory = factory;
             this.manager = manager;
             this.locality = locality;
-            this.entries = entries;
             this.registry = registry;
             this.executor = executor;
         }
@@ -110,95 +98,8 @@ public class TimerScheduler<I, V, C> extends AbstractCacheEntryScheduler<I, Immu
 
         @Override
         public boolean test(I id) {
-            TimerFactory<I, V, C> factory = this.factory;
-            TimerManager<I, TransactionBatch> manager = this.manager;
-            Supplier<Locality> locality = this.locality;
-            ScheduledEntries<I, Instant> entries = this.entries;
-            TimerRegistry<I> registry = this.registry;
-            Scheduler<I, ImmutableTimerMetaData> scheduler = this.scheduler;
-            // Ensure timer is owned by local member
-            if (!locality.get().isLocal(new GroupedKey<>(id))) {
-                InfinispanEjbLogger.ROOT_LOGGER.debugf("Skipping timeout processing of non-local timer %s", id);
-                return true;
-            }
-            Callable<Boolean> task = new Callable<>() {
-                @Override
-                public Boolean call() throws Exception {
-                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Initiating timeout for timer %s", id);
-                    TimerMetaDataFactory<I, V, C> metaDataFactory = factory.getMetaDataFactory();
-                    try (TransactionBatch batch = manager.getBatcher().createBatch()) {
-                        V value = metaDataFactory.findValue(id);
-                        if (value == null) {
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer not found %s", id);
-                            return true;
-                        }
-
-                        TimerMetaData metaData = metaDataFactory.createTimerMetaData(id, value);
-                        Optional<Instant> currentTimeoutReference = metaData.getNextTimeout();
-
-                        // Safeguard : ensure timeout was not already triggered elsewhere
-                        if (currentTimeoutReference.isEmpty()) {
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Unexpected timeout event triggered.", id);
-                            return false;
-                        }
-                        Instant currentTimeout = currentTimeoutReference.get();
-                        if (currentTimeout.isAfter(Instant.now())) {
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Timeout for timer %s initiated prematurely.", id);
-                            return false;
-                        }
-
-                        Timer<I> timer = factory.createTimer(id, metaData, manager, scheduler);
-
-                        InfinispanEjbLogger.ROOT_LOGGER.debugf("Triggering timeout for timer %s [%s]", id, timer.getMetaData().getContext());
-
-                        // In case we need to reset the last timeout
-                        Optional<Instant> lastTimeout = metaData.getLastTimeout();
-                        // Record last timeout - expected to be set prior to triggering timeout
-                        metaData.setLastTimeout(currentTimeout);
-
-                        try {
-                            timer.invoke();
-                        } catch (ExecutionException e) {
-                            // Log error and proceed as if it was successful
-                            InfinispanEjbLogger.ROOT_LOGGER.error(e.getLocalizedMessage(), e);
-                        } catch (RejectedExecutionException e) {
-                            // Component is not started or is suspended
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("EJB component is suspended - could not invoke timeout for timer %s", id);
-                            // Reset last timeout
-                            metaData.setLastTimeout(lastTimeout.orElse(null));
-                            return false;
-                        }
-
-                        // If timeout callback canceled this timer
-                        if (timer.isCanceled()) {
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Timeout callback canceled timer %s", id);
-                            return true;
-                        }
-
-                        // Determine next timeout
-                        Optional<Instant> nextTimeout = metaData.getNextTimeout();
-                        if (nextTimeout.isEmpty()) {
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer %s has expired", id);
-                            registry.unregister(id);
-                            factory.getMetaDataFactory().remove(id);
-                            return true;
-                        }
-
-                        // Only reschedule if timer is still local
-                        if (!locality.get().isLocal(new GroupedKey<>(id))) {
-                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer %s is no longer local", id);
-                            return true;
-                        }
-
-                        // Reschedule using next timeout
-                        InfinispanEjbLogger.ROOT_LOGGER.debugf("Rescheduling timer %s for next timeout %s", id, nextTimeout);
-                        entries.add(id, nextTimeout.get());
-                        return false;
-                    }
-                }
-            };
             try {
-                Future<Boolean> result = this.executor.submit(task);
+                Future<Boolean> result = this.executor.submit(() -> this.invoke(id));
                 return result.get();
             } catch (RejectedExecutionException e) {
                 // Scheduler was shutdown
@@ -212,5 +113,151 @@ public class TimerScheduler<I, V, C> extends AbstractCacheEntryScheduler<I, Immu
                 return false;
             }
         }
+
+        /**
+         * Invokes the timeout of the specified timer, if it is owned by the local member.
+         * Must run on the thread of the executor of this task.
+         * @param id a timer identifier
+         * @return true, if the timer should no longer be scheduled, false otherwise
+         */
+        boolean invoke(I id) {
+            // Ensure timer is owned by local member
+            if (!this.locality.get().isLocal(new GroupedKey<>(id))) {
+                InfinispanEjbLogger.ROOT_LOGGER.debugf("Skipping timeout processing of non-local timer %s", id);
+                return true;
+            }
+            InfinispanEjbLogger.ROOT_LOGGER.debugf("Initiating timeout for timer %s", id);
+            TimerFactory<I, V, C> factory = this.factory;
+            TimerMetaDataFactory<I, V, C> metaDataFactory = factory.getMetaDataFactory();
+            try (TransactionBatch batch = this.manager.getBatcher().createBatch()) {
+                V value = metaDataFactory.findValue(id);
+                if (value == null) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer not found %s", id);
+                    return true;
+                }
+
+                TimerMetaData metaData = metaDataFactory.createTimerMetaData(id, value);
+                Optional<Instant> currentTimeoutReference = metaData.getNextTimeout();
+
+                // Safeguard : ensure timeout was not already triggered elsewhere
+                if (currentTimeoutReference.isEmpty()) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Unexpected timeout event triggered.", id);
+                    return false;
+                }
+                Instant currentTimeout = currentTimeoutReference.get();
+                if (currentTimeout.isAfter(Instant.now())) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Timeout for timer %s initiated prematurely.", id);
+                    return false;
+                }
+
+                Timer<I> timer = factory.createTimer(id, metaData, this.manager, this.scheduler);
+
+                InfinispanEjbLogger.ROOT_LOGGER.debugf("Triggering timeout for timer %s [%s]", id, timer.getMetaData().getContext());
+
+                // In case we need to reset the last timeout
+                Optional<Instant> lastTimeout = metaData.getLastTimeout();
+                // Record last timeout - expected to be set prior to triggering timeout
+                metaData.setLastTimeout(currentTimeout);
+
+                try {
+                    timer.invoke();
+                } catch (ExecutionException e) {
+                    // Log error and proceed as if it was successful
+                    InfinispanEjbLogger.ROOT_LOGGER.error(e.getLocalizedMessage(), e);
+                } catch (RejectedExecutionException e) {
+                    // Component is not started or is suspended
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("EJB component is suspended - could not invoke timeout for timer %s", id);
+                    // Reset last timeout
+                    metaData.setLastTimeout(lastTimeout.orElse(null));
+                    return false;
+                } catch (Exception e) {
+                    // Log error and proceed as if it was successful
+                    InfinispanEjbLogger.ROOT_LOGGER.error(e.getLocalizedMessage(), e);
+                }
+
+                // If timeout callback canceled this timer
+                if (timer.isCanceled()) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Timeout callback canceled timer %s", id);
+                    return true;
+                }
+
+                // Determine next timeout
+                Optional<Instant> nextTimeout = metaData.getNextTimeout();
+                if (nextTimeout.isEmpty()) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer %s has expired", id);
+                    this.registry.unregister(id);
+                    factory.getMetaDataFactory().remove(id);
+                    return true;
+                }
+
+                // Only reschedule if timer is still local
+                if (!this.locality.get().isLocal(new GroupedKey<>(id))) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer %s is no longer local", id);
+                    return true;
+                }
+
+                // Reschedule using next timeout
+                InfinispanEjbLogger.ROOT_LOGGER.debugf("Rescheduling timer %s for next timeout %s", id, nextTimeout);
+                this.scheduler.schedule(id, metaData);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Scheduler decorator that unregisters canceled timers, and shuts down the executor of the timeouts on close,
+     * waiting for a running timeout to complete.
+     */
+    private static class TimerRegistryScheduler<I> implements Scheduler<I, Instant> {
+        private final Scheduler<I, Instant> scheduler;
+        private final TimerRegistry<I> registry;
+        private final ExecutorService executor;
+        private final Duration closeTimeout;
+
+        TimerRegistryScheduler(Scheduler<I, Instant> scheduler, TimerRegistry<I> registry, ExecutorService executor, Duration closeTimeout) {
+            this.scheduler = scheduler;
+            this.registry = registry;
+            this.executor = executor;
+            this.closeTimeout = closeTimeout;
+        }
+
+        @Override
+        public void schedule(I id, Instant instant) {
+            this.scheduler.schedule(id, instant);
+        }
+
+        @Override
+        public void cancel(I id) {
+            this.registry.unregister(id);
+            this.scheduler.cancel(id);
+        }
+
+        @Override
+        public boolean contains(I id) {
+            return this.scheduler.contains(id);
+        }
+
+        @Override
+        public Stream<I> stream() {
+            return this.scheduler.stream();
+        }
+
+        @Override
+        public void close() {
+            this.scheduler.close();
+            this.executor.shutdown();
+            if (!this.closeTimeout.isNegative() && !this.closeTimeout.isZero()) {
+                try {
+                    this.executor.awaitTermination(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.scheduler.toString();
+        }
     }
 }
@@ -9,24 +9,31 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.OptionalInt;
+import java.util.function.Predicate;
 
 import org.jboss.logging.Logger;
 
 /**
  * {@link MarshalledValue} implementation that uses a {@link ByteBufferMarshaller}.
+ * This implementation is lock-free: the deserialized object is assigned at most once, such that concurrent readers of a given marshalled value observe the same instance.
+ * Byte buffers are never exposed directly, so their position cannot be modified by concurrent readers.
  * @author Paul Ferraro
  * @param <T> the type wrapped by this marshalled value
  */
 public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBufferMarshaller>, Serializable {
     private static final long serialVersionUID = -8419893544424515905L;
     private static final Logger LOGGER = Logger.getLogger(ByteBufferMarshalledValue.class);
+    private static final Predicate<Object> MUTABLE = object -> false;
 
     private transient volatile ByteBufferMarshaller marshaller;
     private transient volatile T object;
     private transient volatile ByteBuffer buffer;
+    private final transient Predicate<Object> immutability;
 
     /**
      * Constructs a marshalled value from the specified object and marshaller.
@@ -34,8 +41,20 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
      * @param marshaller a marshaller suitable for marshalling the specified object
      */
     public ByteBufferMarshalledValue(T object, ByteBufferMarshaller marshaller) {
+        this(object, marshaller, MUTABLE);
+    }
+
+    /**
+     * Constructs a marshalled value from the specified object and marshaller.
+     * The marshalled form of an immutable object is generated only once.
+     * @param object the wrapped object
+     * @param marshaller a marshaller suitable for marshalling the specified object
+     * @param immutability a predicate that determines whether a given object is immutable
+     */
+    public ByteBufferMarshalledValue(T object, ByteBufferMarshaller marshaller, Predicate<Object> immutability) {
         this.marshaller = marshaller;
         this.object = object;
+        this.immutability = immutability;
     }
 
     /**
@@ -48,6 +67,7 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         // Normally, we would create a defensive ByteBuffer.asReadOnlyBuffer()
         // but this would preclude the use of operations on the backing array.
         this.buffer = buffer;
+        this.immutability = MUTABLE;
     }
 
     // Used for testing purposes only
@@ -55,40 +75,65 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         return this.object;
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
+        // N.B. Read buffer before object, since the buffer is only invalidated after the object is assigned
         return (this.buffer == null) && (this.object == null);
     }
 
-    public synchronized ByteBuffer getBuffer() throws IOException {
+    public ByteBuffer getBuffer() throws IOException {
         ByteBuffer buffer = this.buffer;
-        if ((buffer == null) && (this.object != null)) {
-            // Since the wrapped object is likely mutable, we cannot cache the generated buffer
-            buffer = this.marshaller.write(this.object);
-            // N.B. Refrain from logging wrapped object
-            // If wrapped object contains an EJB proxy, toString() will trigger an EJB invocation!
-            LOGGER.debugf("Marshalled size of %s object = %d bytes", this.object.getClass().getCanonicalName(), buffer.limit() - buffer.arrayOffset());
+        T object = this.object;
+        if (buffer != null) {
+            // N.B. Read object after buffer: if a mutable object was concurrently read from this buffer, it may already have been modified
+            // by the time the buffer is invalidated, in which case the object must be marshalled instead
+            if ((object == null) || this.isImmutable(object)) return buffer.duplicate();
+        }
+        if (object == null) return null;
+        buffer = this.marshaller.write(object);
+        // N.B. Refrain from logging wrapped object
+        // If wrapped object contains an EJB proxy, toString() will trigger an EJB invocation!
+        LOGGER.debugf("Marshalled size of %s object = %d bytes", object.getClass().getCanonicalName(), buffer.limit() - buffer.arrayOffset());
+        // Since the wrapped object is likely mutable, we cannot cache the generated buffer, unless the object is known to be immutable
+        if (this.isImmutable(object)) {
+            ByteBuffer existing = (ByteBuffer) BUFFER.compareAndExchange(this, null, buffer);
+            if (existing != null) {
+                buffer = existing;
+            }
+            return buffer.duplicate();
         }
         return buffer;
     }
 
-    public synchronized OptionalInt size() {
-        // N.B. Buffer position is guarded by synchronization on this object
-        // We invalidate buffer upon reading it, ensuring that ByteBuffer.remaining() returns the effective buffer size
-        return (this.buffer != null) ? OptionalInt.of(this.buffer.remaining()) : this.marshaller.size(this.object);
+    public OptionalInt size() {
+        ByteBuffer buffer = this.buffer;
+        // N.B. Buffer position is never modified, since the buffer is only ever read via a duplicate
+        return (buffer != null) ? OptionalInt.of(buffer.remaining()) : this.marshaller.size(this.object);
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public synchronized T get(ByteBufferMarshaller marshaller) throws IOException {
-        if (this.object == null) {
-            this.marshaller = marshaller;
-            if (this.buffer != null) {
-                // Invalidate buffer after reading object
-                this.object = (T) this.marshaller.read(this.buffer);
-                this.buffer = null;
-            }
+    public T get(ByteBufferMarshaller marshaller) throws IOException {
+        T object = this.object;
+        if (object != null) return object;
+        ByteBuffer buffer = this.buffer;
+        // If buffer was already invalidated, the object was assigned concurrently
+        if (buffer == null) return this.object;
+        T result = (T) marshaller.read(buffer.duplicate());
+        this.marshaller = marshaller;
+        // Single assignment, such that concurrent readers return the same instance
+        T existing = (T) OBJECT.compareAndExchange(this, null, result);
+        if (existing != null) return existing;
+        if ((result != null) && !this.isImmutable(result)) {
+            // Invalidate buffer after reading a potentially mutable object
+            BUFFER.compareAndSet(this, buffer, null);
         }
-        return this.object;
+        return result;
+    }
+
+    private boolean isImmutable(Object object) {
+        // Predicate is null following Java serialization
+        Predicate<Object> immutability = this.immutability;
+        return (immutability != null) && immutability.test(object);
     }
 
     @Override
@@ -131,4 +176,16 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         in.defaultReadObject();
         this.buffer = ByteBufferMarshalledValueExternalizer.readBuffer(in);
     }
+
+    private static final VarHandle OBJECT;
+    private static final VarHandle BUFFER;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            OBJECT = lookup.findVarHandle(ByteBufferMarshalledValue.class, "object", Object.class);
+            BUFFER = lookup.findVarHandle(ByteBufferMarshalledValue.class, "buffer", ByteBuffer.class);
+        } catch (ReflectiveOperationException e) {
+            throw new Error(e);
+        }
+    }
 }
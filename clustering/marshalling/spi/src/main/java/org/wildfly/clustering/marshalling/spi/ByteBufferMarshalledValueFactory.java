@@ -5,6 +5,8 @@
 
 package org.wildfly.clustering.marshalling.spi;
 
+import java.util.function.Predicate;
+
 /**
  * Factory for creating a {@link ByteBufferMarshalledValue}.
  * @author Paul Ferraro
@@ -12,9 +14,20 @@ package org.wildfly.clustering.marshalling.spi;
 public class ByteBufferMarshalledValueFactory implements MarshalledValueFactory<ByteBufferMarshaller> {
 
     private final ByteBufferMarshaller marshaller;
+    private final Predicate<Object> immutability;
 
     public ByteBufferMarshalledValueFactory(ByteBufferMarshaller marshaller) {
+        this(marshaller, object -> false);
+    }
+
+    /**
+     * Creates a marshalled value factory whose marshalled values generate the marshalled form of an immutable object only once.
+     * @param marshaller a marshaller
+     * @param immutability a predicate that determines whether a given object is immutable
+     */
+    public ByteBufferMarshalledValueFactory(ByteBufferMarshaller marshaller, Predicate<Object> immutability) {
         this.marshaller = marshaller;
+        this.immutability = immutability;
     }
 
     @Override
@@ -24,7 +37,7 @@ public class ByteBufferMarshalledValueFactory implements MarshalledValueFactory<
 
     @Override
     public <T> ByteBufferMarshalledValue<T> createMarshalledValue(T object) {
-        return new ByteBufferMarshalledValue<>(object, this.marshaller);
+        return new ByteBufferMarshalledValue<>(object, this.marshaller, this.immutability);
     }
 
     @Override
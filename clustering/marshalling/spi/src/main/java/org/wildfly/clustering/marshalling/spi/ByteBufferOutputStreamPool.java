@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of reusable {@link ByteBufferOutputStream} instances, suitable for buffers whose content is no longer referenced once released,
+ * e.g. the intermediate buffer of a nested marshalled value.
+ * Streams whose internal buffer has grown beyond a maximum capacity are not retained.
+ */
+public class ByteBufferOutputStreamPool {
+
+    private final Queue<ByteBufferOutputStream> streams;
+    private final int initialCapacity;
+    private final int maxCapacity;
+
+    /**
+     * Creates a pool of output streams.
+     * @param maxSize the maximum number of pooled streams
+     * @param initialCapacity the initial capacity of the internal buffer of a new stream
+     * @param maxCapacity the maximum capacity of the internal buffer of a pooled stream
+     */
+    public ByteBufferOutputStreamPool(int maxSize, int initialCapacity, int maxCapacity) {
+        this.streams = new ArrayBlockingQueue<>(maxSize);
+        this.initialCapacity = initialCapacity;
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Returns an empty output stream from this pool, or a new output stream if this pool is empty.
+     * @return an empty output stream
+     */
+    public ByteBufferOutputStream acquire() {
+        ByteBufferOutputStream output = this.streams.poll();
+        return (output != null) ? output : new ByteBufferOutputStream(this.initialCapacity);
+    }
+
+    /**
+     * Returns the specified output stream to this pool.
+     * The buffer of the specified stream must no longer be referenced by the caller.
+     * @param output an output stream previously acquired from this pool
+     */
+    public void release(ByteBufferOutputStream output) {
+        if (output.capacity() <= this.maxCapacity) {
+            output.reset();
+            this.streams.offer(output);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of a {@link ByteBufferMarshalledValue} shared by many threads, e.g. a cache entry read concurrently by multiple requests,
+ * both via its deserialized object and via its marshalled form, e.g. for replication.
+ * Not executed by the test suite; run via, e.g.:
+ * <pre>java -cp target/test-classes:&lt;test class path&gt; org.openjdk.jmh.Main ByteBufferMarshalledValueBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ByteBufferMarshalledValueBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean immutable;
+
+    private final ByteBufferMarshaller marshaller = JavaByteBufferMarshaller.INSTANCE;
+    private ByteBufferMarshalledValue<UUID> value;
+    private ByteBufferMarshalledValue<UUID> replica;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        boolean immutable = this.immutable;
+        ByteBufferMarshalledValueFactory factory = new ByteBufferMarshalledValueFactory(this.marshaller, object -> immutable);
+        UUID uuid = UUID.randomUUID();
+        this.value = factory.createMarshalledValue(uuid);
+        this.replica = new ByteBufferMarshalledValue<>(this.marshaller.write(uuid));
+    }
+
+    @Benchmark
+    public UUID get() throws IOException {
+        return this.replica.get(this.marshaller);
+    }
+
+    @Benchmark
+    public ByteBuffer getBuffer() throws IOException {
+        return this.value.getBuffer();
+    }
+}
@@ -13,9 +13,17 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -70,6 +78,141 @@ public class ByteBufferMarshalledValueFactoryTestCase {
         assertNull(mv.get(this.marshaller));
     }
 
+    @Test
+    public void concurrentGet() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < 100; ++i) {
+                ByteBufferMarshalledValue<UUID> replica = replicate(this.factory.createMarshalledValue(uuid));
+                List<Callable<UUID>> tasks = new ArrayList<>(threads);
+                for (int j = 0; j < threads; ++j) {
+                    tasks.add(() -> replica.get(this.marshaller));
+                }
+                List<Future<UUID>> futures = executor.invokeAll(tasks);
+                UUID result = futures.get(0).get();
+                assertEquals(uuid, result);
+                // Verify that all concurrent readers observe the same instance
+                for (Future<UUID> future : futures) {
+                    assertSame(result, future.get());
+                }
+                assertSame(result, replica.peek());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentGetAndGetBuffer() throws Exception {
+        List<String> list = List.of("foo", "bar");
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < 100; ++i) {
+                ByteBufferMarshalledValue<ArrayList<String>> replica = replicate(this.factory.createMarshalledValue(new ArrayList<>(list)));
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Callable<Object>> tasks = new ArrayList<>(threads);
+                for (int j = 0; j < threads; ++j) {
+                    // Half of the threads read the object, while the other half read the buffer, e.g. to replicate the value
+                    tasks.add((j % 2 == 0) ? () -> {
+                        barrier.await();
+                        return replica.get(this.marshaller);
+                    } : () -> {
+                        barrier.await();
+                        return replica.getBuffer();
+                    });
+                }
+                List<Future<Object>> futures = executor.invokeAll(tasks);
+                Object result = replica.peek();
+                assertEquals(list, result);
+                for (Future<Object> future : futures) {
+                    Object value = future.get();
+                    if (value instanceof ByteBuffer) {
+                        // Verify that every concurrent writer observes a complete buffer
+                        assertEquals(list, this.marshaller.read((ByteBuffer) value));
+                    } else {
+                        // Verify that all concurrent readers observe the same instance
+                        assertSame(result, value);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentImmutableGetBuffer() throws Exception {
+        ByteBufferMarshalledValueFactory factory = new ByteBufferMarshalledValueFactory(this.marshaller, object -> true);
+        UUID uuid = UUID.randomUUID();
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < 100; ++i) {
+                ByteBufferMarshalledValue<UUID> mv = factory.createMarshalledValue(uuid);
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Callable<ByteBuffer>> tasks = new ArrayList<>(threads);
+                for (int j = 0; j < threads; ++j) {
+                    tasks.add(() -> {
+                        barrier.await();
+                        return mv.getBuffer();
+                    });
+                }
+                List<Future<ByteBuffer>> futures = executor.invokeAll(tasks);
+                ByteBuffer cached = mv.getBuffer();
+                for (Future<ByteBuffer> future : futures) {
+                    ByteBuffer buffer = future.get();
+                    assertEquals(cached, buffer);
+                    assertSame(cached.array(), buffer.array());
+                    // Verify that concurrent writers do not modify the position of the cached buffer
+                    assertEquals(cached.remaining(), mv.size().getAsInt());
+                }
+                assertEquals(uuid, this.marshaller.read(cached));
+                assertSame(uuid, mv.get(this.marshaller));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void getBufferDuringConcurrentGet() throws Exception {
+        ByteBufferMarshalledValue<ArrayList<String>> replica = replicate(this.factory.createMarshalledValue(new ArrayList<>(List.of("foo"))));
+        ArrayList<String> list = new ArrayList<>(List.of("foo"));
+        // Simulate a concurrent reader that assigned a mutable object, but has yet to invalidate the buffer from which it was read
+        Field marshallerField = ByteBufferMarshalledValue.class.getDeclaredField("marshaller");
+        marshallerField.setAccessible(true);
+        marshallerField.set(replica, this.marshaller);
+        Field objectField = ByteBufferMarshalledValue.class.getDeclaredField("object");
+        objectField.setAccessible(true);
+        objectField.set(replica, list);
+        list.add("bar");
+
+        // Verify that the buffer reflects the modified object, rather than the buffer from which it was read
+        assertEquals(List.of("foo", "bar"), this.marshaller.read(replica.getBuffer()));
+    }
+
+    @Test
+    public void immutable() throws Exception {
+        ByteBufferMarshalledValueFactory factory = new ByteBufferMarshalledValueFactory(this.marshaller, object -> true);
+        UUID uuid = UUID.randomUUID();
+        ByteBufferMarshalledValue<UUID> mv = factory.createMarshalledValue(uuid);
+
+        // Verify that the marshalled form of an immutable object is generated only once
+        ByteBuffer buffer = mv.getBuffer();
+        ByteBuffer cached = mv.getBuffer();
+        assertNotSame(buffer, cached);
+        assertSame(buffer.array(), cached.array());
+        assertEquals(buffer, cached);
+        assertFalse(mv.isEmpty());
+        assertEquals(buffer.remaining(), mv.size().getAsInt());
+        assertSame(uuid, mv.get(this.marshaller));
+
+        assertEquals(uuid, replicate(mv).get(this.marshaller));
+    }
+
     @Test
     public void equals() throws Exception {
         UUID uuid = UUID.randomUUID();
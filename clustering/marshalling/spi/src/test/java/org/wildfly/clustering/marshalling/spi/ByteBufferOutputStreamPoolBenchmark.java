@@ -0,0 +1,77 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares marshalling a nested value via an intermediate buffer from a {@link ByteBufferOutputStreamPool} against an intermediate buffer allocated per marshal,
+ * following the access pattern of a command dispatcher, i.e. the nested value is marshalled into the intermediate buffer, which is then marshalled into the message buffer,
+ * with many threads marshalling concurrently.
+ * Not executed by the test suite; run via, e.g.:
+ * <pre>java -cp target/test-classes:&lt;test class path&gt; org.openjdk.jmh.Main ByteBufferOutputStreamPoolBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ByteBufferOutputStreamPoolBenchmark {
+
+    @Param({ "128", "4096", "32768" })
+    private int size;
+
+    private final ByteBufferMarshaller marshaller = JavaByteBufferMarshaller.INSTANCE;
+    private final ByteBufferOutputStreamPool pool = new ByteBufferOutputStreamPool(Runtime.getRuntime().availableProcessors() * 2, 512, 64 * 1024);
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.payload = new byte[this.size];
+        ThreadLocalRandom.current().nextBytes(this.payload);
+    }
+
+    @Benchmark
+    public ByteBuffer pooled() throws IOException {
+        ByteBufferOutputStream output = this.pool.acquire();
+        try {
+            return this.marshal(output);
+        } finally {
+            this.pool.release(output);
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer unpooled() throws IOException {
+        try (ByteBufferOutputStream output = new ByteBufferOutputStream()) {
+            return this.marshal(output);
+        }
+    }
+
+    private ByteBuffer marshal(ByteBufferOutputStream output) throws IOException {
+        this.marshaller.writeTo(output, this.payload);
+        return this.marshaller.write(new ByteBufferMarshalledValue<>(output.getBuffer()));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.marshalling.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ByteBufferOutputStreamPool}.
+ */
+public class ByteBufferOutputStreamPoolTestCase {
+
+    private final ByteBufferMarshaller marshaller = JavaByteBufferMarshaller.INSTANCE;
+
+    @Test
+    public void test() throws IOException {
+        ByteBufferOutputStreamPool pool = new ByteBufferOutputStreamPool(1, 16, 1024);
+
+        ByteBufferOutputStream output = pool.acquire();
+        assertEquals(16, output.capacity());
+        UUID value = UUID.randomUUID();
+        this.marshaller.writeTo(output, value);
+        ByteBuffer buffer = output.getBuffer();
+        assertEquals(value, this.marshaller.read(buffer));
+
+        // Verify reuse
+        pool.release(output);
+        ByteBufferOutputStream reused = pool.acquire();
+        assertSame(output, reused);
+        assertEquals(0, reused.size());
+
+        // Verify bounded pool size
+        ByteBufferOutputStream other = pool.acquire();
+        assertNotSame(reused, other);
+        pool.release(reused);
+        pool.release(other);
+        assertSame(reused, pool.acquire());
+        assertNotSame(other, pool.acquire());
+
+        // Verify that streams exceeding the maximum capacity are not retained
+        ByteBufferOutputStream large = pool.acquire();
+        large.write(new byte[2048]);
+        pool.release(large);
+        assertNotSame(large, pool.acquire());
+    }
+}
@@ -135,7 +135,8 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     }
 
     private Message createMessage(ByteBuffer buffer, Address destination) {
-        return new BytesMessage().setArray(buffer.array(), buffer.arrayOffset(), buffer.limit() - buffer.arrayOffset()).src(this.localAddress).dest(destination);
+        // Hand over the backing array of the buffer without copying
+        return new BytesMessage().setArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()).src(this.localAddress).dest(destination);
     }
 
     private static class PruneCancellationTask<T> implements BiConsumer<T, Throwable> {
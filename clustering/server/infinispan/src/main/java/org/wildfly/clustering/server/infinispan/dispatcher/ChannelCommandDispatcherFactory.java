@@ -211,7 +211,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         if (this.contexts.putIfAbsent(id, context) != null) {
             throw ClusteringServerLogger.ROOT_LOGGER.commandDispatcherAlreadyExists(id);
         }
-        CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, factory);
+        CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, dispatcherMarshaller);
         CommandDispatcher<C> localDispatcher = new LocalCommandDispatcher<>(this.getLocalMember(), commandContext);
         return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, localDispatcher, () -> {
             localDispatcher.close();
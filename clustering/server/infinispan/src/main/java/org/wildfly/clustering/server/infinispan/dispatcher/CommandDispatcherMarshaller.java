@@ -11,29 +11,44 @@ import java.util.AbstractMap;
 import java.util.Map;
 
 import org.wildfly.clustering.dispatcher.Command;
-import org.wildfly.clustering.marshalling.spi.MarshalledValue;
-import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 
 /**
+ * Marshals a command, along with the identifier of its command dispatcher.
+ * The command is marshalled to a pooled intermediate buffer, such that the size prediction of the resulting message is exact.
+ * Consequently, the buffer of the message is allocated exactly once, and requires no copying when handed to JGroups.
  * @author Paul Ferraro
  */
-public class CommandDispatcherMarshaller<C, MC> implements CommandMarshaller<C> {
+public class CommandDispatcherMarshaller<C> implements CommandMarshaller<C> {
+
+    // Intermediate buffers are no longer referenced once the message buffer is written
+    private static final ByteBufferOutputStreamPool POOL = new ByteBufferOutputStreamPool(Runtime.getRuntime().availableProcessors() * 2, 512, 64 * 1024);
 
     private final ByteBufferMarshaller marshaller;
     private final Object id;
-    private final MarshalledValueFactory<MC> factory;
+    private final ByteBufferMarshaller commandMarshaller;
 
-    public CommandDispatcherMarshaller(ByteBufferMarshaller marshaller, Object id, MarshalledValueFactory<MC> factory) {
+    public CommandDispatcherMarshaller(ByteBufferMarshaller marshaller, Object id, ByteBufferMarshaller commandMarshaller) {
         this.marshaller = marshaller;
         this.id = id;
-        this.factory = factory;
+        this.commandMarshaller = commandMarshaller;
     }
 
     @Override
     public <R> ByteBuffer marshal(Command<R, ? super C> command) throws IOException {
-        MarshalledValue<Command<R, ? super C>, MC> value = this.factory.createMarshalledValue(command);
-        Map.Entry<Object, MarshalledValue<Command<R, ? super C>, MC>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
-        return this.marshaller.write(entry);
+        ByteBufferOutputStream output = POOL.acquire();
+        try {
+            this.commandMarshaller.writeTo(output, command);
+            // Equivalent to a marshalled value created via ByteBufferMarshalledValueFactory, but whose buffer was already written
+            MarshalledValue<Command<R, ? super C>, ByteBufferMarshaller> value = new ByteBufferMarshalledValue<>(output.getBuffer());
+            Map.Entry<Object, MarshalledValue<Command<R, ? super C>, ByteBufferMarshaller>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
+            return this.marshaller.write(entry);
+        } finally {
+            POOL.release(output);
+        }
     }
 }
@@ -6,7 +6,10 @@ package org.wildfly.clustering.web.cache.session.attributes.coarse;
 
 import java.io.NotSerializableException;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
@@ -21,17 +24,31 @@ import org.wildfly.clustering.web.cache.session.attributes.SimpleImmutableSessio
  */
 public class CoarseSessionAttributes extends SimpleImmutableSessionAttributes implements SessionAttributes {
     private final Map<String, Object> attributes;
-    private final Mutator mutator;
+    private final Function<Set<String>, Mutator> mutatorFactory;
     private final Marshallability marshallability;
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionActivationNotifier notifier;
     private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final Set<String> updates = new TreeSet<>();
 
     public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
+        this(attributes, updates -> mutator, marshallability, immutability, properties, notifier);
+    }
+
+    /**
+     * Creates the attributes of a coarse granularity session, whose mutator is created on {@link #close()} from the names of those attributes that were updated, removed, or whose mutable values were read.
+     * @param attributes the session attributes
+     * @param mutatorFactory a factory for creating a mutator from the names of the updated attributes
+     * @param marshallability determines whether a given attribute value is marshallable
+     * @param immutability determines whether a given attribute value is immutable
+     * @param properties the properties of the cache
+     * @param notifier an activation notifier, or null, if activation events should not be triggered
+     */
+    public CoarseSessionAttributes(Map<String, Object> attributes, Function<Set<String>, Mutator> mutatorFactory, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
         super(attributes);
         this.attributes = attributes;
-        this.mutator = mutator;
+        this.mutatorFactory = mutatorFactory;
         this.marshallability = marshallability;
         this.immutability = immutability;
         this.properties = properties;
@@ -45,7 +62,7 @@ public class CoarseSessionAttributes extends SimpleImmutableSessionAttributes im
     public Object removeAttribute(String name) {
         Object value = this.attributes.remove(name);
         if (value != null) {
-            this.dirty.set(true);
+            this.update(name);
         }
         return value;
     }
@@ -60,7 +77,7 @@ public class CoarseSessionAttributes extends SimpleImmutableSessionAttributes im
         }
         Object old = this.attributes.put(name, value);
         // Always trigger mutation, even if this is an immutable object that was previously retrieved via getAttribute(...)
-        this.dirty.set(true);
+        this.update(name);
         return old;
     }
 
@@ -68,18 +85,30 @@ public class CoarseSessionAttributes extends SimpleImmutableSessionAttributes im
     public Object getAttribute(String name) {
         Object value = this.attributes.get(name);
         if (!this.immutability.test(value)) {
-            this.dirty.set(true);
+            this.update(name);
         }
         return value;
     }
 
+    private void update(String name) {
+        synchronized (this.updates) {
+            this.updates.add(name);
+        }
+        this.dirty.set(true);
+    }
+
     @Override
     public void close() {
         if (this.notifier != null) {
             this.notifier.prePassivate();
         }
         if (this.dirty.compareAndSet(true, false)) {
-            this.mutator.mutate();
+            Set<String> updates;
+            synchronized (this.updates) {
+                updates = new TreeSet<>(this.updates);
+                this.updates.clear();
+            }
+            this.mutatorFactory.apply(updates).mutate();
         }
     }
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.protostream.SerializationContextInitializer;
+import org.wildfly.clustering.marshalling.protostream.AbstractSerializationContextInitializer;
+
+/**
+ * {@link SerializationContextInitializer} for this package.
+ */
+public class CoarseSessionAttributesSerializationContextInitializer extends AbstractSerializationContextInitializer {
+
+    @Override
+    public void registerMarshallers(SerializationContext context) {
+        context.registerMarshaller(new SessionAttributesDeltaMarshaller());
+        context.registerMarshaller(new SessionAttributesEntryMarshaller());
+        context.registerMarshaller(new SessionAttributesEntryFunctionMarshaller());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+
+/**
+ * The changes to the attributes of a coarse granularity session, comprised of the marshalled form of the updated attributes and the names of any removed attributes.
+ */
+public class SessionAttributesDelta {
+
+    private final ByteBuffer updates;
+    private final Set<String> removals;
+
+    public SessionAttributesDelta(ByteBuffer updates, Set<String> removals) {
+        this.updates = updates;
+        this.removals = removals;
+    }
+
+    /**
+     * Returns the marshalled form of the updated attributes, or null, if no attributes were updated.
+     * @return a byte buffer, or null
+     */
+    public ByteBuffer getUpdates() {
+        return this.updates;
+    }
+
+    /**
+     * Returns the names of the removed attributes.
+     * @return a set of attribute names
+     */
+    public Set<String> getRemovals() {
+        return Collections.unmodifiableSet(this.removals);
+    }
+
+    /**
+     * Returns the approximate marshalled size of this delta.
+     * @return a number of bytes
+     */
+    public int size() {
+        int size = (this.updates != null) ? this.updates.remaining() : 0;
+        for (String name : this.removals) {
+            size += name.length();
+        }
+        return size;
+    }
+
+    /**
+     * Applies this delta to the specified attributes.
+     * @param attributes the session attributes
+     * @param marshaller the marshaller of the session attributes
+     * @throws IOException if the updated attributes could not be unmarshalled
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(Map<String, Object> attributes, Marshaller<Object, ByteBuffer> marshaller) throws IOException {
+        if (this.updates != null) {
+            attributes.putAll((Map<String, Object>) marshaller.read(this.updates.duplicate()));
+        }
+        attributes.keySet().removeAll(this.removals);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.updates, this.removals);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof SessionAttributesDelta)) return false;
+        SessionAttributesDelta delta = (SessionAttributesDelta) object;
+        return Objects.equals(this.updates, delta.updates) && this.removals.equals(delta.removals);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { updates = %s, removals = %s }", this.getClass().getSimpleName(), (this.updates != null) ? this.updates.remaining() : 0, this.removals);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+
+/**
+ * ProtoStream marshaller for a {@link SessionAttributesDelta}.
+ */
+public class SessionAttributesDeltaMarshaller implements ProtoStreamMarshaller<SessionAttributesDelta> {
+
+    private static final int UPDATES_INDEX = 1;
+    private static final int REMOVAL_INDEX = 2;
+
+    @Override
+    public Class<? extends SessionAttributesDelta> getJavaClass() {
+        return SessionAttributesDelta.class;
+    }
+
+    @Override
+    public SessionAttributesDelta readFrom(ProtoStreamReader reader) throws IOException {
+        ByteBuffer updates = null;
+        Set<String> removals = new TreeSet<>();
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            switch (WireType.getTagFieldNumber(tag)) {
+                case UPDATES_INDEX:
+                    updates = reader.readByteBuffer();
+                    break;
+                case REMOVAL_INDEX:
+                    removals.add(reader.readString());
+                    break;
+                default:
+                    reader.skipField(tag);
+            }
+        }
+        return new SessionAttributesDelta(updates, removals);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, SessionAttributesDelta delta) throws IOException {
+        ByteBuffer updates = delta.getUpdates();
+        if (updates != null) {
+            writer.writeBytes(UPDATES_INDEX, updates.duplicate());
+        }
+        for (String name : delta.getRemovals()) {
+            writer.writeString(REMOVAL_INDEX, name);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.wildfly.clustering.ee.cache.function.Remappable;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+
+/**
+ * Cache entry containing the attributes of a coarse granularity session, comprised of the marshalled form of all session attributes,
+ * followed by any deltas written since.
+ * Deltas are appended via {@link SessionAttributesEntryFunction}, thus only the delta is replicated, rather than the full set of attributes.
+ */
+public class SessionAttributesEntry implements Remappable<SessionAttributesEntry, SessionAttributesDelta> {
+
+    private final ByteBuffer attributes;
+    private final List<SessionAttributesDelta> deltas;
+
+    public SessionAttributesEntry(ByteBuffer attributes) {
+        this(attributes, List.of());
+    }
+
+    public SessionAttributesEntry(ByteBuffer attributes, List<SessionAttributesDelta> deltas) {
+        this.attributes = attributes;
+        this.deltas = deltas;
+    }
+
+    /**
+     * Returns the marshalled form of the session attributes, excluding any deltas.
+     * @return a byte buffer
+     */
+    public ByteBuffer getAttributes() {
+        return this.attributes;
+    }
+
+    /**
+     * Returns the deltas to apply to the session attributes.
+     * @return a list of deltas
+     */
+    public List<SessionAttributesDelta> getDeltas() {
+        return Collections.unmodifiableList(this.deltas);
+    }
+
+    /**
+     * Returns the marshalled size of the session attributes, excluding any deltas.
+     * @return a number of bytes
+     */
+    public int size() {
+        return this.attributes.remaining();
+    }
+
+    /**
+     * Returns the approximate marshalled size of the deltas of this entry.
+     * @return a number of bytes
+     */
+    public int getDeltaSize() {
+        int size = 0;
+        for (SessionAttributesDelta delta : this.deltas) {
+            size += delta.size();
+        }
+        return size;
+    }
+
+    /**
+     * Reads the session attributes of this entry, including any deltas.
+     * @param marshaller the marshaller of the session attributes
+     * @return a mutable map of session attributes
+     * @throws IOException if the session attributes could not be unmarshalled
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> read(Marshaller<Object, ByteBuffer> marshaller) throws IOException {
+        Map<String, Object> attributes = new ConcurrentHashMap<>((Map<String, Object>) marshaller.read(this.attributes.duplicate()));
+        for (SessionAttributesDelta delta : this.deltas) {
+            delta.apply(attributes, marshaller);
+        }
+        return attributes;
+    }
+
+    @Override
+    public SessionAttributesEntry remap(SessionAttributesDelta delta) {
+        List<SessionAttributesDelta> deltas = new ArrayList<>(this.deltas.size() + 1);
+        deltas.addAll(this.deltas);
+        deltas.add(delta);
+        return new SessionAttributesEntry(this.attributes, deltas);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.attributes, this.deltas);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof SessionAttributesEntry)) return false;
+        SessionAttributesEntry entry = (SessionAttributesEntry) object;
+        return this.attributes.equals(entry.attributes) && this.deltas.equals(entry.deltas);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { size = %s, deltas = %s }", this.getClass().getSimpleName(), this.size(), this.deltas);
+    }
+}
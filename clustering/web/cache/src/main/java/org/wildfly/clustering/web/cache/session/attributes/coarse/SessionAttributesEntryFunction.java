@@ -0,0 +1,18 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import org.wildfly.clustering.ee.cache.function.RemappingFunction;
+
+/**
+ * Cache compute function that appends a delta to the attributes of a coarse granularity session.
+ */
+public class SessionAttributesEntryFunction extends RemappingFunction<SessionAttributesEntry, SessionAttributesDelta> {
+
+    public SessionAttributesEntryFunction(SessionAttributesDelta delta) {
+        super(delta);
+    }
+}
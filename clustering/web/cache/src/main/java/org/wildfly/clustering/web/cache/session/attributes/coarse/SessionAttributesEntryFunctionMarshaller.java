@@ -0,0 +1,48 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+
+/**
+ * ProtoStream marshaller for a {@link SessionAttributesEntryFunction}.
+ */
+public class SessionAttributesEntryFunctionMarshaller implements ProtoStreamMarshaller<SessionAttributesEntryFunction> {
+
+    private static final int DELTA_INDEX = 1;
+
+    @Override
+    public Class<? extends SessionAttributesEntryFunction> getJavaClass() {
+        return SessionAttributesEntryFunction.class;
+    }
+
+    @Override
+    public SessionAttributesEntryFunction readFrom(ProtoStreamReader reader) throws IOException {
+        SessionAttributesDelta delta = new SessionAttributesDelta(null, Set.of());
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            switch (WireType.getTagFieldNumber(tag)) {
+                case DELTA_INDEX:
+                    delta = reader.readObject(SessionAttributesDelta.class);
+                    break;
+                default:
+                    reader.skipField(tag);
+            }
+        }
+        return new SessionAttributesEntryFunction(delta);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, SessionAttributesEntryFunction function) throws IOException {
+        writer.writeObject(DELTA_INDEX, function.getOperand());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+
+/**
+ * ProtoStream marshaller for a {@link SessionAttributesEntry}.
+ */
+public class SessionAttributesEntryMarshaller implements ProtoStreamMarshaller<SessionAttributesEntry> {
+
+    private static final int ATTRIBUTES_INDEX = 1;
+    private static final int DELTA_INDEX = 2;
+
+    @Override
+    public Class<? extends SessionAttributesEntry> getJavaClass() {
+        return SessionAttributesEntry.class;
+    }
+
+    @Override
+    public SessionAttributesEntry readFrom(ProtoStreamReader reader) throws IOException {
+        ByteBuffer attributes = null;
+        List<SessionAttributesDelta> deltas = new LinkedList<>();
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            switch (WireType.getTagFieldNumber(tag)) {
+                case ATTRIBUTES_INDEX:
+                    attributes = reader.readByteBuffer();
+                    break;
+                case DELTA_INDEX:
+                    deltas.add(reader.readObject(SessionAttributesDelta.class));
+                    break;
+                default:
+                    reader.skipField(tag);
+            }
+        }
+        return new SessionAttributesEntry(attributes, deltas);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, SessionAttributesEntry entry) throws IOException {
+        writer.writeBytes(ATTRIBUTES_INDEX, entry.getAttributes().duplicate());
+        for (SessionAttributesDelta delta : entry.getDeltas()) {
+            writer.writeObject(DELTA_INDEX, delta);
+        }
+    }
+}
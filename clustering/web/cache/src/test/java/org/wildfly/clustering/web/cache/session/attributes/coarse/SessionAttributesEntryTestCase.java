@@ -0,0 +1,72 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.cache.session.attributes.coarse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.MarshallingTester;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
+import org.wildfly.clustering.marshalling.protostream.TestProtoStreamByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Unit test for {@link SessionAttributesEntry} and its deltas.
+ */
+public class SessionAttributesEntryTestCase {
+
+    private final ByteBufferMarshaller marshaller = TestProtoStreamByteBufferMarshaller.INSTANCE;
+
+    @Test
+    public void read() throws IOException {
+        Map<String, Object> attributes = new TreeMap<>();
+        attributes.put("foo", UUID.randomUUID());
+        attributes.put("bar", UUID.randomUUID());
+
+        SessionAttributesEntry entry = new SessionAttributesEntry(this.marshaller.write(attributes));
+
+        Assert.assertEquals(attributes, entry.read(this.marshaller));
+        Assert.assertEquals(0, entry.getDeltaSize());
+
+        UUID baz = UUID.randomUUID();
+        UUID foo = UUID.randomUUID();
+        SessionAttributesEntry result = entry.remap(new SessionAttributesDelta(this.marshaller.write(new TreeMap<>(Map.of("foo", foo, "baz", baz))), Set.of()))
+                .remap(new SessionAttributesDelta(null, Set.of("bar")));
+
+        // Verify copy-on-write
+        Assert.assertEquals(attributes, entry.read(this.marshaller));
+
+        Map<String, Object> expected = Map.of("foo", foo, "baz", baz);
+        Assert.assertEquals(expected, result.read(this.marshaller));
+        Assert.assertEquals(2, result.getDeltas().size());
+        Assert.assertEquals(entry.size(), result.size());
+        Assert.assertTrue(result.getDeltaSize() > 0);
+
+        // Verify function
+        Assert.assertEquals(expected, new SessionAttributesEntryFunction(new SessionAttributesDelta(null, Set.of("bar"))).apply(null, entry.remap(result.getDeltas().get(0))).read(this.marshaller));
+        Assert.assertNull(new SessionAttributesEntryFunction(new SessionAttributesDelta(null, Set.of("bar"))).apply(null, null));
+    }
+
+    @Test
+    public void marshal() throws IOException {
+        MarshallingTester<SessionAttributesEntry> tester = ProtoStreamTesterFactory.createTester(List.of(new CoarseSessionAttributesSerializationContextInitializer()));
+
+        SessionAttributesEntry entry = new SessionAttributesEntry(this.marshaller.write(new TreeMap<>(Map.of("foo", UUID.randomUUID()))));
+        tester.test(entry);
+
+        SessionAttributesDelta delta = new SessionAttributesDelta(this.marshaller.write(new TreeMap<>(Map.of("bar", UUID.randomUUID()))), Set.of("foo"));
+        tester.test(entry.remap(delta).remap(new SessionAttributesDelta(null, Set.of("bar"))));
+
+        MarshallingTester<SessionAttributesEntryFunction> functionTester = ProtoStreamTesterFactory.createTester(List.of(new CoarseSessionAttributesSerializationContextInitializer()));
+        functionTester.test(new SessionAttributesEntryFunction(delta), (function1, function2) -> Assert.assertEquals(function1.getOperand(), function2.getOperand()));
+    }
+}
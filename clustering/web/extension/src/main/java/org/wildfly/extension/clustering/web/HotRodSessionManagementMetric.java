@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
+
+/**
+ * Metrics of the session managers of a HotRod session management provider, aggregated across deployments.
+ */
+public enum HotRodSessionManagementMetric implements Metric<HotRodSessionManagerStatistics> {
+
+    NEAR_CACHE_HITS("near-cache-hits") {
+        @Override
+        public ModelNode execute(HotRodSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getNearCacheHits());
+        }
+    },
+    NEAR_CACHE_MISSES("near-cache-misses") {
+        @Override
+        public ModelNode execute(HotRodSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getNearCacheMisses());
+        }
+    },
+    ACCESS_WRITES("access-writes") {
+        @Override
+        public ModelNode execute(HotRodSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getAccessMetaDataWrites());
+        }
+    },
+    COALESCED_ACCESS_WRITES("coalesced-access-writes") {
+        @Override
+        public ModelNode execute(HotRodSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getCoalescedAccessMetaDataWrites());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    HotRodSessionManagementMetric(String name) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
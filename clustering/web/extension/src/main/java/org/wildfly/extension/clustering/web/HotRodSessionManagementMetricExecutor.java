@@ -0,0 +1,33 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.function.Function;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
+
+/**
+ * Executor for metrics of a HotRod session management provider.
+ */
+public class HotRodSessionManagementMetricExecutor implements MetricExecutor<HotRodSessionManagerStatistics> {
+
+    private final Function<String, HotRodSessionManagerStatistics> statistics;
+
+    public HotRodSessionManagementMetricExecutor(Function<String, HotRodSessionManagerStatistics> statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<HotRodSessionManagerStatistics> metric) throws OperationFailedException {
+        HotRodSessionManagerStatistics statistics = this.statistics.apply(context.getCurrentAddressValue());
+        return (statistics != null) ? metric.execute(statistics) : null;
+    }
+}
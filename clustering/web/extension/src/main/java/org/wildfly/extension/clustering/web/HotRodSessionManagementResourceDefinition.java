@@ -5,17 +5,25 @@
 
 package org.wildfly.extension.clustering.web;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.ManagementResourceRegistration;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.SimpleResourceDescriptorConfigurator;
+import org.jboss.as.clustering.controller.validation.IntRangeValidatorBuilder;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.client.service.InfinispanClientRequirement;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
 
 /**
  * @author Paul Ferraro
@@ -44,6 +52,21 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
                 return builder.setDefaultValue(new ModelNode(16));
             }
         },
+        ACCESS_WRITE_BEHIND_INTERVAL("access-write-behind-interval", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0L))
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
+        NEAR_CACHE_SIZE("near-cache-size", ModelType.INT) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setValidator(new IntRangeValidatorBuilder().min(1).configure(builder).build());
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -66,7 +89,26 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
         }
     }
 
+    // Statistics of the session managers of each provider, by provider name
+    private final Map<String, HotRodSessionManagerStatistics> statistics;
+
     HotRodSessionManagementResourceDefinition() {
-        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), HotRodSessionManagementServiceConfigurator::new);
+        this(new ConcurrentHashMap<>());
+    }
+
+    private HotRodSessionManagementResourceDefinition(Map<String, HotRodSessionManagerStatistics> statistics) {
+        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), new SessionManagementServiceHandler(address -> new HotRodSessionManagementServiceConfigurator(address, statistics.computeIfAbsent(address.getLastElement().getValue(), name -> new HotRodSessionManagerStatistics())), statistics));
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
+        ManagementResourceRegistration registration = super.register(parent);
+
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new HotRodSessionManagementMetricExecutor(this.statistics::get), HotRodSessionManagementMetric.class).register(registration);
+        }
+
+        return registration;
     }
 }
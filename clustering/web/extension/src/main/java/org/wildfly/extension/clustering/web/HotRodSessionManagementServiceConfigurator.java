@@ -5,16 +5,21 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.ACCESS_WRITE_BEHIND_INTERVAL;
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.CACHE_CONFIGURATION;
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.EXPIRATION_THREAD_POOL_SIZE;
+import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE;
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.REMOTE_CACHE_CONTAINER;
 
+import java.time.Duration;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.clustering.service.ServiceConfigurator;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
 import org.wildfly.clustering.web.service.session.DistributableSessionManagementProvider;
 import org.wildfly.extension.clustering.web.session.hotrod.HotRodSessionManagementConfiguration;
 import org.wildfly.extension.clustering.web.session.hotrod.HotRodSessionManagementProvider;
@@ -27,9 +32,13 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
     private volatile String containerName;
     private volatile String configurationName;
     private volatile int expirationThreadPoolSize;
+    private volatile Duration accessWriteBehindInterval;
+    private volatile Integer nearCacheSize;
+    private final HotRodSessionManagerStatistics statistics;
 
-    HotRodSessionManagementServiceConfigurator(PathAddress address) {
+    HotRodSessionManagementServiceConfigurator(PathAddress address, HotRodSessionManagerStatistics statistics) {
         super(address);
+        this.statistics = statistics;
     }
 
     @Override
@@ -37,6 +46,8 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
         this.containerName = REMOTE_CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.configurationName = CACHE_CONFIGURATION.resolveModelAttribute(context, model).asStringOrNull();
         this.expirationThreadPoolSize = EXPIRATION_THREAD_POOL_SIZE.resolveModelAttribute(context, model).asInt();
+        this.accessWriteBehindInterval = Duration.ofMillis(ACCESS_WRITE_BEHIND_INTERVAL.resolveModelAttribute(context, model).asLong());
+        this.nearCacheSize = NEAR_CACHE_SIZE.resolveModelAttribute(context, model).asIntOrNull();
         return super.configure(context, model);
     }
 
@@ -59,4 +70,19 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
     public int getExpirationThreadPoolSize() {
         return this.expirationThreadPoolSize;
     }
+
+    @Override
+    public Duration getAccessWriteBehindInterval() {
+        return this.accessWriteBehindInterval;
+    }
+
+    @Override
+    public Integer getNearCacheSize() {
+        return this.nearCacheSize;
+    }
+
+    @Override
+    public HotRodSessionManagerStatistics getStatistics() {
+        return this.statistics;
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
+
+/**
+ * Metrics of the session managers of an Infinispan session management provider, aggregated across deployments.
+ */
+public enum InfinispanSessionManagementMetric implements Metric<InfinispanSessionManagerStatistics> {
+
+    ATTRIBUTE_FULL_WRITES("attribute-full-writes", MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getFullAttributeWrites());
+        }
+    },
+    ATTRIBUTE_FULL_WRITE_BYTES("attribute-full-write-bytes", MeasurementUnit.BYTES) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getFullAttributeWriteBytes());
+        }
+    },
+    ATTRIBUTE_DELTA_WRITES("attribute-delta-writes", MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getDeltaAttributeWrites());
+        }
+    },
+    ATTRIBUTE_DELTA_WRITE_BYTES("attribute-delta-write-bytes", MeasurementUnit.BYTES) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getDeltaAttributeWriteBytes());
+        }
+    },
+    SCHEDULER_REMOTE_INVOCATIONS("scheduler-remote-invocations", MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getRemoteInvocations());
+        }
+    },
+    SCHEDULER_BATCHES("scheduler-batches", MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getBatches());
+        }
+    },
+    SCHEDULER_BATCHED_COMMANDS("scheduler-batched-commands", MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(InfinispanSessionManagerStatistics statistics) {
+            return new ModelNode(statistics.getBatchedCommands());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    InfinispanSessionManagementMetric(String name, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
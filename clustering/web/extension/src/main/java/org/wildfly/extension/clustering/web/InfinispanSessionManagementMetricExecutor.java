@@ -0,0 +1,33 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.function.Function;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
+
+/**
+ * Executor for metrics of an Infinispan session management provider.
+ */
+public class InfinispanSessionManagementMetricExecutor implements MetricExecutor<InfinispanSessionManagerStatistics> {
+
+    private final Function<String, InfinispanSessionManagerStatistics> statistics;
+
+    public InfinispanSessionManagementMetricExecutor(Function<String, InfinispanSessionManagerStatistics> statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<InfinispanSessionManagerStatistics> metric) throws OperationFailedException {
+        InfinispanSessionManagerStatistics statistics = this.statistics.apply(context.getCurrentAddressValue());
+        return (statistics != null) ? metric.execute(statistics) : null;
+    }
+}
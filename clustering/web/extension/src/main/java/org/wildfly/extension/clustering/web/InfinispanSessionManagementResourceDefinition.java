@@ -5,18 +5,23 @@
 
 package org.wildfly.extension.clustering.web;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.ManagementResourceRegistration;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
-import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.service.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.service.InfinispanDefaultCacheRequirement;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
 
 /**
  * Definition of the /subsystem=distributable-web/infinispan-session-management=* resource.
@@ -47,6 +52,12 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
                         ;
             }
         },
+        ATTRIBUTE_DELTA_REPLICATION("attribute-delta-replication", ModelType.BOOLEAN) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(ModelNode.FALSE);
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -73,8 +84,16 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
         }
     };
 
+    // Statistics of the session managers of each provider, by provider name
+    private final Map<String, InfinispanSessionManagerStatistics> statistics;
+
     InfinispanSessionManagementResourceDefinition() {
-        super(WILDCARD_PATH, CONFIGURATOR, InfinispanSessionManagementServiceConfigurator::new);
+        this(new ConcurrentHashMap<>());
+    }
+
+    private InfinispanSessionManagementResourceDefinition(Map<String, InfinispanSessionManagerStatistics> statistics) {
+        super(WILDCARD_PATH, CONFIGURATOR, new SessionManagementServiceHandler(address -> new InfinispanSessionManagementServiceConfigurator(address, statistics.computeIfAbsent(address.getLastElement().getValue(), name -> new InfinispanSessionManagerStatistics())), statistics));
+        this.statistics = statistics;
     }
 
     @Override
@@ -84,6 +103,10 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
         new PrimaryOwnerAffinityResourceDefinition().register(registration);
         new RankedAffinityResourceDefinition().register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new InfinispanSessionManagementMetricExecutor(this.statistics::get), InfinispanSessionManagementMetric.class).register(registration);
+        }
+
         return registration;
     }
 }
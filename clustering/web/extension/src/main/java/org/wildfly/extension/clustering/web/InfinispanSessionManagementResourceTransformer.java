@@ -8,6 +8,8 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.Consumer;
 
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 
 /**
@@ -26,5 +28,12 @@ public class InfinispanSessionManagementResourceTransformer extends SessionManag
         ResourceTransformationDescriptionBuilder builder = this.parent.addChildResource(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH);
 
         this.accept(version, builder);
+
+        if (DistributableWebSubsystemModel.VERSION_5_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_DELTA_REPLICATION.getName())
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_DELTA_REPLICATION.getName())
+                    .end();
+        }
     }
 }
@@ -5,6 +5,7 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_DELTA_REPLICATION;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE_CONTAINER;
 
@@ -15,6 +16,7 @@ import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
 import org.wildfly.clustering.web.service.session.DistributableSessionManagementProvider;
 import org.wildfly.extension.clustering.web.session.infinispan.InfinispanSessionManagementProvider;
 
@@ -26,15 +28,19 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
 
     private volatile String containerName;
     private volatile String cacheName;
+    private volatile boolean attributeDeltaReplication;
+    private final InfinispanSessionManagerStatistics statistics;
 
-    public InfinispanSessionManagementServiceConfigurator(PathAddress address) {
+    public InfinispanSessionManagementServiceConfigurator(PathAddress address, InfinispanSessionManagerStatistics statistics) {
         super(address);
+        this.statistics = statistics;
     }
 
     @Override
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.cacheName = CACHE.resolveModelAttribute(context, model).asStringOrNull();
+        this.attributeDeltaReplication = ATTRIBUTE_DELTA_REPLICATION.resolveModelAttribute(context, model).asBoolean();
         return super.configure(context, model);
     }
 
@@ -52,4 +58,14 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public String getCacheName() {
         return this.cacheName;
     }
+
+    @Override
+    public boolean isAttributeDeltaReplicationEnabled() {
+        return this.attributeDeltaReplication;
+    }
+
+    @Override
+    public InfinispanSessionManagerStatistics getStatistics() {
+        return this.statistics;
+    }
 }
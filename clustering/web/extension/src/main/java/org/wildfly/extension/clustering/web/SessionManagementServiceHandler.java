@@ -0,0 +1,34 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.Map;
+
+import org.jboss.as.clustering.controller.ResourceServiceConfiguratorFactory;
+import org.jboss.as.clustering.controller.SimpleResourceServiceHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Service handler of a session management provider, which discards the statistics of the provider once its services are removed.
+ */
+public class SessionManagementServiceHandler extends SimpleResourceServiceHandler {
+
+    private final Map<String, ?> statistics;
+
+    SessionManagementServiceHandler(ResourceServiceConfiguratorFactory factory, Map<String, ?> statistics) {
+        super(factory);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void removeServices(OperationContext context, ModelNode model) throws OperationFailedException {
+        super.removeServices(context, model);
+
+        this.statistics.remove(context.getCurrentAddressValue());
+    }
+}
@@ -5,9 +5,11 @@
 
 package org.wildfly.extension.clustering.web.deployment;
 
+import java.time.Duration;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.server.deployment.DeploymentUnit;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
 import org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition;
 import org.wildfly.extension.clustering.web.session.hotrod.HotRodSessionManagementConfiguration;
 
@@ -19,6 +21,7 @@ public class MutableHotRodSessionManagementConfiguration extends MutableSessionM
     private volatile String containerName;
     private volatile String configurationName;
     private volatile int expirationThreadPoolSize = HotRodSessionManagementResourceDefinition.Attribute.EXPIRATION_THREAD_POOL_SIZE.getDefinition().getDefaultValue().asInt();
+    private final HotRodSessionManagerStatistics statistics = new HotRodSessionManagerStatistics();
 
     /**
      * Constructs a new HotRod session management configuration.
@@ -54,4 +57,19 @@ public class MutableHotRodSessionManagementConfiguration extends MutableSessionM
     public void setExpirationThreadPoolSize(int expirationThreadPoolSize) {
         this.expirationThreadPoolSize = expirationThreadPoolSize;
     }
+
+    @Override
+    public Duration getAccessWriteBehindInterval() {
+        return Duration.ofMillis(HotRodSessionManagementResourceDefinition.Attribute.ACCESS_WRITE_BEHIND_INTERVAL.getDefinition().getDefaultValue().asLong());
+    }
+
+    @Override
+    public Integer getNearCacheSize() {
+        return null;
+    }
+
+    @Override
+    public HotRodSessionManagerStatistics getStatistics() {
+        return this.statistics;
+    }
 }
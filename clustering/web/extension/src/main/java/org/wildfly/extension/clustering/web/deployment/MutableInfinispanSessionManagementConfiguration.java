@@ -9,6 +9,7 @@ import java.util.function.UnaryOperator;
 
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
 
 /**
  * @author Paul Ferraro
@@ -17,6 +18,7 @@ public class MutableInfinispanSessionManagementConfiguration extends MutableSess
 
     private String containerName;
     private String cacheName;
+    private final InfinispanSessionManagerStatistics statistics = new InfinispanSessionManagerStatistics();
 
     public MutableInfinispanSessionManagementConfiguration(UnaryOperator<String> replacer) {
         super(replacer);
@@ -39,4 +41,14 @@ public class MutableInfinispanSessionManagementConfiguration extends MutableSess
     public void setCacheName(String cacheName) {
         this.cacheName = this.apply(cacheName);
     }
+
+    @Override
+    public boolean isAttributeDeltaReplicationEnabled() {
+        return false;
+    }
+
+    @Override
+    public InfinispanSessionManagerStatistics getStatistics() {
+        return this.statistics;
+    }
 }
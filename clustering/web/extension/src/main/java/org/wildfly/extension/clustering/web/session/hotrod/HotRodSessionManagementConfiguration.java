@@ -5,7 +5,10 @@
 
 package org.wildfly.extension.clustering.web.session.hotrod;
 
+import java.time.Duration;
+
 import org.wildfly.clustering.ee.hotrod.RemoteCacheConfiguration;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 
 /**
@@ -18,4 +21,22 @@ public interface HotRodSessionManagementConfiguration<M> extends DistributableSe
      * @return
      */
     int getExpirationThreadPoolSize();
+
+    /**
+     * Returns the interval within which updates to the last access time of a session are coalesced into a single remote write, or zero, if written on every request.
+     * @return a write-behind interval
+     */
+    Duration getAccessWriteBehindInterval();
+
+    /**
+     * Returns the maximum number of sessions retained by the near-cache of a deployment that does not specify max-active-sessions.
+     * @return a number of sessions, or null, if the near-cache is only enabled for deployments that specify max-active-sessions
+     */
+    Integer getNearCacheSize();
+
+    /**
+     * Returns the statistics to which the session managers of this provider contribute.
+     * @return session manager statistics
+     */
+    HotRodSessionManagerStatistics getStatistics();
 }
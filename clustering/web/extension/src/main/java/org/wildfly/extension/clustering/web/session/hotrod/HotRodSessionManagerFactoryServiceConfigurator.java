@@ -5,6 +5,7 @@
 
 package org.wildfly.extension.clustering.web.session.hotrod;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -33,6 +34,7 @@ import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.service.SupplierDependency;
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerFactory;
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
 import org.wildfly.clustering.web.hotrod.session.SessionManagerNearCacheFactory;
 import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
@@ -66,7 +68,10 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, LC>  exte
     @Override
     public ServiceConfigurator configure(CapabilityServiceSupport support) {
         Integer maxActiveSessions = this.getMaxActiveSessions();
-        NearCacheMode mode = (maxActiveSessions != null) && (maxActiveSessions > 0) ? NearCacheMode.INVALIDATED : NearCacheMode.DISABLED;
+        // Bound the near-cache by the configured size, unless the deployment specifies max-active-sessions
+        Integer maxSessions = (maxActiveSessions != null) ? maxActiveSessions : this.configuration.getNearCacheSize();
+        NearCacheMode mode = (maxSessions != null) && (maxSessions > 0) ? NearCacheMode.INVALIDATED : NearCacheMode.DISABLED;
+        HotRodSessionManagerStatistics statistics = this.getStatistics();
         String configurationName = this.configuration.getConfigurationName();
         String templateName = (configurationName != null) ? configurationName : DefaultTemplate.DIST_SYNC.getTemplateName();
         this.cacheConfigurator = new RemoteCacheServiceConfigurator<>(this.getServiceName().append("cache"), this.configuration.getContainerName(), this.getDeploymentName(), new Consumer<RemoteCacheConfigurationBuilder>() {
@@ -74,7 +79,7 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, LC>  exte
             public void accept(RemoteCacheConfigurationBuilder builder) {
                 builder.forceReturnValues(false).nearCacheMode(mode).templateName(templateName).transactionMode(TransactionMode.NONE);
                 if (mode.invalidated()) {
-                    builder.nearCacheFactory(new SessionManagerNearCacheFactory(maxActiveSessions));
+                    builder.nearCacheFactory(new SessionManagerNearCacheFactory(maxSessions, statistics));
                 }
             }
         }).configure(support);
@@ -146,4 +151,14 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, LC>  exte
     public int getExpirationThreadPoolSize() {
         return this.configuration.getExpirationThreadPoolSize();
     }
+
+    @Override
+    public Duration getAccessMetaDataWriteBehindInterval() {
+        return this.configuration.getAccessWriteBehindInterval();
+    }
+
+    @Override
+    public HotRodSessionManagerStatistics getStatistics() {
+        return this.configuration.getStatistics();
+    }
 }
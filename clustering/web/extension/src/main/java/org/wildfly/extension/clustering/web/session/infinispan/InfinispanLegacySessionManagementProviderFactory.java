@@ -28,6 +28,7 @@ import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRe
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
 import org.wildfly.clustering.web.service.WebRequirement;
 import org.wildfly.clustering.web.service.routing.RouteLocatorServiceConfiguratorFactory;
 import org.wildfly.clustering.web.service.session.DistributableSessionManagementProvider;
@@ -80,6 +81,8 @@ public class InfinispanLegacySessionManagementProviderFactory implements LegacyS
         String containerName = ((replicationConfigServiceName.length() > 3) ? replicationConfigServiceName.getParent() : replicationConfigServiceName).getSimpleName();
         String cacheName = (replicationConfigServiceName.length() > 3) ? replicationConfigServiceName.getSimpleName() : null;
         InfinispanSessionManagementConfiguration<DeploymentUnit> configuration = new InfinispanSessionManagementConfiguration<>() {
+            private final InfinispanSessionManagerStatistics statistics = new InfinispanSessionManagerStatistics();
+
             @Override
             public String getContainerName() {
                 return containerName;
@@ -101,6 +104,16 @@ public class InfinispanLegacySessionManagementProviderFactory implements LegacyS
                 // Legacy session management was hard-coded to use JBoss Marshalling
                 return InfinispanLegacySessionManagementProviderFactory.this;
             }
+
+            @Override
+            public boolean isAttributeDeltaReplicationEnabled() {
+                return false;
+            }
+
+            @Override
+            public InfinispanSessionManagerStatistics getStatistics() {
+                return this.statistics;
+            }
         };
         return new InfinispanSessionManagementProvider(configuration, new LegacyRouteLocatorServiceConfiguratorFactory(unit));
     }
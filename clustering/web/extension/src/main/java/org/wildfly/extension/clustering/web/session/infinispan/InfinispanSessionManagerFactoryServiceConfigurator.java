@@ -51,6 +51,7 @@ import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerFactory;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
 import org.wildfly.clustering.web.infinispan.session.metadata.SessionMetaDataKey;
 import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
@@ -166,6 +167,16 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, LC> e
         return this.group.get();
     }
 
+    @Override
+    public boolean isAttributeDeltaReplicationEnabled() {
+        return this.configuration.isAttributeDeltaReplicationEnabled();
+    }
+
+    @Override
+    public InfinispanSessionManagerStatistics getStatistics() {
+        return this.configuration.getStatistics();
+    }
+
     @Override
     public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
         return this.factoryConfiguration.getAttributePersistenceStrategy();
@@ -156,9 +156,15 @@ public class DistributableWebTransformerTestCase extends AbstractSubsystemTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(ModelDescriptionConstants.SUBSYSTEM, DistributableWebExtension.SUBSYSTEM_NAME);
 
+        if (DistributableWebSubsystemModel.VERSION_5_0_0.requiresTransformation(this.version)) {
+            config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.pathElement("session")), new FailedOperationTransformationConfig.NewAttributesConfig(InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_DELTA_REPLICATION.getName()));
+        }
+
         if (DistributableWebSubsystemModel.VERSION_3_0_0.requiresTransformation(this.version)) {
             config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.pathElement("protostream")), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.MARSHALLER.getName()));
-            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.pathElement("remote-protostream")), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.MARSHALLER.getName()));
+            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.pathElement("remote-protostream")), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.MARSHALLER.getName(), HotRodSessionManagementResourceDefinition.Attribute.ACCESS_WRITE_BEHIND_INTERVAL.getName(), HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE.getName()));
+        } else if (DistributableWebSubsystemModel.VERSION_5_0_0.requiresTransformation(this.version)) {
+            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.pathElement("remote-protostream")), new FailedOperationTransformationConfig.NewAttributesConfig(HotRodSessionManagementResourceDefinition.Attribute.ACCESS_WRITE_BEHIND_INTERVAL.getName(), HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE.getName()));
         }
 
         return config;
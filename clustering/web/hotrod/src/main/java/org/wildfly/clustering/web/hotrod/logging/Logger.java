@@ -47,4 +47,8 @@ public interface Logger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 11, value = "Session %s is missing cache entry for attribute %s")
     void missingSessionAttributeCacheEntry(String sessionId, String attribute);
+
+    @LogMessage(level = WARN)
+    @Message(id = 12, value = "Failed to write access metadata of session %s")
+    void failedToWriteSessionAccessMetaData(@Cause Throwable cause, String sessionId);
 }
@@ -90,6 +90,7 @@ public class HotRodSessionFactory<MC, AV, LC> extends CompositeSessionFactory<MC
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        super.close();
     }
 
     @ClientCacheEntryExpired
@@ -24,6 +24,7 @@ import org.wildfly.clustering.web.cache.session.metadata.fine.SessionMetaDataEnt
 import org.wildfly.clustering.web.hotrod.session.attributes.CoarseSessionAttributesFactory;
 import org.wildfly.clustering.web.hotrod.session.attributes.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.hotrod.session.metadata.HotRodSessionMetaDataFactory;
+import org.wildfly.clustering.web.hotrod.session.metadata.SessionAccessMetaDataWriteBehind;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
@@ -45,7 +46,9 @@ public class HotRodSessionManagerFactory<S, SC, AL, LC> implements SessionManage
 
     public HotRodSessionManagerFactory(HotRodSessionManagerFactoryConfiguration<S, SC, AL, LC> configuration) {
         this.configuration = configuration;
-        SessionMetaDataFactory<SessionMetaDataEntry<LC>> metaDataFactory = new HotRodSessionMetaDataFactory<>(configuration);
+        Duration writeBehindInterval = configuration.getAccessMetaDataWriteBehindInterval();
+        SessionAccessMetaDataWriteBehind writeBehind = !writeBehindInterval.isZero() ? new SessionAccessMetaDataWriteBehind(writeBehindInterval, configuration.getStatistics()) : null;
+        SessionMetaDataFactory<SessionMetaDataEntry<LC>> metaDataFactory = new HotRodSessionMetaDataFactory<>(configuration, writeBehind);
         HotRodSessionFactory<SC, ?, LC> sessionFactory = new HotRodSessionFactory<>(configuration, metaDataFactory, this.createSessionAttributesFactory(configuration), configuration.getLocalContextFactory());
         this.factory = sessionFactory;
         this.expirationListenerRegistrar = sessionFactory;
@@ -4,6 +4,8 @@
  */
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.time.Duration;
+
 import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
 
 /**
@@ -14,4 +16,16 @@ import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
  * @author Paul Ferraro
  */
 public interface HotRodSessionManagerFactoryConfiguration<S, SC, AL, LC> extends SessionManagerFactoryConfiguration<S, SC, AL, LC>, HotRodSessionFactoryConfiguration {
+
+    /**
+     * Returns the interval within which the writes of the access metadata of a session are coalesced, or zero, if access metadata is written on every request.
+     * @return a write-behind interval
+     */
+    Duration getAccessMetaDataWriteBehindInterval();
+
+    /**
+     * Returns the statistics to which the session managers created by this factory contribute.
+     * @return session manager statistics
+     */
+    HotRodSessionManagerStatistics getStatistics();
 }
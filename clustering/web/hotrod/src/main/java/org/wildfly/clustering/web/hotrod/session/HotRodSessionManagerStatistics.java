@@ -0,0 +1,68 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the near-cache and of the access metadata writes of HotRod-based session managers.
+ * A single instance may be shared by the session managers of multiple deployments.
+ */
+public class HotRodSessionManagerStatistics {
+
+    private final LongAdder nearCacheHits = new LongAdder();
+    private final LongAdder nearCacheMisses = new LongAdder();
+    private final LongAdder accessMetaDataWrites = new LongAdder();
+    private final LongAdder coalescedAccessMetaDataWrites = new LongAdder();
+
+    /**
+     * Returns the number of near-cache reads that found an entry.
+     * @return a number of reads
+     */
+    public long getNearCacheHits() {
+        return this.nearCacheHits.sum();
+    }
+
+    /**
+     * Returns the number of near-cache reads that did not find an entry, requiring a remote read.
+     * @return a number of reads
+     */
+    public long getNearCacheMisses() {
+        return this.nearCacheMisses.sum();
+    }
+
+    /**
+     * Returns the number of writes of session access metadata to the remote cache.
+     * @return a number of writes
+     */
+    public long getAccessMetaDataWrites() {
+        return this.accessMetaDataWrites.sum();
+    }
+
+    /**
+     * Returns the number of updates of session access metadata that were coalesced into a pending write, and thus did not require a write to the remote cache.
+     * @return a number of updates
+     */
+    public long getCoalescedAccessMetaDataWrites() {
+        return this.coalescedAccessMetaDataWrites.sum();
+    }
+
+    void recordNearCacheHit() {
+        this.nearCacheHits.increment();
+    }
+
+    void recordNearCacheMiss() {
+        this.nearCacheMisses.increment();
+    }
+
+    public void recordAccessMetaDataWrite() {
+        this.accessMetaDataWrites.increment();
+    }
+
+    public void recordCoalescedAccessMetaDataWrite() {
+        this.coalescedAccessMetaDataWrites.increment();
+    }
+}
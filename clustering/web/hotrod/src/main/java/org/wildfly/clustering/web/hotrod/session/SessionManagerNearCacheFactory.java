@@ -26,14 +26,26 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * A near-cache factory based on max-active-sessions.
+ * Eviction of the creation metadata of a session invalidates the remaining entries of that session.
  * @author Paul Ferraro
  */
 public class SessionManagerNearCacheFactory implements NearCacheFactory {
 
     private final Integer maxActiveSessions;
+    private final HotRodSessionManagerStatistics statistics;
 
     public SessionManagerNearCacheFactory(Integer maxActiveSessions) {
+        this(maxActiveSessions, null);
+    }
+
+    /**
+     * Creates a near-cache factory.
+     * @param maxActiveSessions the maximum number of sessions retained by the near-cache, or null, if unbounded
+     * @param statistics the statistics to which the near-cache reports its hits and misses, or null, if statistics should not be recorded
+     */
+    public SessionManagerNearCacheFactory(Integer maxActiveSessions, HotRodSessionManagerStatistics statistics) {
         this.maxActiveSessions = maxActiveSessions;
+        this.statistics = statistics;
     }
 
     @Override
@@ -50,7 +62,19 @@ public class SessionManagerNearCacheFactory implements NearCacheFactory {
         if (listener != null) {
             listener.accept(cache);
         }
-        return new CaffeineNearCache<>(cache);
+        HotRodSessionManagerStatistics statistics = this.statistics;
+        return (statistics != null) ? new CaffeineNearCache<>(cache) {
+            @Override
+            public MetadataValue<V> get(K key) {
+                MetadataValue<V> value = super.get(key);
+                if (value != null) {
+                    statistics.recordNearCacheHit();
+                } else {
+                    statistics.recordNearCacheMiss();
+                }
+                return value;
+            }
+        } : new CaffeineNearCache<>(cache);
     }
 
     private static class InvalidationListener implements BiConsumer<Cache<Object, MetadataValue<Object>>, Map.Entry<Object, Object>> {
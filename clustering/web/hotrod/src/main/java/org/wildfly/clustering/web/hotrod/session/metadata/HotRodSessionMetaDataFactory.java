@@ -48,12 +48,23 @@ public class HotRodSessionMetaDataFactory<C> implements SessionMetaDataFactory<S
     private final Flag[] ignoreReturnFlags;
     private final RemoteCache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<C>> creationMetaDataCache;
     private final RemoteCache<SessionAccessMetaDataKey, SessionAccessMetaDataEntry> accessMetaDataCache;
+    private final SessionAccessMetaDataWriteBehind writeBehind;
 
     public HotRodSessionMetaDataFactory(HotRodConfiguration configuration) {
+        this(configuration, null);
+    }
+
+    /**
+     * Creates a session metadata factory whose writes of access metadata are deferred via the specified write-behind.
+     * @param configuration the configuration of this factory
+     * @param writeBehind a write-behind of access metadata, or null, if access metadata should be written immediately
+     */
+    public HotRodSessionMetaDataFactory(HotRodConfiguration configuration, SessionAccessMetaDataWriteBehind writeBehind) {
         this.cache = configuration.getCache();
         this.ignoreReturnFlags = configuration.getIgnoreReturnFlags();
         this.creationMetaDataCache = configuration.getCache();
         this.accessMetaDataCache = configuration.getCache();
+        this.writeBehind = writeBehind;
     }
 
     @Override
@@ -75,6 +86,9 @@ public class HotRodSessionMetaDataFactory<C> implements SessionMetaDataFactory<S
         @SuppressWarnings("unchecked")
         SessionCreationMetaDataEntry<C> creationMetaData = (SessionCreationMetaDataEntry<C>) entries.get(creationMetaDataKey);
         SessionAccessMetaDataEntry accessMetaData = (SessionAccessMetaDataEntry) entries.get(accessMetaDataKey);
+        if ((accessMetaData != null) && (this.writeBehind != null)) {
+            accessMetaData = this.writeBehind.getAccessMetaDataEntry(id, accessMetaData);
+        }
         // Any orphan entry should not be removed here - this would otherwise interfere with expiration listener
         return (creationMetaData != null) && (accessMetaData != null) ? new DefaultSessionMetaDataEntry<>(creationMetaData, accessMetaData) : null;
     }
@@ -88,7 +102,8 @@ public class HotRodSessionMetaDataFactory<C> implements SessionMetaDataFactory<S
         SessionAccessMetaData accessMetaData = new MutableSessionAccessMetaData(entry.getAccessMetaDataEntry(), values);
 
         Mutator creationMetaDataMutator = new RemoteCacheEntryComputeMutator<>(this.creationMetaDataCache, this.ignoreReturnFlags, new SessionCreationMetaDataKey(id), new SessionCreationMetaDataEntryFunction<>(timeoutOffset));
-        Mutator accessMetaDataMutator = new RemoteCacheEntryComputeMutator<>(this.accessMetaDataCache, this.ignoreReturnFlags, new SessionAccessMetaDataKey(id), new SessionAccessMetaDataEntryFunction(values), creationMetaData::getTimeout);
+        Mutator accessMetaDataMutator = (this.writeBehind != null) ? this.writeBehind.createMutator(id, entry.getAccessMetaDataEntry(), values, creationMetaData::getTimeout, (offsets, timeout) -> new RemoteCacheEntryComputeMutator<>(this.accessMetaDataCache, this.ignoreReturnFlags, new SessionAccessMetaDataKey(id), new SessionAccessMetaDataEntryFunction(offsets), timeout))
+                : new RemoteCacheEntryComputeMutator<>(this.accessMetaDataCache, this.ignoreReturnFlags, new SessionAccessMetaDataKey(id), new SessionAccessMetaDataEntryFunction(values), creationMetaData::getTimeout);
         Mutator mutator = new Mutator() {
             @Override
             public void mutate() {
@@ -109,8 +124,18 @@ public class HotRodSessionMetaDataFactory<C> implements SessionMetaDataFactory<S
 
     @Override
     public boolean remove(String id) {
+        if (this.writeBehind != null) {
+            this.writeBehind.cancel(id);
+        }
         this.accessMetaDataCache.withFlags(this.ignoreReturnFlags).remove(new SessionAccessMetaDataKey(id));
         this.creationMetaDataCache.withFlags(this.ignoreReturnFlags).remove(new SessionCreationMetaDataKey(id));
         return true;
     }
+
+    @Override
+    public void close() {
+        if (this.writeBehind != null) {
+            this.writeBehind.close();
+        }
+    }
 }
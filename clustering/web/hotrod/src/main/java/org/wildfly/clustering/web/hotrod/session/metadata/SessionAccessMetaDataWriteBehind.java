@@ -0,0 +1,192 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.hotrod.session.metadata;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.wildfly.clustering.context.DefaultExecutorService;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.offset.Offset;
+import org.wildfly.clustering.web.cache.session.metadata.fine.DefaultSessionAccessMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.metadata.fine.MutableSessionAccessMetaDataValues;
+import org.wildfly.clustering.web.cache.session.metadata.fine.SessionAccessMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.metadata.fine.SessionAccessMetaDataEntryOffsets;
+import org.wildfly.clustering.web.hotrod.logging.Logger;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Defers the writes of session access metadata to the remote cache, so that the updates of the last access time of a session within a given interval
+ * are coalesced into a single write.
+ * Until it is written, the pending access metadata of a session supersedes the access metadata read from the remote cache.
+ * A write is never deferred if the remote entry might otherwise expire in the meantime.
+ */
+public class SessionAccessMetaDataWriteBehind implements AutoCloseable {
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(SessionAccessMetaDataWriteBehind.class);
+
+    private final Map<String, PendingWrite> writes = new ConcurrentHashMap<>();
+    private final Duration interval;
+    private final HotRodSessionManagerStatistics statistics;
+    private final ScheduledExecutorService executor;
+
+    public SessionAccessMetaDataWriteBehind(Duration interval, HotRodSessionManagerStatistics statistics) {
+        this.interval = interval;
+        this.statistics = statistics;
+        // Flushing a write only issues an asynchronous remote write, so a single thread suffices, which times out while no writes are pending
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        executor.setKeepAliveTime(1L, TimeUnit.MINUTES);
+        executor.allowCoreThreadTimeOut(true);
+        // Pending writes are flushed explicitly on close
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the pending access metadata of the specified session, if any, otherwise the specified access metadata read from the remote cache.
+     * @param id a session identifier
+     * @param entry the access metadata read from the remote cache
+     * @return the most recent access metadata of the session
+     */
+    public SessionAccessMetaDataEntry getAccessMetaDataEntry(String id, SessionAccessMetaDataEntry entry) {
+        PendingWrite write = this.writes.get(id);
+        return (write != null) ? write.getEntry() : entry;
+    }
+
+    /**
+     * Creates a mutator that defers the write of the access metadata of the specified session.
+     * @param id a session identifier
+     * @param entry the access metadata of the session, as returned by {@link #getAccessMetaDataEntry(String, SessionAccessMetaDataEntry)}
+     * @param values the mutable values of the access metadata of the session
+     * @param timeout the timeout of the session
+     * @param writer a factory for a mutator that applies the specified offsets to the remote entry, using the specified max-idle duration
+     * @return a mutator
+     */
+    public Mutator createMutator(String id, SessionAccessMetaDataEntry entry, MutableSessionAccessMetaDataValues values, Supplier<Duration> timeout, BiFunction<SessionAccessMetaDataEntryOffsets, Supplier<Duration>, Mutator> writer) {
+        return new Mutator() {
+            @Override
+            public void mutate() {
+                SessionAccessMetaDataWriteBehind.this.write(id, entry, values, timeout, writer);
+            }
+        };
+    }
+
+    private void write(String id, SessionAccessMetaDataEntry entry, MutableSessionAccessMetaDataValues values, Supplier<Duration> timeout, BiFunction<SessionAccessMetaDataEntryOffsets, Supplier<Duration>, Mutator> writer) {
+        SessionAccessMetaDataEntry result = new DefaultSessionAccessMetaDataEntry();
+        result.setLastAccessDuration(values.getSinceCreation().get(), values.getLastAccess().get());
+        // Coalesce with the pending write from which the access metadata of this request was read, if any
+        PendingWrite pending = this.writes.computeIfPresent(id, (key, write) -> (write.getEntry() == entry) ? new PendingWrite(write.getBase(), result, timeout, writer) : write);
+        if ((pending != null) && (pending.getEntry() == result)) {
+            this.statistics.recordCoalescedAccessMetaDataWrite();
+            return;
+        }
+        // Otherwise, the access metadata of this request was read from the remote cache, or from a write that was flushed since
+        PendingWrite write = new PendingWrite(entry, result, timeout, writer);
+        if ((pending != null) || !this.isDeferrable(write) || (this.writes.putIfAbsent(id, write) != null)) {
+            write.flush(this.statistics);
+            return;
+        }
+        try {
+            this.executor.schedule(() -> this.flushDeferred(id), this.interval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Write-behind was closed
+            this.flush(id);
+        }
+    }
+
+    private void flushDeferred(String id) {
+        try {
+            this.flush(id);
+        } catch (RuntimeException e) {
+            Logger.ROOT_LOGGER.failedToWriteSessionAccessMetaData(e, id);
+        }
+    }
+
+    // Determines whether the remote entry will not expire before a deferred write is flushed
+    private boolean isDeferrable(PendingWrite write) {
+        Duration timeout = write.getTimeout();
+        if ((timeout == null) || timeout.isZero() || timeout.isNegative()) return true;
+        SessionAccessMetaDataEntry base = write.getBase();
+        SessionAccessMetaDataEntry entry = write.getEntry();
+        // Time elapsed since the end of the last access written to the remote cache
+        Duration elapsed = entry.getSinceCreationDuration().plus(entry.getLastAccessDuration()).minus(base.getSinceCreationDuration().plus(base.getLastAccessDuration()));
+        return elapsed.plus(this.interval).compareTo(timeout) < 0;
+    }
+
+    private void flush(String id) {
+        // Flushes the pending write, including any subsequent writes coalesced with it, unless the session was removed
+        PendingWrite write = this.writes.remove(id);
+        if (write != null) {
+            write.flush(this.statistics);
+        }
+    }
+
+    /**
+     * Discards the pending write for the specified session, e.g. if the session was removed.
+     * @param id a session identifier
+     */
+    public void cancel(String id) {
+        this.writes.remove(id);
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_ACTION);
+        for (String id : this.writes.keySet()) {
+            this.flush(id);
+        }
+    }
+
+    private static class PendingWrite implements SessionAccessMetaDataEntryOffsets {
+        private final SessionAccessMetaDataEntry base;
+        private final SessionAccessMetaDataEntry entry;
+        private final Supplier<Duration> timeout;
+        private final BiFunction<SessionAccessMetaDataEntryOffsets, Supplier<Duration>, Mutator> writer;
+
+        PendingWrite(SessionAccessMetaDataEntry base, SessionAccessMetaDataEntry entry, Supplier<Duration> timeout, BiFunction<SessionAccessMetaDataEntryOffsets, Supplier<Duration>, Mutator> writer) {
+            this.base = base;
+            this.entry = entry;
+            this.timeout = timeout;
+            this.writer = writer;
+        }
+
+        SessionAccessMetaDataEntry getBase() {
+            return this.base;
+        }
+
+        SessionAccessMetaDataEntry getEntry() {
+            return this.entry;
+        }
+
+        Duration getTimeout() {
+            return this.timeout.get();
+        }
+
+        @Override
+        public Offset<Duration> getSinceCreationOffset() {
+            return Offset.forDuration(this.entry.getSinceCreationDuration().minus(this.base.getSinceCreationDuration()));
+        }
+
+        @Override
+        public Offset<Duration> getLastAccessOffset() {
+            return Offset.forDuration(this.entry.getLastAccessDuration().minus(this.base.getLastAccessDuration()));
+        }
+
+        void flush(HotRodSessionManagerStatistics statistics) {
+            this.writer.apply(this, this.timeout).mutate();
+            statistics.recordAccessMetaDataWrite();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.hotrod.session.metadata;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.web.cache.session.metadata.fine.DefaultSessionAccessMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.metadata.fine.MutableSessionAccessMetaDataOffsetValues;
+import org.wildfly.clustering.web.cache.session.metadata.fine.SessionAccessMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.metadata.fine.SessionAccessMetaDataEntryOffsets;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerStatistics;
+
+/**
+ * Unit test for {@link SessionAccessMetaDataWriteBehind}.
+ */
+public class SessionAccessMetaDataWriteBehindTestCase {
+
+    private final List<SessionAccessMetaDataEntry> writes = new CopyOnWriteArrayList<>();
+    private final HotRodSessionManagerStatistics statistics = new HotRodSessionManagerStatistics();
+
+    @Test
+    public void coalesce() throws InterruptedException {
+        SessionAccessMetaDataEntry remote = createEntry(Duration.ofSeconds(1), Duration.ofSeconds(1));
+        Supplier<Duration> timeout = () -> Duration.ofMinutes(30);
+
+        try (SessionAccessMetaDataWriteBehind writeBehind = new SessionAccessMetaDataWriteBehind(Duration.ofMillis(100), this.statistics)) {
+            this.access(writeBehind, "foo", remote, timeout, Duration.ofSeconds(10));
+
+            // Subsequent request should see the pending access metadata
+            SessionAccessMetaDataEntry pending = writeBehind.getAccessMetaDataEntry("foo", remote);
+            Assert.assertNotSame(remote, pending);
+            Assert.assertEquals(Duration.ofSeconds(10), pending.getSinceCreationDuration());
+
+            this.access(writeBehind, "foo", remote, timeout, Duration.ofSeconds(20));
+
+            Assert.assertTrue(this.writes.isEmpty());
+
+            Thread.sleep(500);
+
+            // Verify that both requests were coalesced into a single write, relative to the remote entry
+            Assert.assertEquals(1, this.writes.size());
+            Assert.assertEquals(Duration.ofSeconds(20), this.writes.get(0).getSinceCreationDuration());
+            Assert.assertEquals(Duration.ofSeconds(1), this.writes.get(0).getLastAccessDuration());
+            Assert.assertEquals(1L, this.statistics.getAccessMetaDataWrites());
+            Assert.assertEquals(1L, this.statistics.getCoalescedAccessMetaDataWrites());
+
+            // Once flushed, remote entry should be used
+            Assert.assertSame(remote, writeBehind.getAccessMetaDataEntry("foo", remote));
+        }
+    }
+
+    @Test
+    public void expirationRisk() {
+        SessionAccessMetaDataEntry remote = createEntry(Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+        try (SessionAccessMetaDataWriteBehind writeBehind = new SessionAccessMetaDataWriteBehind(Duration.ofSeconds(10), this.statistics)) {
+            // Session could expire before a deferred write, so write immediately
+            this.access(writeBehind, "foo", remote, () -> Duration.ofSeconds(15), Duration.ofSeconds(10));
+
+            Assert.assertEquals(1, this.writes.size());
+            Assert.assertSame(remote, writeBehind.getAccessMetaDataEntry("foo", remote));
+
+            // Immortal sessions never risk expiration
+            this.access(writeBehind, "bar", remote, () -> Duration.ZERO, Duration.ofHours(1));
+
+            Assert.assertEquals(1, this.writes.size());
+        }
+        // Verify pending writes were flushed on close
+        Assert.assertEquals(2, this.writes.size());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        SessionAccessMetaDataEntry remote = createEntry(Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+        try (SessionAccessMetaDataWriteBehind writeBehind = new SessionAccessMetaDataWriteBehind(Duration.ofMillis(100), this.statistics)) {
+            this.access(writeBehind, "foo", remote, () -> Duration.ofMinutes(30), Duration.ofSeconds(10));
+
+            writeBehind.cancel("foo");
+
+            Thread.sleep(500);
+
+            Assert.assertTrue(this.writes.isEmpty());
+        }
+        Assert.assertTrue(this.writes.isEmpty());
+    }
+
+    private void access(SessionAccessMetaDataWriteBehind writeBehind, String id, SessionAccessMetaDataEntry remote, Supplier<Duration> timeout, Duration sinceCreation) {
+        SessionAccessMetaDataEntry entry = writeBehind.getAccessMetaDataEntry(id, remote);
+        MutableSessionAccessMetaDataOffsetValues values = MutableSessionAccessMetaDataOffsetValues.from(entry);
+        values.getSinceCreation().set(sinceCreation);
+        values.getLastAccess().set(Duration.ofSeconds(1));
+        BiFunction<SessionAccessMetaDataEntryOffsets, Supplier<Duration>, Mutator> writer = (offsets, maxIdle) -> () -> this.writes.add(remote.remap(offsets));
+        writeBehind.createMutator(id, entry, values, timeout, writer).mutate();
+    }
+
+    private static SessionAccessMetaDataEntry createEntry(Duration sinceCreation, Duration lastAccess) {
+        SessionAccessMetaDataEntry entry = new DefaultSessionAccessMetaDataEntry();
+        entry.setLastAccessDuration(sinceCreation, lastAccess);
+        return entry;
+    }
+}
@@ -10,6 +10,7 @@ import java.util.List;
 import org.infinispan.protostream.SerializationContextInitializer;
 import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.marshalling.protostream.CompositeSerializationContextInitializer;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.CoarseSessionAttributesSerializationContextInitializer;
 import org.wildfly.clustering.web.cache.session.attributes.fine.FineSessionAttributesSerializationContextInitializer;
 import org.wildfly.clustering.web.cache.session.metadata.coarse.CoarseSessionMetaDataSerializationContextInitializer;
 import org.wildfly.clustering.web.infinispan.session.attributes.SessionAttributesSerializationContextInitializer;
@@ -27,6 +28,7 @@ public class InfinispanWebSerializationContextInitializer extends CompositeSeria
         // Initialize only those marshallers used by this implementation
         super(List.of(
                 new CoarseSessionMetaDataSerializationContextInitializer(),
+                new CoarseSessionAttributesSerializationContextInitializer(),
                 new FineSessionAttributesSerializationContextInitializer(),
                 new SessionMetaDataSerializationContextInitializer(),
                 new SessionAttributesSerializationContextInitializer(),
@@ -13,4 +13,16 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface InfinispanSessionManagementConfiguration<M> extends DistributableSessionManagementConfiguration<M>, InfinispanCacheConfiguration {
+
+    /**
+     * Indicates whether only the changes to the attributes of a session using {@link org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy#COARSE} persistence are written to the cache.
+     * @return true, if attribute deltas should be written, false otherwise
+     */
+    boolean isAttributeDeltaReplicationEnabled();
+
+    /**
+     * Returns the statistics to which the session managers of this provider should record.
+     * @return the session manager statistics
+     */
+    InfinispanSessionManagerStatistics getStatistics();
 }
@@ -4,6 +4,7 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -13,6 +14,7 @@ import org.infinispan.Cache;
 import org.wildfly.clustering.Registrar;
 import org.wildfly.clustering.Registration;
 import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Key;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.cache.ConcurrentManager;
@@ -25,6 +27,7 @@ import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
 import org.wildfly.clustering.ee.infinispan.affinity.AffinityIdentifierFactory;
 import org.wildfly.clustering.ee.infinispan.expiration.ScheduleWithExpirationMetaDataCommandFactory;
 import org.wildfly.clustering.ee.infinispan.scheduler.CacheEntryScheduler;
+import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerCommandBatcher;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalKeysTask;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleWithTransientMetaDataCommand;
@@ -37,6 +40,7 @@ import org.wildfly.clustering.infinispan.distribution.SimpleLocality;
 import org.wildfly.clustering.infinispan.listener.ListenerRegistration;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeSessionFactory;
 import org.wildfly.clustering.web.cache.session.ConcurrentSessionManager;
 import org.wildfly.clustering.web.cache.session.DelegatingSessionManagerConfiguration;
@@ -46,6 +50,7 @@ import org.wildfly.clustering.web.cache.session.attributes.SessionAttributesFact
 import org.wildfly.clustering.web.cache.session.attributes.fine.SessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.metadata.SessionMetaDataFactory;
 import org.wildfly.clustering.web.cache.session.metadata.coarse.ContextualSessionMetaDataEntry;
+import org.wildfly.clustering.web.infinispan.session.attributes.CoarseDeltaSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.attributes.CoarseSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.attributes.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.attributes.InfinispanSessionAttributesFactoryConfiguration;
@@ -54,6 +59,7 @@ import org.wildfly.clustering.web.infinispan.session.metadata.SessionMetaDataKey
 import org.wildfly.clustering.web.infinispan.session.metadata.SessionMetaDataKeyFilter;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
 import org.wildfly.clustering.web.session.SpecificationProvider;
 
@@ -90,7 +96,7 @@ public class InfinispanSessionManagerFactory<S, SC, AL, LC> implements SessionMa
         CacheEntryScheduler<String, ExpirationMetaData> localScheduler = new SessionExpirationScheduler<>(config.getBatcher(), this.factory.getMetaDataFactory(), this.remover, Duration.ofMillis(cache.getCacheConfiguration().transaction().cacheStopTimeout()));
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         Group group = dispatcherFactory.getGroup();
-        this.scheduler = group.isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(dispatcherFactory, cache.getName(), localScheduler, new PrimaryOwnerLocator<>(cache, config.getMemberFactory()), SessionMetaDataKey::new, properties.isTransactional() ? new ScheduleWithExpirationMetaDataCommandFactory<>() : ScheduleWithTransientMetaDataCommand::new);
+        this.scheduler = group.isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(dispatcherFactory, cache.getName(), localScheduler, new PrimaryOwnerLocator<>(cache, config.getMemberFactory()), SessionMetaDataKey::new, properties.isTransactional() ? new ScheduleWithExpirationMetaDataCommandFactory<>() : ScheduleWithTransientMetaDataCommand::new, PrimaryOwnerCommandBatcher.isEnabled(), config.getStatistics());
 
         this.scheduleTask = new ScheduleLocalKeysTask<>(cache, SessionMetaDataKeyFilter.INSTANCE, localScheduler);
         this.schedulerListenerRegistration = new SchedulerTopologyChangeListener<>(cache, localScheduler, this.scheduleTask).register();
@@ -138,6 +144,10 @@ public class InfinispanSessionManagerFactory<S, SC, AL, LC> implements SessionMa
                 return new FineSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory));
             }
             case COARSE: {
+                // Deltas are only worthwhile if attributes are marshalled
+                if (configuration.isAttributeDeltaReplicationEnabled() && configuration.getCacheProperties().isMarshalling()) {
+                    return new CoarseDeltaSessionAttributesFactory<>(new InfinispanByteBufferSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory), configuration.getStatistics());
+                }
                 return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory));
             }
             default: {
@@ -195,4 +205,39 @@ public class InfinispanSessionManagerFactory<S, SC, AL, LC> implements SessionMa
             return this.notifierFactory;
         }
     }
+
+    private static class InfinispanByteBufferSessionAttributesFactoryConfiguration<S, SC, AL, LC> implements InfinispanSessionAttributesFactoryConfiguration<S, SC, AL, Object, ByteBuffer> {
+        private final InfinispanSessionManagerFactoryConfiguration<S, SC, AL, LC> configuration;
+        private final Function<String, SessionAttributeActivationNotifier> notifierFactory;
+
+        InfinispanByteBufferSessionAttributesFactoryConfiguration(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, LC> configuration, Function<String, SessionAttributeActivationNotifier> notifierFactory) {
+            this.configuration = configuration;
+            this.notifierFactory = notifierFactory;
+        }
+
+        @Override
+        public Marshaller<Object, ByteBuffer> getMarshaller() {
+            return this.configuration.getMarshaller();
+        }
+
+        @Override
+        public Immutability getImmutability() {
+            return this.configuration.getImmutability();
+        }
+
+        @Override
+        public HttpSessionActivationListenerProvider<S, SC, AL> getHttpSessionActivationListenerProvider() {
+            return this.configuration.getSpecificationProvider();
+        }
+
+        @Override
+        public <CK, CV> Cache<CK, CV> getCache() {
+            return this.configuration.getCache();
+        }
+
+        @Override
+        public Function<String, SessionAttributeActivationNotifier> getActivationNotifierFactory() {
+            return this.notifierFactory;
+        }
+    }
 }
@@ -25,4 +25,16 @@ public interface InfinispanSessionManagerFactoryConfiguration<S, SC, AL, LC> ext
     CommandDispatcherFactory getCommandDispatcherFactory();
 
     NodeFactory<Address> getMemberFactory();
+
+    /**
+     * Indicates whether only the changes to the attributes of a session using {@link org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy#COARSE} persistence are written to the cache.
+     * @return true, if attribute deltas should be written, false otherwise
+     */
+    boolean isAttributeDeltaReplicationEnabled();
+
+    /**
+     * Returns the statistics to which the session managers created by this factory should record.
+     * @return the session manager statistics
+     */
+    InfinispanSessionManagerStatistics getStatistics();
 }
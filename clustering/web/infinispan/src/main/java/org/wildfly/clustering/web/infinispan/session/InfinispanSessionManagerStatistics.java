@@ -0,0 +1,64 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerSchedulerStatistics;
+
+/**
+ * Statistics of the session attribute writes and expiration scheduler invocations of Infinispan-based session managers.
+ * A single instance may be shared by the session managers of multiple deployments.
+ */
+public class InfinispanSessionManagerStatistics extends PrimaryOwnerSchedulerStatistics {
+
+    private final LongAdder fullAttributeWrites = new LongAdder();
+    private final LongAdder fullAttributeWriteBytes = new LongAdder();
+    private final LongAdder deltaAttributeWrites = new LongAdder();
+    private final LongAdder deltaAttributeWriteBytes = new LongAdder();
+
+    /**
+     * Returns the number of writes of the full set of attributes of a session.
+     * @return a number of writes
+     */
+    public long getFullAttributeWrites() {
+        return this.fullAttributeWrites.sum();
+    }
+
+    /**
+     * Returns the total marshalled size of the writes of the full set of attributes of a session.
+     * @return a number of bytes
+     */
+    public long getFullAttributeWriteBytes() {
+        return this.fullAttributeWriteBytes.sum();
+    }
+
+    /**
+     * Returns the number of writes of the changes to the attributes of a session.
+     * @return a number of writes
+     */
+    public long getDeltaAttributeWrites() {
+        return this.deltaAttributeWrites.sum();
+    }
+
+    /**
+     * Returns the total approximate marshalled size of the writes of the changes to the attributes of a session.
+     * @return a number of bytes
+     */
+    public long getDeltaAttributeWriteBytes() {
+        return this.deltaAttributeWriteBytes.sum();
+    }
+
+    public void recordFullAttributeWrite(int bytes) {
+        this.fullAttributeWrites.increment();
+        this.fullAttributeWriteBytes.add(bytes);
+    }
+
+    public void recordDeltaAttributeWrite(int bytes) {
+        this.deltaAttributeWrites.increment();
+        this.deltaAttributeWriteBytes.add(bytes);
+    }
+}
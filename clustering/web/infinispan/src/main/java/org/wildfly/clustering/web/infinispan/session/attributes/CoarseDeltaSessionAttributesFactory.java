@@ -0,0 +1,230 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.infinispan.session.attributes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.CacheComputeMutatorFactory;
+import org.wildfly.clustering.ee.infinispan.CacheEntryMutator;
+import org.wildfly.clustering.infinispan.listener.ListenerRegistration;
+import org.wildfly.clustering.infinispan.listener.PostActivateBlockingListener;
+import org.wildfly.clustering.infinispan.listener.PostPassivateBlockingListener;
+import org.wildfly.clustering.infinispan.listener.PrePassivateBlockingListener;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
+import org.wildfly.clustering.web.cache.session.attributes.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.attributes.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.attributes.SimpleImmutableSessionAttributes;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.CoarseSessionAttributes;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.ImmutableSessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.SessionAttributesDelta;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.SessionAttributesEntry;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.SessionAttributesEntryFunction;
+import org.wildfly.clustering.web.cache.session.attributes.fine.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
+import org.wildfly.clustering.web.infinispan.session.metadata.SessionMetaDataKey;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * {@link SessionAttributesFactory} for coarse granularity sessions, where all session attributes are stored in a single cache entry,
+ * but where only the changes to the session attributes are written, rather than the full set of session attributes.
+ * The full set of session attributes is written instead once the accumulated changes would exceed its size.
+ * <p>
+ * N.B. Unlike {@link CoarseSessionAttributesFactory}, this does not preserve references shared between session attributes:
+ * each changed attribute is marshalled independently of the others, so attributes referencing the same object
+ * reference distinct copies once any of them was written as a change, i.e. with the same semantics as ATTRIBUTE granularity.
+ * @param <S> the HttpSession specification type
+ * @param <C> the ServletContext specification type
+ * @param <L> the HttpSessionActivationListener specification type
+ */
+public class CoarseDeltaSessionAttributesFactory<S, C, L> implements SessionAttributesFactory<C, Map.Entry<Map<String, Object>, SessionAttributesEntry>> {
+
+    private final Cache<SessionAttributesKey, SessionAttributesEntry> cache;
+    private final Cache<SessionAttributesKey, SessionAttributesEntry> writeCache;
+    private final Cache<SessionAttributesKey, SessionAttributesEntry> silentCache;
+    private final Marshaller<Object, ByteBuffer> marshaller;
+    private final CacheProperties properties;
+    private final Immutability immutability;
+    private final MutatorFactory<SessionAttributesKey, SessionAttributesDelta> deltaMutatorFactory;
+    private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final Function<String, SessionAttributeActivationNotifier> notifierFactory;
+    private final InfinispanSessionManagerStatistics statistics;
+    private final ListenerRegistration evictListenerRegistration;
+    private final ListenerRegistration prePassivateListenerRegistration;
+    private final ListenerRegistration postActivateListenerRegistration;
+
+    public CoarseDeltaSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, ByteBuffer> configuration, InfinispanSessionManagerStatistics statistics) {
+        this.cache = configuration.getCache();
+        this.writeCache = configuration.getWriteOnlyCache();
+        this.silentCache = configuration.getSilentWriteCache();
+        this.marshaller = configuration.getMarshaller();
+        this.immutability = configuration.getImmutability();
+        this.properties = configuration.getCacheProperties();
+        this.deltaMutatorFactory = new CacheComputeMutatorFactory<>(this.cache, SessionAttributesEntryFunction::new);
+        this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.notifierFactory = configuration.getActivationNotifierFactory();
+        this.statistics = statistics;
+        this.prePassivateListenerRegistration = !this.properties.isPersistent() ? new PrePassivateBlockingListener<>(this.cache, this::prePassivate).register(SessionAttributesKey.class) : null;
+        this.postActivateListenerRegistration = !this.properties.isPersistent() ? new PostActivateBlockingListener<>(this.cache, this::postActivate).register(SessionAttributesKey.class) : null;
+        this.evictListenerRegistration = new PostPassivateBlockingListener<>(configuration.getCache(), this::cascadeEvict).register(SessionMetaDataKey.class);
+    }
+
+    @Override
+    public void close() {
+        this.evictListenerRegistration.close();
+        if (this.prePassivateListenerRegistration != null) {
+            this.prePassivateListenerRegistration.close();
+        }
+        if (this.postActivateListenerRegistration != null) {
+            this.postActivateListenerRegistration.close();
+        }
+    }
+
+    @Override
+    public Map.Entry<Map<String, Object>, SessionAttributesEntry> createValue(String id, Void context) {
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        try {
+            SessionAttributesEntry entry = new SessionAttributesEntry(this.marshaller.write(attributes));
+            this.writeCache.put(new SessionAttributesKey(id), entry);
+            return Map.entry(attributes, entry);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Map.Entry<Map<String, Object>, SessionAttributesEntry> findValue(String id) {
+        return this.getValue(id, true);
+    }
+
+    @Override
+    public Map.Entry<Map<String, Object>, SessionAttributesEntry> tryValue(String id) {
+        return this.getValue(id, false);
+    }
+
+    private Map.Entry<Map<String, Object>, SessionAttributesEntry> getValue(String id, boolean purgeIfInvalid) {
+        SessionAttributesEntry entry = this.cache.get(new SessionAttributesKey(id));
+        if (entry != null) {
+            try {
+                return Map.entry(entry.read(this.marshaller), entry);
+            } catch (IOException e) {
+                InfinispanWebLogger.ROOT_LOGGER.failedToActivateSession(e, id);
+                if (purgeIfInvalid) {
+                    this.purge(id);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return this.delete(this.writeCache, id);
+    }
+
+    @Override
+    public boolean purge(String id) {
+        return this.delete(this.silentCache, id);
+    }
+
+    private boolean delete(Cache<SessionAttributesKey, SessionAttributesEntry> cache, String id) {
+        cache.remove(new SessionAttributesKey(id));
+        return true;
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, Map.Entry<Map<String, Object>, SessionAttributesEntry> value, ImmutableSessionMetaData metaData, C context) {
+        Map<String, Object> attributes = value.getKey();
+        SessionAttributesEntry entry = value.getValue();
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        // The entry of a new session only contains a snapshot of its initial empty attributes, so its full set of attributes must be written
+        Function<Set<String>, Mutator> mutatorFactory = metaData.isNew() ? updates -> this.createMutator(key, attributes) : updates -> this.createMutator(key, attributes, entry, updates);
+        SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, value)), context) : null;
+        return new CoarseSessionAttributes(attributes, mutatorFactory, this.marshaller, this.immutability, this.properties, notifier);
+    }
+
+    private Mutator createMutator(SessionAttributesKey key, Map<String, Object> attributes, SessionAttributesEntry entry, Set<String> updates) {
+        Map<String, Object> updatedAttributes = new TreeMap<>();
+        Set<String> removedAttributes = new TreeSet<>();
+        for (String name : updates) {
+            Object value = attributes.get(name);
+            if (value != null) {
+                updatedAttributes.put(name, value);
+            } else {
+                removedAttributes.add(name);
+            }
+        }
+        try {
+            SessionAttributesDelta delta = new SessionAttributesDelta(!updatedAttributes.isEmpty() ? this.marshaller.write(updatedAttributes) : null, removedAttributes);
+            int deltaSize = delta.size();
+            // Write full set of attributes if the accumulated deltas would be larger
+            if (entry.getDeltaSize() + deltaSize >= entry.size()) {
+                return this.createMutator(key, attributes);
+            }
+            this.statistics.recordDeltaAttributeWrite(deltaSize);
+            return this.deltaMutatorFactory.createMutator(key, delta);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Mutator createMutator(SessionAttributesKey key, Map<String, Object> attributes) {
+        try {
+            SessionAttributesEntry entry = new SessionAttributesEntry(this.marshaller.write(attributes));
+            this.statistics.recordFullAttributeWrite(entry.size());
+            // The cached entry is a snapshot of the attributes, so it must be written even if the cache is not persistent
+            return new CacheEntryMutator<>(this.cache, key, entry);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map.Entry<Map<String, Object>, SessionAttributesEntry> value) {
+        return new SimpleImmutableSessionAttributes(value.getKey());
+    }
+
+    private void cascadeEvict(SessionMetaDataKey key) {
+        this.cache.evict(new SessionAttributesKey(key.getId()));
+    }
+
+    private void prePassivate(SessionAttributesKey key, SessionAttributesEntry entry) {
+        this.notify(key, entry, SessionAttributeActivationNotifier.PRE_PASSIVATE);
+    }
+
+    private void postActivate(SessionAttributesKey key, SessionAttributesEntry entry) {
+        this.notify(key, entry, SessionAttributeActivationNotifier.POST_ACTIVATE);
+    }
+
+    private void notify(SessionAttributesKey key, SessionAttributesEntry entry, BiConsumer<SessionAttributeActivationNotifier, Object> notification) {
+        String sessionId = key.getId();
+        try (SessionAttributeActivationNotifier notifier = this.notifierFactory.apply(sessionId)) {
+            Map<String, Object> attributes = entry.read(this.marshaller);
+            for (Object attributeValue : attributes.values()) {
+                notification.accept(notifier, attributeValue);
+            }
+        } catch (IOException e) {
+            InfinispanWebLogger.ROOT_LOGGER.failedToActivateSession(e, sessionId);
+        }
+    }
+}
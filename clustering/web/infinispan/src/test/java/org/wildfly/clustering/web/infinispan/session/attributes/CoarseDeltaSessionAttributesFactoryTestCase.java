@@ -0,0 +1,144 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.infinispan.session.attributes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.transaction.TransactionMode;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.JavaByteBufferMarshaller;
+import org.wildfly.clustering.web.cache.session.attributes.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.attributes.coarse.SessionAttributesEntry;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerStatistics;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * Unit test for {@link CoarseDeltaSessionAttributesFactory}.
+ * The cache is simulated by a map shared by the factories of multiple session managers.
+ */
+public class CoarseDeltaSessionAttributesFactoryTestCase {
+
+    private final Map<SessionAttributesKey, SessionAttributesEntry> entries = new ConcurrentHashMap<>();
+    private final AdvancedCache<SessionAttributesKey, SessionAttributesEntry> cache = mock(AdvancedCache.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final InfinispanSessionManagerStatistics statistics = new InfinispanSessionManagerStatistics();
+
+    @SuppressWarnings("deprecation")
+    @Before
+    public void init() {
+        EmbeddedCacheManager manager = mock(EmbeddedCacheManager.class);
+        GlobalComponentRegistry registry = mock(GlobalComponentRegistry.class);
+
+        when(this.cache.getCacheManager()).thenReturn(manager);
+        when(manager.getGlobalComponentRegistry()).thenReturn(registry);
+        when(registry.getComponent(BlockingManager.class)).thenReturn(mock(BlockingManager.class));
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(this.cache);
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().transaction().transactionMode(TransactionMode.TRANSACTIONAL).build());
+
+        doAnswer(invocation -> this.entries.get(invocation.getArgument(0))).when(this.cache).get(any());
+        doAnswer(invocation -> this.entries.put(invocation.getArgument(0), invocation.getArgument(1))).when(this.cache).put(any(), any());
+        doAnswer(invocation -> this.entries.remove(invocation.getArgument(0))).when(this.cache).remove(any());
+        doAnswer(invocation -> this.entries.compute(invocation.getArgument(0), invocation.getArgument(1))).when(this.cache).compute(any(), any(BiFunction.class));
+
+        // e.g. a local transactional cache with a passivating store
+        when(this.properties.isTransactional()).thenReturn(true);
+        when(this.properties.isMarshalling()).thenReturn(true);
+        when(this.properties.isPersistent()).thenReturn(false);
+    }
+
+    @Test
+    public void newSession() throws Exception {
+        String id = "session";
+        ImmutableSessionMetaData metaData = mock(ImmutableSessionMetaData.class);
+        when(metaData.isNew()).thenReturn(true);
+
+        try (CoarseDeltaSessionAttributesFactory<Object, Object, Object> factory = this.createFactory()) {
+            Map.Entry<Map<String, Object>, SessionAttributesEntry> value = factory.createValue(id, null);
+            SessionAttributes attributes = factory.createSessionAttributes(id, value, metaData, null);
+            attributes.setAttribute("foo", "bar");
+            attributes.close();
+        }
+
+        // Read the attributes via the factory of another session manager
+        try (CoarseDeltaSessionAttributesFactory<Object, Object, Object> factory = this.createFactory()) {
+            Map.Entry<Map<String, Object>, SessionAttributesEntry> value = factory.findValue(id);
+            assertNotNull(value);
+            ImmutableSessionAttributes attributes = factory.createImmutableSessionAttributes(id, value);
+            assertEquals(Set.of("foo"), attributes.getAttributeNames());
+            assertEquals("bar", attributes.getAttribute("foo"));
+        }
+        assertEquals(1L, this.statistics.getFullAttributeWrites());
+    }
+
+    @Test
+    public void existingSession() throws Exception {
+        String id = "session";
+        ImmutableSessionMetaData metaData = mock(ImmutableSessionMetaData.class);
+
+        try (CoarseDeltaSessionAttributesFactory<Object, Object, Object> factory = this.createFactory()) {
+            Map.Entry<Map<String, Object>, SessionAttributesEntry> value = factory.createValue(id, null);
+            when(metaData.isNew()).thenReturn(true);
+            SessionAttributes attributes = factory.createSessionAttributes(id, value, metaData, null);
+            // Large enough that a subsequent change to another attribute is written as a delta
+            attributes.setAttribute("foo", "foo".repeat(1000));
+            attributes.close();
+        }
+
+        try (CoarseDeltaSessionAttributesFactory<Object, Object, Object> factory = this.createFactory()) {
+            Map.Entry<Map<String, Object>, SessionAttributesEntry> value = factory.findValue(id);
+            when(metaData.isNew()).thenReturn(false);
+            SessionAttributes attributes = factory.createSessionAttributes(id, value, metaData, null);
+            attributes.setAttribute("bar", "baz");
+            attributes.close();
+        }
+
+        try (CoarseDeltaSessionAttributesFactory<Object, Object, Object> factory = this.createFactory()) {
+            Map.Entry<Map<String, Object>, SessionAttributesEntry> value = factory.findValue(id);
+            assertNotNull(value);
+            ImmutableSessionAttributes attributes = factory.createImmutableSessionAttributes(id, value);
+            assertEquals(Set.of("foo", "bar"), attributes.getAttributeNames());
+            assertEquals("baz", attributes.getAttribute("bar"));
+        }
+        assertEquals(1L, this.statistics.getFullAttributeWrites());
+        assertEquals(1L, this.statistics.getDeltaAttributeWrites());
+    }
+
+    private CoarseDeltaSessionAttributesFactory<Object, Object, Object> createFactory() {
+        InfinispanSessionAttributesFactoryConfiguration<Object, Object, Object, Object, ByteBuffer> configuration = mock(InfinispanSessionAttributesFactoryConfiguration.class);
+        Immutability immutability = value -> value instanceof String;
+
+        when(configuration.<SessionAttributesKey, SessionAttributesEntry>getCache()).thenReturn(this.cache);
+        when(configuration.<SessionAttributesKey, SessionAttributesEntry>getWriteOnlyCache()).thenReturn(this.cache);
+        when(configuration.<SessionAttributesKey, SessionAttributesEntry>getSilentWriteCache()).thenReturn(this.cache);
+        when(configuration.getCacheProperties()).thenReturn(this.properties);
+        when(configuration.getMarshaller()).thenReturn(JavaByteBufferMarshaller.INSTANCE);
+        when(configuration.getImmutability()).thenReturn(immutability);
+
+        return new CoarseDeltaSessionAttributesFactory<>(configuration, this.statistics);
+    }
+}
@@ -31,9 +31,19 @@ public class ClearStatisticsHandler implements OperationStepHandler {
             .build();
 
     private final List<StatisticsPlugin> stats;
+    private final Runnable clear;
 
     public ClearStatisticsHandler(StatisticsPlugin... stats) {
+        this(null, stats);
+    }
+
+    /**
+     * @param clear clears statistics recorded outside of the plugins, or null if none
+     * @param stats the statistics plugins
+     */
+    public ClearStatisticsHandler(Runnable clear, StatisticsPlugin... stats) {
         this.stats = Arrays.asList(stats);
+        this.clear = clear;
     }
 
     @Override
@@ -45,6 +55,9 @@ public class ClearStatisticsHandler implements OperationStepHandler {
                     for (StatisticsPlugin statsPlugin : stats) {
                         statsPlugin.clear();
                     }
+                    if (clear != null) {
+                        clear.run();
+                    }
                     context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
                 }
             }, OperationContext.Stage.RUNTIME);
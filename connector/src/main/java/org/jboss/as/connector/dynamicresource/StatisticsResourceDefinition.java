@@ -34,6 +34,7 @@ import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
 public class StatisticsResourceDefinition extends SimpleResourceDefinition {
 
     private final StatisticsPlugin plugin;
+    private final Runnable clear;
 
     /**
      * Constructor for the {@link org.jboss.as.controller.descriptions.OverrideDescriptionProvider} case. Internationalization support is not provided.
@@ -42,8 +43,20 @@ public class StatisticsResourceDefinition extends SimpleResourceDefinition {
      * @param plugin     the statistics plugins
      */
     public StatisticsResourceDefinition(final PathElement path, final String bundleName, final StatisticsPlugin plugin) {
+        this(path, bundleName, plugin, null);
+    }
+
+    /**
+     * Constructor for the {@link org.jboss.as.controller.descriptions.OverrideDescriptionProvider} case. Internationalization support is not provided.
+     *
+     * @param bundleName name to pass to {@link ResourceBundle#getBundle(String)}
+     * @param plugin     the statistics plugins
+     * @param clear      clears statistics recorded outside of the plugin along with it, or null if none
+     */
+    public StatisticsResourceDefinition(final PathElement path, final String bundleName, final StatisticsPlugin plugin, final Runnable clear) {
         super(new Parameters(path, getResolver("statistics", bundleName, plugin)).setRuntime());
         this.plugin = plugin;
+        this.clear = clear;
     }
 
     private static ResourceDescriptionResolver getResolver(final String keyPrefix, final String bundleName, final StatisticsPlugin plugin) {
@@ -94,7 +107,7 @@ public class StatisticsResourceDefinition extends SimpleResourceDefinition {
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
-        resourceRegistration.registerOperationHandler(ClearStatisticsHandler.DEFINITION, new ClearStatisticsHandler(plugin));
+        resourceRegistration.registerOperationHandler(ClearStatisticsHandler.DEFINITION, new ClearStatisticsHandler(clear, plugin));
     }
 
 
@@ -973,4 +973,8 @@ public interface ConnectorLogger extends BasicLogger {
 
     @Message(id = 134, value = "name attribute is mandatory for workmanager element")
     XMLStreamException nameAttributeIsMandatory();
+
+    @LogMessage(level = WARN)
+    @Message(id = 135, value = "Virtual threads are not supported by this JVM, work manager %s uses its configured thread pools")
+    void virtualThreadsNotSupported(String workManager);
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.datasources.statistics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.resource.spi.ConnectionEvent;
+import jakarta.resource.spi.ConnectionEventListener;
+
+import org.jboss.as.ee.metrics.LatencyHistogram;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Connection usage statistics of a datasource: histograms of the time spent waiting for a connection from the pool, and of
+ * the time connections are held by applications, and a sampling leak detector recording where a fraction of the connections
+ * were acquired, for as long as they are not closed.
+ * <p>
+ * Percentiles are reported over the {@link LatencyHistogram#DEFAULT_WINDOW default window} of the histograms.
+ * Only sampled connections capture their acquisition stack trace.
+ * <p>
+ * The connection handles returned by the pool are not wrapped. Their release is observed by registering these statistics as
+ * the {@link ConnectionEventListener} of each managed connection of the pool, so that connections closed on behalf of the
+ * application, e.g. by the cached connection manager, are recorded too. The number of tracked connections is bounded, and
+ * connections invalidated without being released, e.g. when their managed connection is destroyed, are discarded once detected.
+ */
+public class ConnectionUsageStatistics implements ConnectionEventListener {
+
+    /** Enables connection wait and hold time histograms of all datasources */
+    public static final String ENABLED_PROPERTY = "org.jboss.as.connector.datasources.connection-usage-statistics";
+    /** Fraction, between 0 and 1, of connections whose acquisition is recorded by the leak detector */
+    public static final String LEAK_SAMPLING_RATE_PROPERTY = "org.jboss.as.connector.datasources.leak-sampling-rate";
+
+    static final int MAX_SAMPLED_CONNECTIONS = 1000;
+    static final int MAX_HELD_CONNECTIONS = 10000;
+
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LatencyHistogram holdTimes = new LatencyHistogram();
+    private final double leakSamplingRate;
+    // The acquisition time of each connection handle not yet released, connection handles do not override equals/hashCode
+    private final Map<Connection, Long> heldConnections = new ConcurrentHashMap<>();
+    private final Map<Connection, SampledConnection> sampledConnections = new ConcurrentHashMap<>();
+
+    public ConnectionUsageStatistics(double leakSamplingRate) {
+        this.leakSamplingRate = Math.max(0d, Math.min(1d, leakSamplingRate));
+    }
+
+    /**
+     * Creates the connection usage statistics of a datasource, as configured by system properties.
+     * @return connection usage statistics, or null, if disabled
+     */
+    public static ConnectionUsageStatistics create() {
+        boolean enabled = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+        double leakSamplingRate = Double.parseDouble(WildFlySecurityManager.getPropertyPrivileged(LEAK_SAMPLING_RATE_PROPERTY, "0"));
+        return (enabled || leakSamplingRate > 0) ? new ConnectionUsageStatistics(leakSamplingRate) : null;
+    }
+
+    /**
+     * Records the acquisition of a connection from the pool.
+     * Its hold time is recorded once the pool notifies these statistics of its release.
+     * @param connection the connection handle returned by the pool
+     * @param start the value of {@link System#nanoTime()} when the application requested the connection
+     */
+    public void acquired(Connection connection, long start) {
+        long acquired = System.nanoTime();
+        this.waitTimes.record(TimeUnit.NANOSECONDS.toMicros(acquired - start));
+        if (!this.canTrack(this.heldConnections, MAX_HELD_CONNECTIONS)) {
+            return;
+        }
+        this.heldConnections.put(connection, acquired);
+        if (this.leakSamplingRate > 0 && ThreadLocalRandom.current().nextDouble() < this.leakSamplingRate && this.canTrack(this.sampledConnections, MAX_SAMPLED_CONNECTIONS)) {
+            this.sampledConnections.put(connection, new SampledConnection(Thread.currentThread().getName(), System.currentTimeMillis(), new Throwable().getStackTrace()));
+        }
+    }
+
+    /**
+     * Records the release of a connection handle to the pool.
+     * @param handle a connection handle
+     */
+    void released(Object handle) {
+        if (handle == null) {
+            return;
+        }
+        Long acquired = this.heldConnections.remove(handle);
+        if (acquired != null) {
+            this.holdTimes.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - acquired));
+            this.sampledConnections.remove(handle);
+        }
+    }
+
+    @Override
+    public void connectionClosed(ConnectionEvent event) {
+        this.released(event.getConnectionHandle());
+    }
+
+    @Override
+    public void connectionErrorOccurred(ConnectionEvent event) {
+        // The handle, if any, was released to the pool with an invalid connection
+        this.released(event.getConnectionHandle());
+    }
+
+    @Override
+    public void localTransactionStarted(ConnectionEvent event) {
+    }
+
+    @Override
+    public void localTransactionCommitted(ConnectionEvent event) {
+    }
+
+    @Override
+    public void localTransactionRolledback(ConnectionEvent event) {
+    }
+
+    public LatencyHistogram getWaitTimes() {
+        return this.waitTimes;
+    }
+
+    public LatencyHistogram getHoldTimes() {
+        return this.holdTimes;
+    }
+
+    /**
+     * @return the number of sampled connections not yet closed
+     */
+    public int getSampledOpenConnectionCount() {
+        this.removeClosedConnections();
+        return this.sampledConnections.size();
+    }
+
+    /**
+     * Describes the sampled connections not yet closed, held the longest first.
+     * @return a description of each sampled connection, with its acquisition stack trace
+     */
+    public List<String> dumpSampledConnections() {
+        this.removeClosedConnections();
+        List<SampledConnection> connections = new ArrayList<>(this.sampledConnections.values());
+        connections.sort(Comparator.comparingLong(SampledConnection::getAcquisitionTime));
+        long now = System.currentTimeMillis();
+        List<String> result = new ArrayList<>(connections.size());
+        for (SampledConnection connection : connections) {
+            StringBuilder builder = new StringBuilder();
+            builder.append("Connection held for ").append(now - connection.getAcquisitionTime()).append(" ms, acquired by thread ").append(connection.getThreadName());
+            for (StackTraceElement element : connection.getStackTrace()) {
+                builder.append("\n\tat ").append(element);
+            }
+            result.add(builder.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Discards the recorded wait and hold times. Sampled connections not yet closed are retained.
+     */
+    public void reset() {
+        this.waitTimes.reset();
+        this.holdTimes.reset();
+    }
+
+    private boolean canTrack(Map<Connection, ?> connections, int maxSize) {
+        if (connections.size() < maxSize) {
+            return true;
+        }
+        this.removeClosedConnections();
+        return connections.size() < maxSize;
+    }
+
+    // Connections invalidated without being released, e.g. when their managed connection is destroyed, are otherwise never removed
+    private void removeClosedConnections() {
+        this.heldConnections.keySet().removeIf(ConnectionUsageStatistics::isClosed);
+        this.sampledConnections.keySet().removeIf(ConnectionUsageStatistics::isClosed);
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static class SampledConnection {
+        private final String threadName;
+        private final long acquisitionTime;
+        private final StackTraceElement[] stackTrace;
+
+        SampledConnection(String threadName, long acquisitionTime, StackTraceElement[] stackTrace) {
+            this.threadName = threadName;
+            this.acquisitionTime = acquisitionTime;
+            this.stackTrace = stackTrace;
+        }
+
+        String getThreadName() {
+            return this.threadName;
+        }
+
+        long getAcquisitionTime() {
+            return this.acquisitionTime;
+        }
+
+        StackTraceElement[] getStackTrace() {
+            return this.stackTrace;
+        }
+    }
+}
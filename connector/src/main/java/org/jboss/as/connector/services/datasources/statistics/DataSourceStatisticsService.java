@@ -7,8 +7,11 @@ package org.jboss.as.connector.services.datasources.statistics;
 
 import static org.jboss.as.connector.logging.ConnectorLogger.ROOT_LOGGER;
 
+import javax.sql.DataSource;
+
 import org.jboss.as.connector.dynamicresource.StatisticsResourceDefinition;
 import org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders;
+import org.jboss.as.connector.subsystems.datasources.WildFlyDataSource;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -33,6 +36,7 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
     private final boolean statsEnabled;
 
     protected final InjectedValue<CommonDeployment> injectedDeploymentMD = new InjectedValue<>();
+    protected final InjectedValue<DataSource> injectedDataSource = new InjectedValue<>();
 
 
     /**
@@ -70,9 +74,12 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
                 }
 
                 if (poolStatsSize > 0 && registration.getSubModel(PathAddress.pathAddress(POOL_STATISTICS)) == null) {
+                    // Clearing the pool statistics also clears the connection usage statistics of the datasource, if enabled
+                    DataSource dataSource = injectedDataSource.getOptionalValue();
+                    ConnectionUsageStatistics usageStatistics = (dataSource instanceof WildFlyDataSource) ? ((WildFlyDataSource) dataSource).getUsageStatistics() : null;
                     ManagementResourceRegistration poolRegistration = registration
                             .registerSubModel(new StatisticsResourceDefinition(POOL_STATISTICS,
-                                    DataSourcesSubsystemProviders.RESOURCE_NAME, poolStats));
+                                    DataSourcesSubsystemProviders.RESOURCE_NAME, poolStats, (usageStatistics != null) ? usageStatistics::reset : null));
                 }
             }
         }
@@ -98,6 +105,10 @@ public class DataSourceStatisticsService implements Service<ManagementResourceRe
         return injectedDeploymentMD;
     }
 
+    public Injector<DataSource> getDataSourceInjector() {
+        return injectedDataSource;
+    }
+
 
     public static void registerStatisticsResources(Resource datasourceResource) {
         synchronized (JDBC_STATISTICS) {
@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.datasources.statistics;
+
+import javax.security.auth.Subject;
+
+import jakarta.resource.ResourceException;
+import jakarta.resource.spi.ConnectionRequestInfo;
+import jakarta.resource.spi.ManagedConnection;
+
+import org.jboss.jca.adapters.jdbc.local.LocalManagedConnectionFactory;
+
+/**
+ * {@link LocalManagedConnectionFactory} notifying the {@link ConnectionUsageStatistics} of a datasource of the connection handles
+ * released by its managed connections.
+ */
+public class InstrumentedLocalManagedConnectionFactory extends LocalManagedConnectionFactory {
+    private static final long serialVersionUID = 2467817374317226349L;
+
+    private final transient ConnectionUsageStatistics statistics;
+
+    public InstrumentedLocalManagedConnectionFactory(ConnectionUsageStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo info) throws ResourceException {
+        ManagedConnection connection = super.createManagedConnection(subject, info);
+        connection.addConnectionEventListener(this.statistics);
+        return connection;
+    }
+}
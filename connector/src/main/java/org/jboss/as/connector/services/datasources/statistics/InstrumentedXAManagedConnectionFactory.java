@@ -0,0 +1,38 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.datasources.statistics;
+
+import java.util.Map;
+
+import javax.security.auth.Subject;
+
+import jakarta.resource.ResourceException;
+import jakarta.resource.spi.ConnectionRequestInfo;
+import jakarta.resource.spi.ManagedConnection;
+
+import org.jboss.jca.adapters.jdbc.xa.XAManagedConnectionFactory;
+
+/**
+ * {@link XAManagedConnectionFactory} notifying the {@link ConnectionUsageStatistics} of a datasource of the connection handles
+ * released by its managed connections.
+ */
+public class InstrumentedXAManagedConnectionFactory extends XAManagedConnectionFactory {
+    private static final long serialVersionUID = -5211694361788458036L;
+
+    private final transient ConnectionUsageStatistics statistics;
+
+    public InstrumentedXAManagedConnectionFactory(Map<String, String> xaProps, ConnectionUsageStatistics statistics) {
+        super(xaProps);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo info) throws ResourceException {
+        ManagedConnection connection = super.createManagedConnection(subject, info);
+        connection.addConnectionEventListener(this.statistics);
+        return connection;
+    }
+}
@@ -41,6 +41,9 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
 
     private final InjectedValue<JBossContextXATerminator> xaTerminator = new InjectedValue<JBossContextXATerminator>();
 
+    private volatile VirtualThreadStatisticsExecutor virtualShortRunning;
+    private volatile VirtualThreadStatisticsExecutor virtualLongRunning;
+
     private final InjectedValue<CommandDispatcherFactory> dispatcherFactory = new InjectedValue<>();
 
     /**
@@ -67,8 +70,14 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
 
         this.value.setTransport(transport);
 
+        this.virtualShortRunning = VirtualThreadStatisticsExecutor.create(value.getName(), "short-running");
         BlockingExecutor longRunning = (BlockingExecutor) executorLong.getOptionalValue();
-        if (longRunning != null) {
+        if (this.virtualShortRunning != null) {
+            // works are not limited by the size of the configured thread pools
+            this.virtualLongRunning = VirtualThreadStatisticsExecutor.create(value.getName(), "long-running");
+            this.value.setShortRunningThreadPool(this.virtualShortRunning);
+            this.value.setLongRunningThreadPool(this.virtualLongRunning);
+        } else if (longRunning != null) {
             this.value.setLongRunningThreadPool(longRunning);
             this.value.setShortRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
         } else {
@@ -109,6 +118,14 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
         }
 
         value.shutdown();
+        if (this.virtualShortRunning != null) {
+            this.virtualShortRunning.shutdown();
+            this.virtualShortRunning = null;
+        }
+        if (this.virtualLongRunning != null) {
+            this.virtualLongRunning.shutdown();
+            this.virtualLongRunning = null;
+        }
 
         WorkManagerCoordinator.getInstance().unregisterWorkManager(value);
 
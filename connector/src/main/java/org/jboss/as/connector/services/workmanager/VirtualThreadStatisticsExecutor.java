@@ -0,0 +1,122 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import static org.jboss.as.connector.logging.ConnectorLogger.ROOT_LOGGER;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.jca.core.api.workmanager.StatisticsExecutor;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A StatisticsExecutor running each work on its own virtual thread, with a limit on the number of works running concurrently.
+ * Works submitted beyond this limit wait, on their virtual thread, for a running work to complete. The number of waiting
+ * works is bounded, like the queue of a thread pool, and works submitted beyond it, or once the executor is shut down,
+ * are rejected.
+ * The number of free threads reported to the work manager is the number of available permits.
+ * <p>
+ * A work blocking while holding a monitor, e.g. a resource adapter waiting on I/O or on {@link Object#wait()} within a
+ * {@code synchronized} block, pins the carrier thread of its virtual thread on JVM releases without JEP 491 (i.e. before 24).
+ * If as many works as carrier threads (by default, the number of processors) are pinned, all other virtual threads of the
+ * JVM stall until one of them completes. Virtual threads should only be enabled for resource adapters that do not block
+ * within {@code synchronized}, which may be verified using the {@code jdk.VirtualThreadPinned} JFR event.
+ */
+public class VirtualThreadStatisticsExecutor implements StatisticsExecutor {
+
+    /** Maximum number of works running concurrently on virtual threads, per thread pool of a work manager. 0 disables virtual threads */
+    public static final String MAX_CONCURRENCY_PROPERTY = "org.jboss.as.connector.workmanager.virtual-threads";
+    /** Maximum number of works waiting for a running work to complete, per thread pool of a work manager. Defaults to the maximum concurrency */
+    public static final String MAX_BACKLOG_PROPERTY = "org.jboss.as.connector.workmanager.virtual-threads.max-backlog";
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    // Bounds the number of works waiting or running
+    private final Semaphore capacity;
+    private volatile boolean shutdown;
+
+    VirtualThreadStatisticsExecutor(ThreadFactory threadFactory, int maxConcurrency, int maxBacklog) {
+        this.threadFactory = threadFactory;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.capacity = new Semaphore(maxConcurrency + maxBacklog);
+    }
+
+    /**
+     * Creates an executor for the specified thread pool of a work manager, if enabled.
+     *
+     * @param workManager the name of the work manager
+     * @param pool the name of the thread pool
+     * @return an executor, or null, if virtual threads are disabled or not supported by this JVM
+     */
+    static VirtualThreadStatisticsExecutor create(String workManager, String pool) {
+        int maxConcurrency = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_CONCURRENCY_PROPERTY, "0"));
+        if (maxConcurrency <= 0) {
+            return null;
+        }
+        int maxBacklog = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_BACKLOG_PROPERTY, Integer.toString(maxConcurrency)));
+        ThreadFactory threadFactory = createVirtualThreadFactory(workManager + "-" + pool + "-");
+        if (threadFactory == null) {
+            ROOT_LOGGER.virtualThreadsNotSupported(workManager);
+            return null;
+        }
+        return new VirtualThreadStatisticsExecutor(threadFactory, maxConcurrency, Math.max(0, maxBacklog));
+    }
+
+    // The server may be compiled for, and run on, a JVM release without virtual threads
+    private static ThreadFactory createVirtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Virtual threads are not available");
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable runnable) {
+        if (shutdown || !capacity.tryAcquire()) {
+            throw new RejectedExecutionException();
+        }
+        try {
+            Thread thread = threadFactory.newThread(() -> {
+                try {
+                    permits.acquireUninterruptibly();
+                    try {
+                        runnable.run();
+                    } finally {
+                        permits.release();
+                    }
+                } finally {
+                    capacity.release();
+                }
+            });
+            if (thread == null) {
+                throw new RejectedExecutionException();
+            }
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Rejects works submitted from now on. Works already submitted still run, as the work manager releases them on its own shutdown.
+     */
+    void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public long getNumberOfFreeThreads() {
+        return permits.availablePermits();
+    }
+}
@@ -39,6 +39,9 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
 
     private final InjectedValue<JBossContextXATerminator> xaTerminator = new InjectedValue<JBossContextXATerminator>();
 
+    private volatile VirtualThreadStatisticsExecutor virtualShortRunning;
+    private volatile VirtualThreadStatisticsExecutor virtualLongRunning;
+
     /**
      * create an instance
      *
@@ -59,8 +62,14 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
     public void start(StartContext context) throws StartException {
         ROOT_LOGGER.debugf("Starting Jakarta Connectors WorkManager: ", value.getName());
 
+        this.virtualShortRunning = VirtualThreadStatisticsExecutor.create(value.getName(), "short-running");
         BlockingExecutor longRunning = (BlockingExecutor) executorLong.getOptionalValue();
-        if (longRunning != null) {
+        if (this.virtualShortRunning != null) {
+            // works are not limited by the size of the configured thread pools
+            this.virtualLongRunning = VirtualThreadStatisticsExecutor.create(value.getName(), "long-running");
+            this.value.setShortRunningThreadPool(this.virtualShortRunning);
+            this.value.setLongRunningThreadPool(this.virtualLongRunning);
+        } else if (longRunning != null) {
             this.value.setLongRunningThreadPool(longRunning);
             this.value.setShortRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
         } else {
@@ -92,6 +101,14 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
 
         //shutting down immediately (synchronous method) the workmanager and release all works
         value.shutdown();
+        if (this.virtualShortRunning != null) {
+            this.virtualShortRunning.shutdown();
+            this.virtualShortRunning = null;
+        }
+        if (this.virtualLongRunning != null) {
+            this.virtualLongRunning.shutdown();
+            this.virtualLongRunning = null;
+        }
 
         if (value.getName().equals(DEFAULT_NAME)) {
             WorkManagerCoordinator.getInstance().setDefaultWorkManager(null);
@@ -379,7 +379,7 @@ public abstract class AbstractDataSourceAdd extends AbstractAddStepHandler {
                 DataSourceStatisticsService statsService = new DataSourceStatisticsService(datasourceRegistration, statsEnabled);
                 final ServiceBuilder statsServiceSB = serviceTarget.addService(dataSourceServiceName.append(Constants.STATISTICS), statsService);
                 statsServiceSB.addAliases(dataSourceServiceNameAlias);
-                statsServiceSB.requires(dataSourceServiceName);
+                statsServiceSB.addDependency(dataSourceServiceName, DataSource.class, statsService.getDataSourceInjector());
                 statsServiceSB.addDependency(CommonDeploymentService.getServiceName( ContextNames.bindInfoFor(jndiName)), CommonDeployment.class, statsService.getCommonDeploymentInjector());
                 statsServiceSB.setInitialMode(ServiceController.Mode.PASSIVE);
                 statsServiceSB.install();
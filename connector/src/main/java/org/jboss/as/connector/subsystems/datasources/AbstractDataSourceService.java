@@ -28,6 +28,9 @@ import java.util.concurrent.RejectedExecutionException;
 import org.jboss.as.connector.logging.ConnectorLogger;
 import org.jboss.as.connector.metadata.api.common.Credential;
 import org.jboss.as.connector.security.ElytronSubjectFactory;
+import org.jboss.as.connector.services.datasources.statistics.ConnectionUsageStatistics;
+import org.jboss.as.connector.services.datasources.statistics.InstrumentedLocalManagedConnectionFactory;
+import org.jboss.as.connector.services.datasources.statistics.InstrumentedXAManagedConnectionFactory;
 import org.jboss.as.connector.services.driver.InstalledDriver;
 import org.jboss.as.connector.services.driver.registry.DriverRegistry;
 import org.jboss.as.connector.subsystems.common.jndi.Util;
@@ -121,6 +124,8 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
     protected CommonDeployment deploymentMD;
     private WildFlyDataSource sqlDataSource;
+    /** The connection usage statistics of the datasource, or null if disabled */
+    private volatile ConnectionUsageStatistics usageStatistics;
 
     /**
      * The class loader to use. If null the Driver class loader will be used instead.
@@ -137,6 +142,8 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         try {
             final ServiceContainer container = startContext.getController().getServiceContainer();
 
+            // the managed connection factory notifies the statistics of the released connections
+            usageStatistics = ConnectionUsageStatistics.create();
             deploymentMD = getDeployer().deploy(container);
             final Object[] cfs = deploymentMD.getCfs();
             if (cfs.length == 0) {
@@ -145,7 +152,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
                 throw ConnectorLogger.ROOT_LOGGER.cannotStartDSTooManyConnectionFactories(jndiName.getAbsoluteJndiName(),
                         cfs.length);
             }
-            sqlDataSource = new WildFlyDataSource((DataSource) deploymentMD.getCfs()[0], jndiName.getAbsoluteJndiName());
+            sqlDataSource = new WildFlyDataSource((DataSource) deploymentMD.getCfs()[0], jndiName.getAbsoluteJndiName(), usageStatistics);
             DS_DEPLOYER_LOGGER.debugf("Adding datasource: %s", deploymentMD.getCfJndiNames()[0]);
             CommonDeploymentService cdService = new CommonDeploymentService(deploymentMD);
             final ServiceName cdServiceName = CommonDeploymentService.getServiceName(jndiName);
@@ -514,7 +521,9 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         @Override
         protected ManagedConnectionFactory createMcf(XaDataSource arg0, String arg1, ClassLoader arg2)
                 throws NotFoundException, DeployException {
-            final XAManagedConnectionFactory xaManagedConnectionFactory = new XAManagedConnectionFactory(xaDataSourceConfig.getXaDataSourceProperty());
+            final XAManagedConnectionFactory xaManagedConnectionFactory = (usageStatistics != null)
+                    ? new InstrumentedXAManagedConnectionFactory(xaDataSourceConfig.getXaDataSourceProperty(), usageStatistics)
+                    : new XAManagedConnectionFactory(xaDataSourceConfig.getXaDataSourceProperty());
 
             if (xaDataSourceConfig.getUrlDelimiter() != null) {
                 xaManagedConnectionFactory.setURLDelimiter(xaDataSourceConfig.getUrlDelimiter());
@@ -547,7 +556,9 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         @Override
         protected ManagedConnectionFactory createMcf(org.jboss.jca.common.api.metadata.ds.DataSource arg0, String arg1,
                 ClassLoader arg2) throws NotFoundException, DeployException {
-            final LocalManagedConnectionFactory managedConnectionFactory = new LocalManagedConnectionFactory();
+            final LocalManagedConnectionFactory managedConnectionFactory = (usageStatistics != null)
+                    ? new InstrumentedLocalManagedConnectionFactory(usageStatistics)
+                    : new LocalManagedConnectionFactory();
             managedConnectionFactory.setDriverClass(dataSourceConfig.getDriverClass());
 
             if (dataSourceConfig.getUrlDelimiter() != null) {
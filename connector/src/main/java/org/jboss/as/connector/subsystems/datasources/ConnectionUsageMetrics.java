@@ -0,0 +1,115 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.connector._private.Capabilities;
+import org.jboss.as.connector.services.datasources.statistics.ConnectionUsageStatistics;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Metrics and operations of data-source and xa-data-source resources, reporting the {@link ConnectionUsageStatistics} of
+ * their {@link WildFlyDataSource}.
+ */
+class ConnectionUsageMetrics {
+
+    static final SimpleOperationDefinition DUMP_SAMPLED_CONNECTIONS = new SimpleOperationDefinitionBuilder("dump-sampled-connections", DataSourcesExtension.getResourceDescriptionResolver())
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.STRING)
+            .build();
+
+    private static final Metric[] METRICS = {
+            new Metric("connection-wait-time-p50", statistics -> new ModelNode(statistics.getWaitTimes().getValueAtQuantile(0.5d))),
+            new Metric("connection-wait-time-p99", statistics -> new ModelNode(statistics.getWaitTimes().getValueAtQuantile(0.99d))),
+            new Metric("connection-wait-time-p999", statistics -> new ModelNode(statistics.getWaitTimes().getValueAtQuantile(0.999d))),
+            new Metric("connection-hold-time-p50", statistics -> new ModelNode(statistics.getHoldTimes().getValueAtQuantile(0.5d))),
+            new Metric("connection-hold-time-p99", statistics -> new ModelNode(statistics.getHoldTimes().getValueAtQuantile(0.99d))),
+            new Metric("connection-hold-time-p999", statistics -> new ModelNode(statistics.getHoldTimes().getValueAtQuantile(0.999d))),
+            new Metric("sampled-open-connection-count", ModelType.INT, null, statistics -> new ModelNode(statistics.getSampledOpenConnectionCount())),
+    };
+
+    static void registerMetrics(ManagementResourceRegistration resourceRegistration) {
+        for (Metric metric : METRICS) {
+            resourceRegistration.registerMetric(metric.definition, metric);
+        }
+    }
+
+    static void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerOperationHandler(DUMP_SAMPLED_CONNECTIONS, new DumpSampledConnections());
+    }
+
+    private static ConnectionUsageStatistics getStatistics(OperationContext context) {
+        String dsName = context.getCurrentAddressValue();
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(context.getCapabilityServiceName(Capabilities.DATA_SOURCE_CAPABILITY_NAME, dsName, DataSource.class));
+        if (controller != null && controller.getState() == ServiceController.State.UP) {
+            Object dataSource = controller.getValue();
+            if (dataSource instanceof WildFlyDataSource) {
+                return ((WildFlyDataSource) dataSource).getUsageStatistics();
+            }
+        }
+        return null;
+    }
+
+    private static class Metric implements OperationStepHandler {
+        final SimpleAttributeDefinition definition;
+        private final Function<ConnectionUsageStatistics, ModelNode> value;
+
+        Metric(String name, Function<ConnectionUsageStatistics, ModelNode> value) {
+            this(name, ModelType.LONG, MeasurementUnit.MICROSECONDS, value);
+        }
+
+        Metric(String name, ModelType type, MeasurementUnit unit, Function<ConnectionUsageStatistics, ModelNode> value) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                    .setMeasurementUnit(unit)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setStorageRuntime()
+                    .build();
+            this.value = value;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                ConnectionUsageStatistics statistics = getStatistics(context);
+                if (statistics != null) {
+                    context.getResult().set(this.value.apply(statistics));
+                }
+            }
+        }
+    }
+
+    private static class DumpSampledConnections implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                ModelNode result = context.getResult().setEmptyList();
+                ConnectionUsageStatistics statistics = getStatistics(context);
+                if (statistics != null) {
+                    for (String connection : statistics.dumpSampledConnections()) {
+                        result.add(connection);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -83,6 +83,9 @@ public class DataSourceDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerOperationHandler(FLUSH_INVALID_CONNECTION, PoolOperations.FlushInvalidConnectionInPool.DS_INSTANCE);
             resourceRegistration.registerOperationHandler(FLUSH_GRACEFULLY_CONNECTION, PoolOperations.FlushGracefullyConnectionInPool.DS_INSTANCE);
             resourceRegistration.registerOperationHandler(TEST_CONNECTION, PoolOperations.TestConnectionInPool.DS_INSTANCE);
+            if (!deployed) {
+                ConnectionUsageMetrics.registerOperations(resourceRegistration);
+            }
         }
     }
 
@@ -122,7 +125,9 @@ public class DataSourceDefinition extends SimpleResourceDefinition {
             }
         }
 
-
+        if (registerRuntimeOnly && !deployed) {
+            ConnectionUsageMetrics.registerMetrics(resourceRegistration);
+        }
     }
 
     @Override
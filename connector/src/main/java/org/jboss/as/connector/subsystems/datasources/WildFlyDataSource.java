@@ -5,6 +5,8 @@
 
 package org.jboss.as.connector.subsystems.datasources;
 
+import org.jboss.as.connector.services.datasources.statistics.ConnectionUsageStatistics;
+
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
 import java.io.IOException;
@@ -31,6 +33,9 @@ public class WildFlyDataSource implements DataSource, Serializable {
     /** Service name */
     private transient String jndiName;
 
+    /** Connection usage statistics, or null if disabled */
+    private transient ConnectionUsageStatistics usageStatistics;
+
 
     /**
      * Constructor
@@ -38,18 +43,49 @@ public class WildFlyDataSource implements DataSource, Serializable {
      * @param jndiName The service name
      */
     public WildFlyDataSource(DataSource delegate, String jndiName) {
+        this(delegate, jndiName, null);
+    }
+
+    /**
+     * Constructor
+     * @param delegate The datasource
+     * @param jndiName The service name
+     * @param usageStatistics The connection usage statistics, or null if disabled
+     */
+    public WildFlyDataSource(DataSource delegate, String jndiName, ConnectionUsageStatistics usageStatistics) {
         this.delegate = delegate;
         this.jndiName = jndiName;
+        this.usageStatistics = usageStatistics;
     }
 
     @Override
     public Connection getConnection() throws SQLException {
-        return delegate.getConnection();
+        if (usageStatistics == null) {
+            return delegate.getConnection();
+        }
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection();
+        usageStatistics.acquired(connection, start);
+        return connection;
     }
 
     @Override
     public Connection getConnection(String username, String password) throws SQLException {
-        return delegate.getConnection(username, password);
+        if (usageStatistics == null) {
+            return delegate.getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection(username, password);
+        usageStatistics.acquired(connection, start);
+        return connection;
+    }
+
+    /**
+     * Get the connection usage statistics
+     * @return The statistics, or null if disabled
+     */
+    public ConnectionUsageStatistics getUsageStatistics() {
+        return usageStatistics;
     }
 
     @Override
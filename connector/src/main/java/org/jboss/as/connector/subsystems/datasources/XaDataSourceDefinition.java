@@ -80,6 +80,9 @@ public class XaDataSourceDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerOperationHandler(FLUSH_INVALID_CONNECTION, PoolOperations.FlushInvalidConnectionInPool.DS_INSTANCE);
             resourceRegistration.registerOperationHandler(FLUSH_GRACEFULLY_CONNECTION, PoolOperations.FlushGracefullyConnectionInPool.DS_INSTANCE);
             resourceRegistration.registerOperationHandler(TEST_CONNECTION, PoolOperations.TestConnectionInPool.DS_INSTANCE);
+            if (!deployed) {
+                ConnectionUsageMetrics.registerOperations(resourceRegistration);
+            }
         }
     }
 
@@ -116,7 +119,9 @@ public class XaDataSourceDefinition extends SimpleResourceDefinition {
             }
         }
 
-
+        if (registerRuntimeOnly && !deployed) {
+            ConnectionUsageMetrics.registerMetrics(resourceRegistration);
+        }
     }
 
     @Override
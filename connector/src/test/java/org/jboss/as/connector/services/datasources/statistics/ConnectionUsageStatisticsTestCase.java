@@ -0,0 +1,141 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.datasources.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.resource.spi.ConnectionEvent;
+import jakarta.resource.spi.ManagedConnection;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConnectionUsageStatistics}.
+ * The pool is simulated by the connection events of a managed connection, notified when its connection handles are released.
+ */
+public class ConnectionUsageStatisticsTestCase {
+
+    private final ManagedConnection managedConnection = (ManagedConnection) Proxy.newProxyInstance(ConnectionUsageStatisticsTestCase.class.getClassLoader(), new Class<?>[] { ManagedConnection.class }, (proxy, method, args) -> {
+        throw new UnsupportedOperationException(method.getName());
+    });
+
+    @Test
+    public void holdTime() {
+        Connection connection = connection(new AtomicBoolean());
+        ConnectionUsageStatistics statistics = new ConnectionUsageStatistics(0d);
+
+        statistics.acquired(connection, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(1, statistics.getWaitTimes().getCount());
+        assertTrue(statistics.getWaitTimes().getValueAtQuantile(1d) >= 5000);
+        assertEquals(0, statistics.getHoldTimes().getCount());
+
+        statistics.connectionClosed(this.event(ConnectionEvent.CONNECTION_CLOSED, connection));
+        // a handle is released only once
+        statistics.connectionClosed(this.event(ConnectionEvent.CONNECTION_CLOSED, connection));
+        assertEquals(1, statistics.getHoldTimes().getCount());
+        assertEquals(0, statistics.getSampledOpenConnectionCount());
+
+        statistics.reset();
+        assertEquals(0, statistics.getWaitTimes().getCount());
+        assertEquals(0, statistics.getHoldTimes().getCount());
+    }
+
+    @Test
+    public void invalidConnection() {
+        Connection connection = connection(new AtomicBoolean());
+        ConnectionUsageStatistics statistics = new ConnectionUsageStatistics(1d);
+        statistics.acquired(connection, System.nanoTime());
+
+        // e.g. the handle is released after its connection failed
+        statistics.connectionErrorOccurred(this.event(ConnectionEvent.CONNECTION_ERROR_OCCURRED, connection));
+        assertEquals(1, statistics.getHoldTimes().getCount());
+        assertEquals(0, statistics.getSampledOpenConnectionCount());
+
+        // events of the managed connection without a handle, or with a handle not acquired via the datasource, are ignored
+        statistics.connectionErrorOccurred(this.event(ConnectionEvent.CONNECTION_ERROR_OCCURRED, null));
+        statistics.connectionClosed(this.event(ConnectionEvent.CONNECTION_CLOSED, connection(new AtomicBoolean())));
+        assertEquals(1, statistics.getHoldTimes().getCount());
+    }
+
+    @Test
+    public void leakSampling() {
+        ConnectionUsageStatistics statistics = new ConnectionUsageStatistics(1d);
+        Connection first = connection(new AtomicBoolean());
+        Connection second = connection(new AtomicBoolean());
+        statistics.acquired(first, System.nanoTime());
+        statistics.acquired(second, System.nanoTime());
+        assertEquals(2, statistics.getSampledOpenConnectionCount());
+
+        statistics.connectionClosed(this.event(ConnectionEvent.CONNECTION_CLOSED, second));
+        List<String> connections = statistics.dumpSampledConnections();
+        assertEquals(1, connections.size());
+        assertTrue(connections.get(0), connections.get(0).contains(ConnectionUsageStatisticsTestCase.class.getName() + ".leakSampling"));
+
+        statistics.connectionClosed(this.event(ConnectionEvent.CONNECTION_CLOSED, first));
+        assertEquals(0, statistics.getSampledOpenConnectionCount());
+        assertEquals(2, statistics.getHoldTimes().getCount());
+    }
+
+    @Test
+    public void invalidatedConnection() {
+        ConnectionUsageStatistics statistics = new ConnectionUsageStatistics(1d);
+        AtomicBoolean invalidated = new AtomicBoolean();
+        statistics.acquired(connection(invalidated), System.nanoTime());
+        assertEquals(1, statistics.getSampledOpenConnectionCount());
+
+        // e.g. the managed connection of the handle is destroyed, without releasing the handle
+        invalidated.set(true);
+        assertEquals(0, statistics.getSampledOpenConnectionCount());
+        assertTrue(statistics.dumpSampledConnections().isEmpty());
+    }
+
+    @Test
+    public void maxSampledConnections() {
+        ConnectionUsageStatistics statistics = new ConnectionUsageStatistics(1d);
+        AtomicBoolean invalidated = new AtomicBoolean();
+        for (int i = 0; i < ConnectionUsageStatistics.MAX_SAMPLED_CONNECTIONS; ++i) {
+            statistics.acquired(connection(invalidated), System.nanoTime());
+        }
+        statistics.acquired(connection(new AtomicBoolean()), System.nanoTime());
+        assertEquals(ConnectionUsageStatistics.MAX_SAMPLED_CONNECTIONS, statistics.getSampledOpenConnectionCount());
+
+        // invalidated connections make room for new samples
+        invalidated.set(true);
+        statistics.acquired(connection(new AtomicBoolean()), System.nanoTime());
+        assertEquals(1, statistics.getSampledOpenConnectionCount());
+    }
+
+    private ConnectionEvent event(int type, Connection handle) {
+        ConnectionEvent event = new ConnectionEvent(this.managedConnection, type);
+        event.setConnectionHandle(handle);
+        return event;
+    }
+
+    /**
+     * @param closed indicates whether the connection handle was closed
+     */
+    private static Connection connection(AtomicBoolean closed) {
+        return (Connection) Proxy.newProxyInstance(ConnectionUsageStatisticsTestCase.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "isClosed":
+                    return closed.get();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
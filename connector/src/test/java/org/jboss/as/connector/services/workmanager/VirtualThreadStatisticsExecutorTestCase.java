@@ -0,0 +1,129 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link VirtualThreadStatisticsExecutor}.
+ */
+public class VirtualThreadStatisticsExecutorTestCase {
+
+    @Test
+    public void disabled() {
+        assertNull(System.getProperty(VirtualThreadStatisticsExecutor.MAX_CONCURRENCY_PROPERTY));
+        assertNull(VirtualThreadStatisticsExecutor.create("default", "short-running"));
+    }
+
+    @Test
+    public void concurrencyLimit() throws Exception {
+        // any thread factory will do, so that the test runs on JVMs without virtual threads
+        VirtualThreadStatisticsExecutor executor = new VirtualThreadStatisticsExecutor(Executors.defaultThreadFactory(), 2, 3);
+        assertEquals(2, executor.getNumberOfFreeThreads());
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(5);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    completed.countDown();
+                }
+            });
+        }
+
+        waitFor(() -> running.get() == 2);
+        assertEquals(0, executor.getNumberOfFreeThreads());
+
+        release.countDown();
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        // permits are released once works complete
+        waitFor(() -> executor.getNumberOfFreeThreads() == 2);
+    }
+
+    @Test
+    public void backlogLimit() throws Exception {
+        VirtualThreadStatisticsExecutor executor = new VirtualThreadStatisticsExecutor(Executors.defaultThreadFactory(), 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(2);
+        Runnable work = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                completed.countDown();
+            }
+        };
+        // one running work, one waiting work
+        executor.execute(work);
+        executor.execute(work);
+        try {
+            executor.execute(work);
+            fail("Work beyond the backlog must be rejected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        release.countDown();
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        // completed works make room for new works
+        CountDownLatch executed = new CountDownLatch(1);
+        waitFor(() -> {
+            try {
+                executor.execute(executed::countDown);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        });
+        assertTrue(executed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shutdown() throws Exception {
+        VirtualThreadStatisticsExecutor executor = new VirtualThreadStatisticsExecutor(Executors.defaultThreadFactory(), 1, 1);
+        CountDownLatch executed = new CountDownLatch(1);
+        executor.execute(executed::countDown);
+        assertTrue(executed.await(10, TimeUnit.SECONDS));
+
+        executor.shutdown();
+        try {
+            executor.execute(() -> { });
+            fail("Work submitted after shutdown must be rejected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
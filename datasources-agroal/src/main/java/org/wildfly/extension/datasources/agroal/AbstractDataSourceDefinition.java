@@ -17,6 +17,7 @@ import javax.sql.DataSource;
 
 import io.agroal.api.configuration.AgroalConnectionFactoryConfiguration;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
@@ -303,6 +304,50 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
             .setStorageRuntime()
             .build();
 
+    static final SimpleAttributeDefinition READY_ATTRIBUTE = create("ready", ModelType.BOOLEAN)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_SQL_ATTRIBUTE = create("sql", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_EXECUTION_COUNT_ATTRIBUTE = create("execution-count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_EXECUTION_TIME_AVERAGE_ATTRIBUTE = create("execution-time-average-us", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_EXECUTION_TIME_MAX_ATTRIBUTE = create("execution-time-max-us", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_EXECUTION_TIME_TOTAL_ATTRIBUTE = create("execution-time-total-us", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    // Sampled statements, by SQL fingerprint, with the highest total execution time
+    private static final ObjectListAttributeDefinition STATEMENT_STATISTICS = new ObjectListAttributeDefinition.Builder("statement-statistics",
+            ObjectTypeAttributeDefinition.create("statement", STATEMENT_SQL_ATTRIBUTE, STATEMENT_EXECUTION_COUNT_ATTRIBUTE, STATEMENT_EXECUTION_TIME_AVERAGE_ATTRIBUTE, STATEMENT_EXECUTION_TIME_MAX_ATTRIBUTE, STATEMENT_EXECUTION_TIME_TOTAL_ATTRIBUTE).build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE = create("statement-cache-hit-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE = create("statement-cache-miss-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
     // --- //
 
     AbstractDataSourceDefinition(SimpleResourceDefinition.Parameters parameters) {
@@ -337,6 +382,10 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
         // Runtime attributes
         if (resourceRegistration.getProcessType().isServer()) {
             resourceRegistration.registerReadOnlyAttribute(STATISTICS, AbstractDataSourceOperations.STATISTICS_GET_OPERATION);
+            resourceRegistration.registerReadOnlyAttribute(READY_ATTRIBUTE, AbstractDataSourceOperations.READY_GET_OPERATION);
+            resourceRegistration.registerReadOnlyAttribute(STATEMENT_STATISTICS, AbstractDataSourceOperations.STATEMENT_STATISTICS_GET_OPERATION);
+            resourceRegistration.registerMetric(STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE, AbstractDataSourceOperations.STATEMENT_CACHE_HIT_COUNT_OPERATION);
+            resourceRegistration.registerMetric(STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE, AbstractDataSourceOperations.STATEMENT_CACHE_MISS_COUNT_OPERATION);
         }
     }
 
@@ -35,10 +35,12 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import static io.agroal.api.configuration.AgroalConnectionPoolConfiguration.ConnectionValidator.defaultValidator;
 import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofMinutes;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Operations common to XA and non-XA DataSources
@@ -70,6 +72,17 @@ class AbstractDataSourceOperations {
 
     static final OperationStepHandler TEST_CONNECTION_OPERATION = new TestConnectionOperation();
 
+    static final OperationStepHandler READY_GET_OPERATION = new ReadyGetOperation();
+
+    static final OperationStepHandler STATEMENT_STATISTICS_GET_OPERATION = new StatementStatisticsGetOperation();
+
+    static final OperationStepHandler STATEMENT_CACHE_HIT_COUNT_OPERATION = new StatementCacheMetricOperation(StatementCache::getHitCount);
+
+    static final OperationStepHandler STATEMENT_CACHE_MISS_COUNT_OPERATION = new StatementCacheMetricOperation(StatementCache::getMissCount);
+
+    // Maximum number of statements reported by the statement-statistics attribute
+    private static final int STATEMENT_STATISTICS_LIMIT = 20;
+
     // --- //
 
     protected static AgroalConnectionFactoryConfigurationSupplier connectionFactoryConfiguration(OperationContext context, ModelNode model) throws OperationFailedException {
@@ -124,7 +137,8 @@ class AbstractDataSourceOperations {
 
         configuration.maxSize(AbstractDataSourceDefinition.MAX_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt());
         configuration.minSize(AbstractDataSourceDefinition.MIN_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt());
-        configuration.initialSize(AbstractDataSourceDefinition.INITIAL_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt());
+        // With warm-up, the initial connections are opened in parallel by DataSourceService instead of serially by the pool
+        configuration.initialSize(PoolWarmUp.isEnabled() ? 0 : AbstractDataSourceDefinition.INITIAL_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt());
 
         configuration.acquisitionTimeout(ofMillis(AbstractDataSourceDefinition.BLOCKING_TIMEOUT_MILLIS_ATTRIBUTE.resolveModelAttribute(context, model).asInt()));
         configuration.leakTimeout(ofMillis(AbstractDataSourceDefinition.LEAK_DETECTION_ATTRIBUTE.resolveModelAttribute(context, model).asInt()));
@@ -135,6 +149,19 @@ class AbstractDataSourceOperations {
         return configuration;
     }
 
+    /**
+     * @return the number of connections opened by the warm-up of the datasource, or 0, if warm-up is disabled
+     */
+    protected static int warmUpSize(OperationContext context, ModelNode model) throws OperationFailedException {
+        if (!PoolWarmUp.isEnabled()) {
+            return 0;
+        }
+        int initialSize = AbstractDataSourceDefinition.INITIAL_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt();
+        int minSize = AbstractDataSourceDefinition.MIN_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt();
+        int maxSize = AbstractDataSourceDefinition.MAX_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt();
+        return Math.min(Math.max(initialSize, minSize), maxSize);
+    }
+
     // --- //
 
     private static AgroalDataSource getDataSource(OperationContext context) throws OperationFailedException {
@@ -153,6 +180,20 @@ class AbstractDataSourceOperations {
         }
     }
 
+    private static DataSourceService getDataSourceService(OperationContext context) throws OperationFailedException {
+        ServiceRegistry registry = context.getServiceRegistry(false);
+        String dataSourceName = context.getCurrentAddressValue();
+
+        switch (context.getCurrentAddress().getLastElement().getKey()) {
+            case DataSourceOperations.DATASOURCE_SERVICE_NAME:
+            case XADataSourceOperations.XADATASOURCE_SERVICE_NAME:
+                ServiceController<?> controller = registry.getRequiredService(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.getCapabilityServiceName(dataSourceName));
+                return ((DataSourceService) controller.getService());
+            default:
+                throw AgroalLogger.SERVICE_LOGGER.unknownDatasourceServiceType(context.getCurrentAddress().getLastElement().getKey());
+        }
+    }
+
     // --- //
 
     private static class StatisticsEnabledAttributeWriter extends AbstractWriteAttributeHandler<Boolean> {
@@ -303,6 +344,66 @@ class AbstractDataSourceOperations {
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
             if (context.isNormalServer()) {
                 getDataSource(context).getMetrics().reset();
+
+                DataSourceService service = getDataSourceService(context);
+                if (service.getStatementCache() != null) {
+                    service.getStatementCache().resetStatistics();
+                }
+                if (service.getStatementProfiler() != null) {
+                    service.getStatementProfiler().reset();
+                }
+            }
+        }
+    }
+
+    private static class ReadyGetOperation implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                context.getResult().set(getDataSourceService(context).isReady());
+            }
+        }
+    }
+
+    private static class StatementStatisticsGetOperation implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                StatementProfiler profiler = getDataSourceService(context).getStatementProfiler();
+                if (profiler != null) {
+                    ModelNode result = new ModelNode().setEmptyList();
+                    for (StatementProfiler.Entry entry : profiler.getEntries(STATEMENT_STATISTICS_LIMIT)) {
+                        long count = entry.getCount();
+                        ModelNode statement = result.add();
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_SQL_ATTRIBUTE.getName()).set(entry.getFingerprint());
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_EXECUTION_COUNT_ATTRIBUTE.getName()).set(count);
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_EXECUTION_TIME_AVERAGE_ATTRIBUTE.getName()).set(count > 0 ? NANOSECONDS.toMicros(entry.getTotalTime() / count) : 0);
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_EXECUTION_TIME_MAX_ATTRIBUTE.getName()).set(NANOSECONDS.toMicros(entry.getMaxTime()));
+                        statement.get(AbstractDataSourceDefinition.STATEMENT_EXECUTION_TIME_TOTAL_ATTRIBUTE.getName()).set(NANOSECONDS.toMicros(entry.getTotalTime()));
+                    }
+                    context.getResult().set(result);
+                }
+            }
+        }
+    }
+
+    private static class StatementCacheMetricOperation implements OperationStepHandler {
+
+        private final ToLongFunction<StatementCache> metric;
+
+        private StatementCacheMetricOperation(ToLongFunction<StatementCache> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isNormalServer()) {
+                StatementCache cache = getDataSourceService(context).getStatementCache();
+                if (cache != null) {
+                    context.getResult().set(metric.applyAsLong(cache));
+                }
             }
         }
     }
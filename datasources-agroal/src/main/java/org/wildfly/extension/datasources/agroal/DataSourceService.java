@@ -29,6 +29,7 @@ import org.wildfly.security.auth.principal.NamePrincipal;
 import org.wildfly.security.credential.GSSKerberosCredential;
 import org.wildfly.security.credential.PasswordCredential;
 import org.wildfly.security.credential.source.CredentialSource;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.wildfly.security.password.interfaces.ClearPassword;
 import org.wildfly.transaction.client.ContextTransactionManager;
 
@@ -56,6 +57,11 @@ import java.util.function.Supplier;
  */
 public class DataSourceService implements Service<AgroalDataSource>, Supplier<AgroalDataSource> {
 
+    // Maximum number of prepared statements cached per connection, disabled by default
+    static final String STATEMENT_CACHE_SIZE_PROPERTY = "org.wildfly.extension.datasources.agroal.statement-cache-size";
+    // Average number of statement executions per sampled execution, disabled by default
+    static final String STATEMENT_SAMPLING_RATE_PROPERTY = "org.wildfly.extension.datasources.agroal.statement-sampling-rate";
+
     private static final AuthenticationContextConfigurationClient AUTH_CONFIG_CLIENT = AccessController.doPrivileged(AuthenticationContextConfigurationClient.ACTION);
 
     private final Consumer<AgroalDataSource> consumer;
@@ -64,9 +70,13 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
     private final boolean jta;
     private final boolean connectable;
     private final boolean xa;
+    private final int warmUpSize;
 
     private final AgroalDataSourceConfigurationSupplier dataSourceConfiguration;
     private AgroalDataSource agroalDataSource;
+    private StatementCache statementCache;
+    private StatementProfiler statementProfiler;
+    private PoolWarmUp warmUp;
 
     private final Supplier<Class> driverSupplier;
     private final Supplier<AuthenticationContext> authenticationContextSupplier;
@@ -78,7 +88,8 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
                              final Supplier<AuthenticationContext> authenticationContextSupplier,
                              final Supplier<ExceptionSupplier<CredentialSource, Exception>> credentialSourceSupplier,
                              final Supplier<TransactionSynchronizationRegistry> transactionSynchronizationRegistrySupplier,
-                             String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, AgroalDataSourceConfigurationSupplier dataSourceConfiguration) {
+                             String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, AgroalDataSourceConfigurationSupplier dataSourceConfiguration,
+                             int warmUpSize) {
         this.consumer = consumer;
         this.driverSupplier = driverSupplier;
         this.authenticationContextSupplier = authenticationContextSupplier;
@@ -90,6 +101,7 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         this.connectable = connectable;
         this.xa = xa;
         this.dataSourceConfiguration = dataSourceConfiguration;
+        this.warmUpSize = warmUpSize;
     }
 
     @Override
@@ -168,15 +180,30 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         }
 
         try {
-            agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName));
+            int statementCacheSize = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(STATEMENT_CACHE_SIZE_PROPERTY, "0"));
+            int statementSamplingRate = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(STATEMENT_SAMPLING_RATE_PROPERTY, "0"));
+            statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+            statementProfiler = statementSamplingRate > 0 ? new StatementProfiler(statementSamplingRate) : null;
+
+            if (statementCache != null) {
+                agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName), statementCache);
+            } else {
+                agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName));
+            }
+            DataSource boundDataSource = statementCache != null || statementProfiler != null ? new InstrumentedDataSource(agroalDataSource, statementCache, statementProfiler) : agroalDataSource;
 
             ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(jndiName);
             BinderService binderService = new BinderService(bindInfo.getBindName());
-            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(agroalDataSource));
+            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(boundDataSource));
             context.getChildTarget().addService(bindInfo.getBinderServiceName(), binderService)
                    .addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, binderService.getNamingStoreInjector())
                    .install();
 
+            if (warmUpSize > 0) {
+                warmUp = new PoolWarmUp(dataSourceName, agroalDataSource, warmUpSize);
+                warmUp.start();
+            }
+
             if (xa) {
                 AgroalLogger.SERVICE_LOGGER.startedXADataSource(dataSourceName, jndiName);
             } else {
@@ -196,6 +223,13 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
     @Override
     public void stop(StopContext context) {
         consumer.accept(null);
+        if (warmUp != null) {
+            warmUp.close();
+            warmUp = null;
+        }
+        if (statementCache != null) {
+            statementCache.close();
+        }
         agroalDataSource.close();
         if (xa) {
             AgroalLogger.SERVICE_LOGGER.stoppedXADataSource(dataSourceName);
@@ -204,6 +238,28 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         }
     }
 
+    /**
+     * @return true, if the initial connections of the datasource are open, or if the datasource was not warmed up
+     */
+    boolean isReady() {
+        PoolWarmUp warmUp = this.warmUp;
+        return warmUp == null || warmUp.isReady();
+    }
+
+    /**
+     * @return the prepared statement cache, or null, if statement caching is disabled
+     */
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * @return the statement profiler, or null, if statement sampling is disabled
+     */
+    StatementProfiler getStatementProfiler() {
+        return statementProfiler;
+    }
+
     @Override
     public AgroalDataSource getValue() throws IllegalStateException, IllegalArgumentException {
         return agroalDataSource;
@@ -0,0 +1,287 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * DataSource bound in JNDI in place of the Agroal DataSource when statement caching or statement profiling is enabled.
+ * Connections are proxied so that prepared statements may be served from a {@link StatementCache} and statement
+ * executions may be sampled by a {@link StatementProfiler}.
+ * <p>
+ * Cached statements are prepared on the physical connection, as statements prepared through the pool's connection
+ * wrapper are closed when the connection returns to the pool. As these statements are not tracked by the pool, each
+ * connection proxy tracks the cached statements it handed out, and releases those still open when it is closed.
+ * A cached statement is only returned to the cache if the application did not change any of its settings, and did not
+ * encounter an error.
+ */
+class InstrumentedDataSource implements DataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    // Methods changing the state of a statement, which would otherwise leak to the next user of a cached statement
+    private static final Set<String> STATEFUL_METHODS = Set.of("setMaxRows", "setLargeMaxRows", "setMaxFieldSize", "setFetchSize", "setFetchDirection",
+            "setQueryTimeout", "setEscapeProcessing", "setPoolable", "setCursorName", "closeOnCompletion");
+
+    private final DataSource dataSource;
+    private final StatementCache cache;
+    private final StatementProfiler profiler;
+
+    /**
+     * @param dataSource the pooled datasource
+     * @param cache the statement cache, or null, if statements are not cached
+     * @param profiler the statement profiler, or null, if statements are not profiled
+     */
+    InstrumentedDataSource(DataSource dataSource, StatementCache cache, StatementProfiler profiler) {
+        this.dataSource = dataSource;
+        this.cache = cache;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(dataSource) ? iface.cast(dataSource) : dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(dataSource) || dataSource.isWrapperFor(iface);
+    }
+
+    private Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        // cached statements handed out by this connection, and not yet closed
+        private final Set<StatementHandler> statements = ConcurrentHashMap.newKeySet();
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (cache != null && name.equals("prepareStatement") && args.length == 1) {
+                PreparedStatement statement = prepareCachedStatement(proxy, (String) args[0]);
+                if (statement != null) {
+                    return statement;
+                }
+            } else if (name.equals("close") && !statements.isEmpty()) {
+                this.closeStatements();
+            }
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+            if (profiler != null && result instanceof Statement) {
+                String sql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : null;
+                Class<?> type = (result instanceof CallableStatement) ? CallableStatement.class : (result instanceof PreparedStatement) ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { type }, new StatementHandler((Statement) result, sql, proxy, null, null));
+            }
+            return result;
+        }
+
+        private PreparedStatement prepareCachedStatement(Object proxy, String sql) throws SQLException {
+            Connection physicalConnection;
+            try {
+                physicalConnection = connection.unwrap(Connection.class);
+            } catch (SQLException e) {
+                return null;
+            }
+            if (physicalConnection == null || physicalConnection == connection) {
+                return null;
+            }
+            // Calling through the pool's connection wrapper lets the pool enlist the connection with a transaction started since it was acquired
+            connection.getAutoCommit();
+            PreparedStatement statement = cache.acquire(physicalConnection, sql);
+            if (statement == null) {
+                statement = physicalConnection.prepareStatement(sql);
+            }
+            StatementHandler handler = new StatementHandler(statement, sql, proxy, physicalConnection, this);
+            statements.add(handler);
+            return (PreparedStatement) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, handler);
+        }
+
+        /**
+         * Releases the cached statements that the application did not close before closing this connection.
+         */
+        private void closeStatements() {
+            for (StatementHandler statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    AgroalLogger.POOL_LOGGER.debug("Unable to close cached statement", e);
+                }
+            }
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final Object connectionProxy;
+        // for cached statements
+        private final Connection physicalConnection;
+        private final ConnectionHandler connectionHandler;
+        private String fingerprint;
+        private boolean reusable = true;
+        private boolean batched;
+        private volatile boolean closed;
+
+        StatementHandler(Statement statement, String sql, Object connectionProxy, Connection physicalConnection, ConnectionHandler connectionHandler) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connectionProxy = connectionProxy;
+            this.physicalConnection = physicalConnection;
+            this.connectionHandler = connectionHandler;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    this.close();
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    return connectionProxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+            }
+            // A cached statement must not be used once its connection returned to the pool
+            if (closed || (connectionHandler != null && connectionHandler.connection.isClosed())) {
+                throw new SQLException("Statement is closed");
+            }
+            if (STATEFUL_METHODS.contains(name)) {
+                reusable = false;
+            } else if (name.equals("addBatch")) {
+                batched = true;
+            }
+            boolean sample = (profiler != null) && EXECUTE_METHODS.contains(name) && profiler.sample();
+            long start = sample ? System.nanoTime() : 0;
+            try {
+                return InstrumentedDataSource.invoke(statement, method, args);
+            } catch (SQLException e) {
+                reusable = false;
+                throw e;
+            } finally {
+                if (sample) {
+                    String executed = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : sql;
+                    if (executed != null) {
+                        profiler.record(fingerprint(executed), System.nanoTime() - start);
+                    }
+                }
+            }
+        }
+
+        private String fingerprint(String executed) {
+            if (executed != sql) {
+                return StatementProfiler.fingerprint(executed);
+            }
+            if (fingerprint == null) {
+                fingerprint = StatementProfiler.fingerprint(sql);
+            }
+            return fingerprint;
+        }
+
+        // may be called concurrently by the application and by the closing of the connection
+        private synchronized void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (physicalConnection == null) {
+                statement.close();
+                return;
+            }
+            connectionHandler.statements.remove(this);
+            PreparedStatement preparedStatement = (PreparedStatement) statement;
+            if (reusable) {
+                try {
+                    ResultSet resultSet = preparedStatement.getResultSet();
+                    if (resultSet != null) {
+                        resultSet.close();
+                    }
+                    preparedStatement.clearParameters();
+                    if (batched) {
+                        preparedStatement.clearBatch();
+                    }
+                    preparedStatement.clearWarnings();
+                } catch (SQLException e) {
+                    reusable = false;
+                }
+            }
+            if (reusable) {
+                cache.release(physicalConnection, sql, preparedStatement);
+            } else {
+                preparedStatement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+import javax.sql.DataSource;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens the initial connections of a datasource in the background, in parallel, so that datasource startup does not wait
+ * for physical connections to be established. Each connection is returned to the pool as soon as it is open, so that the
+ * warm-up never keeps connections from the applications; concurrently running tasks still open distinct physical connections.
+ * <p>
+ * The datasource reports itself as ready once a configurable percentage of its initial connections is open, or once the
+ * warm-up completed, whether or not all connections could be opened.
+ */
+class PoolWarmUp {
+
+    // Number of threads opening connections, shared by all datasources. Disabled by default
+    static final String THREADS_PROPERTY = "org.wildfly.extension.datasources.agroal.warm-up-threads";
+    // Percentage of the initial connections that must be open for the datasource to be ready
+    static final String READINESS_PROPERTY = "org.wildfly.extension.datasources.agroal.warm-up-readiness";
+
+    private static final int THREADS = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(THREADS_PROPERTY, "0"));
+    private static final int READINESS = Math.max(0, Math.min(100, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(READINESS_PROPERTY, "100"))));
+
+    private final String dataSourceName;
+    private final DataSource dataSource;
+    private final int size;
+    private final int threshold;
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile boolean closed;
+    private long startTime;
+
+    /**
+     * @param dataSourceName the name of the datasource
+     * @param dataSource the pooled datasource
+     * @param size the number of connections to open
+     */
+    PoolWarmUp(String dataSourceName, DataSource dataSource, int size) {
+        this(dataSourceName, dataSource, size, READINESS);
+    }
+
+    PoolWarmUp(String dataSourceName, DataSource dataSource, int size, int readiness) {
+        this.dataSourceName = dataSourceName;
+        this.dataSource = dataSource;
+        this.size = size;
+        this.threshold = (size * readiness + 99) / 100;
+    }
+
+    /**
+     * @return true, if datasources open their initial connections through a warm-up
+     */
+    static boolean isEnabled() {
+        return THREADS > 0;
+    }
+
+    void start() {
+        this.start(ExecutorHolder.EXECUTOR);
+    }
+
+    void start(ExecutorService executor) {
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            executor.execute(this::openConnection);
+        }
+    }
+
+    /**
+     * @return true, if enough connections are open, or if the warm-up completed
+     */
+    boolean isReady() {
+        return opened.get() >= threshold || completed.get() >= size;
+    }
+
+    /**
+     * Abandons the warm-up, e.g. when the datasource stops. Connections already open are closed with the datasource.
+     */
+    void close() {
+        closed = true;
+    }
+
+    private void openConnection() {
+        try {
+            if (!closed) {
+                Connection connection = dataSource.getConnection();
+                opened.incrementAndGet();
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    AgroalLogger.SERVICE_LOGGER.debug("Unable to return warm-up connection to the pool", e);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (!closed) {
+                AgroalLogger.SERVICE_LOGGER.warmUpConnectionFailed(e, dataSourceName);
+            }
+        } finally {
+            if (completed.incrementAndGet() == size && !closed) {
+                AgroalLogger.SERVICE_LOGGER.warmedUpDataSource(dataSourceName, opened.get(), size, System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    // Lazily creates the executor, only once a datasource is warmed up
+    private static class ExecutorHolder {
+        static final ExecutorService EXECUTOR;
+
+        static {
+            ThreadFactory factory = AccessController.doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("agroal-warm-up"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+            // threads are only needed during server boot or datasource (re)start
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+    }
+}
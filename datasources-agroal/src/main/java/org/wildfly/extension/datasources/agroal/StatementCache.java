@@ -0,0 +1,154 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import io.agroal.api.AgroalDataSourceListener;
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, least recently used, cache of prepared statements for each physical connection of a datasource.
+ * Statements are removed from the cache while in use, so that concurrent use of the same SQL on a connection prepares a
+ * separate statement. The statements of a connection are closed when the pool destroys the connection.
+ */
+class StatementCache implements AgroalDataSourceListener {
+
+    private final int maxSize;
+    private final Map<Connection, Statements> connections = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize the maximum number of cached statements per connection
+     */
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Removes a cached statement from the cache of the specified connection.
+     *
+     * @param connection a physical connection
+     * @param sql the SQL of the statement
+     * @return a cached statement, or null, if none is cached
+     */
+    PreparedStatement acquire(Connection connection, String sql) {
+        PreparedStatement statement = connections.computeIfAbsent(connection, key -> new Statements(maxSize)).remove(sql);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Returns a statement, no longer in use, to the cache of the specified connection.
+     * The statement is closed if the connection was destroyed, or if the cache already contains a statement with the same SQL.
+     */
+    void release(Connection connection, String sql, PreparedStatement statement) {
+        Statements statements = connections.get(connection);
+        if (statements == null || !statements.add(sql, statement)) {
+            close(statement);
+        }
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Closes all cached statements.
+     */
+    void close() {
+        for (Connection connection : connections.keySet()) {
+            remove(connection);
+        }
+    }
+
+    @Override
+    public void onConnectionDestroy(Connection connection) {
+        if (!remove(connection)) {
+            try {
+                // listener may be notified with the pool's connection wrapper
+                remove(connection.unwrap(Connection.class));
+            } catch (SQLException | RuntimeException e) {
+                AgroalLogger.POOL_LOGGER.debug("Unable to unwrap destroyed connection", e);
+            }
+        }
+    }
+
+    private boolean remove(Connection connection) {
+        Statements statements = connections.remove(connection);
+        if (statements != null) {
+            statements.close();
+        }
+        return statements != null;
+    }
+
+    static void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            AgroalLogger.POOL_LOGGER.debug("Unable to close cached statement", e);
+        }
+    }
+
+    private static class Statements {
+        private final Map<String, PreparedStatement> statements;
+        private boolean closed;
+
+        Statements(int maxSize) {
+            this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                private static final long serialVersionUID = -6405383264658536766L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > maxSize) {
+                        StatementCache.close(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized PreparedStatement remove(String sql) {
+            return statements.remove(sql);
+        }
+
+        synchronized boolean add(String sql, PreparedStatement statement) {
+            if (closed || statements.containsKey(sql)) {
+                return false;
+            }
+            statements.put(sql, statement);
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+            for (PreparedStatement statement : statements.values()) {
+                StatementCache.close(statement);
+            }
+            statements.clear();
+        }
+    }
+}
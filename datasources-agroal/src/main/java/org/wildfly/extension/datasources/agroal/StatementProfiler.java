@@ -0,0 +1,176 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples the execution time of statements, aggregated by SQL fingerprint (i.e. the SQL with literals replaced by parameter markers)
+ *
+ * @see #fingerprint(String)
+ */
+class StatementProfiler {
+
+    // Bounds the memory used by applications generating SQL dynamically
+    static final int MAX_FINGERPRINTS = 1000;
+
+    private final int sampleRate;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param sampleRate the average number of executions per sampled execution
+     */
+    StatementProfiler(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return true, if the next execution should be sampled
+     */
+    boolean sample() {
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    void record(String fingerprint, long nanos) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            if (entries.size() >= MAX_FINGERPRINTS) {
+                return;
+            }
+            entry = entries.computeIfAbsent(fingerprint, Entry::new);
+        }
+        entry.record(nanos);
+    }
+
+    /**
+     * @param limit the maximum number of entries
+     * @return the entries with the highest total sampled execution time, in descending order
+     */
+    List<Entry> getEntries(int limit) {
+        List<Entry> result = new ArrayList<>(entries.values());
+        result.sort(Comparator.comparingLong(Entry::getTotalTime).reversed());
+        return (result.size() > limit) ? result.subList(0, limit) : result;
+    }
+
+    void reset() {
+        entries.clear();
+    }
+
+    /**
+     * Normalizes the specified SQL, replacing string and numeric literals by parameter markers, collapsing lists of
+     * parameter markers and whitespace, so that statements differing only by their literals share a fingerprint.
+     */
+    static String fingerprint(String sql) {
+        StringBuilder result = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // string literal, with '' as escaped quote
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                appendParameter(result);
+            } else if (Character.isDigit(c) && !isIdentifierPart(result)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendParameter(result);
+            } else if (c == '?') {
+                i++;
+                appendParameter(result);
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (result.length() > 0 && i < length) {
+                    result.append(' ');
+                }
+            } else {
+                result.append(c);
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder result) {
+        if (result.length() == 0) {
+            return false;
+        }
+        char previous = result.charAt(result.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    // Collapses lists of parameter markers, e.g. IN (?, ?, ?) or VALUES (?, ?), (?, ?)
+    private static void appendParameter(StringBuilder result) {
+        int end = result.length();
+        int j = end - 1;
+        while (j >= 0 && result.charAt(j) == ' ') {
+            j--;
+        }
+        if (j >= 1 && result.charAt(j) == ',') {
+            int k = j - 1;
+            while (k >= 0 && result.charAt(k) == ' ') {
+                k--;
+            }
+            if (k >= 0 && result.charAt(k) == '?') {
+                result.setLength(k + 1);
+                return;
+            }
+        }
+        result.append('?');
+    }
+
+    static class Entry {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalTime.add(nanos);
+            maxTime.accumulateAndGet(nanos, Math::max);
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        long getTotalTime() {
+            return totalTime.sum();
+        }
+
+        long getMaxTime() {
+            return maxTime.get();
+        }
+    }
+}
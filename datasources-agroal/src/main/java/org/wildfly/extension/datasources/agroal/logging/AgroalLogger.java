@@ -78,6 +78,14 @@ public interface AgroalLogger extends BasicLogger {
     @Message(id = 111, value = "CredentialSourceSupplier for datasource '%s' is invalid")
     StartException invalidCredentialSourceSupplier(@Cause Throwable cause, String dataSourceName);
 
+    @LogMessage(level = INFO)
+    @Message(id = 112, value = "Warmed up datasource '%s' with %d of %d connections in %d ms")
+    void warmedUpDataSource(String datasource, int connections, int target, long time);
+
+    @LogMessage(level = WARN)
+    @Message(id = 113, value = "Failed to open connection while warming up datasource '%s'")
+    void warmUpConnectionFailed(@Cause Throwable cause, String datasource);
+
     // --- Driver service //
 
     @LogMessage(level = INFO)
@@ -0,0 +1,183 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the statement caching of {@link InstrumentedDataSource}.
+ * The pooled datasource is simulated by connection wrappers around a single physical connection, which, like the wrappers
+ * of an XA pool integrated with a transaction manager, enlist with a transaction begun after the connection was acquired
+ * on their first use within that transaction, other than unwrapping.
+ */
+public class InstrumentedDataSourceTestCase {
+
+    // the JDBC calls on the physical connection and its statements, in order
+    private final List<String> calls = new ArrayList<>();
+    private final Connection physicalConnection = this.physicalConnection();
+    private final StatementCache cache = new StatementCache(10);
+    private final DataSource dataSource = new InstrumentedDataSource(this.pooledDataSource(), this.cache, null);
+    private boolean transactionActive;
+
+    @Test
+    public void reuse() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+            connection.prepareStatement("SELECT 1").close();
+        }
+        try (Connection connection = this.dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+
+        assertEquals(List.of("prepare SELECT 1", "clearParameters", "clearWarnings", "clearParameters", "clearWarnings", "clearParameters", "clearWarnings"), this.calls);
+        assertEquals(2, this.cache.getHitCount());
+        assertEquals(1, this.cache.getMissCount());
+    }
+
+    @Test
+    public void releaseOnConnectionClose() throws SQLException {
+        PreparedStatement statement;
+        try (Connection connection = this.dataSource.getConnection()) {
+            statement = connection.prepareStatement("SELECT 1");
+            // the statement is not closed by the application
+        }
+
+        // the statement was released to the cache by the connection
+        assertEquals(List.of("prepare SELECT 1", "clearParameters", "clearWarnings"), this.calls);
+        assertTrue(statement.isClosed());
+        try {
+            statement.executeQuery();
+            fail("Statement of a closed connection must not be usable");
+        } catch (SQLException e) {
+            // expected
+        }
+        // closing the statement later has no effect
+        statement.close();
+
+        try (Connection connection = this.dataSource.getConnection()) {
+            PreparedStatement reused = connection.prepareStatement("SELECT 1");
+            assertFalse(reused.isClosed());
+            assertSame(connection, reused.getConnection());
+        }
+        assertEquals(1, this.cache.getHitCount());
+        assertEquals(1, this.calls.stream().filter(call -> call.startsWith("prepare")).count());
+    }
+
+    @Test
+    public void statefulStatementIsNotReused() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection()) {
+            PreparedStatement statement = connection.prepareStatement("SELECT 1");
+            statement.setMaxRows(1);
+            statement.close();
+            connection.prepareStatement("SELECT 1").close();
+        }
+
+        assertEquals(List.of("prepare SELECT 1", "setMaxRows", "close", "prepare SELECT 1", "clearParameters", "clearWarnings"), this.calls);
+    }
+
+    @Test
+    public void enlistBeforePrepare() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection()) {
+            // a transaction begins after the connection was acquired
+            this.transactionActive = true;
+            connection.prepareStatement("SELECT 1").close();
+            this.transactionActive = false;
+        }
+
+        // the statement is prepared on the physical connection, which must already take part in the transaction
+        assertEquals(List.of("enlist", "prepare SELECT 1", "clearParameters", "clearWarnings"), this.calls);
+    }
+
+    private DataSource pooledDataSource() {
+        return (DataSource) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return this.pooledConnection();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Simulates the connection wrapper of the pool, which enlists the physical connection on use within a transaction.
+     */
+    private Connection pooledConnection() {
+        boolean[] state = new boolean[2]; // closed, enlisted
+        return (Connection) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("isClosed")) {
+                return state[0];
+            }
+            if (state[0]) {
+                throw new SQLException("Connection is closed");
+            }
+            if (this.transactionActive && !state[1] && !name.equals("unwrap")) {
+                state[1] = true;
+                this.calls.add("enlist");
+            }
+            switch (name) {
+                case "unwrap":
+                    return this.physicalConnection;
+                case "getAutoCommit":
+                    return !this.transactionActive;
+                case "close":
+                    state[0] = true;
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private Connection physicalConnection() {
+        return (Connection) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    this.calls.add("prepare " + args[0]);
+                    return this.statement();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private PreparedStatement statement() {
+        return (PreparedStatement) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "getResultSet":
+                    return null;
+                case "isClosed":
+                    return false;
+                case "clearParameters":
+                case "clearWarnings":
+                case "setMaxRows":
+                case "close":
+                    this.calls.add(name);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PoolWarmUp}.
+ */
+public class PoolWarmUpTestCase {
+
+    @Test
+    public void warmUp() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        Semaphore available = new Semaphore(0);
+        AtomicInteger attempts = new AtomicInteger();
+        DataSource dataSource = dataSource(() -> {
+            available.acquireUninterruptibly();
+            attempts.incrementAndGet();
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            return connection(open::decrementAndGet);
+        });
+
+        PoolWarmUp warmUp = new PoolWarmUp("test", dataSource, 4, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            warmUp.start(executor);
+            assertFalse(warmUp.isReady());
+
+            available.release(2);
+            waitFor(warmUp::isReady);
+            // each connection is returned to the pool as soon as it is open
+            waitFor(() -> open.get() == 0);
+
+            available.release(2);
+            waitFor(() -> attempts.get() == 4 && open.get() == 0);
+            // no more connections were open at a time than were concurrently requested
+            assertTrue(maxOpen.get() <= 2);
+            assertTrue(warmUp.isReady());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedConnections() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        DataSource dataSource = dataSource(() -> {
+            attempts.incrementAndGet();
+            throw new SQLException("database is down");
+        });
+
+        PoolWarmUp warmUp = new PoolWarmUp("test", dataSource, 3, 100);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            warmUp.start(executor);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(3, attempts.get());
+            // readiness does not wait for a database that cannot be reached
+            assertTrue(warmUp.isReady());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void empty() {
+        assertTrue(new PoolWarmUp("test", dataSource(() -> connection(() -> { })), 0, 100).isReady());
+    }
+
+    private interface ConnectionFactory {
+        Connection getConnection() throws SQLException;
+    }
+
+    private static DataSource dataSource(ConnectionFactory factory) {
+        return (DataSource) Proxy.newProxyInstance(PoolWarmUpTestCase.class.getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return factory.getConnection();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static Connection connection(Runnable onClose) {
+        return (Connection) Proxy.newProxyInstance(PoolWarmUpTestCase.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            if (method.getName().equals("close")) {
+                onClose.run();
+                return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
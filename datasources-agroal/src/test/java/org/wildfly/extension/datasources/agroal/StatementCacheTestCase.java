@@ -0,0 +1,141 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StatementCache}.
+ */
+public class StatementCacheTestCase {
+
+    private final StatementCache cache = new StatementCache(2);
+    private final Connection connection = connection(null);
+    private final Set<PreparedStatement> closed = new HashSet<>();
+
+    @Test
+    public void acquireRelease() {
+        assertNull(this.cache.acquire(this.connection, "SELECT 1"));
+        PreparedStatement statement = this.statement();
+        this.cache.release(this.connection, "SELECT 1", statement);
+
+        assertSame(statement, this.cache.acquire(this.connection, "SELECT 1"));
+        // statements in use are removed from the cache
+        assertNull(this.cache.acquire(this.connection, "SELECT 1"));
+        // statements are cached per connection
+        assertNull(this.cache.acquire(connection(null), "SELECT 1"));
+        assertEquals(1, this.cache.getHitCount());
+        assertEquals(3, this.cache.getMissCount());
+        assertTrue(this.closed.isEmpty());
+
+        this.cache.resetStatistics();
+        assertEquals(0, this.cache.getHitCount());
+        assertEquals(0, this.cache.getMissCount());
+    }
+
+    @Test
+    public void duplicate() {
+        this.cache.acquire(this.connection, "SELECT 1");
+        PreparedStatement statement1 = this.statement();
+        PreparedStatement statement2 = this.statement();
+        this.cache.release(this.connection, "SELECT 1", statement1);
+        this.cache.release(this.connection, "SELECT 1", statement2);
+
+        assertFalse(this.closed.contains(statement1));
+        assertTrue(this.closed.contains(statement2));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        this.cache.acquire(this.connection, "SELECT 1");
+        PreparedStatement statement1 = this.statement();
+        PreparedStatement statement2 = this.statement();
+        PreparedStatement statement3 = this.statement();
+        this.cache.release(this.connection, "SELECT 1", statement1);
+        this.cache.release(this.connection, "SELECT 2", statement2);
+        this.cache.release(this.connection, "SELECT 3", statement3);
+
+        assertEquals(Set.of(statement1), this.closed);
+        assertSame(statement2, this.cache.acquire(this.connection, "SELECT 2"));
+        assertSame(statement3, this.cache.acquire(this.connection, "SELECT 3"));
+    }
+
+    @Test
+    public void destroy() {
+        this.cache.acquire(this.connection, "SELECT 1");
+        PreparedStatement statement1 = this.statement();
+        PreparedStatement statement2 = this.statement();
+        this.cache.release(this.connection, "SELECT 1", statement1);
+
+        // the pool may notify the listener with its connection wrapper
+        this.cache.onConnectionDestroy(connection(this.connection));
+        assertEquals(Set.of(statement1), this.closed);
+
+        // a statement released once its connection was destroyed is closed
+        this.cache.release(this.connection, "SELECT 2", statement2);
+        assertEquals(Set.of(statement1, statement2), this.closed);
+    }
+
+    @Test
+    public void close() {
+        Connection connection = connection(null);
+        this.cache.acquire(this.connection, "SELECT 1");
+        this.cache.acquire(connection, "SELECT 1");
+        PreparedStatement statement1 = this.statement();
+        PreparedStatement statement2 = this.statement();
+        this.cache.release(this.connection, "SELECT 1", statement1);
+        this.cache.release(connection, "SELECT 1", statement2);
+
+        this.cache.close();
+
+        assertEquals(Set.of(statement1, statement2), this.closed);
+    }
+
+    private PreparedStatement statement() {
+        return (PreparedStatement) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    this.closed.add((PreparedStatement) proxy);
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    /**
+     * @param physicalConnection the connection wrapped by the returned connection, or null, if none
+     */
+    private static Connection connection(Connection physicalConnection) {
+        return (Connection) Proxy.newProxyInstance(StatementCacheTestCase.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "unwrap":
+                    return (physicalConnection != null) ? physicalConnection : proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StatementProfiler}.
+ */
+public class StatementProfilerTestCase {
+
+    @Test
+    public void fingerprint() {
+        assertEquals("SELECT * FROM person WHERE id = ?", StatementProfiler.fingerprint("SELECT *  FROM person\n  WHERE id = 42"));
+        assertEquals("SELECT * FROM person WHERE name = ?", StatementProfiler.fingerprint("SELECT * FROM person WHERE name = 'O''Brien'"));
+        assertEquals("SELECT * FROM person WHERE id IN (?)", StatementProfiler.fingerprint("SELECT * FROM person WHERE id IN (1, 2, 3)"));
+        assertEquals("SELECT * FROM person WHERE id IN (?)", StatementProfiler.fingerprint("SELECT * FROM person WHERE id IN (?, ?)"));
+        assertEquals("SELECT * FROM table1 WHERE value > ?", StatementProfiler.fingerprint("SELECT * FROM table1 WHERE value > 1.5"));
+    }
+
+    @Test
+    public void record() {
+        StatementProfiler profiler = new StatementProfiler(1);
+        profiler.record("SELECT ?", 10);
+        profiler.record("SELECT ?", 30);
+        profiler.record("UPDATE person SET name = ?", 100);
+
+        List<StatementProfiler.Entry> entries = profiler.getEntries(10);
+        assertEquals(2, entries.size());
+        assertEquals("UPDATE person SET name = ?", entries.get(0).getFingerprint());
+        assertEquals(2, entries.get(1).getCount());
+        assertEquals(40, entries.get(1).getTotalTime());
+        assertEquals(30, entries.get(1).getMaxTime());
+        assertEquals(1, profiler.getEntries(1).size());
+
+        profiler.reset();
+        assertEquals(0, profiler.getEntries(10).size());
+    }
+
+    @Test
+    public void maxFingerprints() {
+        StatementProfiler profiler = new StatementProfiler(1);
+        for (int i = 0; i < StatementProfiler.MAX_FINGERPRINTS + 10; i++) {
+            profiler.record("SELECT column" + i, 1);
+        }
+        assertEquals(StatementProfiler.MAX_FINGERPRINTS, profiler.getEntries(Integer.MAX_VALUE).size());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free histogram of durations, e.g. request processing or connection wait times, using log-linear buckets in the style of an HDR histogram.
+ * Values are bucketed by their most significant bit, and each power of 2 is subdivided into {@value #SUB_BUCKETS} linear buckets,
+ * bounding the relative error of a reported percentile to roughly 6%.
+ * <p>
+ * Percentiles reflect the values recorded within a sliding window, rather than since the creation of the histogram,
+ * so that they follow changes in latency. The window is divided into {@value #INTERVALS} intervals, each with its own buckets,
+ * and the oldest interval is discarded as a new one begins, i.e. the values reported span between the window and one interval more.
+ * Recording a value neither blocks nor allocates, except for the buckets of a new interval.
+ */
+public class LatencyHistogram {
+
+    /** The default window, over which percentiles are reported */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values beyond 2^40 (e.g. ~12 days in microseconds) are recorded in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int INTERVALS = 4;
+
+    private final LongSupplier clock;
+    private final long interval;
+    // The intervals of the window, along with the current interval, indexed by interval number
+    private final AtomicReferenceArray<Interval> intervals = new AtomicReferenceArray<>(INTERVALS + 1);
+
+    /**
+     * Creates a histogram reporting the values recorded within the {@link #DEFAULT_WINDOW default window}.
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Creates a histogram reporting the values recorded within the specified window.
+     * @param window the duration of the window
+     */
+    public LatencyHistogram(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    LatencyHistogram(Duration window, LongSupplier clock) {
+        this.interval = Math.max(1L, window.toNanos() / INTERVALS);
+        this.clock = clock;
+    }
+
+    /**
+     * Records the specified value.
+     * @param value a non-negative value, e.g. a duration in microseconds. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        this.currentInterval().counts.incrementAndGet(index(Math.max(0, value)));
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < this.intervals.length(); ++i) {
+            this.intervals.set(i, null);
+        }
+    }
+
+    /**
+     * Returns the number of values recorded within the window.
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (long value : this.snapshot()) {
+            count += value;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the value below which the specified fraction of the values recorded within the window fall.
+     * @param quantile a fraction between 0 and 1
+     * @return a value, or 0 if no values were recorded within the window
+     */
+    public long getValueAtQuantile(double quantile) {
+        long[] counts = this.snapshot();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(quantile, 0d), 1d) * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private Interval currentInterval() {
+        long number = Math.floorDiv(this.clock.getAsLong(), this.interval);
+        int index = (int) Math.floorMod(number, (long) this.intervals.length());
+        Interval current = this.intervals.get(index);
+        while ((current == null) || (current.number < number)) {
+            Interval next = new Interval(number);
+            if (this.intervals.compareAndSet(index, current, next)) {
+                return next;
+            }
+            current = this.intervals.get(index);
+        }
+        // N.B. A value recorded by a thread that stalled across the interval boundary is attributed to the newer interval
+        return current;
+    }
+
+    // Sums the buckets of the intervals within the window
+    private long[] snapshot() {
+        long number = Math.floorDiv(this.clock.getAsLong(), this.interval);
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < this.intervals.length(); ++i) {
+            Interval interval = this.intervals.get(i);
+            if ((interval != null) && (interval.number > number - this.intervals.length()) && (interval.number <= number)) {
+                for (int j = 0; j < BUCKETS; ++j) {
+                    counts[j] += interval.counts.get(j);
+                }
+            }
+        }
+        return counts;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && value >= (1L << (MAX_EXPONENT + 1))) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value recorded in the specified bucket.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index / SUB_BUCKETS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lowerBound = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static class Interval {
+        final long number;
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        Interval(long number) {
+            this.number = number;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.99));
+    }
+
+    @Test
+    public void buckets() {
+        long previous = -1;
+        for (long value = 0; value < 1 << 20; ++value) {
+            int index = LatencyHistogram.index(value);
+            long upperBound = LatencyHistogram.upperBound(index);
+            Assert.assertTrue(value <= upperBound);
+            // Relative error is bounded by the sub-bucket resolution
+            Assert.assertTrue(upperBound - value <= Math.max(0, value / 16));
+            Assert.assertTrue(index >= LatencyHistogram.index(Math.max(0, previous)));
+            previous = value;
+        }
+        Assert.assertEquals(LatencyHistogram.index(Long.MAX_VALUE), LatencyHistogram.index(1L << 50));
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; ++i) {
+            histogram.record(i);
+        }
+        histogram.record(-1);
+        Assert.assertEquals(10001, histogram.getCount());
+
+        assertApproximately(5000, histogram.getValueAtQuantile(0.5));
+        assertApproximately(9000, histogram.getValueAtQuantile(0.9));
+        assertApproximately(9900, histogram.getValueAtQuantile(0.99));
+        assertApproximately(9990, histogram.getValueAtQuantile(0.999));
+        assertApproximately(10000, histogram.getValueAtQuantile(1));
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0));
+    }
+
+    @Test
+    public void window() {
+        AtomicLong clock = new AtomicLong();
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofNanos(400), clock::get);
+        for (int i = 0; i < 100; ++i) {
+            histogram.record(1000);
+        }
+        clock.set(250);
+        histogram.record(10);
+        Assert.assertEquals(101, histogram.getCount());
+        assertApproximately(1000, histogram.getValueAtQuantile(0.5));
+
+        // Values recorded before the window are no longer reported
+        clock.set(550);
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(10, histogram.getValueAtQuantile(0.5));
+
+        clock.set(650);
+        histogram.record(100);
+        Assert.assertEquals(2, histogram.getCount());
+        clock.set(750);
+        Assert.assertEquals(1, histogram.getCount());
+        assertApproximately(100, histogram.getValueAtQuantile(0.5));
+
+        clock.set(1000000);
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.99));
+    }
+
+    @Test
+    public void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        Assert.assertEquals(1, histogram.getCount());
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        histogram.record(100);
+        Assert.assertEquals(1, histogram.getCount());
+    }
+
+    private static void assertApproximately(long expected, long actual) {
+        Assert.assertTrue(String.format("%d != %d", expected, actual), Math.abs(expected - actual) <= expected / 16);
+    }
+}
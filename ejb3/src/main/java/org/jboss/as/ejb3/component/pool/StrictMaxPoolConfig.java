@@ -5,10 +5,15 @@
 
 package org.jboss.as.ejb3.component.pool;
 
+import org.jboss.as.ejb3.pool.AdaptivePool;
 import org.jboss.as.ejb3.pool.Pool;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
 import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+import org.jboss.as.ejb3.pool.strictmax.StripedStrictMaxPool;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -22,6 +27,41 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
 
+    /**
+     * The implementations of a pool with a strict upper limit.
+     */
+    public enum Implementation {
+        /**
+         * Instances are reused in FIFO order from a queue shared by all threads.
+         */
+        QUEUE("queue"),
+        /**
+         * Permits and instances are striped across threads and instances are reused in LIFO order.
+         */
+        STRIPED("striped"),
+        ;
+        private final String value;
+
+        Implementation(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+
+        public static Implementation fromValue(String value) {
+            for (Implementation implementation : values()) {
+                if (implementation.value.equals(value)) {
+                    return implementation;
+                }
+            }
+            return valueOf(value);
+        }
+    }
+
+    public static final Implementation DEFAULT_IMPLEMENTATION = Implementation.QUEUE;
 
     private volatile int maxPoolSize;
 
@@ -29,16 +69,42 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     private volatile long timeout;
 
+    private volatile Implementation implementation;
+
+    private volatile boolean adaptive;
+
+    // The pools created from this configuration, whose maximum size follows the one of this configuration
+    private final Set<Pool<?>> pools = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
     public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(poolName, maxSize, timeout, timeUnit, DEFAULT_IMPLEMENTATION, false);
+    }
+
+    public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit, Implementation implementation, boolean adaptive) {
         super(poolName);
         this.maxPoolSize = maxSize;
         this.timeout = timeout;
         this.timeoutUnit = timeUnit;
+        this.implementation = implementation;
+        this.adaptive = adaptive;
     }
 
     @Override
     public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
-        return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+        Pool<T> pool;
+        switch (this.implementation) {
+            case STRIPED:
+                pool = new StripedStrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+                break;
+            default:
+                pool = new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+        }
+        if (this.adaptive) {
+            // start with as many instances as there are processors, and adapt to the load up to the maximum size
+            pool = new AdaptivePool<T>(pool, Runtime.getRuntime().availableProcessors());
+        }
+        this.pools.add(pool);
+        return pool;
     }
 
     public int getMaxPoolSize() {
@@ -47,6 +113,12 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     public void setMaxPoolSize(int maxPoolSize) {
         this.maxPoolSize = maxPoolSize;
+        // resize the pools of the deployed components
+        synchronized (this.pools) {
+            for (Pool<?> pool : this.pools) {
+                pool.setMaxSize(maxPoolSize);
+            }
+        }
     }
 
     public TimeUnit getTimeoutUnit() {
@@ -65,6 +137,22 @@ public class StrictMaxPoolConfig extends PoolConfig {
         this.timeout = timeout;
     }
 
+    public Implementation getImplementation() {
+        return implementation;
+    }
+
+    public void setImplementation(Implementation implementation) {
+        this.implementation = implementation;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
     @Override
     public String toString() {
         return "StrictMaxPoolConfig{" +
@@ -72,6 +160,8 @@ public class StrictMaxPoolConfig extends PoolConfig {
                 ", maxPoolSize=" + maxPoolSize +
                 ", timeoutUnit=" + timeoutUnit +
                 ", timeout=" + timeout +
+                ", implementation=" + implementation +
+                ", adaptive=" + adaptive +
                 '}';
     }
 }
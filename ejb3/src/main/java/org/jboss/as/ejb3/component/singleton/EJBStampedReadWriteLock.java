@@ -0,0 +1,369 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * An implementation of {@link java.util.concurrent.locks.ReadWriteLock}, with the same semantics as {@link EJBReadWriteLock},
+ * whose read lock scales with the number of concurrent readers.
+ * <p/>
+ * While no writer is active, readers are biased: they increment a reader counter picked by their thread among a set of
+ * counters padded onto distinct cache lines, and register their hold in a concurrent table keyed by their thread. They do
+ * not contend on a single lock word, although threads whose counters or table bins collide still share cache lines.
+ * A writer revokes the bias, acquires a {@link StampedLock} and waits for every reader counter to drop to zero. A reader
+ * decrements the counter it incremented, so each counter is exactly the number of biased readers using it. Until the bias
+ * is restored, readers acquire the read lock of the {@link StampedLock}.
+ * <p/>
+ * Both locks are reentrant, a thread holding the write lock may acquire the read lock, and a thread holding a read lock
+ * which tries to obtain the write lock gets an {@link jakarta.ejb.IllegalLoopbackException}. Read locks acquired while
+ * holding the write lock are converted to a read lock of the {@link StampedLock} when the write lock is released. The locks held by a thread
+ * are tracked in the table rather than in a {@link ThreadLocal}, whose entries are removed as soon as the thread releases
+ * its locks, so that no state is retained by short-lived (e.g. virtual) threads.
+ */
+public class EJBStampedReadWriteLock implements ReadWriteLock {
+
+    /**
+     * The read holds of each thread holding a read lock
+     */
+    private final Map<Thread, ReadHold> readHolds = new ConcurrentHashMap<>();
+
+    // Spacing between 2 reader counters, to avoid false sharing of cache lines
+    private static final int PADDING = 16;
+    private static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    /**
+     * The number of read locks held by biased readers, striped by thread
+     */
+    private final AtomicLongArray biasedReaders = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * Whether readers may acquire the read lock without acquiring the read lock of the {@link #delegate}
+     */
+    private volatile boolean readBias = true;
+
+    /**
+     * The time before which the bias is not restored after having been revoked by a writer
+     */
+    private volatile long inhibitBiasUntil = System.nanoTime();
+
+    /**
+     * The lock of writers and of non biased readers
+     */
+    private final StampedLock delegate = new StampedLock();
+
+    /**
+     * The thread holding the write lock, and the stamp and number of its holds, guarded by the write lock
+     */
+    private volatile Thread writer;
+    private long writeStamp;
+    private int writeHolds;
+
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    /**
+     * The read holds of a thread
+     */
+    private static class ReadHold {
+        // The read stamp of the delegate, or 0 if this hold does not hold the read lock of the delegate
+        final long stamp;
+        // The index of the reader counter of a biased reader, or -1
+        final int counter;
+        int count;
+
+        ReadHold(long stamp, int counter, int count) {
+            this.stamp = stamp;
+            this.counter = counter;
+            this.count = count;
+        }
+    }
+
+    /**
+     * A read lock which tracks the holds of each thread, and which acquires the read lock of the {@link #delegate}
+     * only while the bias is revoked by a writer.
+     */
+    public class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            try {
+                acquireReadLock(Long.MAX_VALUE, false);
+            } catch (InterruptedException e) {
+                // not thrown by uninterruptible acquisitions
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            acquireReadLock(Long.MAX_VALUE, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            try {
+                return acquireReadLock(0, false);
+            } catch (InterruptedException e) {
+                // not thrown by uninterruptible acquisitions
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return acquireReadLock(unit.toNanos(time), true);
+        }
+
+        @Override
+        public void unlock() {
+            releaseReadLock();
+        }
+
+        /**
+         * No implementation provided
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A write lock which throws an {@link jakarta.ejb.IllegalLoopbackException} if the thread already holds a read lock.
+     */
+    public class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            try {
+                acquireWriteLock(Long.MAX_VALUE, false);
+            } catch (InterruptedException e) {
+                // not thrown by uninterruptible acquisitions
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            acquireWriteLock(Long.MAX_VALUE, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            try {
+                return acquireWriteLock(0, false);
+            } catch (InterruptedException e) {
+                // not thrown by uninterruptible acquisitions
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return acquireWriteLock(unit.toNanos(time), true);
+        }
+
+        @Override
+        public void unlock() {
+            releaseWriteLock();
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    boolean acquireReadLock(long nanos, boolean interruptible) throws InterruptedException {
+        Thread thread = Thread.currentThread();
+        ReadHold hold = this.readHolds.get(thread);
+        if (hold != null) {
+            // reentrant read
+            hold.count += 1;
+            return true;
+        }
+        if (this.writer == thread) {
+            // read within a write, protected by the write lock until it is converted to a read lock
+            this.readHolds.put(thread, new ReadHold(0L, -1, 1));
+            return true;
+        }
+        if (this.readBias) {
+            int counter = counter(thread);
+            this.biasedReaders.incrementAndGet(counter);
+            // a writer revoking the bias concurrently either sees this reader, or is seen by it
+            if (this.readBias) {
+                this.readHolds.put(thread, new ReadHold(0L, counter, 1));
+                return true;
+            }
+            this.releaseBiasedReader(counter);
+        }
+        long stamp = (nanos == Long.MAX_VALUE) ? (interruptible ? this.delegate.readLockInterruptibly() : this.delegate.readLock()) : (nanos == 0) ? this.delegate.tryReadLock() : this.delegate.tryReadLock(nanos, TimeUnit.NANOSECONDS);
+        if (stamp == 0L) {
+            return false;
+        }
+        // no writer can hold the write lock, restore the bias unless it was revoked recently
+        if (!this.readBias && (System.nanoTime() - this.inhibitBiasUntil >= 0)) {
+            this.readBias = true;
+        }
+        this.readHolds.put(thread, new ReadHold(stamp, -1, 1));
+        return true;
+    }
+
+    /**
+     * Returns the index of the reader counter of a thread.
+     */
+    private static int counter(Thread thread) {
+        long id = thread.getId();
+        // spread the bits of the thread identifier
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & (STRIPES - 1)) * PADDING;
+    }
+
+    void releaseReadLock() {
+        Thread thread = Thread.currentThread();
+        ReadHold hold = this.readHolds.get(thread);
+        if (hold == null) {
+            throw new IllegalMonitorStateException();
+        }
+        hold.count -= 1;
+        if (hold.count == 0) {
+            this.readHolds.remove(thread);
+            if (hold.counter >= 0) {
+                this.releaseBiasedReader(hold.counter);
+            } else if (hold.stamp != 0L) {
+                this.delegate.unlockRead(hold.stamp);
+            }
+        }
+    }
+
+    private void releaseBiasedReader(int counter) {
+        this.biasedReaders.decrementAndGet(counter);
+        if (!this.readBias) {
+            // wake up a writer waiting for the biased readers to drain
+            Thread writer = this.writer;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
+    boolean acquireWriteLock(long nanos, boolean interruptible) throws InterruptedException {
+        Thread thread = Thread.currentThread();
+        if (this.writer == thread) {
+            // reentrant write
+            this.writeHolds += 1;
+            return true;
+        }
+        this.checkLoopback(thread);
+        long start = System.nanoTime();
+        long stamp = (nanos == Long.MAX_VALUE) ? (interruptible ? this.delegate.writeLockInterruptibly() : this.delegate.writeLock()) : (nanos == 0) ? this.delegate.tryWriteLock() : this.delegate.tryWriteLock(nanos, TimeUnit.NANOSECONDS);
+        if (stamp == 0L) {
+            return false;
+        }
+        this.writer = thread;
+        // revoke the bias and wait for the biased readers to drain
+        this.readBias = false;
+        try {
+            while (this.hasBiasedReaders()) {
+                long remaining = (nanos == Long.MAX_VALUE) ? Long.MAX_VALUE : nanos - (System.nanoTime() - start);
+                if (remaining <= 0L) {
+                    this.writer = null;
+                    this.delegate.unlockWrite(stamp);
+                    return false;
+                }
+                // biased readers releasing their lock unpark this thread
+                LockSupport.parkNanos(this, Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)));
+                if (interruptible && Thread.interrupted()) {
+                    this.writer = null;
+                    this.delegate.unlockWrite(stamp);
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            // do not restore the bias before a multiple of the time spent draining the biased readers
+            this.inhibitBiasUntil = System.nanoTime() + 9 * (System.nanoTime() - start);
+        }
+        this.writeStamp = stamp;
+        this.writeHolds = 1;
+        return true;
+    }
+
+    /**
+     * Returns whether a biased reader holds the read lock. Each counter is read atomically after the bias is revoked, and
+     * biased readers incrementing a counter after it was read observe the revoked bias and back off.
+     */
+    private boolean hasBiasedReaders() {
+        for (int i = 0; i < STRIPES; i++) {
+            if (this.biasedReaders.get(i * PADDING) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void releaseWriteLock() {
+        Thread thread = Thread.currentThread();
+        if (this.writer != thread) {
+            throw new IllegalMonitorStateException();
+        }
+        this.writeHolds -= 1;
+        if (this.writeHolds == 0) {
+            long stamp = this.writeStamp;
+            this.writeStamp = 0L;
+            this.writer = null;
+            ReadHold hold = this.readHolds.get(thread);
+            if (hold != null) {
+                // downgrade: the read locks acquired within the write are no longer protected by the write lock
+                this.readHolds.put(thread, new ReadHold(this.delegate.tryConvertToReadLock(stamp), -1, hold.count));
+            } else {
+                this.delegate.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link jakarta.ejb.IllegalLoopbackException}.
+     */
+    private void checkLoopback(Thread thread) {
+        if (this.readHolds.containsKey(thread)) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+    }
+
+    /**
+     * @see java.util.concurrent.locks.ReadWriteLock#readLock()
+     */
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    /**
+     * @see java.util.concurrent.locks.ReadWriteLock#writeLock()
+     */
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+}
@@ -26,6 +26,7 @@ import org.jboss.invocation.Interceptor;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
@@ -57,9 +58,14 @@ public class SingletonComponent extends SessionBeanComponent {
     private final Object creationLock = new Object();
 
     /**
-     * A spec compliant {@link EJBReadWriteLock}
+     * Whether singletons use a {@link EJBStampedReadWriteLock}, whose read lock scales with the number of concurrent readers
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private static final boolean STAMPED_LOCK = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.singleton.stampedLock", "false"));
+
+    /**
+     * A spec compliant {@link EJBReadWriteLock} or {@link EJBStampedReadWriteLock}
+     */
+    private final ReadWriteLock readWriteLock = STAMPED_LOCK ? new EJBStampedReadWriteLock() : new EJBReadWriteLock();
 
     /**
      * Construct a new instance.
@@ -3254,4 +3254,20 @@ public interface EjbLogger extends BasicLogger {
 
     @Message(id = 536, value = "Unsupported EJB receiver protocol %s")
     IllegalArgumentException unsupportedEJBReceiverProtocol(String uriScheme);
+
+    @LogMessage(level = WARN)
+    @Message(id = 537, value = "Timer journal %s is corrupted beyond offset %d, the records following this offset were discarded")
+    void timerJournalTruncated(File journal, long offset);
+
+    @LogMessage(level = INFO)
+    @Message(id = 538, value = "Migrated %d timers from %s to the timer journal")
+    void timersMigratedToJournal(int count, File directory);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 539, value = "Cannot add the LAST_MODIFIED column to the table for timer persistence")
+    void couldNotAddLastModifiedColumn(@Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 540, value = "Failed to force timer journal %s to disk")
+    void failToSyncTimerJournal(File journal, @Cause IOException e);
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool which adapts the size limit of another pool to the observed load, within a fixed maximum size.
+ * <p/>
+ * The load is sampled once per interval, by the threads using the pool. The limit grows by a quarter whenever
+ * the share of acquisitions that found no instance available exceeds a threshold, and shrinks towards the peak
+ * number of instances in use once that peak stayed well below the limit for a number of consecutive intervals.
+ * Idle instances in excess of the limit are destroyed by the underlying pool.
+ */
+public class AdaptivePool<T> implements Pool<T> {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    // Percentage of contended acquisitions above which the limit grows
+    private static final int CONTENTION_THRESHOLD = 5;
+    // Number of consecutive under-used intervals after which the limit shrinks
+    private static final int SHRINK_INTERVALS = 30;
+
+    private final Pool<T> pool;
+    private final int minSize;
+    private volatile int maxSize;
+
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+    private final AtomicLong nextSample = new AtomicLong(System.nanoTime() + INTERVAL);
+    // Guarded by this
+    private int underUsedIntervals = 0;
+
+    /**
+     * Creates an adaptive pool.
+     *
+     * @param pool the underlying pool, whose maximum size is the upper bound of the limit
+     * @param minSize the initial and lower bound of the limit
+     */
+    public AdaptivePool(Pool<T> pool, int minSize) {
+        this.pool = pool;
+        this.maxSize = pool.getMaxSize();
+        this.minSize = Math.max(1, Math.min(minSize, this.maxSize));
+        pool.setMaxSize(this.minSize);
+    }
+
+    @Override
+    public T get() {
+        this.sample();
+        this.acquisitions.increment();
+        if (this.pool.getAvailableCount() == 0) {
+            this.contentions.increment();
+        }
+        T bean = this.pool.get();
+        int used = this.inUse.incrementAndGet();
+        this.peakInUse.accumulateAndGet(used, Math::max);
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        this.inUse.decrementAndGet();
+        this.pool.release(obj);
+    }
+
+    @Override
+    public void discard(T obj) {
+        this.inUse.decrementAndGet();
+        this.pool.discard(obj);
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return this.pool.getAvailableCount();
+    }
+
+    @Override
+    public int getCreateCount() {
+        return this.pool.getCreateCount();
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.pool.getCurrentSize();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        if (this.pool.getMaxSize() > maxSize) {
+            this.pool.setMaxSize(maxSize);
+        }
+    }
+
+    /**
+     * Returns the current limit of the number of instances, between the minimum and maximum size of this pool.
+     *
+     * @return the current limit
+     */
+    public int getLimit() {
+        return this.pool.getMaxSize();
+    }
+
+    @Override
+    public int getRemoveCount() {
+        return this.pool.getRemoveCount();
+    }
+
+    @Override
+    public long getWaitCount() {
+        return this.pool.getWaitCount();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return this.pool.getWaitTime();
+    }
+
+    @Override
+    public long getMaxWaitTime() {
+        return this.pool.getMaxWaitTime();
+    }
+
+    @Override
+    public void start() {
+        this.pool.start();
+    }
+
+    @Override
+    public void stop() {
+        this.pool.stop();
+    }
+
+    /**
+     * Adjusts the limit of the underlying pool if an interval has elapsed since the last adjustment.
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        long next = this.nextSample.get();
+        // only one thread adjusts the limit per interval
+        if ((now - next < 0) || !this.nextSample.compareAndSet(next, now + INTERVAL)) {
+            return;
+        }
+        synchronized (this) {
+            this.adjust(this.acquisitions.sumThenReset(), this.contentions.sumThenReset(), this.peakInUse.getAndSet(this.inUse.get()));
+        }
+    }
+
+    // Guarded by this
+    void adjust(long acquired, long contended, int peak) {
+        int limit = this.pool.getMaxSize();
+        int maxSize = this.maxSize;
+        if ((contended * 100 > acquired * CONTENTION_THRESHOLD) && (limit < maxSize)) {
+            this.underUsedIntervals = 0;
+            this.resize(limit, Math.min(maxSize, limit + Math.max(1, limit / 4)));
+        } else if ((peak * 4 < limit * 3) && (limit > this.minSize)) {
+            if (++this.underUsedIntervals >= SHRINK_INTERVALS) {
+                this.underUsedIntervals = 0;
+                this.resize(limit, Math.max(this.minSize, peak + Math.max(1, peak / 4)));
+            }
+        } else {
+            this.underUsedIntervals = 0;
+        }
+    }
+
+    private void resize(int limit, int newLimit) {
+        if (newLimit != limit) {
+            if (ROOT_LOGGER.isDebugEnabled()) {
+                ROOT_LOGGER.debugf("Resizing pool %s from %d to %d instances", this.pool, limit, newLimit);
+            }
+            this.pool.setMaxSize(newLimit);
+        }
+    }
+}
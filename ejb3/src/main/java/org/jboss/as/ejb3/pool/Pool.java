@@ -40,6 +40,33 @@ public interface Pool<T> {
 
     int getRemoveCount();
 
+    /**
+     * Returns the number of calls to {@link #get()} which had to wait for an instance to become available.
+     *
+     * @return the number of waits
+     */
+    default long getWaitCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the total time spent by calls to {@link #get()} waiting for an instance to become available.
+     *
+     * @return the total wait time in milliseconds
+     */
+    default long getWaitTime() {
+        return 0;
+    }
+
+    /**
+     * Returns the longest time spent by a call to {@link #get()} waiting for an instance to become available.
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    default long getMaxWaitTime() {
+        return 0;
+    }
+
     /**
      * Release the object from use.
      *
@@ -14,6 +14,8 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A pool with a maximum size.
@@ -28,11 +30,11 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * When set, only maxSize instances may be active and any attempt to get an
      * instance will block until an instance is freed.
      */
-    private final Semaphore semaphore;
+    private final ResizableSemaphore semaphore;
     /**
      * The maximum number of instances allowed in the pool
      */
-    private final int maxSize;
+    private volatile int maxSize;
     /**
      * The time to wait for the semaphore.
      */
@@ -43,11 +45,19 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * Guarded by the implicit lock for "pool"
      */
     private final Queue<T> pool = new ConcurrentLinkedQueue<T>();
+    /**
+     * The number of instances created and not yet removed, claimed atomically when instances in excess of the maximum size are destroyed
+     */
+    private final AtomicInteger instances = new AtomicInteger();
+
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
 
     public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
         super(factory);
         this.maxSize = maxSize;
-        this.semaphore = new Semaphore(maxSize, false);
+        this.semaphore = new ResizableSemaphore(maxSize);
         this.timeout = timeout;
         this.timeUnit = timeUnit;
     }
@@ -57,6 +67,7 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
             ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
         }
 
+        instances.decrementAndGet();
         // If we block when maxSize instances are in use, invoke release on strictMaxSize
         semaphore.release();
 
@@ -69,15 +80,47 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
     }
 
     public int getAvailableCount() {
-        return semaphore.availablePermits();
+        // permits are negative while the pool shrinks below the number of instances in use
+        return Math.max(0, semaphore.availablePermits());
     }
 
     public int getMaxSize() {
         return maxSize;
     }
 
-    public void setMaxSize(int maxSize) {
-        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    public synchronized void setMaxSize(int maxSize) {
+        int delta = maxSize - this.maxSize;
+        this.maxSize = maxSize;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            // instances in use in excess of the new maximum are destroyed when they are released
+            semaphore.reducePermits(-delta);
+            while (claimExcess()) {
+                T obj = pool.poll();
+                if (obj == null) {
+                    // the excess instance is in use, and is destroyed when released
+                    instances.incrementAndGet();
+                    break;
+                }
+                destroy(obj);
+            }
+        }
+    }
+
+    @Override
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.get());
+    }
+
+    @Override
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get());
     }
 
     /**
@@ -87,12 +130,21 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * @return Context /w instance
      */
     public T get() {
-        try {
-            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
-            if (!acquired)
-                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
-        } catch (InterruptedException e) {
-            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        if (!semaphore.tryAcquire()) {
+            // no permit is immediately available, wait for one
+            long start = System.nanoTime();
+            try {
+                boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+                if (!acquired)
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
+            } catch (InterruptedException e) {
+                throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+            } finally {
+                long waited = System.nanoTime() - start;
+                waitCount.incrementAndGet();
+                waitTime.addAndGet(waited);
+                maxWaitTime.accumulateAndGet(waited, Math::max);
+            }
         }
 
         T bean = pool.poll();
@@ -105,6 +157,7 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
         try {
             // Pool is empty, create an instance
             bean = create();
+            instances.incrementAndGet();
         } finally {
             if (bean == null) {
                 semaphore.release();
@@ -127,7 +180,12 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
             ROOT_LOGGER.tracef("%s/%s Free instance: %s", pool.size(), maxSize, this);
         }
 
-        pool.add(obj);
+        if (claimExcess()) {
+            // the pool has shrunk since this instance was acquired
+            destroy(obj);
+        } else {
+            pool.add(obj);
+        }
 
         semaphore.release();
     }
@@ -139,6 +197,7 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
             ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
         }
 
+        instances.decrementAndGet();
         semaphore.release();
         // let the super do the other remove stuff
         super.doRemove(ctx);
@@ -151,7 +210,40 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
 
     public void stop() {
         for (T obj = pool.poll(); obj != null; obj = pool.poll()) {
+            instances.decrementAndGet();
             destroy(obj);
         }
     }
+
+    /**
+     * Atomically claims an instance in excess of the maximum size, which the caller must then destroy.
+     *
+     * @return true, if an excess instance was claimed
+     */
+    private boolean claimExcess() {
+        int current = instances.get();
+        while (current > maxSize) {
+            if (instances.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            current = instances.get();
+        }
+        return false;
+    }
+
+    /**
+     * A semaphore whose number of permits can be reduced.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = -1452542758357298155L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, false);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
 }
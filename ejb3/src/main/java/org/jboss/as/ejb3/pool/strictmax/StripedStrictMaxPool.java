@@ -0,0 +1,415 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size whose permits and idle instances are striped across threads.
+ * <p/>
+ * Each stripe holds a share of the permits and a LIFO stack of idle instances, so that a thread usually acquires
+ * a permit and the instance it last released (whose state is most likely still in its CPU caches) from its own stripe
+ * without contending with other threads. When its own stripe is exhausted, a thread steals permits and
+ * instances from the other stripes before blocking. The total number of permits never exceeds the maximum size.
+ */
+public class StripedStrictMaxPool<T> extends AbstractPool<T> {
+
+    // Spacing between the permit counters of 2 stripes, to avoid false sharing of cache lines
+    private static final int PADDING = 16;
+
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private volatile int maxSize;
+    /**
+     * The time to wait for a permit.
+     */
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    private final int mask;
+    private final AtomicIntegerArray permits;
+    private final AtomicReferenceArray<Node<T>> idle;
+    // Permits removed by a shrink of the pool while they were in use
+    private final AtomicInteger owedPermits = new AtomicInteger();
+    // Instances created and not yet removed, claimed atomically when instances in excess of the maximum size are destroyed
+    private final AtomicInteger instances = new AtomicInteger();
+
+    // Used only by threads that could not acquire a permit from any stripe
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private volatile int waiting = 0;
+
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final AtomicLong stealCount = new AtomicLong();
+
+    public StripedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // use a power of 2 number of stripes, no more than the number of permits
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxSize)));
+        this.mask = stripes - 1;
+        this.permits = new AtomicIntegerArray(stripes * PADDING);
+        this.idle = new AtomicReferenceArray<>(stripes);
+        // distribute the permits evenly across the stripes
+        for (int i = 0; i < stripes; i++) {
+            this.permits.set(i * PADDING, (maxSize / stripes) + ((i < maxSize % stripes) ? 1 : 0));
+        }
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.instances.decrementAndGet();
+        this.releasePermit(this.stripe());
+
+        // Let the super do any other remove stuff
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        int available = 0;
+        for (int i = 0; i <= this.mask; i++) {
+            available += this.permits.get(i * PADDING);
+        }
+        return available;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public synchronized void setMaxSize(int maxSize) {
+        int delta = maxSize - this.maxSize;
+        this.maxSize = maxSize;
+        if (delta > 0) {
+            // pay back the permits still owed from a previous shrink, then spread the remaining ones across the stripes
+            for (int i = 0; i < delta; i++) {
+                if (!this.payBackPermit()) {
+                    this.permits.incrementAndGet((i & this.mask) * PADDING);
+                }
+            }
+            if (this.waiting > 0) {
+                this.lock.lock();
+                try {
+                    this.released.signalAll();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+        } else if (delta < 0) {
+            // take the removed permits from the stripes, and owe those which are in use
+            for (int i = 0; i < -delta; i++) {
+                if (this.takePermit(i & this.mask) < 0) {
+                    this.owedPermits.incrementAndGet();
+                }
+            }
+            // instances in use in excess of the new maximum are destroyed when they are released
+            int i = 0;
+            while ((i <= this.mask) && this.claimExcess()) {
+                T obj = this.popStripe(i);
+                if (obj != null) {
+                    this.destroy(obj);
+                } else {
+                    // no idle instance left in this stripe, give back the claim and move on to the next stripe
+                    this.instances.incrementAndGet();
+                    i++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getWaitCount() {
+        return this.waitCount.get();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.waitTime.get());
+    }
+
+    @Override
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxWaitTime.get());
+    }
+
+    /**
+     * Returns the number of permits or instances acquired from a stripe other than the one of the calling thread.
+     *
+     * @return the number of steals
+     */
+    public long getStealCount() {
+        return this.stealCount.get();
+    }
+
+    @Override
+    public T get() {
+        int stripe = this.stripe();
+        if (!this.tryAcquirePermit(stripe)) {
+            this.acquirePermit(stripe);
+        }
+
+        T bean = this.pop(stripe);
+        if (bean != null) {
+            //we found a bean instance in the pool, return it
+            return bean;
+        }
+
+        try {
+            // Pool is empty, create an instance
+            bean = create();
+            this.instances.incrementAndGet();
+        } finally {
+            if (bean == null) {
+                this.releasePermit(stripe);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.maxSize - this.getAvailableCount(), this.maxSize, this);
+        }
+        int stripe = this.stripe();
+        if (this.claimExcess()) {
+            // The pool has shrunk since this instance was acquired,
+            // or instances were created while idle instances were being moved between stripes
+            this.doRemove(obj);
+        } else {
+            this.push(stripe, obj);
+        }
+        this.releasePermit(stripe);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.instances.decrementAndGet();
+        this.releasePermit(this.stripe());
+        // let the super do the other remove stuff
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        for (int i = 0; i <= this.mask; i++) {
+            for (Node<T> node = this.idle.getAndSet(i, null); node != null; node = node.next) {
+                this.instances.decrementAndGet();
+                this.destroy(node.value);
+            }
+        }
+    }
+
+    /**
+     * Atomically claims an instance in excess of the maximum size, which the caller must then destroy.
+     *
+     * @return true, if an excess instance was claimed
+     */
+    private boolean claimExcess() {
+        int current = this.instances.get();
+        while (current > this.maxSize) {
+            if (this.instances.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            current = this.instances.get();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the stripe of the calling thread.
+     */
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        // spread the bits of the thread identifier
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    /**
+     * Attempts to acquire a permit from the given stripe, or steal one from another stripe, without blocking.
+     */
+    private boolean tryAcquirePermit(int stripe) {
+        int steps = this.takePermit(stripe);
+        if (steps > 0) {
+            this.stealCount.incrementAndGet();
+        }
+        return steps >= 0;
+    }
+
+    /**
+     * Takes a permit from the given stripe, or from the next stripe having one.
+     *
+     * @return the distance between the given stripe and the stripe the permit was taken from, or -1 if no permit is available
+     */
+    private int takePermit(int stripe) {
+        for (int i = 0; i <= this.mask; i++) {
+            int index = ((stripe + i) & this.mask) * PADDING;
+            int available = this.permits.get(index);
+            while (available > 0) {
+                if (this.permits.compareAndSet(index, available, available - 1)) {
+                    return i;
+                }
+                available = this.permits.get(index);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pays back a permit owed since the pool has shrunk, if any.
+     */
+    private boolean payBackPermit() {
+        int owed = this.owedPermits.get();
+        while (owed > 0) {
+            if (this.owedPermits.compareAndSet(owed, owed - 1)) {
+                return true;
+            }
+            owed = this.owedPermits.get();
+        }
+        return false;
+    }
+
+    /**
+     * Blocks until a permit can be acquired, or the timeout expires.
+     */
+    private void acquirePermit(int stripe) {
+        long start = System.nanoTime();
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        boolean acquired = false;
+        try {
+            this.lock.lockInterruptibly();
+            try {
+                this.waiting += 1;
+                try {
+                    // Releasing threads signal waiters after returning their permit, so always retry after incrementing the waiting count
+                    while (!(acquired = this.tryAcquirePermit(stripe)) && (remaining > 0)) {
+                        remaining = this.released.awaitNanos(remaining);
+                    }
+                } finally {
+                    this.waiting -= 1;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        }
+        long waited = System.nanoTime() - start;
+        this.waitCount.incrementAndGet();
+        this.waitTime.addAndGet(waited);
+        this.maxWaitTime.accumulateAndGet(waited, Math::max);
+        if (!acquired) {
+            throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+        }
+    }
+
+    private void releasePermit(int stripe) {
+        if (this.payBackPermit()) {
+            return;
+        }
+        this.permits.incrementAndGet(stripe * PADDING);
+        if (this.waiting > 0) {
+            this.lock.lock();
+            try {
+                this.released.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Pops the most recently released idle instance of the given stripe, or steals one from another stripe.
+     */
+    private T pop(int stripe) {
+        for (int i = 0; i <= this.mask; i++) {
+            T value = this.popStripe((stripe + i) & this.mask);
+            if (value != null) {
+                if (i > 0) {
+                    this.stealCount.incrementAndGet();
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pops the most recently released idle instance of the given stripe only.
+     */
+    private T popStripe(int stripe) {
+        Node<T> head = this.idle.get(stripe);
+        while (head != null) {
+            if (this.idle.compareAndSet(stripe, head, head.next)) {
+                return head.value;
+            }
+            head = this.idle.get(stripe);
+        }
+        return null;
+    }
+
+    private void push(int stripe, T value) {
+        Node<T> head;
+        Node<T> node;
+        do {
+            head = this.idle.get(stripe);
+            node = new Node<>(value, head);
+        } while (!this.idle.compareAndSet(stripe, head, node));
+    }
+
+    private static class Node<T> {
+        final T value;
+        final Node<T> next;
+
+        Node(T value, Node<T> next) {
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
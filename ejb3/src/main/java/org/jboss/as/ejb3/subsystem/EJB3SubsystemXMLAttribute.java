@@ -14,6 +14,7 @@ import java.util.Map;
 public enum EJB3SubsystemXMLAttribute {
     UNKNOWN(null),
 
+    ADAPTIVE("adaptive"),
     ALIAS("alias"),
     @Deprecated ALIASES("aliases"),
     ALLOW_EXECUTION("allow-execution"),
@@ -47,6 +48,7 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
     @Deprecated IDLE_TIMEOUT_UNIT("idle-timeout-unit"),
+    IMPLEMENTATION("implementation"),
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
 
@@ -76,12 +76,25 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .setAllowExpression(true)
                     .build();
+    public static final SimpleAttributeDefinition IMPLEMENTATION =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.IMPLEMENTATION, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setValidator(EnumValidator.create(StrictMaxPoolConfig.Implementation.class))
+                    .setDefaultValue(new ModelNode(StrictMaxPoolConfig.DEFAULT_IMPLEMENTATION.toString()))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+    public static final SimpleAttributeDefinition ADAPTIVE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ADAPTIVE, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
     public static final SimpleAttributeDefinition DERIVED_SIZE =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DERIVED_SIZE, ModelType.INT, true)
                     .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT };
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT, IMPLEMENTATION, ADAPTIVE };
     private static final StrictMaxPoolAdd ADD_HANDLER = new StrictMaxPoolAdd();
 
     private static final String NONE_VALUE = "none";
@@ -13,6 +13,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
 import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
@@ -62,6 +63,12 @@ class StrictMaxPoolWriteHandler extends AbstractWriteAttributeHandler<Void> {
                 } else if (StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.getName().equals(attributeName)) {
                     String timeoutUnit = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, model).asString();
                     smpc.setTimeoutUnit(TimeUnit.valueOf(timeoutUnit));
+                } else if (StrictMaxPoolResourceDefinition.IMPLEMENTATION.getName().equals(attributeName)) {
+                    String implementation = StrictMaxPoolResourceDefinition.IMPLEMENTATION.resolveModelAttribute(context, model).asString();
+                    smpc.setImplementation(StrictMaxPoolConfig.Implementation.fromValue(implementation));
+                } else if (StrictMaxPoolResourceDefinition.ADAPTIVE.getName().equals(attributeName)) {
+                    boolean adaptive = StrictMaxPoolResourceDefinition.ADAPTIVE.resolveModelAttribute(context, model).asBoolean();
+                    smpc.setAdaptive(adaptive);
                 }
             }
         }
@@ -41,6 +41,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -52,7 +53,10 @@ import jakarta.transaction.HeuristicMixedException;
 import jakarta.transaction.HeuristicRollbackException;
 import jakarta.transaction.NotSupportedException;
 import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
 import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
@@ -93,10 +97,13 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final Supplier<ManagedReferenceFactory> dataSourceSupplier;
     private final Supplier<ModuleLoader> moduleLoaderSupplier;
     private final Supplier<Timer> timerSupplier;
-    private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
+    private final Map<String, TimerChangeListener> changeListeners = new ConcurrentHashMap<>();
 
 
-    private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
+    private final Map<String, Set<String>> knownTimerIds = new ConcurrentHashMap<>();
+
+    /** Writes of the active transactions, executed as JDBC batches before their completion */
+    private final Map<Transaction, WriteBatch> writeBatches = new ConcurrentHashMap<>();
 
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
@@ -137,6 +144,10 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private static final String UPDATE_TIMER = "update-timer";
     private static final String LOAD_ALL_TIMERS = "load-all-timers";
     private static final String LOAD_TIMER = "load-timer";
+    private static final String LOAD_TIMER_STATES = "load-timer-states";
+    private static final String LOAD_MODIFIED_TIMER_STATES = "load-modified-timer-states";
+    private static final String COUNT_TIMERS = "count-timers";
+    private static final String ADD_LAST_MODIFIED = "add-last-modified";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     private static final String GET_TIMER_INFO = "get-timer-info";
@@ -167,6 +178,43 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final long clearTimerInfoCacheBeyond = TimeUnit.MINUTES.toMillis(Long.parseLong(
             WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.clearTimerInfoCacheBeyond", "15")));
 
+    /**
+     * System property {@code jboss.ejb.timer.database.batchWrites}
+     * to configure whether the timers created, updated or removed within a transaction
+     * are written to the database as JDBC batches when the transaction completes,
+     * rather than with one statement per timer as they are persisted.
+     * The default value is false.
+     * <p>
+     * Auto timers are always written immediately, since their creation depends on
+     * whether another node already created them.
+     */
+    private final boolean batchWrites = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.batchWrites", "false"));
+
+    /**
+     * System property {@code jboss.ejb.timer.database.fullRefreshPeriod}
+     * to configure every how many refreshes the states of all timers of the deployed timed objects
+     * are read from the database, rather than only the states of the timers modified since the previous refresh.
+     * The default value is 10.
+     * <p>
+     * A full refresh synchronizes the timers whose rows did not change, e.g. after a failed write.
+     * If it is set to 1, every refresh reads the states of all timers.
+     */
+    private final int fullRefreshPeriod = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.fullRefreshPeriod", "10"));
+
+    /**
+     * System property {@code jboss.ejb.timer.database.refreshOverlap}
+     * to configure the time (in milliseconds) before the start of the previous refresh
+     * from which the modified timers are read by the next refresh.
+     * The default value is 60000 (1 minute).
+     * <p>
+     * The modification time of a timer is taken from the clock of the node writing it, before its transaction commits,
+     * so this overlap must exceed the clock difference between the nodes, and the time taken to commit a timer write.
+     */
+    private final long refreshOverlap = Long.parseLong(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.refreshOverlap", "60000"));
+
     public DatabaseTimerPersistence(final Consumer<DatabaseTimerPersistence> dbConsumer,
                                     final Supplier<ManagedReferenceFactory> dataSourceSupplier,
                                     final Supplier<ModuleLoader> moduleLoaderSupplier,
@@ -195,6 +243,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         investigateDialect();
         loadSqlProperties();
         checkDatabase();
+        checkLastModifiedColumn();
         refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
             timerSupplier.get().schedule(refreshTask, refreshInterval, refreshInterval);
@@ -202,10 +251,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     }
 
     @Override
-    public synchronized void stop(final StopContext context) {
+    public void stop(final StopContext context) {
         dbConsumer.accept(null);
         refreshTask.cancel();
         knownTimerIds.clear();
+        writeBatches.clear();
         managedReference.release();
         managedReference = null;
         dataSource = null;
@@ -400,6 +450,43 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    /**
+     * Adds the column holding the modification time of each timer, which is read by the refresh,
+     * to a timer table created without it.
+     */
+    private void checkLastModifiedColumn() {
+        Connection connection = null;
+        Statement statement = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            try {
+                //test for the existence of the column by running the load modified timer states query
+                preparedStatement = connection.prepareStatement(sql.getProperty(LOAD_MODIFIED_TIMER_STATES));
+                preparedStatement.setString(1, "NON-EXISTENT");
+                preparedStatement.setString(2, "NON-EXISTENT");
+                preparedStatement.setLong(3, 0L);
+                resultSet = preparedStatement.executeQuery();
+            } catch (SQLException e) {
+                //the query failed, assume it is because the column does not exist
+                String[] statements = sql.getProperty(ADD_LAST_MODIFIED).split(";");
+                statement = connection.createStatement();
+                for (final String sql : statements) {
+                    statement.addBatch(sql);
+                }
+                statement.executeBatch();
+            }
+        } catch (SQLException e) {
+            EjbLogger.EJB3_TIMER_LOGGER.couldNotAddLastModifiedColumn(e);
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
     /**
      * Loads a timer from database by its id and timed object id.
      *
@@ -440,11 +527,9 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
 
     @Override
     public void addTimer(final TimerImpl timerEntity) {
-        String timedObjectId = timerEntity.getTimedObjectId();
-        synchronized (this) {
-            if(!knownTimerIds.containsKey(timedObjectId)) {
-                throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
-            }
+        final Set<String> ids = knownTimerIds.get(timerEntity.getTimedObjectId());
+        if (ids == null) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
         }
 
         if (timerEntity.isAutoTimer()) {
@@ -452,71 +537,107 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             return;
         }
 
-        String createTimer = sql.getProperty(CREATE_TIMER);
-        Connection connection = null;
-        PreparedStatement statement = null;
+        ids.add(timerEntity.getId());
         try {
-            synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-            }
-            connection = dataSource.getConnection();
-            statement = connection.prepareStatement(createTimer);
-            statementParameters(timerEntity, statement);
-            statement.execute();
-
-            if (isClearTimerInfoCache(timerEntity)) {
-                timerEntity.setCachedTimerInfo(Object.class);
-                EjbLogger.EJB3_TIMER_LOGGER.debugf("Cleared timer info for timer: %s", timerEntity.getId());
-            }
-        } catch (SQLException e) {
+            write(sql.getProperty(CREATE_TIMER), timerParameters(timerEntity), () -> {
+                if (isClearTimerInfoCache(timerEntity)) {
+                    timerEntity.setCachedTimerInfo(Object.class);
+                    EjbLogger.EJB3_TIMER_LOGGER.debugf("Cleared timer info for timer: %s", timerEntity.getId());
+                }
+            });
+        } catch (RuntimeException e) {
             timerEntity.setCachedTimerInfo(null);
-            throw new RuntimeException(e);
-        } finally {
-            safeClose(statement);
-            safeClose(connection);
+            throw e;
         }
     }
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
-        Connection connection = null;
-        PreparedStatement statement = null;
-        try {
-            connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
-                String deleteTimer = sql.getProperty(DELETE_TIMER);
-                statement = connection.prepareStatement(deleteTimer);
+        final Set<String> ids = knownTimerIds.get(timerEntity.getTimedObjectId());
+        if (timerEntity.getState() == TimerState.CANCELED ||
+                timerEntity.getState() == TimerState.EXPIRED) {
+            ids.remove(timerEntity.getId());
+            write(sql.getProperty(DELETE_TIMER), statement -> {
                 statement.setString(1, timerEntity.getTimedObjectId());
                 statement.setString(2, timerEntity.getId());
                 statement.setString(3, partition);
-                statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
-                }
-            } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-                }
-                String updateTimer = sql.getProperty(UPDATE_TIMER);
-                statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
+            }, null);
+        } else {
+            ids.add(timerEntity.getId());
+            // the state of the timer may change before a batched update is written
+            final Timestamp nextExpiration = timestamp(timerEntity.getNextExpiration());
+            final Timestamp previousRun = timestamp(timerEntity.getPreviousRun());
+            final TimerState state = timerEntity.getState();
+            write(sql.getProperty(UPDATE_TIMER), statement -> {
+                statement.setTimestamp(1, nextExpiration);
+                statement.setTimestamp(2, previousRun);
+                statement.setString(3, state.name());
+                setNodeName(state, statement, 4);
+                statement.setLong(5, System.currentTimeMillis());
                 // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
-                statement.execute();
-            }
+                statement.setString(6, timerEntity.getTimedObjectId());
+                statement.setString(7, timerEntity.getId());
+                statement.setString(8, partition);
+                statement.setString(9, nodeName);   // only persist if this node or empty
+            }, null);
+        }
+    }
+
+    /**
+     * Writes a timer to the database. Within an active transaction, and unless batched writes are disabled,
+     * the write is added to the batch of the transaction, otherwise the statement is executed immediately.
+     *
+     * @param statementSql the SQL statement
+     * @param parameters sets the parameters of the statement
+     * @param written invoked once the statement was executed, may be null
+     */
+    private void write(final String statementSql, final StatementParameters parameters, final Runnable written) {
+        final WriteBatch batch = batchWrites ? writeBatch() : null;
+        // a batch which was already executed rejects further writes, which are then executed immediately
+        if (batch != null && batch.add(statementSql, parameters, written)) {
+            return;
+        }
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(statementSql);
+            parameters.set(statement);
+            statement.execute();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
             safeClose(statement);
             safeClose(connection);
         }
+        if (written != null) {
+            written.run();
+        }
+    }
+
+    /**
+     * Returns the write batch of the current transaction, registering a new one with the transaction if necessary.
+     *
+     * @return the write batch, or null if there is no active transaction
+     */
+    private WriteBatch writeBatch() {
+        try {
+            final Transaction transaction = ContextTransactionManager.getInstance().getTransaction();
+            if (transaction == null || transaction.getStatus() != Status.STATUS_ACTIVE) {
+                return null;
+            }
+            WriteBatch batch = writeBatches.get(transaction);
+            if (batch == null) {
+                batch = new WriteBatch(transaction);
+                transaction.registerSynchronization(batch);
+                writeBatches.put(transaction, batch);
+            }
+            return batch;
+        } catch (SystemException | RollbackException | IllegalStateException e) {
+            // the transaction cannot take part in the batch, write immediately
+            EjbLogger.EJB3_TIMER_LOGGER.debugf(e, "Timer writes cannot be batched with the current transaction");
+            return null;
+        }
     }
 
     @Override
@@ -536,13 +657,15 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                 statement = connection.prepareStatement(loadTimer);
                 statement.setString(1, TimerState.IN_TIMEOUT.name());
                 setNodeName(TimerState.IN_TIMEOUT, statement, 2);
-                statement.setString(3, timer.getId());
-                statement.setString(4, TimerState.IN_TIMEOUT.name());
-                statement.setString(5, TimerState.RETRY_TIMEOUT.name());
+                statement.setLong(3, System.currentTimeMillis());
+                statement.setString(4, timer.getId());
+                statement.setString(5, partition);
+                statement.setString(6, TimerState.IN_TIMEOUT.name());
+                statement.setString(7, TimerState.RETRY_TIMEOUT.name());
                 if (timer.getNextExpiration() == null) {
-                    statement.setTimestamp(6, null);
+                    statement.setTimestamp(8, null);
                 } else {
-                    statement.setTimestamp(6, timestamp(timer.getNextExpiration()));
+                    statement.setTimestamp(8, timestamp(timer.getNextExpiration()));
                 }
             } catch (SQLException e) {
                 try {
@@ -578,13 +701,13 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     }
 
     @Override
-    public synchronized void timerUndeployed(final String timedObjectId) {
+    public void timerUndeployed(final String timedObjectId) {
         knownTimerIds.remove(timedObjectId);
     }
 
     @Override
-    public synchronized void timerDeployed(String timedObjectId) {
-        knownTimerIds.put(timedObjectId, new HashSet<>());
+    public void timerDeployed(String timedObjectId) {
+        knownTimerIds.put(timedObjectId, ConcurrentHashMap.newKeySet());
     }
 
     @Override
@@ -625,24 +748,22 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), timerId, e);
                 }
             }
-            synchronized (this) {
-                // ids should be always be not null
-                Set<String> ids = knownTimerIds.get(timedObjectId);
-                for (Holder timer : timers) {
-                    ids.add(timer.timer.getId());
-                }
+            // ids should be always be not null
+            Set<String> ids = knownTimerIds.get(timedObjectId);
+            for (Holder timer : timers) {
+                ids.add(timer.timer.getId());
+            }
 
-                for(Holder timer : timers) {
-                    if(timer.requiresReset) {
-                        TimerImpl ret = timer.timer;
-                        EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
-                        if(ret.getNextExpiration() == null) {
-                            ret.setTimerState(TimerState.CANCELED, null);
-                            persistTimer(ret);
-                        } else {
-                            ret.setTimerState(TimerState.ACTIVE, null);
-                            persistTimer(ret);
-                        }
+            for(Holder timer : timers) {
+                if(timer.requiresReset) {
+                    TimerImpl ret = timer.timer;
+                    EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
+                    if(ret.getNextExpiration() == null) {
+                        ret.setTimerState(TimerState.CANCELED, null);
+                        persistTimer(ret);
+                    } else {
+                        ret.setTimerState(TimerState.ACTIVE, null);
+                        persistTimer(ret);
                     }
                 }
             }
@@ -758,57 +879,64 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         return new Holder(ret, requiresReset);
     }
 
-    private void statementParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
-        statement.setString(1, timerEntity.getId());
-        statement.setString(2, timerEntity.getTimedObjectId());
-        statement.setTimestamp(3, timestamp(timerEntity.getInitialExpiration()));
-        statement.setLong(4, timerEntity.getInterval());
-        statement.setTimestamp(5, timestamp(timerEntity.getNextExpiration()));
-        statement.setTimestamp(6, timestamp(timerEntity.getPreviousRun()));
-        statement.setString(7, null);
-        statement.setString(8, serialize(timerEntity.getTimerInfo()));
-        statement.setString(9, timerEntity.getState().name());
-
+    /**
+     * Returns the parameters of the statement creating a timer, from the state of the timer when this method is invoked,
+     * since the statement of a batched write is only executed when the transaction completes.
+     */
+    private StatementParameters timerParameters(final TimerImpl timerEntity) {
+        final String id = timerEntity.getId();
+        final String timedObjectId = timerEntity.getTimedObjectId();
+        final Timestamp initialExpiration = timestamp(timerEntity.getInitialExpiration());
+        final long interval = timerEntity.getInterval();
+        final Timestamp nextExpiration = timestamp(timerEntity.getNextExpiration());
+        final Timestamp previousRun = timestamp(timerEntity.getPreviousRun());
+        final String info = serialize(timerEntity.getTimerInfo());
+        final TimerState state = timerEntity.getState();
+        // second, minute, hour, day of week, day of month, month, year, start, end, timezone
+        final String[] schedule;
         if (timerEntity instanceof CalendarTimer) {
-            final CalendarTimer c = (CalendarTimer) timerEntity;
-            statement.setString(10, c.getScheduleExpression().getSecond());
-            statement.setString(11, c.getScheduleExpression().getMinute());
-            statement.setString(12, c.getScheduleExpression().getHour());
-            statement.setString(13, c.getScheduleExpression().getDayOfWeek());
-            statement.setString(14, c.getScheduleExpression().getDayOfMonth());
-            statement.setString(15, c.getScheduleExpression().getMonth());
-            statement.setString(16, c.getScheduleExpression().getYear());
+            final ScheduleExpression expression = ((CalendarTimer) timerEntity).getScheduleExpression();
             // WFLY-9054: Oracle ojdbc6/7 store a timestamp as '06-JUL-17 01.54.00.269000000 PM'
             //            but expect 'YYYY-MM-DD hh:mm:ss.fffffffff' as all other DB
-            statement.setString(17, schedulerDateAsString(c.getScheduleExpression().getStart()));
-            statement.setString(18, schedulerDateAsString(c.getScheduleExpression().getEnd()));
-            statement.setString(19, c.getScheduleExpression().getTimezone());
-            statement.setBoolean(20, false);
-
-            statement.setString(21, null);
-            statement.setString(22, null);
-            statement.setString(23, null);
-
-            statement.setBoolean(24, true);
+            schedule = new String[] { expression.getSecond(), expression.getMinute(), expression.getHour(), expression.getDayOfWeek(),
+                    expression.getDayOfMonth(), expression.getMonth(), expression.getYear(), schedulerDateAsString(expression.getStart()),
+                    schedulerDateAsString(expression.getEnd()), expression.getTimezone() };
         } else {
-            statement.setString(10, null);
-            statement.setString(11, null);
-            statement.setString(12, null);
-            statement.setString(13, null);
-            statement.setString(14, null);
-            statement.setString(15, null);
-            statement.setString(16, null);
-            statement.setTimestamp(17, null);
-            statement.setTimestamp(18, null);
-            statement.setString(19, null);
+            schedule = null;
+        }
+        return statement -> {
+            statement.setString(1, id);
+            statement.setString(2, timedObjectId);
+            statement.setTimestamp(3, initialExpiration);
+            statement.setLong(4, interval);
+            statement.setTimestamp(5, nextExpiration);
+            statement.setTimestamp(6, previousRun);
+            statement.setString(7, null);
+            statement.setString(8, info);
+            statement.setString(9, state.name());
+
+            if (schedule != null) {
+                for (int i = 0; i < schedule.length; i++) {
+                    statement.setString(10 + i, schedule[i]);
+                }
+            } else {
+                for (int i = 10; i <= 16; i++) {
+                    statement.setString(i, null);
+                }
+                statement.setTimestamp(17, null);
+                statement.setTimestamp(18, null);
+                statement.setString(19, null);
+            }
             statement.setBoolean(20, false);
             statement.setString(21, null);
             statement.setString(22, null);
             statement.setString(23, null);
-            statement.setBoolean(24, false);
-        }
-        statement.setString(25, partition);
-        setNodeName(timerEntity.getState(), statement, 26);
+            statement.setBoolean(24, schedule != null);
+            statement.setString(25, partition);
+            setNodeName(state, statement, 26);
+            // the modification time of a batched write is the time it is executed, shortly before the transaction commits
+            statement.setLong(27, System.currentTimeMillis());
+        };
     }
 
     private void addAutoTimer(final CalendarTimer timer) {
@@ -847,41 +975,40 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             statement.setString(18, timeoutMethodParam);
             statement.setBoolean(19, true);
             statement.setString(20, partition);
+            statement.setLong(21, System.currentTimeMillis());
 
             // where clause
-            statement.setString(21, timer.getTimedObjectId());
-            statement.setString(22, exp.getSecond());
-            statement.setString(23, exp.getMinute());
-            statement.setString(24, exp.getHour());
-            statement.setString(25, exp.getDayOfWeek());
-            statement.setString(26, exp.getDayOfMonth());
-            statement.setString(27, exp.getMonth());
-            statement.setString(28, exp.getYear());
-
-            statement.setString(29, startDateString);
+            statement.setString(22, timer.getTimedObjectId());
+            statement.setString(23, exp.getSecond());
+            statement.setString(24, exp.getMinute());
+            statement.setString(25, exp.getHour());
+            statement.setString(26, exp.getDayOfWeek());
+            statement.setString(27, exp.getDayOfMonth());
+            statement.setString(28, exp.getMonth());
+            statement.setString(29, exp.getYear());
+
             statement.setString(30, startDateString);
+            statement.setString(31, startDateString);
 
-            statement.setString(31, endDateString);
             statement.setString(32, endDateString);
+            statement.setString(33, endDateString);
 
-            statement.setString(33, exp.getTimezone());
             statement.setString(34, exp.getTimezone());
+            statement.setString(35, exp.getTimezone());
 
-            statement.setString(35, timeoutMethodClassName);
-            statement.setString(36, timeoutMethod.getName());
+            statement.setString(36, timeoutMethodClassName);
+            statement.setString(37, timeoutMethod.getName());
 
-            statement.setString(37, timeoutMethodParam);
             statement.setString(38, timeoutMethodParam);
+            statement.setString(39, timeoutMethodParam);
 
-            statement.setString(39, partition);
+            statement.setString(40, partition);
 
             int affectedRows = statement.executeUpdate();
             if (affectedRows < 1) {
                 timer.setTimerState(TimerState.CANCELED, null);
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
-                }
+                knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -1029,102 +1156,308 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    /**
+     * Refreshes the timers of the deployed timed objects from the database.
+     * <p>
+     * Only the identifiers and states of the timers of each deployed timed object modified since the previous refresh are read,
+     * along with the number of timers of the timed object. The identifiers and states of all its timers are only read
+     * if that number reveals timers removed by another node, and periodically, as configured by {@link #fullRefreshPeriod}.
+     * The complete rows are only loaded for the timers unknown to this node, or whose state must be synchronized with the database.
+     */
+    class RefreshTask extends TimerTask {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
+        // the modification time from which timers are read by the next refresh, or -1 if all timers must be read
+        private long modifiedSince = -1;
+        private int refreshes = 0;
 
         @Override
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
-                    synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                    final long start = System.currentTimeMillis();
+                    // take the snapshots before reading the database, so that timers added meanwhile are not removed
+                    final Map<String, Set<String>> existingTimers = new HashMap<>();
+                    for (Map.Entry<String, Set<String>> entry : knownTimerIds.entrySet()) {
+                        if (changeListeners.containsKey(entry.getKey())) {
+                            existingTimers.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                        }
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
-                            continue;
+                    if (existingTimers.isEmpty()) {
+                        return;
+                    }
+                    final boolean full = (++refreshes % Math.max(fullRefreshPeriod, 1)) == 0;
+                    final Map<String, TimerStates> timerStates = loadTimerStates(existingTimers, full ? -1 : modifiedSince);
+                    if (timerStates == null) {
+                        return;
+                    }
+                    boolean refreshed = true;
+                    for (Map.Entry<String, Set<String>> entry : existingTimers.entrySet()) {
+                        refreshed &= refresh(entry.getKey(), entry.getValue(), timerStates.get(entry.getKey()));
+                    }
+                    // otherwise, the next refresh reads the timers modified since the previous successful refresh
+                    if (refreshed) {
+                        modifiedSince = start - refreshOverlap;
+                    }
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Loads the identifiers and states of the timers of the deployed timed objects, using a single connection
+         * and a prepared statement per query.
+         *
+         * @param existingTimers the timers known to this node, by the deployed timed object id
+         * @param modifiedSince the modification time from which timers are read, or -1 to read all timers
+         * @return the states of the timers, by timed object id, or null if the timers cannot be loaded
+         */
+        Map<String, TimerStates> loadTimerStates(final Map<String, Set<String>> existingTimers, final long modifiedSince) {
+            final Map<String, TimerStates> timerStates = new HashMap<>();
+            Connection connection = null;
+            PreparedStatement loadStatement = null;
+            PreparedStatement loadModifiedStatement = null;
+            PreparedStatement countStatement = null;
+            try {
+                connection = dataSource.getConnection();
+                for (Map.Entry<String, Set<String>> entry : existingTimers.entrySet()) {
+                    final String timedObjectId = entry.getKey();
+                    if (modifiedSince >= 0) {
+                        if (loadModifiedStatement == null) {
+                            loadModifiedStatement = connection.prepareStatement(sql.getProperty(LOAD_MODIFIED_TIMER_STATES));
+                            countStatement = connection.prepareStatement(sql.getProperty(COUNT_TIMERS));
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                        loadModifiedStatement.setString(1, timedObjectId);
+                        loadModifiedStatement.setString(2, partition);
+                        loadModifiedStatement.setLong(3, modifiedSince);
+                        final Map<String, TimerState> states = readTimerStates(loadModifiedStatement);
+                        countStatement.setString(1, timedObjectId);
+                        countStatement.setString(2, partition);
+                        final int count;
+                        try (ResultSet resultSet = countStatement.executeQuery()) {
+                            count = resultSet.next() ? resultSet.getInt(1) : 0;
                         }
-                        String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                String id = null;
-                                try {
-                                    id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService, id, null);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        TimerImpl oldTimer = timerService.getTimer(id);
-                                        // if it is already in memory but it is not in sync we have a problem
-                                        // remove and add -> the probable cause is db glitch
-                                        boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
-
-                                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                        if (invalidMemoryTimer) {
-                                            TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
-                                            boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
-                                            if (validDBTimer) {
-                                                final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
-                                                if (holder != null) {
-                                                    synchronized (DatabaseTimerPersistence.this) {
-                                                        knownTimerIds.get(timedObjectId).add(id);
-                                                        listener.timerSync(oldTimer, holder.timer);
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
-                                }
-                            }
+                        // the removed timers are not read, but they are revealed by the number of timers
+                        final Set<String> ids = new HashSet<>(entry.getValue());
+                        ids.addAll(states.keySet());
+                        if (ids.size() == count) {
+                            timerStates.put(timedObjectId, new TimerStates(states, false));
+                            continue;
+                        }
+                    }
+                    if (loadStatement == null) {
+                        loadStatement = connection.prepareStatement(sql.getProperty(LOAD_TIMER_STATES));
+                    }
+                    loadStatement.setString(1, timedObjectId);
+                    loadStatement.setString(2, partition);
+                    timerStates.put(timedObjectId, new TimerStates(readTimerStates(loadStatement), true));
+                }
+                return timerStates;
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+                return null;
+            } finally {
+                safeClose(countStatement);
+                safeClose(loadModifiedStatement);
+                safeClose(loadStatement);
+                safeClose(connection);
+            }
+        }
+
+        private Map<String, TimerState> readTimerStates(final PreparedStatement statement) throws SQLException {
+            try (ResultSet resultSet = statement.executeQuery()) {
+                final Map<String, TimerState> states = new HashMap<>();
+                while (resultSet.next()) {
+                    states.put(resultSet.getString(1), TimerState.valueOf(resultSet.getString(2)));
+                }
+                return states;
+            }
+        }
+
+        /**
+         * Synchronizes the timers of a timed object with the timer states read from the database.
+         *
+         * @return false if the changed timers cannot be loaded, true otherwise
+         */
+        private boolean refresh(final String timedObjectId, final Set<String> existing, final TimerStates timerStates) {
+            final TimerChangeListener listener = changeListeners.get(timedObjectId);
+            final Set<String> ids = knownTimerIds.get(timedObjectId);
+            if (listener == null || ids == null) {
+                return true;
+            }
+            final TimerServiceImpl timerService = listener.getTimerService();
+            // the timers to load, with their timer in memory if it must be synchronized
+            final Map<String, TimerImpl> changed = new HashMap<>();
+            for (Map.Entry<String, TimerState> entry : timerStates.states.entrySet()) {
+                final String id = entry.getKey();
+                if (!existing.remove(id)) {
+                    changed.put(id, null);
+                } else {
+                    TimerImpl oldTimer = timerService.getTimer(id);
+                    // if it is already in memory but it is not in sync we have a problem
+                    // remove and add -> the probable cause is db glitch
+                    boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
+
+                    // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                    if (invalidMemoryTimer && TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(entry.getValue())) {
+                        changed.put(id, oldTimer);
+                    }
+                }
+            }
 
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    TimerImpl timer1 = timerService.getTimer(timer);
-                                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
+            if (!changed.isEmpty()) {
+                final String loadTimer = sql.getProperty(LOAD_TIMER);
+                Connection connection = null;
+                PreparedStatement statement = null;
+                try {
+                    connection = dataSource.getConnection();
+                    statement = connection.prepareStatement(loadTimer);
+                    for (Map.Entry<String, TimerImpl> entry : changed.entrySet()) {
+                        final String id = entry.getKey();
+                        statement.setString(1, timedObjectId);
+                        statement.setString(2, id);
+                        statement.setString(3, partition);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            // the timer may have been removed since its state was loaded
+                            if (resultSet.next()) {
+                                final Holder holder = timerFromResult(resultSet, timerService, id, null);
+                                if (holder != null) {
+                                    ids.add(id);
+                                    if (entry.getValue() == null) {
+                                        listener.timerAdded(holder.timer);
+                                    } else {
+                                        listener.timerSync(entry.getValue(), holder.timer);
                                     }
                                 }
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
                         }
                     }
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                    return false;
                 } finally {
-                    running.set(false);
+                    safeClose(statement);
+                    safeClose(connection);
                 }
             }
 
+            // the timers missing from the modified timers may be unchanged
+            if (!timerStates.complete) {
+                return true;
+            }
+            for (String timer : existing) {
+                TimerImpl timer1 = timerService.getTimer(timer);
+                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                    ids.remove(timer);
+                    listener.timerRemoved(timer);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The states of the timers of a timed object read by a refresh, by timer id.
+     */
+    static class TimerStates {
+        final Map<String, TimerState> states;
+        // whether all timers of the timed object were read, rather than only the modified timers
+        final boolean complete;
+
+        TimerStates(final Map<String, TimerState> states, final boolean complete) {
+            this.states = states;
+            this.complete = complete;
         }
     }
 
+    /**
+     * Sets the parameters of a statement writing a timer.
+     */
+    @FunctionalInterface
+    interface StatementParameters {
+        void set(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * The timer writes of a transaction, executed before the transaction completes.
+     * Consecutive writes using the same statement are executed as a single JDBC batch.
+     * Once executed, the batch rejects further writes, e.g. by other synchronizations of the transaction.
+     */
+    class WriteBatch implements Synchronization {
+        private final Transaction transaction;
+        private final List<String> statements = new ArrayList<>();
+        private final List<StatementParameters> parameters = new ArrayList<>();
+        private final List<Runnable> written = new ArrayList<>();
+        private boolean executed = false;
+
+        WriteBatch(final Transaction transaction) {
+            this.transaction = transaction;
+        }
+
+        /**
+         * Adds a write to the batch, unless the batch was already executed.
+         *
+         * @return true if the write was added, false if it must be executed by the caller
+         */
+        synchronized boolean add(final String statementSql, final StatementParameters statementParameters, final Runnable written) {
+            if (this.executed) {
+                return false;
+            }
+            this.statements.add(statementSql);
+            this.parameters.add(statementParameters);
+            if (written != null) {
+                this.written.add(written);
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized void beforeCompletion() {
+            // remains registered until the transaction completes, so that later writes of the transaction are rejected
+            this.executed = true;
+            Connection connection = null;
+            PreparedStatement statement = null;
+            try {
+                connection = dataSource.getConnection();
+                String current = null;
+                for (int i = 0; i < this.statements.size(); i++) {
+                    final String statementSql = this.statements.get(i);
+                    if (!statementSql.equals(current)) {
+                        if (statement != null) {
+                            statement.executeBatch();
+                            safeClose(statement);
+                        }
+                        current = statementSql;
+                        statement = connection.prepareStatement(statementSql);
+                    }
+                    this.parameters.get(i).set(statement);
+                    statement.addBatch();
+                }
+                if (statement != null) {
+                    statement.executeBatch();
+                }
+            } catch (SQLException e) {
+                // fails the transaction
+                throw new RuntimeException(e);
+            } finally {
+                safeClose(statement);
+                safeClose(connection);
+            }
+            for (Runnable task : this.written) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            // the batch is not executed if the transaction is rolled back
+            writeBatches.remove(this.transaction);
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
@@ -8,6 +8,8 @@ import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 import static org.jboss.as.ejb3.timerservice.TimerServiceImpl.safeClose;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
@@ -19,8 +21,12 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -59,6 +65,20 @@ import org.wildfly.transaction.client.ContextTransactionManager;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default, each timer is stored in its own XML file. If the {@code jboss.ejb.timer.file.journal} system property is
+ * set to {@code true}, the timers of each timed object are instead appended to a {@link TimerJournal}, which is loaded
+ * once per timed object. Timers stored in XML files are migrated to the journal when it is created.
+ * <p/>
+ * The {@code jboss.ejb.timer.file.journal.sync} system property determines when the records appended to a journal are
+ * forced to disk:
+ * <ul>
+ * <li>{@code always} (the default): each record is forced to disk when the transaction persisting the timer completes</li>
+ * <li>{@code periodic}: the journals are forced to disk every {@code jboss.ejb.timer.file.journal.syncInterval}
+ * milliseconds (1000 by default), so that the timer changes of this interval may be lost if the system crashes</li>
+ * <li>{@code none}: the journals are only forced to disk when compacted or closed, leaving the rest to the operating
+ * system</li>
+ * </ul>
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -83,6 +103,14 @@ public class FileTimerPersistence implements TimerPersistence, Service {
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
 
+    private final boolean journal = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.file.journal", "false"));
+    // The journals and loaded timers of the timed objects, guarded by the lock of the timed object
+    private final ConcurrentMap<String, TimerJournal> journals = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<String, TimerImpl>> journalTimers = new ConcurrentHashMap<>();
+    private final JournalSync journalSync = JournalSync.valueOf(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.file.journal.sync", "always").toUpperCase(Locale.ENGLISH));
+    private final long journalSyncInterval = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.file.journal.syncInterval", "1000"));
+    private Timer journalSyncTimer;
+
     public FileTimerPersistence(final Consumer<FileTimerPersistence> consumer,
                                 final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier,
                                 final Supplier<ModuleLoader> moduleLoaderSupplier,
@@ -140,11 +168,24 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (journal && journalSync == JournalSync.PERIODIC) {
+            journalSyncTimer = new Timer("ejb-timer-journal-sync", true);
+            journalSyncTimer.schedule(new JournalSyncTask(), journalSyncInterval, journalSyncInterval);
+        }
     }
 
     @Override
     public void stop(final StopContext context) {
         consumer.accept(null);
+        if (journalSyncTimer != null) {
+            journalSyncTimer.cancel();
+            journalSyncTimer = null;
+        }
+        for (TimerJournal journal : journals.values()) {
+            journal.close();
+        }
+        journals.clear();
+        journalTimers.clear();
         locks.clear();
         directories.clear();
         if (callbackHandle != null) {
@@ -243,6 +284,11 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            journalTimers.remove(timedObjectId);
+            TimerJournal journal = journals.remove(timedObjectId);
+            if (journal != null) {
+                journal.close();
+            }
         } finally {
             lock.unlock();
         }
@@ -321,16 +367,75 @@ public class FileTimerPersistence implements TimerPersistence, Service {
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (journal) {
+            Map<String, TimerImpl> timers = journalTimers.get(timedObjectId);
+            if (timers == null) {
+                timers = loadTimersFromJournal(timedObjectId, timerService);
+                journalTimers.put(timedObjectId, timers);
+            }
+            return timers;
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Loads the timers from the journal of the timed object, creating the journal if it does not exist yet. Timers still stored
+     * in XML files, either because the journal is new or because a previous migration was interrupted before the files were
+     * deleted, are moved to the journal. Should be called under lock
+     *
+     * @param timedObjectId The timed object id
+     * @return The timers for the object
+     */
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        final TimerJournal journal = new TimerJournal(new File(getDirectory(timedObjectId), TimerJournal.FILE_NAME), journalSync == JournalSync.ALWAYS);
+        final Map<String, TimerImpl> timers = new LinkedHashMap<>();
+        try {
+            final Map<String, byte[]> records = journal.load();
+            final XMLMapper mapper = createMapper(timerService);
+            setIfSupported(INPUT_FACTORY, XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+            setIfSupported(INPUT_FACTORY, XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+            for (Map.Entry<String, byte[]> record : records.entrySet()) {
+                try {
+                    final List<TimerImpl> timerList = new ArrayList<>();
+                    mapper.parseDocument(timerList, INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(record.getValue())));
+                    for (TimerImpl timer : timerList) {
+                        timers.put(timer.getId(), timer);
+                    }
+                } catch (Exception e) {
+                    EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(journal.getFile(), e);
+                }
+            }
+            final Map<String, TimerImpl> fileTimers = loadTimersFromFile(timedObjectId, timerService);
+            if (!fileTimers.isEmpty()) {
+                // the files are only deleted once their timers are durable in the journal, whose records are more recent
+                for (TimerImpl timer : fileTimers.values()) {
+                    timers.putIfAbsent(timer.getId(), timer);
+                }
+                final Map<String, byte[]> migrated = new LinkedHashMap<>();
+                for (TimerImpl timer : timers.values()) {
+                    migrated.put(timer.getId(), serialize(timer));
+                }
+                journal.compact(migrated);
+                for (TimerImpl timer : fileTimers.values()) {
+                    fileName(timedObjectId, timer.getId()).delete();
+                }
+                EJB3_TIMER_LOGGER.timersMigratedToJournal(fileTimers.size(), new File(getDirectory(timedObjectId)));
+            }
+        } catch (IOException e) {
+            journal.close();
+            throw new RuntimeException(e);
+        }
+        journals.put(timedObjectId, journal);
+        return timers;
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
 
         timers.putAll(LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, directory, factory, configuration));
         for(Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-            writeFile(entry.getValue()); //write legacy timers into the new format
+            writeXmlFile(entry.getValue()); //write legacy timers into the new format, from which they are moved to the journal if enabled
             //the legacy code handling code will write a marker file, to make sure that the old timers will not be loaded on next restart.
         }
         final File file = new File(directory);
@@ -471,7 +576,52 @@ public class FileTimerPersistence implements TimerPersistence, Service {
 
     }
 
+    /**
+     * When the records appended to the timer journals are forced to disk.
+     */
+    private enum JournalSync {
+        ALWAYS, PERIODIC, NONE
+    }
+
+    /**
+     * Forces the records appended to the timer journals since the previous run to disk.
+     */
+    private final class JournalSyncTask extends TimerTask {
+
+        @Override
+        public void run() {
+            for (String timedObjectId : journals.keySet()) {
+                final Lock lock = locks.get(timedObjectId);
+                if (lock == null) {
+                    continue;
+                }
+                lock.lock();
+                try {
+                    // the journal is closed if the timed object was undeployed in the meantime
+                    final TimerJournal journal = journals.get(timedObjectId);
+                    if (journal != null) {
+                        try {
+                            journal.sync();
+                        } catch (IOException e) {
+                            EJB3_TIMER_LOGGER.failToSyncTimerJournal(journal.getFile(), e);
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
     private void writeFile(TimerImpl timer) {
+        if (journal) {
+            writeJournal(timer);
+        } else {
+            writeXmlFile(timer);
+        }
+    }
+
+    private void writeXmlFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
         //if the timer is expired or cancelled delete the file
@@ -499,6 +649,49 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    /**
+     * Appends the timer to the journal of its timed object, compacting the journal if necessary. Should be called under lock,
+     * after the timer map returned by {@link #getTimers(String, TimerServiceImpl)} was updated.
+     */
+    private void writeJournal(TimerImpl timer) {
+        final TimerJournal journal = journals.get(timer.getTimedObjectId());
+        if (journal == null) {
+            // the timed object was undeployed
+            return;
+        }
+        try {
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                journal.remove(timer.getId());
+            } else {
+                journal.put(timer.getId(), serialize(timer));
+            }
+            if (journal.isCompactionRequired()) {
+                final Map<String, byte[]> timers = new LinkedHashMap<>();
+                for (TimerImpl liveTimer : journalTimers.get(timer.getTimedObjectId()).values()) {
+                    timers.put(liveTimer.getId(), serialize(liveTimer));
+                }
+                journal.compact(timers);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private byte[] serialize(TimerImpl timer) {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+            XMLMapper mapper = createMapper(timer.getTimerService());
+            mapper.deparseDocument(new EjbTimerXmlPersister(factory, configuration), Collections.singletonList(timer), writer);
+            writer.flush();
+            writer.close();
+            return out.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void setIfSupported(final XMLInputFactory inputFactory, final String property, final Object value) {
         if (inputFactory.isPropertySupported(property)) {
             inputFactory.setProperty(property, value);
@@ -0,0 +1,283 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+import static org.jboss.as.ejb3.timerservice.TimerServiceImpl.safeClose;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of the persistent timers of a timed object.
+ * <p/>
+ * Each record either stores the serialized state of a timer or removes a timer, and is followed by its CRC-32 checksum.
+ * The journal is loaded in a single pass, and a record which was only partially written, e.g. because of a crash, is
+ * discarded along with the records following it. Once the journal holds many more records than live timers, it is
+ * compacted by atomically replacing it with a journal holding a single record per live timer.
+ * <p/>
+ * If the journal syncs on append, each record is forced to disk before {@link #put(String, byte[])} or
+ * {@link #remove(String)} returns. Otherwise, appended records are only forced to disk by {@link #sync()}, or when the
+ * journal is compacted or closed, so that the records appended since the last sync may be lost if the system crashes.
+ * <p/>
+ * This class is not thread safe, it is guarded by the lock of the timed object.
+ */
+final class TimerJournal implements Closeable {
+
+    static final String FILE_NAME = "timers.journal";
+
+    private static final int MAGIC = 0x454a544a;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // Number of records below which the journal is never compacted
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final File file;
+    private final boolean syncOnAppend;
+    private final Set<String> timerIds = new HashSet<>();
+    private FileChannel channel;
+    private int records;
+    // Whether records were appended since the journal was last forced to disk
+    private boolean unsynced;
+
+    TimerJournal(File file) {
+        this(file, true);
+    }
+
+    /**
+     * @param file the journal file
+     * @param syncOnAppend whether each appended record is forced to disk
+     */
+    TimerJournal(File file, boolean syncOnAppend) {
+        this.file = file;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Opens the journal, creating it if it does not exist, and loads the live timers.
+     *
+     * @return the serialized state of the live timers, by timer id, in the order of their last update
+     * @throws IOException if the journal cannot be read or created
+     */
+    Map<String, byte[]> load() throws IOException {
+        final Map<String, byte[]> timers = new LinkedHashMap<>();
+        if (!this.file.exists()) {
+            // a journal is never observed partially created
+            this.replace(timers);
+        } else {
+            final long valid = this.read(timers);
+            if (valid < this.file.length()) {
+                EJB3_TIMER_LOGGER.timerJournalTruncated(this.file, valid);
+                try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                }
+            }
+        }
+        this.timerIds.addAll(timers.keySet());
+        this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return timers;
+    }
+
+    /**
+     * Reads the records of the journal.
+     *
+     * @return the offset following the last valid record
+     */
+    private long read(final Map<String, byte[]> timers) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(this.file.getAbsolutePath());
+            }
+            long offset = HEADER_SIZE;
+            final CRC32 checksum = new CRC32();
+            while (true) {
+                final byte[] record;
+                final int crc;
+                try {
+                    final int length = in.readInt();
+                    if (length <= 0 || offset + length + 8 > this.file.length()) {
+                        return offset;
+                    }
+                    record = new byte[length];
+                    in.readFully(record);
+                    crc = in.readInt();
+                } catch (EOFException e) {
+                    return offset;
+                }
+                checksum.reset();
+                checksum.update(record, 0, record.length);
+                if ((int) checksum.getValue() != crc) {
+                    return offset;
+                }
+                final DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(record));
+                final byte type = recordIn.readByte();
+                final String id = recordIn.readUTF();
+                if (type == PUT) {
+                    final byte[] timer = new byte[recordIn.readInt()];
+                    recordIn.readFully(timer);
+                    timers.remove(id);
+                    timers.put(id, timer);
+                } else if (type == REMOVE) {
+                    timers.remove(id);
+                } else {
+                    return offset;
+                }
+                this.records += 1;
+                offset += record.length + 8;
+            }
+        } finally {
+            safeClose(in);
+        }
+    }
+
+    /**
+     * Appends the state of a timer.
+     *
+     * @param id the timer id
+     * @param timer the serialized state of the timer
+     */
+    void put(final String id, final byte[] timer) throws IOException {
+        this.append(PUT, id, timer);
+        this.timerIds.add(id);
+    }
+
+    /**
+     * Appends the removal of a timer, if the journal holds this timer.
+     *
+     * @param id the timer id
+     */
+    void remove(final String id) throws IOException {
+        if (this.timerIds.remove(id)) {
+            this.append(REMOVE, id, null);
+        }
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk, if any.
+     */
+    void sync() throws IOException {
+        if (this.unsynced && this.channel != null) {
+            this.channel.force(false);
+            this.unsynced = false;
+        }
+    }
+
+    /**
+     * Whether the journal holds enough obsolete records to be worth compacting.
+     */
+    boolean isCompactionRequired() {
+        return (this.records >= COMPACTION_THRESHOLD) && (this.records > 2 * this.timerIds.size());
+    }
+
+    /**
+     * Replaces the journal with a journal holding the given timers only.
+     *
+     * @param timers the serialized state of the live timers, by timer id
+     */
+    void compact(final Map<String, byte[]> timers) throws IOException {
+        this.replace(timers);
+        this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.timerIds.clear();
+        this.timerIds.addAll(timers.keySet());
+    }
+
+    /**
+     * Writes the given timers to a temporary journal, which then atomically replaces the journal, if any.
+     */
+    private void replace(final Map<String, byte[]> timers) throws IOException {
+        final File compacted = new File(this.file.getParentFile(), this.file.getName() + ".compact");
+        this.writeJournal(compacted, timers);
+        safeClose(this.channel);
+        // the records of the previous journal are superseded by the durable records of the new one
+        this.unsynced = false;
+        Files.move(compacted.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeJournal(final File target, final Map<String, byte[]> timers) throws IOException {
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            write(channel, header);
+            for (Map.Entry<String, byte[]> entry : timers.entrySet()) {
+                write(channel, record(PUT, entry.getKey(), entry.getValue()));
+            }
+            // the journal must be durable before it replaces the previous one
+            channel.force(true);
+        }
+        this.records = timers.size();
+    }
+
+    private void append(final byte type, final String id, final byte[] timer) throws IOException {
+        write(this.channel, record(type, id, timer));
+        this.records += 1;
+        if (this.syncOnAppend) {
+            this.channel.force(false);
+        } else {
+            this.unsynced = true;
+        }
+    }
+
+    private static ByteBuffer record(final byte type, final String id, final byte[] timer) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream((timer != null ? timer.length : 0) + id.length() + 16);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeByte(type);
+        out.writeUTF(id);
+        if (timer != null) {
+            out.writeInt(timer.length);
+            out.write(timer);
+        }
+        out.writeInt(0);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        final int length = buffer.capacity() - 8;
+        final CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 4, length);
+        buffer.putInt(0, length);
+        buffer.putInt(4 + length, (int) checksum.getValue());
+        return buffer;
+    }
+
+    private static void write(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.sync();
+        } catch (IOException e) {
+            EJB3_TIMER_LOGGER.failToSyncTimerJournal(this.file, e);
+        }
+        safeClose(this.channel);
+        this.channel = null;
+    }
+}
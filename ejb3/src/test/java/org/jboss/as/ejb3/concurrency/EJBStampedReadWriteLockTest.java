@@ -0,0 +1,229 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import org.jboss.as.ejb3.component.singleton.EJBStampedReadWriteLock;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.ejb.IllegalLoopbackException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Tests the {@link EJBStampedReadWriteLock}
+ */
+public class EJBStampedReadWriteLockTest {
+
+    private EJBStampedReadWriteLock lock;
+
+    @Before
+    public void beforeTest() {
+        this.lock = new EJBStampedReadWriteLock();
+    }
+
+    @Test
+    public void testIllegalLoopBack() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+        // the write lock can be acquired once the read lock is released
+        Assert.assertTrue(this.lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+        this.lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testSameThreadCanGetWriteThenReadLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            // reentrant write
+            Assert.assertTrue(writeLock.tryLock(1, TimeUnit.SECONDS));
+            writeLock.unlock();
+
+            Lock readLock = this.lock.readLock();
+            Assert.assertTrue("Could not obtain read lock when write lock was held by the same thread!", readLock.tryLock(1, TimeUnit.SECONDS));
+            readLock.unlock();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(1);
+            Future<?> writer = executor.submit(() -> {
+                this.lock.writeLock().lock();
+                try {
+                    locked.countDown();
+                    done.await();
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                return null;
+            });
+            Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+            Assert.assertFalse("Unexpected obtained a read lock", this.lock.readLock().tryLock(500, TimeUnit.MILLISECONDS));
+            done.countDown();
+            writer.get(5, TimeUnit.SECONDS);
+
+            Assert.assertTrue(this.lock.readLock().tryLock(1, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A writer must wait for the readers, while a thread already holding a read lock must be able to acquire it again.
+     */
+    @Test
+    public void testReentrantReadWhileWriterWaits() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Lock readLock = this.lock.readLock();
+            readLock.lock();
+            Future<Boolean> writer = executor.submit(() -> {
+                boolean locked = this.lock.writeLock().tryLock(5, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.writeLock().unlock();
+                }
+                return locked;
+            });
+            // give the writer a chance to revoke the read bias
+            Thread.sleep(200);
+            Assert.assertFalse(writer.isDone());
+
+            Assert.assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+            readLock.unlock();
+            readLock.unlock();
+
+            Assert.assertTrue(writer.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriteTimeout() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Lock readLock = this.lock.readLock();
+            readLock.lock();
+            try {
+                Future<Boolean> writer = executor.submit(() -> this.lock.writeLock().tryLock(200, TimeUnit.MILLISECONDS));
+                Assert.assertFalse(writer.get(5, TimeUnit.SECONDS));
+            } finally {
+                readLock.unlock();
+            }
+            // a writer which timed out must not prevent further readers
+            Assert.assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+            readLock.unlock();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A read lock acquired within a write must still exclude writers once the write lock is released.
+     */
+    @Test
+    public void testDowngrade() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Lock readLock = this.lock.readLock();
+            this.lock.writeLock().lock();
+            readLock.lock();
+            this.lock.writeLock().unlock();
+
+            Assert.assertFalse(executor.submit(() -> this.lock.writeLock().tryLock(200, TimeUnit.MILLISECONDS)).get(5, TimeUnit.SECONDS));
+            // other readers are not excluded
+            Assert.assertTrue(executor.submit(() -> {
+                boolean locked = readLock.tryLock(1, TimeUnit.SECONDS);
+                if (locked) {
+                    readLock.unlock();
+                }
+                return locked;
+            }).get(5, TimeUnit.SECONDS));
+
+            readLock.unlock();
+            Assert.assertTrue(executor.submit(() -> {
+                boolean locked = this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.writeLock().unlock();
+                }
+                return locked;
+            }).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writers must never hold the lock concurrently with readers, while readers come and go on many threads.
+     */
+    @Test
+    public void testMutualExclusion() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            AtomicInteger readers = new AtomicInteger();
+            AtomicBoolean violated = new AtomicBoolean();
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                boolean writer = (i == 0);
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 20000; j++) {
+                        if (writer && (j % 100 == 0)) {
+                            this.lock.writeLock().lock();
+                            try {
+                                if (readers.get() != 0) {
+                                    violated.set(true);
+                                }
+                            } finally {
+                                this.lock.writeLock().unlock();
+                            }
+                        } else {
+                            this.lock.readLock().lock();
+                            try {
+                                readers.incrementAndGet();
+                                readers.decrementAndGet();
+                            } finally {
+                                this.lock.readLock().unlock();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            Assert.assertFalse(violated.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
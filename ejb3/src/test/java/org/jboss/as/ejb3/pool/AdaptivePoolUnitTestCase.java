@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.pool.common.MockBean;
+import org.jboss.as.ejb3.pool.common.MockFactory;
+import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptivePool}.
+ */
+public class AdaptivePoolUnitTestCase {
+
+    @Before
+    public void setUp() {
+        MockBean.reset();
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        AdaptivePool<MockBean> pool = new AdaptivePool<>(new StrictMaxPool<>(new MockFactory(), 20, 1, TimeUnit.SECONDS), 4);
+        pool.start();
+        assertEquals(20, pool.getMaxSize());
+        assertEquals(4, pool.getLimit());
+
+        // grows by a quarter while acquisitions are contended, up to the maximum size
+        synchronized (pool) {
+            pool.adjust(100, 50, 4);
+            assertEquals(5, pool.getLimit());
+            pool.adjust(100, 50, 5);
+            assertEquals(6, pool.getLimit());
+            for (int i = 0; i < 20; i++) {
+                pool.adjust(100, 50, pool.getLimit());
+            }
+        }
+        assertEquals(20, pool.getLimit());
+
+        // does not shrink until the pool was under-used for a while
+        synchronized (pool) {
+            pool.adjust(100, 0, 8);
+        }
+        assertEquals(20, pool.getLimit());
+        synchronized (pool) {
+            for (int i = 0; i < 100; i++) {
+                pool.adjust(100, 0, 8);
+            }
+        }
+        // shrinks to the peak number of instances in use plus a quarter
+        assertEquals(10, pool.getLimit());
+
+        // never shrinks below the minimum size
+        synchronized (pool) {
+            for (int i = 0; i < 100; i++) {
+                pool.adjust(0, 0, 0);
+            }
+        }
+        assertEquals(4, pool.getLimit());
+
+        // lowering the maximum size lowers the limit
+        pool.setMaxSize(2);
+        assertEquals(2, pool.getMaxSize());
+        assertEquals(2, pool.getLimit());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testIdleInstancesAreDestroyedOnShrink() {
+        AdaptivePool<MockBean> pool = new AdaptivePool<>(new StrictMaxPool<>(new MockFactory(), 10, 1, TimeUnit.SECONDS), 10);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+        }
+        assertEquals(10, pool.getCurrentSize());
+
+        pool.setMaxSize(3);
+        assertEquals(3, pool.getCurrentSize());
+        assertEquals(3, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+}
@@ -140,4 +140,82 @@ public class StrictMaxUnitTestCase {
         assertEquals(10, MockBean.getPostConstructs());
         assertEquals(10, MockBean.getPreDestroys());
     }
+
+    @Test
+    public void testResize() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StrictMaxPool<MockBean>(factory, 5, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < 5; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+
+        pool.setMaxSize(10);
+        assertEquals(10, pool.getMaxSize());
+        for (int i = 5; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+
+        pool.setMaxSize(2);
+        assertEquals(0, pool.getAvailableCount());
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        // instances in excess of the new maximum size are destroyed as they are released
+        assertEquals(2, pool.getAvailableCount());
+        assertEquals(2, pool.getCurrentSize());
+        assertEquals(8, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testConcurrentReleaseAfterShrink() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StrictMaxPool<MockBean>(factory, 64, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[64];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        pool.setMaxSize(8);
+
+        // concurrent releases must not destroy more instances than the excess over the new maximum size
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] releases = new Future<?>[beans.length];
+            for (int i = 0; i < beans.length; i++) {
+                MockBean bean = beans[i];
+                releases[i] = executor.submit(() -> {
+                    start.await();
+                    pool.release(bean);
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> release : releases) {
+                release.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(8, pool.getCurrentSize());
+        assertEquals(56, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(64, MockBean.getPreDestroys());
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.common.MockBean;
+import org.jboss.as.ejb3.pool.common.MockFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedStrictMaxPool}.
+ */
+public class StripedStrictMaxUnitTestCase {
+
+    @Before
+    public void setUp() {
+        MockBean.reset();
+    }
+
+    @Test
+    public void testLastReleasedInstanceIsReused() {
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StripedStrictMaxPool<>(factory, 10, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean first = pool.get();
+        MockBean second = pool.get();
+        pool.release(first);
+        pool.release(second);
+
+        // idle instances are reused in LIFO order
+        assertSame(second, pool.get());
+        assertSame(first, pool.get());
+
+        pool.release(first);
+        pool.release(second);
+        pool.stop();
+
+        assertEquals(2, MockBean.getPostConstructs());
+        assertEquals(2, MockBean.getPreDestroys());
+    }
+
+    /**
+     * A single thread must be able to acquire the permits of every stripe.
+     */
+    @Test
+    public void testTooMany() {
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StripedStrictMaxPool<MockBean> pool = new StripedStrictMaxPool<>(factory, 10, 1, TimeUnit.SECONDS, 4);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+        assertTrue(pool.getStealCount() > 0);
+
+        try {
+            pool.get();
+            fail("should have thrown an exception");
+        } catch (Exception e) {
+            assertEquals(EjbLogger.ROOT_LOGGER.failedToAcquirePermit(1, TimeUnit.SECONDS).getMessage(), e.getMessage());
+        }
+        assertEquals(1, pool.getWaitCount());
+        assertTrue(pool.getWaitTime() > 0);
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(10, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    /**
+     * More threads than the pool size.
+     */
+    @Test
+    public void testMultiThread() throws Exception {
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        final StripedStrictMaxPool<MockBean> pool = new StripedStrictMaxPool<>(factory, 10, 60, TimeUnit.SECONDS, 4);
+        pool.start();
+
+        final AtomicInteger used = new AtomicInteger(0);
+        final CountDownLatch in = new CountDownLatch(1);
+        final CountDownLatch ready = new CountDownLatch(10);
+
+        Callable<Void> task = new Callable<Void>() {
+            public Void call() throws Exception {
+                MockBean bean = pool.get();
+                ready.countDown();
+                in.await();
+                pool.release(bean);
+
+                used.incrementAndGet();
+
+                return null;
+            }
+        };
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        Future<?>[] results = new Future<?>[20];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = service.submit(task);
+        }
+
+        ready.await(120, TimeUnit.SECONDS);
+        in.countDown();
+
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        service.shutdown();
+
+        assertEquals(10, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(20, used.intValue());
+        assertEquals(MockBean.getPostConstructs(), MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testResize() {
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StripedStrictMaxPool<MockBean> pool = new StripedStrictMaxPool<>(factory, 4, 1, TimeUnit.SECONDS, 4);
+        pool.start();
+
+        MockBean[] beans = new MockBean[8];
+        for (int i = 0; i < 4; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+
+        pool.setMaxSize(8);
+        assertEquals(8, pool.getMaxSize());
+        for (int i = 4; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+
+        pool.setMaxSize(2);
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        // instances in excess of the new maximum size are destroyed as they are released
+        assertEquals(2, pool.getAvailableCount());
+        assertEquals(2, pool.getCurrentSize());
+        assertEquals(6, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(8, MockBean.getPostConstructs());
+        assertEquals(8, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testConcurrentReleaseAfterShrink() throws Exception {
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StripedStrictMaxPool<>(factory, 64, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[64];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        pool.setMaxSize(8);
+
+        // concurrent releases must not destroy more instances than the excess over the new maximum size
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] releases = new Future<?>[beans.length];
+            for (int i = 0; i < beans.length; i++) {
+                MockBean bean = beans[i];
+                releases[i] = executor.submit(() -> {
+                    start.await();
+                    pool.release(bean);
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> release : releases) {
+                release.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(8, pool.getCurrentSize());
+        assertEquals(56, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(64, MockBean.getPreDestroys());
+    }
+}
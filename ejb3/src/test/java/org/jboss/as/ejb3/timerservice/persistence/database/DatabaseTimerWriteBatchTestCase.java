@@ -0,0 +1,238 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import jakarta.transaction.Transaction;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the batched timer writes and the refresh queries of the {@link DatabaseTimerPersistence}.
+ */
+public class DatabaseTimerWriteBatchTestCase {
+
+    private final DatabaseTimerPersistence persistence = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true);
+    // the JDBC calls, in order
+    private final List<String> calls = new ArrayList<>();
+    // the rows returned by the refresh queries, by query and timed object id
+    private final Map<String, Map<String, List<String[]>>> rows = Map.of(
+            "load-timer-states", Map.of(
+                    "a", List.of(new String[] { "timer1", "ACTIVE" }, new String[] { "timer2", "CANCELED" }),
+                    "b", List.of()),
+            "load-modified-timer-states", Map.of(
+                    "a", List.of(new String[] { "timer1", "ACTIVE" }),
+                    "b", List.of()),
+            "count-timers", Map.of(
+                    "a", List.<String[]>of(new String[] { "2" }),
+                    "b", List.<String[]>of(new String[] { "0" })));
+
+    @Before
+    public void init() throws Exception {
+        final Properties sql = new Properties();
+        sql.setProperty("load-timer-states", "load-timer-states");
+        sql.setProperty("load-modified-timer-states", "load-modified-timer-states");
+        sql.setProperty("count-timers", "count-timers");
+        set("sql", sql);
+        set("dataSource", this.dataSource());
+    }
+
+    @Test
+    public void testBatchingIsDisabledByDefault() throws Exception {
+        final Field field = DatabaseTimerPersistence.class.getDeclaredField("batchWrites");
+        field.setAccessible(true);
+        Assert.assertFalse(field.getBoolean(this.persistence));
+    }
+
+    @Test
+    public void testConsecutiveStatementsAreBatched() {
+        final AtomicInteger written = new AtomicInteger();
+        final DatabaseTimerPersistence.WriteBatch batch = this.persistence.new WriteBatch(mock(Transaction.class));
+        Assert.assertTrue(batch.add("insert", statement -> statement.setString(1, "timer1"), written::incrementAndGet));
+        Assert.assertTrue(batch.add("insert", statement -> statement.setString(1, "timer2"), written::incrementAndGet));
+        Assert.assertTrue(batch.add("update", statement -> statement.setString(1, "timer1"), null));
+        Assert.assertTrue(this.calls.isEmpty());
+
+        batch.beforeCompletion();
+
+        Assert.assertEquals(Arrays.asList("prepare insert", "set 1=timer1", "addBatch", "set 1=timer2", "addBatch", "executeBatch", "close",
+                "prepare update", "set 1=timer1", "addBatch", "executeBatch", "close", "close"), this.calls);
+        Assert.assertEquals(2, written.get());
+    }
+
+    @Test
+    public void testExecutedBatchRejectsWrites() {
+        final DatabaseTimerPersistence.WriteBatch batch = this.persistence.new WriteBatch(mock(Transaction.class));
+        Assert.assertTrue(batch.add("insert", statement -> statement.setString(1, "timer1"), null));
+        batch.beforeCompletion();
+        this.calls.clear();
+
+        // the write must be executed by the caller, rather than silently dropped
+        Assert.assertFalse(batch.add("insert", statement -> statement.setString(1, "timer2"), null));
+        batch.afterCompletion(jakarta.transaction.Status.STATUS_COMMITTED);
+        Assert.assertTrue(this.calls.isEmpty());
+    }
+
+    @Test
+    public void testCreateTimerParametersAreSnapshot() throws Exception {
+        final TimerImpl timer = TimerImpl.builder()
+                .setId("timer1")
+                .setTimedObjectId("a")
+                .setInitialDate(new Date(1000L))
+                .setNextDate(new Date(2000L))
+                .setTimerState(TimerState.CREATED)
+                .setPersistent(true)
+                .build(mock(TimerServiceImpl.class));
+        final Method method = DatabaseTimerPersistence.class.getDeclaredMethod("timerParameters", TimerImpl.class);
+        method.setAccessible(true);
+        final DatabaseTimerPersistence.StatementParameters parameters = (DatabaseTimerPersistence.StatementParameters) method.invoke(this.persistence, timer);
+
+        // the timer changes before the batch is executed
+        timer.setTimerState(TimerState.ACTIVE, null);
+        timer.setNextTimeout(new Date(3000L));
+
+        parameters.set(this.statement("insert"));
+        Assert.assertTrue(this.calls.toString(), this.calls.contains("set 9=CREATED"));
+        Assert.assertTrue(this.calls.toString(), this.calls.contains("set 5=" + new java.sql.Timestamp(2000L)));
+    }
+
+    @Test
+    public void testRefreshQueriesDeployedTimedObjectsOnly() {
+        final DatabaseTimerPersistence.RefreshTask task = this.persistence.new RefreshTask();
+        final Map<String, Set<String>> existingTimers = new LinkedHashMap<>();
+        existingTimers.put("a", Set.of());
+        existingTimers.put("b", Set.of());
+        final Map<String, DatabaseTimerPersistence.TimerStates> states = task.loadTimerStates(existingTimers, -1);
+
+        Assert.assertEquals(Map.of("timer1", TimerState.ACTIVE, "timer2", TimerState.CANCELED), states.get("a").states);
+        Assert.assertTrue(states.get("a").complete);
+        Assert.assertEquals(Map.of(), states.get("b").states);
+        Assert.assertEquals(Arrays.asList("prepare load-timer-states", "set 1=a", "set 2=part", "executeQuery", "set 1=b", "set 2=part", "executeQuery", "close", "close"), this.calls);
+    }
+
+    @Test
+    public void testRefreshQueriesModifiedTimers() {
+        final DatabaseTimerPersistence.RefreshTask task = this.persistence.new RefreshTask();
+        final Map<String, Set<String>> existingTimers = new LinkedHashMap<>();
+        existingTimers.put("a", Set.of("timer1", "timer2"));
+        // timer3 was removed by another node
+        existingTimers.put("b", Set.of("timer3"));
+        final Map<String, DatabaseTimerPersistence.TimerStates> states = task.loadTimerStates(existingTimers, 1000L);
+
+        // the number of timers matches the known and modified timers, so only the modified timers are read
+        Assert.assertEquals(Map.of("timer1", TimerState.ACTIVE), states.get("a").states);
+        Assert.assertFalse(states.get("a").complete);
+        // the number of timers reveals a removed timer, so all timers are read
+        Assert.assertEquals(Map.of(), states.get("b").states);
+        Assert.assertTrue(states.get("b").complete);
+        Assert.assertEquals(Arrays.asList("prepare load-modified-timer-states", "prepare count-timers",
+                "set 1=a", "set 2=part", "set 3=1000", "executeQuery", "set 1=a", "set 2=part", "executeQuery",
+                "set 1=b", "set 2=part", "set 3=1000", "executeQuery", "set 1=b", "set 2=part", "executeQuery",
+                "prepare load-timer-states", "set 1=b", "set 2=part", "executeQuery", "close", "close", "close", "close"), this.calls);
+    }
+
+    private void set(final String name, final Object value) throws Exception {
+        final Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.persistence, value);
+    }
+
+    private DataSource dataSource() {
+        return (DataSource) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return this.connection();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private Connection connection() {
+        return (Connection) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    this.calls.add("prepare " + args[0]);
+                    return this.statement((String) args[0]);
+                case "close":
+                    this.calls.add("close");
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private PreparedStatement statement(final String sql) {
+        final String[] timedObjectId = new String[1];
+        return (PreparedStatement) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+            final String name = method.getName();
+            if (name.startsWith("set")) {
+                this.calls.add("set " + args[0] + "=" + args[1]);
+                if (args[0].equals(1)) {
+                    timedObjectId[0] = String.valueOf(args[1]);
+                }
+                return null;
+            }
+            switch (name) {
+                case "addBatch":
+                case "close":
+                    this.calls.add(name);
+                    return null;
+                case "executeBatch":
+                    this.calls.add(name);
+                    return new int[0];
+                case "executeQuery":
+                    this.calls.add(name);
+                    return this.resultSet(this.rows.get(sql).get(timedObjectId[0]).iterator());
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private ResultSet resultSet(final Iterator<String[]> rows) {
+        final String[][] row = new String[1][];
+        return (ResultSet) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    row[0] = rows.hasNext() ? rows.next() : null;
+                    return row[0] != null;
+                case "getString":
+                    return row[0][(Integer) args[0] - 1];
+                case "getInt":
+                    return Integer.parseInt(row[0][(Integer) args[0] - 1]);
+                case "close":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link TimerJournal}
+ */
+public class TimerJournalTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReload() throws Exception {
+        File file = new File(this.folder.getRoot(), TimerJournal.FILE_NAME);
+        TimerJournal journal = new TimerJournal(file);
+        Assert.assertTrue(journal.load().isEmpty());
+        journal.put("a", bytes("a1"));
+        journal.put("b", bytes("b1"));
+        journal.put("a", bytes("a2"));
+        journal.remove("b");
+        journal.put("c", bytes("c1"));
+        journal.close();
+
+        journal = new TimerJournal(file);
+        Map<String, byte[]> timers = journal.load();
+        Assert.assertEquals(2, timers.size());
+        Assert.assertEquals("a2", string(timers.get("a")));
+        Assert.assertEquals("c1", string(timers.get("c")));
+        journal.close();
+    }
+
+    @Test
+    public void testDeferredSync() throws Exception {
+        File file = new File(this.folder.getRoot(), TimerJournal.FILE_NAME);
+        TimerJournal journal = new TimerJournal(file, false);
+        // nothing to sync before the journal is opened
+        journal.sync();
+        journal.load();
+        journal.put("a", bytes("a1"));
+        journal.sync();
+        // syncing again without appended records has no effect
+        journal.sync();
+        journal.put("b", bytes("b1"));
+        journal.remove("a");
+        // the records appended since the last sync are forced on close
+        journal.close();
+        journal.sync();
+
+        journal = new TimerJournal(file, false);
+        Map<String, byte[]> timers = journal.load();
+        Assert.assertEquals(1, timers.size());
+        Assert.assertEquals("b1", string(timers.get("b")));
+        journal.close();
+    }
+
+    @Test
+    public void testTornRecordIsDiscarded() throws Exception {
+        File file = new File(this.folder.getRoot(), TimerJournal.FILE_NAME);
+        TimerJournal journal = new TimerJournal(file);
+        journal.load();
+        journal.put("a", bytes("a1"));
+        long length = file.length();
+        journal.put("b", bytes("b1"));
+        journal.close();
+
+        // simulate a partially written record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(file.length() - 3);
+        }
+
+        journal = new TimerJournal(file);
+        Map<String, byte[]> timers = journal.load();
+        Assert.assertEquals(1, timers.size());
+        Assert.assertEquals("a1", string(timers.get("a")));
+        Assert.assertEquals(length, file.length());
+
+        // the journal remains usable after the torn record was discarded
+        journal.put("c", bytes("c1"));
+        journal.close();
+        journal = new TimerJournal(file);
+        Assert.assertEquals(2, journal.load().size());
+        journal.close();
+    }
+
+    @Test
+    public void testCorruptedRecordIsDiscarded() throws Exception {
+        File file = new File(this.folder.getRoot(), TimerJournal.FILE_NAME);
+        TimerJournal journal = new TimerJournal(file);
+        journal.load();
+        journal.put("a", bytes("a1"));
+        journal.put("b", bytes("b1"));
+        journal.close();
+
+        // flip the last byte of the payload of the last record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(file.length() - 5);
+            int b = raf.read();
+            raf.seek(file.length() - 5);
+            raf.write(b ^ 0xff);
+        }
+
+        journal = new TimerJournal(file);
+        Map<String, byte[]> timers = journal.load();
+        Assert.assertEquals(1, timers.size());
+        Assert.assertTrue(timers.containsKey("a"));
+        journal.close();
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        File file = new File(this.folder.getRoot(), TimerJournal.FILE_NAME);
+        TimerJournal journal = new TimerJournal(file);
+        journal.load();
+        Map<String, byte[]> live = new LinkedHashMap<>();
+        for (int i = 0; i < 2000 && !journal.isCompactionRequired(); i++) {
+            String id = Integer.toString(i % 10);
+            byte[] timer = bytes("timer" + i);
+            journal.put(id, timer);
+            live.put(id, timer);
+        }
+        Assert.assertTrue(journal.isCompactionRequired());
+        long length = file.length();
+
+        journal.compact(live);
+        Assert.assertFalse(journal.isCompactionRequired());
+        Assert.assertTrue(file.length() < length);
+        journal.put("10", bytes("timer10"));
+        journal.close();
+
+        journal = new TimerJournal(file);
+        Map<String, byte[]> timers = journal.load();
+        Assert.assertEquals(11, timers.size());
+        for (Map.Entry<String, byte[]> entry : live.entrySet()) {
+            Assert.assertArrayEquals(entry.getValue(), timers.get(entry.getKey()));
+        }
+        journal.close();
+    }
+
+    @Test
+    public void testInterruptedReplacementIsIgnored() throws Exception {
+        File file = new File(this.folder.getRoot(), TimerJournal.FILE_NAME);
+        // simulate a crash while a journal was being created or compacted
+        File compacted = new File(this.folder.getRoot(), TimerJournal.FILE_NAME + ".compact");
+        Assert.assertTrue(compacted.createNewFile());
+
+        TimerJournal journal = new TimerJournal(file);
+        Assert.assertTrue(journal.load().isEmpty());
+        Assert.assertFalse(compacted.exists());
+        journal.put("a", bytes("a1"));
+        journal.close();
+
+        Assert.assertTrue(compacted.createNewFile());
+        journal = new TimerJournal(file);
+        Map<String, byte[]> timers = journal.load();
+        Assert.assertEquals("a1", string(timers.get("a")));
+        journal.compact(timers);
+        Assert.assertFalse(compacted.exists());
+        journal.close();
+
+        journal = new TimerJournal(file);
+        Assert.assertEquals("a1", string(journal.load().get("a")));
+        journal.close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
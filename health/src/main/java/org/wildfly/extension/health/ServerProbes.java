@@ -18,6 +18,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STATUS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUSPEND_STATE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 import static org.jboss.as.server.suspend.SuspendController.State.RUNNING;
@@ -34,6 +35,8 @@ class ServerProbes {
     private static final ModelNode READ_SUSPEND_STATE_ATTRIBUTE;
     private static final ModelNode READ_BOOT_ERRORS;
     private static final ModelNode READ_DEPLOYMENTS_STATUS;
+    private static final ModelNode READ_DATASOURCES_READY;
+    private static final ModelNode READ_XA_DATASOURCES_READY;
 
     static {
         READ_SERVER_STATE_ATTRIBUTE = new ModelNode();
@@ -54,6 +57,16 @@ class ServerProbes {
         READ_DEPLOYMENTS_STATUS.get(OP).set(READ_ATTRIBUTE_OPERATION);
         READ_DEPLOYMENTS_STATUS.get(OP_ADDR).add(DEPLOYMENT, "*");
         READ_DEPLOYMENTS_STATUS.get(NAME).set(STATUS);
+
+        READ_DATASOURCES_READY = new ModelNode();
+        READ_DATASOURCES_READY.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        READ_DATASOURCES_READY.get(OP_ADDR).add(SUBSYSTEM, "datasources-agroal").add("datasource", "*");
+        READ_DATASOURCES_READY.get(NAME).set("ready");
+
+        READ_XA_DATASOURCES_READY = new ModelNode();
+        READ_XA_DATASOURCES_READY.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        READ_XA_DATASOURCES_READY.get(OP_ADDR).add(SUBSYSTEM, "datasources-agroal").add("xa-datasource", "*");
+        READ_XA_DATASOURCES_READY.get(NAME).set("ready");
     }
 
     /**
@@ -239,5 +252,46 @@ class ServerProbes {
         }
     }
 
+    /**
+     * Check that all agroal datasources have opened their initial connections, when their pools are warmed up in the background.
+     * Servers without the datasources-agroal subsystem are always ready.
+     */
+    static class DataSourcesReadyCheck implements ServerProbe {
+
+        private final LocalModelControllerClient modelControllerClient;
+
+        DataSourcesReadyCheck(LocalModelControllerClient modelControllerClient) {
+            this.modelControllerClient = modelControllerClient;
+        }
+
+        @Override
+        public Outcome getOutcome() {
+            ModelNode data = new ModelNode();
+            boolean ready = addDataSources(modelControllerClient.execute(READ_DATASOURCES_READY), data);
+            ready &= addDataSources(modelControllerClient.execute(READ_XA_DATASOURCES_READY), data);
+            return new Outcome(ready, data);
+        }
+
+        private static boolean addDataSources(ModelNode responses, ModelNode data) {
+            if (!SUCCESS.equals(responses.get(OUTCOME).asStringOrNull()) || !responses.get(RESULT).isDefined()) {
+                // the subsystem is not installed
+                return true;
+            }
+            boolean ready = true;
+            for (ModelNode response : responses.get(RESULT).asList()) {
+                boolean dataSourceReady = SUCCESS.equals(response.get(OUTCOME).asStringOrNull()) && response.get(RESULT).asBoolean(false);
+                String dataSourceName = PathAddress.pathAddress(response.get(OP_ADDR)).getLastElement().getValue();
+                data.add(dataSourceName, dataSourceReady ? "ready" : "warming up");
+                ready = ready && dataSourceReady;
+            }
+            return ready;
+        }
+
+        @Override
+        public String getName() {
+            return "datasources-ready";
+        }
+    }
+
 
 }
\ No newline at end of file
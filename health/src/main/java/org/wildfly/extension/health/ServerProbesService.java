@@ -61,6 +61,7 @@ public class ServerProbesService implements Service {
         serverProbes.add(new ServerProbes.SuspendStateCheck(modelControllerClient));
         serverProbes.add(new ServerProbes.DeploymentsStatusCheck(modelControllerClient));
         serverProbes.add(new ServerProbes.NoBootErrorsCheck(modelControllerClient));
+        serverProbes.add(new ServerProbes.DataSourcesReadyCheck(modelControllerClient));
 
         consumer.accept(this);
     }
@@ -9,9 +9,11 @@ import java.util.Properties;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cfg.AvailableSettings;
+import org.infinispan.Cache;
 import org.infinispan.hibernate.cache.spi.EmbeddedCacheManagerProvider;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.manager.impl.AbstractDelegatingEmbeddedCacheManager;
+import org.jboss.as.jpa.hibernate.cache.AdaptiveEvictionController;
 import org.jipijapa.cache.spi.Classification;
 import org.jipijapa.cache.spi.Wrapper;
 import org.jipijapa.event.impl.internal.Notification;
@@ -28,6 +30,11 @@ public class ManagedEmbeddedCacheManagerProvider implements EmbeddedCacheManager
     public static final String SHARED = "hibernate.cache.infinispan.shared";
     public static final String DEFAULT_SHARED = "true";
     public static final String STATISTICS = "hibernate.cache.infinispan.statistics";
+    // Global maximum number of entries redistributed across count-bounded region caches, disabled by default
+    public static final String ADAPTIVE_MAX_COUNT = "hibernate.cache.infinispan.adaptive.max-count";
+    // Interval, in milliseconds, at which the global maximum number of entries is redistributed
+    public static final String ADAPTIVE_INTERVAL = "hibernate.cache.infinispan.adaptive.interval";
+    public static final String DEFAULT_ADAPTIVE_INTERVAL = "60000";
 
     @Override
     public EmbeddedCacheManager getEmbeddedCacheManager(Properties properties) {
@@ -51,7 +58,13 @@ public class ManagedEmbeddedCacheManagerProvider implements EmbeddedCacheManager
         }
 
         try {
-            EmbeddedCacheManager manager = new JipiJapaCacheManager(Notification.startCache(Classification.INFINISPAN, settings));
+            long adaptiveMaxCount = Long.parseLong(properties.getProperty(ADAPTIVE_MAX_COUNT, "0"));
+            if (adaptiveMaxCount > 0) {
+                // The adaptive budget is based on the hits of each region cache, which are only recorded if statistics are enabled when the region cache is built
+                properties.putIfAbsent(STATISTICS, Boolean.TRUE.toString());
+            }
+            AdaptiveEvictionController controller = (adaptiveMaxCount > 0) ? new AdaptiveEvictionController(adaptiveMaxCount, Long.parseLong(properties.getProperty(ADAPTIVE_INTERVAL, DEFAULT_ADAPTIVE_INTERVAL))) : null;
+            EmbeddedCacheManager manager = new JipiJapaCacheManager(Notification.startCache(Classification.INFINISPAN, settings), controller);
             if (manager.getCacheManagerConfiguration().statistics()) {
                 settings.setProperty(STATISTICS, Boolean.TRUE.toString());
             }
@@ -65,14 +78,36 @@ public class ManagedEmbeddedCacheManagerProvider implements EmbeddedCacheManager
 
     private static class JipiJapaCacheManager extends AbstractDelegatingEmbeddedCacheManager {
         private final Wrapper wrapper;
+        private final AdaptiveEvictionController controller;
 
-        JipiJapaCacheManager(Wrapper wrapper) {
+        JipiJapaCacheManager(Wrapper wrapper, AdaptiveEvictionController controller) {
             super((EmbeddedCacheManager) wrapper.getValue());
             this.wrapper = wrapper;
+            this.controller = controller;
+        }
+
+        @Override
+        public <K, V> Cache<K, V> getCache(String cacheName) {
+            return this.register(super.getCache(cacheName));
+        }
+
+        @Override
+        public <K, V> Cache<K, V> getCache(String cacheName, boolean createIfAbsent) {
+            return this.register(super.getCache(cacheName, createIfAbsent));
+        }
+
+        private <K, V> Cache<K, V> register(Cache<K, V> cache) {
+            if ((this.controller != null) && (cache != null)) {
+                this.controller.register(cache);
+            }
+            return cache;
         }
 
         @Override
         public void stop() {
+            if (this.controller != null) {
+                this.controller.close();
+            }
             Notification.stopCache(Classification.INFINISPAN, this.wrapper);
         }
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.hibernate.cache;
+
+import static org.jboss.as.jpa.hibernate.JpaLogger.JPA_LOGGER;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+
+/**
+ * Periodically redistributes a global entry budget across the count-bounded second level cache region caches of a
+ * session factory, based on the hits observed by each region since the previous interval.
+ * Region caches that are not bounded by entry count (e.g. timestamps, pending puts) are left untouched.
+ * The budget is redistributed by a dedicated thread, which is stopped on {@link #close()}, i.e. along with the cache manager of the session factory.
+ */
+public class AdaptiveEvictionController implements Runnable {
+
+    private final AdaptiveRegionBudget budget;
+    private final Map<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Long> previousHits = new HashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public AdaptiveEvictionController(long budget, long interval) {
+        this.budget = new AdaptiveRegionBudget(budget);
+        // Use a thread factory that does not leak the context class loader of the deployment creating the session factory
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(AdaptiveEvictionController.class));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+        this.executor = executor;
+    }
+
+    /**
+     * Includes the specified region cache in the budget, if it is bounded by entry count and records statistics.
+     * @param cache a region cache
+     */
+    public void register(Cache<?, ?> cache) {
+        MemoryConfiguration memory = cache.getCacheConfiguration().memory();
+        if (memory.isEvictionEnabled() && (memory.maxCount() > 0)) {
+            // Hits are only recorded if statistics are enabled, which cannot be changed once the cache is running
+            if (!cache.getCacheConfiguration().statistics().enabled()) {
+                JPA_LOGGER.debugf("Second level cache region %s is excluded from the adaptive entry budget, as its statistics are disabled", cache.getName());
+                return;
+            }
+            this.caches.putIfAbsent(cache.getName(), cache);
+        }
+    }
+
+    /**
+     * Stops redistributing the budget.
+     */
+    public void close() {
+        this.executor.shutdown();
+        this.caches.clear();
+    }
+
+    @Override
+    public synchronized void run() {
+        try {
+            Map<String, Long> hits = new HashMap<>();
+            for (Cache<?, ?> cache : this.caches.values()) {
+                if (cache.getStatus().allowInvocations()) {
+                    long total = cache.getAdvancedCache().getStats().getHits();
+                    if (total >= 0) {
+                        Long previous = this.previousHits.put(cache.getName(), total);
+                        hits.put(cache.getName(), (previous != null) ? Math.max(0, total - previous) : total);
+                    }
+                }
+            }
+            this.previousHits.keySet().retainAll(hits.keySet());
+            Map<String, Long> allocation = !hits.isEmpty() ? this.budget.allocate(hits) : null;
+            if (allocation == null) {
+                return;
+            }
+
+            for (Map.Entry<String, Long> entry : allocation.entrySet()) {
+                Cache<?, ?> cache = this.caches.get(entry.getKey());
+                if (cache != null) {
+                    MemoryConfiguration memory = cache.getCacheConfiguration().memory();
+                    if (memory.maxCount() != entry.getValue()) {
+                        JPA_LOGGER.tracef("Changing max-count of second level cache region %s from %d to %d", entry.getKey(), memory.maxCount(), entry.getValue());
+                        memory.maxCount(entry.getValue());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            JPA_LOGGER.debugf(e, "Failed to redistribute second level cache entry budget");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.hibernate.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Distributes a global entry budget across second level cache regions.
+ * A fixed share of the budget is divided evenly across all regions, so that no region is starved, while the remainder
+ * is divided in proportion to the hits observed by each region, i.e. its hit ratio weighted by its request volume.
+ * Observed hits are smoothed across successive allocations to avoid oscillation.
+ */
+public class AdaptiveRegionBudget {
+
+    // Fraction of the budget divided evenly across all regions
+    static final double MINIMUM_SHARE = 0.2d;
+    // Weight of the most recent observation when smoothing
+    static final double SMOOTHING = 0.5d;
+
+    private final long budget;
+    private final Map<String, Double> weights = new HashMap<>();
+
+    public AdaptiveRegionBudget(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Computes the maximum number of entries of each region.
+     * @param hits the number of hits observed by each region since the previous allocation
+     * @return the maximum number of entries of each region, or null, if no hits were observed by any region
+     */
+    public synchronized Map<String, Long> allocate(Map<String, Long> hits) {
+        this.weights.keySet().retainAll(hits.keySet());
+        double total = 0;
+        for (Map.Entry<String, Long> entry : hits.entrySet()) {
+            double observed = Math.max(0, entry.getValue());
+            Double previous = this.weights.get(entry.getKey());
+            double weight = (previous != null) ? (SMOOTHING * observed) + ((1 - SMOOTHING) * previous) : observed;
+            this.weights.put(entry.getKey(), weight);
+            total += weight;
+        }
+        if (total <= 0) {
+            return null;
+        }
+        long minimum = Math.max(1, (long) (this.budget * MINIMUM_SHARE) / hits.size());
+        double remainder = Math.max(0, this.budget - (minimum * hits.size()));
+        Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, Double> entry : this.weights.entrySet()) {
+            result.put(entry.getKey(), minimum + (long) (remainder * entry.getValue() / total));
+        }
+        return result;
+    }
+}
@@ -28,6 +28,7 @@ public class HibernateEntityCacheStatistics extends HibernateAbstractStatistics
     public static final String OPERATION_SECOND_LEVEL_CACHE_PUT_COUNT = "second-level-cache-put-count";
     public static final String OPERATION_SECOND_LEVEL_CACHE_COUNT_IN_MEMORY = "second-level-cache-count-in-memory";
     public static final String OPERATION_SECOND_LEVEL_CACHE_SIZE_IN_MEMORY = "second-level-cache-size-in-memory";
+    public static final String OPERATION_SECOND_LEVEL_CACHE_HIT_RATIO = "second-level-cache-hit-ratio";
 
     public HibernateEntityCacheStatistics() {
         /**
@@ -51,6 +52,9 @@ public class HibernateEntityCacheStatistics extends HibernateAbstractStatistics
         operations.put(OPERATION_SECOND_LEVEL_CACHE_SIZE_IN_MEMORY, entityCacheSizeInMemory);
         types.put(OPERATION_SECOND_LEVEL_CACHE_SIZE_IN_MEMORY, Long.class);
 
+        operations.put(OPERATION_SECOND_LEVEL_CACHE_HIT_RATIO, entityCacheHitRatio);
+        types.put(OPERATION_SECOND_LEVEL_CACHE_HIT_RATIO, Double.class);
+
     }
 
     @Override
@@ -130,4 +134,13 @@ public class HibernateEntityCacheStatistics extends HibernateAbstractStatistics
         }
     };
 
+    private Operation entityCacheHitRatio = new Operation() {
+        @Override
+        public Object invoke(Object... args) {
+            org.hibernate.stat.CacheRegionStatistics statistics = getStatistics(getEntityManagerFactoryAccess(args),  getPathAddress(args));
+            long hits = statistics != null ? statistics.getHitCount() : 0;
+            long requests = hits + (statistics != null ? statistics.getMissCount() : 0);
+            return Double.valueOf(requests > 0 ? (double) hits / requests : 0);
+        }
+    };
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.hibernate.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptiveRegionBudget}.
+ */
+public class AdaptiveRegionBudgetTestCase {
+
+    @Test
+    public void allocate() {
+        AdaptiveRegionBudget budget = new AdaptiveRegionBudget(10000);
+        Map<String, Long> hits = new HashMap<>();
+        hits.put("entity", 0L);
+        hits.put("collection", 0L);
+        assertNull(budget.allocate(hits));
+
+        hits.put("entity", 900L);
+        hits.put("collection", 100L);
+        Map<String, Long> allocation = budget.allocate(hits);
+        // 1000 entries per region, remaining 8000 entries in proportion to hits
+        assertEquals(Long.valueOf(1000 + 7200), allocation.get("entity"));
+        assertEquals(Long.valueOf(1000 + 800), allocation.get("collection"));
+
+        // Hits are smoothed across allocations
+        hits.put("entity", 100L);
+        hits.put("collection", 900L);
+        allocation = budget.allocate(hits);
+        assertTrue(allocation.get("collection") > allocation.get("entity"));
+        assertTrue(allocation.get("entity") > 1000 + 800);
+        assertTrue(allocation.get("entity") + allocation.get("collection") <= 10000);
+    }
+
+    @Test
+    public void removedRegion() {
+        AdaptiveRegionBudget budget = new AdaptiveRegionBudget(1000);
+        Map<String, Long> hits = new HashMap<>();
+        hits.put("entity", 10L);
+        hits.put("query", 10L);
+        assertEquals(2, budget.allocate(hits).size());
+
+        hits.remove("query");
+        Map<String, Long> allocation = budget.allocate(hits);
+        assertEquals(1, allocation.size());
+        assertEquals(Long.valueOf(1000), allocation.get("entity"));
+    }
+}
@@ -147,6 +147,12 @@ public class Configuration {
      */
     private static final String JPA_SKIP_QUERY_DETACH = "wildfly.jpa.skipquerydetach";
 
+    /**
+     * maximum number of idle entity managers retained for reuse by non-transactional invocations of transaction scoped
+     * entity managers (defaults to 0, which disables reuse)
+     */
+    private static final String JPA_NON_TX_POOL_SIZE = "wildfly.jpa.nontxpoolsize";
+
     /**
      * unique name for the persistence unit that is unique across all deployments (
      * defaults to include the application name prepended to the persistence unit name)
@@ -369,6 +375,22 @@ public class Configuration {
         return result;
     }
 
+    /**
+     * Return the maximum number of idle entity managers that are retained for reuse by transaction scoped entity managers
+     * used without an active Jakarta Transactions transaction.
+     * Note:  reused entity managers are cleared but otherwise retain any state (e.g. flush mode, properties) set by the application.
+     *
+     * @param pu
+     * @return the maximum number of idle entity managers, or 0 (default) if entity managers should not be reused.
+     */
+    public static int nonTxEntityManagerPoolSize(PersistenceUnitMetadata pu) {
+        int result = 0;
+        if (pu.getProperties().containsKey(JPA_NON_TX_POOL_SIZE)) {
+            result = Integer.parseInt(pu.getProperties().getProperty(JPA_NON_TX_POOL_SIZE));
+        }
+        return result;
+    }
+
     public static String getScopedPersistenceUnitName(PersistenceUnitMetadata pu) {
 
         Object name = pu.getProperties().get(JPA_SCOPED_PERSISTENCE_UNIT_NAME);
@@ -43,7 +43,14 @@ public class NonTxEmCloser {
     public static void popCall() {
         Map<String, EntityManager> emStack = nonTxStack.pop();
         if (emStack != null) {
-            for (EntityManager entityManager : emStack.values()) {
+            Map<String, NonTxEntityManagerPool> pools = (emStack instanceof Invocation) ? ((Invocation) emStack).pools : null;
+            for (Map.Entry<String, EntityManager> entry : emStack.entrySet()) {
+                EntityManager entityManager = entry.getValue();
+                NonTxEntityManagerPool pool = (pools != null) ? pools.get(entry.getKey()) : null;
+                if (pool != null) {
+                    pool.release(entityManager);
+                    continue;
+                }
                 try {
                     if (entityManager.isOpen()) {
                         entityManager.close();
@@ -59,6 +66,16 @@ public class NonTxEmCloser {
         }
     }
 
+    /**
+     * Return true if a session bean (or web) invocation is in progress, that will close (or release) the entity managers
+     * added to it.
+     *
+     * @return
+     */
+    public static boolean isActive() {
+        return !nonTxStack.isEmpty();
+    }
+
     /**
      * Return the transactional entity manager for the specified scoped persistence unit name
      *
@@ -74,15 +91,50 @@ public class NonTxEmCloser {
     }
 
     public static void add(String puScopedName, EntityManager entityManager) {
+        add(puScopedName, entityManager, null);
+    }
+
+    /**
+     * Add an entity manager obtained from the specified pool, to which it will be released when the invocation ends.
+     *
+     * @param puScopedName
+     * @param entityManager
+     * @param pool the pool from which the entity manager was obtained, or null if the entity manager should be closed
+     */
+    public static void add(String puScopedName, EntityManager entityManager, NonTxEntityManagerPool pool) {
         Map<String, EntityManager> map = nonTxStack.peek();
         if (map == null && !nonTxStack.isEmpty()) {
             // replace null with a collection to hold the entity managers.
-            map = new HashMap<String, EntityManager>();
+            map = new Invocation();
             nonTxStack.pop();
             nonTxStack.push(map);    // replace top of stack (currently null) with new collection
         }
         if (map != null) {
             map.put(puScopedName, entityManager);
+            if (pool != null && map instanceof Invocation) {
+                ((Invocation) map).pools.put(puScopedName, pool);
+            }
         }
     }
+
+    /**
+     * Close, rather than release to its pool, the entity manager of the specified scoped persistence unit name when the
+     * current invocation ends, e.g. since the application changed its state.
+     *
+     * @param puScopedName
+     */
+    public static void discard(String puScopedName) {
+        Map<String, EntityManager> map = nonTxStack.peek();
+        if (map instanceof Invocation) {
+            ((Invocation) map).pools.remove(puScopedName);
+        }
+    }
+
+    /**
+     * Entity managers of a single invocation, along with the pools to which pooled entity managers are released.
+     */
+    private static class Invocation extends HashMap<String, EntityManager> {
+        private static final long serialVersionUID = -1645418287226040418L;
+        private final transient Map<String, NonTxEntityManagerPool> pools = new HashMap<String, NonTxEntityManagerPool>(1);
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.jboss.as.jpa.messages.JpaLogger.ROOT_LOGGER;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bounded pool of idle entity managers of a persistence unit, reused by transaction scoped entity managers that are
+ * invoked without an active Jakarta Transactions transaction.  Rather than closing such entity managers when the
+ * (owning) component invocation completes, {@link NonTxEmCloser} clears them and returns them to the pool.
+ *
+ * Only entity managers created without properties and with the default (synchronized) synchronization type are pooled.
+ * Entity managers whose state the application may have changed, i.e. their flush mode or properties, or the state of the
+ * underlying provider session obtained via unwrap() or getDelegate(), are closed rather than pooled, as clearing them does not
+ * restore that state (see {@link TransactionScopedEntityManager}).
+ */
+public class NonTxEntityManagerPool {
+
+    private final EntityManagerFactory emf;
+    private final BlockingQueue<EntityManager> idle;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private volatile boolean closed;
+
+    public NonTxEntityManagerPool(EntityManagerFactory emf, int maxIdle) {
+        this.emf = emf;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Return an idle entity manager, or create a new one if none is available.
+     *
+     * @return an open entity manager
+     */
+    public EntityManager acquire() {
+        requests.increment();
+        EntityManager entityManager = idle.poll();
+        while (entityManager != null) {
+            if (entityManager.isOpen()) {
+                return entityManager;
+            }
+            entityManager = idle.poll();
+        }
+        created.increment();
+        return emf.createEntityManager();
+    }
+
+    /**
+     * Clear the specified entity manager and return it to the pool, or close it if the pool is full or closed.
+     *
+     * @param entityManager an entity manager previously obtained via {@link #acquire()}
+     */
+    public void release(EntityManager entityManager) {
+        try {
+            if (!entityManager.isOpen()) {
+                return;
+            }
+            if (!closed && !entityManager.isJoinedToTransaction()) {
+                entityManager.clear();
+                if (idle.offer(entityManager)) {
+                    // handle race against close()
+                    if (closed) {
+                        drain();
+                    }
+                    return;
+                }
+            }
+            entityManager.close();
+        } catch (RuntimeException safeToIgnore) {
+            if (ROOT_LOGGER.isTraceEnabled()) {
+                ROOT_LOGGER.trace("Could not release (non-transactional) container managed entity manager.", safeToIgnore);
+            }
+        }
+    }
+
+    /**
+     * Close the pool and all idle entity managers.  Entity managers released afterwards are closed.
+     */
+    public void close() {
+        closed = true;
+        drain();
+    }
+
+    /**
+     * @return the number of entity managers requested from the pool
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of entity managers created because no idle entity manager was available
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * @return the ratio of requests satisfied by an idle entity manager, between 0 and 1
+     */
+    public double getHitRatio() {
+        long requestCount = requests.sum();
+        return (requestCount > 0) ? Math.max(0, requestCount - created.sum()) / (double) requestCount : 0;
+    }
+
+    private void drain() {
+        EntityManager entityManager = idle.poll();
+        while (entityManager != null) {
+            try {
+                if (entityManager.isOpen()) {
+                    entityManager.close();
+                }
+            } catch (RuntimeException safeToIgnore) {
+                if (ROOT_LOGGER.isTraceEnabled()) {
+                    ROOT_LOGGER.trace("Could not close (non-transactional) container managed entity manager.", safeToIgnore);
+                }
+            }
+            entityManager = idle.poll();
+        }
+    }
+}
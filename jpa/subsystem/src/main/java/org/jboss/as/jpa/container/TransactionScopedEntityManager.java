@@ -14,6 +14,7 @@ import java.util.Map;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.SynchronizationType;
 import jakarta.transaction.TransactionManager;
 import jakarta.transaction.TransactionSynchronizationRegistry;
@@ -21,11 +22,13 @@ import jakarta.transaction.TransactionSynchronizationRegistry;
 import org.jboss.as.jpa.config.Configuration;
 import org.jboss.as.jpa.messages.JpaLogger;
 import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
+import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jboss.as.jpa.transaction.TransactionUtil;
 import org.jboss.as.jpa.util.JPAServiceNames;
 import org.jboss.as.server.CurrentServiceContainer;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.msc.service.ServiceController;
+import org.jipijapa.plugin.spi.PersistenceUnitService;
 import org.wildfly.transaction.client.ContextTransactionManager;
 
 /**
@@ -71,13 +74,30 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
         } else {
             entityManager = NonTxEmCloser.get(puScopedName);
             if (entityManager == null) {
-                entityManager = createEntityManager(emf, properties, synchronizationType);
-                NonTxEmCloser.add(puScopedName, entityManager);
+                NonTxEntityManagerPool pool = getNonTxEntityManagerPool();
+                if (pool != null) {
+                    entityManager = pool.acquire();
+                } else {
+                    entityManager = createEntityManager(emf, properties, synchronizationType);
+                }
+                NonTxEmCloser.add(puScopedName, entityManager, pool);
             }
         }
         return entityManager;
     }
 
+    /**
+     * Return the pool of entity managers reused by non-transactional invocations, if enabled for the persistence unit
+     * and applicable to this entity manager.
+     */
+    private NonTxEntityManagerPool getNonTxEntityManagerPool() {
+        if (SynchronizationType.UNSYNCHRONIZED.equals(synchronizationType) || (properties != null && !properties.isEmpty()) || !NonTxEmCloser.isActive()) {
+            return null;
+        }
+        PersistenceUnitService persistenceUnitService = PersistenceUnitRegistryImpl.INSTANCE.getPersistenceUnitService(puScopedName);
+        return (persistenceUnitService instanceof PersistenceUnitServiceImpl) ? ((PersistenceUnitServiceImpl) persistenceUnitService).getNonTxEntityManagerPool() : null;
+    }
+
     @Override
     protected boolean isExtendedPersistenceContext() {
         return false;
@@ -88,6 +108,40 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
         return TransactionUtil.isInTx(transactionManager);
     }
 
+    // The following may change the state of a pooled entity manager, which is then not returned to the pool
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        T result = super.unwrap(cls);
+        discardNonTxEntityManager();
+        return result;
+    }
+
+    @Override
+    public Object getDelegate() {
+        Object result = super.getDelegate();
+        discardNonTxEntityManager();
+        return result;
+    }
+
+    @Override
+    public void setProperty(String propertyName, Object value) {
+        super.setProperty(propertyName, value);
+        discardNonTxEntityManager();
+    }
+
+    @Override
+    public void setFlushMode(FlushModeType flushMode) {
+        super.setFlushMode(flushMode);
+        discardNonTxEntityManager();
+    }
+
+    private void discardNonTxEntityManager() {
+        if (!isInTx()) {
+            NonTxEmCloser.discard(puScopedName);
+        }
+    }
+
     /**
      * Catch the application trying to close the container managed entity manager and throw an IllegalStateException
      */
@@ -65,6 +65,9 @@ public class ManagementResourceDefinition extends SimpleResourceDefinition {
         else if(Long.class.equals(type)) {
             return ModelType.LONG;
         }
+        else if(Double.class.equals(type)) {
+            return ModelType.DOUBLE;
+        }
         else if(String.class.equals(type)) {
             return ModelType.STRING;
         }
@@ -199,6 +202,9 @@ public class ManagementResourceDefinition extends SimpleResourceDefinition {
         else if (ModelType.LONG.equals(modelType)) {
             response.set( ((Long)result).longValue());  // TODO: JIPI-9 switch to value wrapper
         }
+        else if (ModelType.DOUBLE.equals(modelType)) {
+            response.set( ((Double)result).doubleValue());
+        }
         else if (ModelType.BOOLEAN.equals(modelType)) {
             response.set( ((Boolean)result).booleanValue());  // TODO: JIPI-9 switch to value wrapper
         }
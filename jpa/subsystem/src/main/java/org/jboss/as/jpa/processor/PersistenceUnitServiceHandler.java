@@ -32,6 +32,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.ee.beanvalidation.BeanValidationAttachments;
@@ -110,6 +111,23 @@ public class PersistenceUnitServiceHandler {
 
     private static final AttachmentKey<Map<String,PersistenceProviderAdaptor>> providerAdaptorMapKey = AttachmentKey.create(Map.class);
     public static final AttributeDefinition SCOPED_UNIT_NAME = new SimpleAttributeDefinitionBuilder("scoped-unit-name", ModelType.STRING, true).setStorageRuntime().build();
+    public static final AttributeDefinition BOOTSTRAP_TIME = new SimpleAttributeDefinitionBuilder("bootstrap-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+    public static final AttributeDefinition NON_TX_ENTITY_MANAGER_REQUEST_COUNT = new SimpleAttributeDefinitionBuilder("non-tx-entity-manager-request-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+    public static final AttributeDefinition NON_TX_ENTITY_MANAGER_CREATED_COUNT = new SimpleAttributeDefinitionBuilder("non-tx-entity-manager-created-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+    public static final AttributeDefinition NON_TX_ENTITY_MANAGER_HIT_RATIO = new SimpleAttributeDefinitionBuilder("non-tx-entity-manager-hit-ratio", ModelType.DOUBLE)
+            .setUndefinedMetricValue(new ModelNode(0d))
+            .setStorageRuntime()
+            .build();
     private static final String FIRST_PHASE = "__FIRST_PHASE__";
     private static final String EE_DEFAULT_DATASOURCE = "java:comp/DefaultDataSource";
 
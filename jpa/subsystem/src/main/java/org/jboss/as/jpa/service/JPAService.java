@@ -11,7 +11,10 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.function.Function;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
@@ -20,15 +23,18 @@ import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.jpa.config.ExtendedPersistenceInheritance;
+import org.jboss.as.jpa.container.NonTxEntityManagerPool;
 import org.jboss.as.jpa.management.DynamicManagementStatisticsResource;
 import org.jboss.as.jpa.management.EntityManagerFactoryLookup;
 import org.jboss.as.jpa.management.ManagementResourceDefinition;
 import org.jboss.as.jpa.processor.CacheDeploymentHelper;
 import org.jboss.as.jpa.processor.PersistenceUnitServiceHandler;
 import org.jboss.as.jpa.subsystem.JPAExtension;
+import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jboss.as.jpa.util.JPAServiceNames;
 import org.jboss.as.server.deployment.DeploymentModelUtils;
 import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
@@ -39,6 +45,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jipijapa.management.spi.Statistics;
 import org.jipijapa.plugin.spi.ManagementAdaptor;
+import org.jipijapa.plugin.spi.PersistenceUnitService;
 
 /**
  * represents the global Jakarta Persistence Service
@@ -149,10 +156,12 @@ public class JPAService implements Service<Void> {
                 ManagementResourceRegistration providerResource = deploymentSubsystemRegistration.registerSubModel(
                         new ManagementResourceDefinition(PathElement.pathElement(managementAdaptor.getIdentificationLabel()), resourceDescriptionResolver, statistics, entityManagerFactoryLookup));
                 providerResource.registerReadOnlyAttribute(PersistenceUnitServiceHandler.SCOPED_UNIT_NAME, null);
+                registerMetrics(providerResource);
 
                 providerResource = subdeploymentSubsystemRegistration.registerSubModel(
                         new ManagementResourceDefinition(PathElement.pathElement(managementAdaptor.getIdentificationLabel()), resourceDescriptionResolver, statistics, entityManagerFactoryLookup));
                 providerResource.registerReadOnlyAttribute(PersistenceUnitServiceHandler.SCOPED_UNIT_NAME, null);
+                registerMetrics(providerResource);
 
                 existingResourceDescriptionResolver.add(managementAdaptor.getVersion());
             }
@@ -161,6 +170,51 @@ public class JPAService implements Service<Void> {
         }
     }
 
+    private static void registerMetrics(ManagementResourceRegistration providerResource) {
+        providerResource.registerMetric(PersistenceUnitServiceHandler.BOOTSTRAP_TIME,
+                new PersistenceUnitMetricHandler(service -> new ModelNode(service.getBootstrapTime())));
+        providerResource.registerMetric(PersistenceUnitServiceHandler.NON_TX_ENTITY_MANAGER_REQUEST_COUNT,
+                new NonTxEntityManagerPoolMetricHandler(pool -> new ModelNode(pool.getRequestCount())));
+        providerResource.registerMetric(PersistenceUnitServiceHandler.NON_TX_ENTITY_MANAGER_CREATED_COUNT,
+                new NonTxEntityManagerPoolMetricHandler(pool -> new ModelNode(pool.getCreatedCount())));
+        providerResource.registerMetric(PersistenceUnitServiceHandler.NON_TX_ENTITY_MANAGER_HIT_RATIO,
+                new NonTxEntityManagerPoolMetricHandler(pool -> new ModelNode(pool.getHitRatio())));
+    }
+
+    /**
+     * Reads a metric of the persistence unit identified by the current address.
+     */
+    private static class PersistenceUnitMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final Function<PersistenceUnitServiceImpl, ModelNode> metric;
+
+        PersistenceUnitMetricHandler(Function<PersistenceUnitServiceImpl, ModelNode> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+            PersistenceUnitService persistenceUnitService = PersistenceUnitRegistryImpl.INSTANCE.getPersistenceUnitService(context.getCurrentAddressValue());
+            if (persistenceUnitService instanceof PersistenceUnitServiceImpl) {
+                ModelNode result = metric.apply((PersistenceUnitServiceImpl) persistenceUnitService);
+                if (result != null) {
+                    context.getResult().set(result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a metric of the non-transactional entity manager pool of the persistence unit identified by the current address.
+     */
+    private static class NonTxEntityManagerPoolMetricHandler extends PersistenceUnitMetricHandler {
+        NonTxEntityManagerPoolMetricHandler(Function<NonTxEntityManagerPool, ModelNode> metric) {
+            super(service -> {
+                NonTxEntityManagerPool pool = service.getNonTxEntityManagerPool();
+                return (pool != null) ? metric.apply(pool) : null;
+            });
+        }
+    }
+
     @Override
     public void start(StartContext startContext) throws StartException {
         cacheDeploymentHelper.register();
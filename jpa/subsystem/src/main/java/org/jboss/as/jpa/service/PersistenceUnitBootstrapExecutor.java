@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Selects the executor on which persistence units are bootstrapped.
+ * <p/>
+ * By default, each persistence unit service builds its EntityManagerFactory on the (unbounded) server executor.
+ * If the {@value #MAX_THREADS_PROPERTY} system property specifies a positive number of threads, persistence units
+ * of all deployments are instead bootstrapped on a shared executor with at most that many threads, which bounds the
+ * number of concurrently building metamodels, while still building independent persistence units concurrently.
+ * Ordering between the phases of a two phase bootstrap, and with the Jakarta Contexts and Dependency Injection
+ * bean manager, is unaffected since it is enforced by service dependencies.
+ */
+final class PersistenceUnitBootstrapExecutor {
+
+    static final String MAX_THREADS_PROPERTY = "wildfly.jpa.bootstrap.max-threads";
+
+    private static final int MAX_THREADS = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_THREADS_PROPERTY, "0"));
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final Executor EXECUTOR = (MAX_THREADS > 0) ? createExecutor(MAX_THREADS) : null;
+
+    private PersistenceUnitBootstrapExecutor() {
+    }
+
+    /**
+     * Returns the executor on which to bootstrap a persistence unit.
+     *
+     * @param serverExecutor the server executor
+     * @return the bounded bootstrap executor, if enabled, otherwise the server executor
+     */
+    static Executor select(Executor serverExecutor) {
+        return (EXECUTOR != null) ? EXECUTOR : serverExecutor;
+    }
+
+    private static Executor createExecutor(int maxThreads) {
+        // threads are created on demand, so must not inherit the context class loader of the deployment that requested one
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory(PersistenceUnitBootstrapExecutor.class));
+        // don't keep idle threads once deployments have started
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.persistence.EntityManagerFactory;
@@ -23,6 +24,8 @@ import jakarta.validation.ValidatorFactory;
 import org.jboss.as.jpa.beanmanager.BeanManagerAfterDeploymentValidation;
 import org.jboss.as.jpa.beanmanager.ProxyBeanManager;
 import org.jboss.as.jpa.classloader.TempClassLoaderFactoryImpl;
+import org.jboss.as.jpa.config.Configuration;
+import org.jboss.as.jpa.container.NonTxEntityManagerPool;
 import org.jboss.as.jpa.spi.PersistenceUnitService;
 import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jboss.as.jpa.util.JPAServiceNames;
@@ -77,6 +80,8 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
     private volatile EntityManagerFactory entityManagerFactory;
     private volatile ProxyBeanManager proxyBeanManager;
+    private volatile long bootstrapTime;
+    private volatile NonTxEntityManagerPool nonTxEntityManagerPool;
     private final SetupAction javaNamespaceSetup;
 
     public PersistenceUnitServiceImpl(
@@ -125,6 +130,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                     javaNamespaceSetup.setup(Collections.<String, Object>emptyMap());
                                 }
 
+                                final long start = System.nanoTime();
                                 try {
                                     PhaseOnePersistenceUnitServiceImpl phaseOnePersistenceUnitService = phaseOnePersistenceUnitServiceInjectedValue.getOptionalValue();
                                     WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
@@ -178,6 +184,13 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                         }
                                         entityManagerFactory = createContainerEntityManagerFactory();
                                     }
+                                    int nonTxPoolSize = Configuration.nonTxEntityManagerPoolSize(pu);
+                                    if (nonTxPoolSize > 0) {
+                                        nonTxEntityManagerPool = new NonTxEntityManagerPool(entityManagerFactory, nonTxPoolSize);
+                                    }
+                                    long phaseOneBootstrapTime = (phaseOnePersistenceUnitService != null) ? phaseOnePersistenceUnitService.getBootstrapTime() : 0;
+                                    bootstrapTime = phaseOneBootstrapTime + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                                    ROOT_LOGGER.debugf("Bootstrapped persistence unit %s in %d ms", pu.getScopedPersistenceUnitName(), bootstrapTime);
                                     persistenceUnitRegistry.add(getScopedPersistenceUnitName(), getValue());
                                     if(wrapperBeanManagerLifeCycle != null) {
                                         beanManagerAfterDeploymentValidation.register(persistenceProviderAdaptor, wrapperBeanManagerLifeCycle);
@@ -205,7 +218,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
         };
         try {
-            executor.execute(task);
+            PersistenceUnitBootstrapExecutor.select(executor).execute(task);
         } catch (RejectedExecutionException e) {
             task.run();
         } finally {
@@ -245,6 +258,10 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                             if (entityManagerFactory != null) {
                                                 WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
                                                 try {
+                                                    if (nonTxEntityManagerPool != null) {
+                                                        nonTxEntityManagerPool.close();
+                                                        nonTxEntityManagerPool = null;
+                                                    }
                                                     if (entityManagerFactory.isOpen()) {
                                                         entityManagerFactory.close();
                                                     }
@@ -309,6 +326,24 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
         return entityManagerFactory;
     }
 
+    /**
+     * Returns the time spent bootstrapping the persistence unit, including the first phase of a two phase bootstrap.
+     *
+     * @return the bootstrap time, in milliseconds
+     */
+    public long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
+    /**
+     * Returns the pool of entity managers reused by non-transactional invocations of transaction scoped entity managers.
+     *
+     * @return the pool, or null if entity managers are not reused
+     */
+    public NonTxEntityManagerPool getNonTxEntityManagerPool() {
+        return nonTxEntityManagerPool;
+    }
+
     @Override
     public String getScopedPersistenceUnitName() {
         return pu.getScopedPersistenceUnitName();
@@ -0,0 +1,117 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NonTxEntityManagerPool}.
+ */
+public class NonTxEntityManagerPoolTestCase {
+
+    private final AtomicInteger cleared = new AtomicInteger();
+
+    @Test
+    public void reuse() {
+        NonTxEntityManagerPool pool = new NonTxEntityManagerPool(entityManagerFactory(), 1);
+        EntityManager first = pool.acquire();
+        pool.release(first);
+        assertEquals(1, cleared.get());
+
+        assertSame(first, pool.acquire());
+        EntityManager second = pool.acquire();
+        assertNotSame(first, second);
+
+        pool.release(first);
+        // pool is full
+        pool.release(second);
+        assertTrue(first.isOpen());
+        assertFalse(second.isOpen());
+
+        assertEquals(3, pool.getRequestCount());
+        assertEquals(2, pool.getCreatedCount());
+        assertEquals(1d / 3, pool.getHitRatio(), 0.0001d);
+    }
+
+    @Test
+    public void close() {
+        NonTxEntityManagerPool pool = new NonTxEntityManagerPool(entityManagerFactory(), 2);
+        EntityManager idle = pool.acquire();
+        EntityManager active = pool.acquire();
+        pool.release(idle);
+        pool.close();
+        assertFalse(idle.isOpen());
+
+        pool.release(active);
+        assertFalse(active.isOpen());
+        assertEquals(0d, new NonTxEntityManagerPool(entityManagerFactory(), 1).getHitRatio(), 0d);
+    }
+
+    @Test
+    public void invocation() {
+        NonTxEntityManagerPool pool = new NonTxEntityManagerPool(entityManagerFactory(), 2);
+        EntityManager entityManager = pool.acquire();
+        NonTxEmCloser.pushCall();
+        NonTxEmCloser.add("pu", entityManager, pool);
+        NonTxEmCloser.popCall();
+        assertTrue(entityManager.isOpen());
+        assertSame(entityManager, pool.acquire());
+
+        // the state of the entity manager was changed by the application
+        NonTxEmCloser.pushCall();
+        NonTxEmCloser.add("pu", entityManager, pool);
+        NonTxEmCloser.discard("pu");
+        NonTxEmCloser.popCall();
+        assertFalse(entityManager.isOpen());
+        assertNotSame(entityManager, pool.acquire());
+    }
+
+    private EntityManagerFactory entityManagerFactory() {
+        return (EntityManagerFactory) Proxy.newProxyInstance(EntityManagerFactory.class.getClassLoader(), new Class<?>[] { EntityManagerFactory.class }, (proxy, method, args) -> {
+            if (method.getName().equals("createEntityManager")) {
+                return entityManager();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private EntityManager entityManager() {
+        AtomicBoolean open = new AtomicBoolean(true);
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(), new Class<?>[] { EntityManager.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "isOpen":
+                    return open.get();
+                case "isJoinedToTransaction":
+                    return false;
+                case "clear":
+                    cleared.incrementAndGet();
+                    return null;
+                case "close":
+                    open.set(false);
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
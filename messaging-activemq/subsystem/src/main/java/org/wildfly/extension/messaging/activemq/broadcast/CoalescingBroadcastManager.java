@@ -0,0 +1,155 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A {@link BroadcastManager} retaining only the latest broadcast of each sender.
+ * A broadcast received while a previous broadcast of the same sender is still pending replaces it, since a discovery group
+ * only needs the latest connectors of a given broadcast group.
+ * The number of senders with a pending broadcast is bounded; broadcasts of additional senders are dropped until pending
+ * broadcasts are consumed.
+ */
+public class CoalescingBroadcastManager implements BroadcastManager {
+
+    static final String MAX_SENDERS_PROPERTY = "org.wildfly.messaging.broadcast.max-senders";
+
+    private static final int DEFAULT_MAX_SENDERS = 256;
+
+    private final Map<Object, Slot> slots = new ConcurrentHashMap<>();
+    private final Queue<Slot> pending = new ConcurrentLinkedQueue<>();
+    private final Semaphore available = new Semaphore(0);
+    private final LongAdder received = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final String name;
+    private final int maxSenders;
+    private final Function<byte[], Object> senders;
+
+    public CoalescingBroadcastManager(String name) {
+        this(name, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_SENDERS_PROPERTY, Integer.toString(DEFAULT_MAX_SENDERS))), CoalescingBroadcastManager::getSender);
+    }
+
+    CoalescingBroadcastManager(String name, int maxSenders, Function<byte[], Object> senders) {
+        this.name = name;
+        this.maxSenders = maxSenders;
+        this.senders = senders;
+    }
+
+    /**
+     * Identifies the sender of a broadcast by the node identifier and the unique identifier of its broadcast group, which
+     * prefix the connectors of an Artemis broadcast.
+     * @param broadcast broadcast data
+     * @return the sender of the broadcast
+     */
+    static Object getSender(byte[] broadcast) {
+        try {
+            ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(broadcast);
+            String nodeId = buffer.readString();
+            String uniqueId = buffer.readString();
+            return Arrays.asList(nodeId, uniqueId);
+        } catch (RuntimeException e) {
+            // Not a broadcast of connectors: only coalesce identical broadcasts
+            return ByteBuffer.wrap(broadcast);
+        }
+    }
+
+    @Override
+    public void receive(byte[] broadcast) {
+        if (MessagingLogger.ROOT_LOGGER.isDebugEnabled()) {
+            MessagingLogger.ROOT_LOGGER.debugf("Received broadcast from group %s: %s", this.name, Arrays.toString(broadcast));
+        }
+        this.received.increment();
+        Object sender = this.senders.apply(broadcast);
+        Slot slot = this.slots.get(sender);
+        if (slot == null) {
+            if (this.slots.size() >= this.maxSenders) {
+                this.dropped.increment();
+                MessagingLogger.ROOT_LOGGER.debugf("Dropped broadcast from group %s: %d senders already have a pending broadcast", this.name, this.maxSenders);
+                return;
+            }
+            slot = this.slots.computeIfAbsent(sender, Slot::new);
+        }
+        if (slot.broadcast.getAndSet(broadcast) == null) {
+            this.pending.add(slot);
+            this.available.release();
+        } else {
+            this.coalesced.increment();
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast() throws InterruptedException {
+        this.available.acquire();
+        return this.take();
+    }
+
+    @Override
+    public byte[] getBroadcast(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.available.tryAcquire(timeout, unit) ? this.take() : null;
+    }
+
+    private byte[] take() {
+        Slot slot = this.pending.remove();
+        // A concurrent receive may still replace the broadcast of a removed slot, in which case the slot is queued again
+        this.slots.remove(slot.sender, slot);
+        return slot.broadcast.getAndSet(null);
+    }
+
+    @Override
+    public void clear() {
+        while (this.available.tryAcquire()) {
+            this.take();
+        }
+        MessagingLogger.ROOT_LOGGER.debugf("Broadcasts from group %s: %d received, %d coalesced, %d dropped", this.name, this.getReceivedCount(), this.getCoalescedCount(), this.getDroppedCount());
+    }
+
+    /**
+     * @return the number of broadcasts received
+     */
+    public long getReceivedCount() {
+        return this.received.sum();
+    }
+
+    /**
+     * @return the number of broadcasts replaced by a later broadcast of the same sender before being consumed
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * @return the number of broadcasts dropped because too many senders had a pending broadcast
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    private static class Slot {
+        final Object sender;
+        final AtomicReference<byte[]> broadcast = new AtomicReference<>();
+
+        Slot(Object sender) {
+            this.sender = sender;
+        }
+    }
+}
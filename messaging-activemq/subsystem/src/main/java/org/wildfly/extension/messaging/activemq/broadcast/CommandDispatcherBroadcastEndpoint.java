@@ -8,6 +8,7 @@ package org.wildfly.extension.messaging.activemq.broadcast;
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import org.apache.activemq.artemis.api.core.BroadcastEndpoint;
@@ -15,13 +16,19 @@ import org.wildfly.clustering.Registration;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
 import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A {@link BroadcastEndpoint} based on a {@link CommandDispatcher}.
+ * If a resend interval is configured, a broadcast identical to the previous one is only dispatched to the group once this
+ * interval elapsed since the previous broadcast was dispatched.
  * @author Paul Ferraro
  */
 public class CommandDispatcherBroadcastEndpoint implements BroadcastEndpoint {
 
+    // Interval, in milliseconds, within which unchanged broadcasts are not dispatched. Must be lower than the refresh timeout of discovery groups. Disabled by default
+    static final String RESEND_INTERVAL_PROPERTY = "org.wildfly.messaging.broadcast.resend-interval";
+
     private enum Mode {
         BROADCASTER, RECEIVER, CLOSED;
     }
@@ -31,16 +38,25 @@ public class CommandDispatcherBroadcastEndpoint implements BroadcastEndpoint {
     private final BroadcastReceiverRegistrar registrar;
     private final Function<String, BroadcastManager> managerFactory;
     private final AtomicReference<Mode> mode = new AtomicReference<>(Mode.CLOSED);
+    private final long resendInterval;
+    private final LongAdder suppressed = new LongAdder();
 
     private volatile BroadcastManager manager = null;
     private volatile Registration registration = null;
     private volatile CommandDispatcher<BroadcastReceiver> dispatcher;
+    private volatile byte[] lastBroadcast = null;
+    private volatile long lastBroadcastTime;
 
     public CommandDispatcherBroadcastEndpoint(CommandDispatcherFactory factory, String name, BroadcastReceiverRegistrar registrar, Function<String, BroadcastManager> managerFactory) {
+        this(factory, name, registrar, managerFactory, TimeUnit.MILLISECONDS.toNanos(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(RESEND_INTERVAL_PROPERTY, "0"))));
+    }
+
+    CommandDispatcherBroadcastEndpoint(CommandDispatcherFactory factory, String name, BroadcastReceiverRegistrar registrar, Function<String, BroadcastManager> managerFactory, long resendIntervalNanos) {
         this.factory = factory;
         this.name = name;
         this.registrar = registrar;
         this.managerFactory = managerFactory;
+        this.resendInterval = resendIntervalNanos;
     }
 
     @Override
@@ -75,12 +91,25 @@ public class CommandDispatcherBroadcastEndpoint implements BroadcastEndpoint {
             if (this.manager != null) {
                 this.manager.clear();
             }
+            this.lastBroadcast = null;
+            if (isBroadcast && this.resendInterval > 0) {
+                MessagingLogger.ROOT_LOGGER.debugf("Suppressed %d unchanged broadcasts to group %s", this.getSuppressedCount(), this.name);
+            }
         }
     }
 
     @Override
     public void broadcast(byte[] data) throws Exception {
         if (this.mode.get() == Mode.BROADCASTER) {
+            if (this.resendInterval > 0) {
+                long now = System.nanoTime();
+                if (Arrays.equals(data, this.lastBroadcast) && (now - this.lastBroadcastTime < this.resendInterval)) {
+                    this.suppressed.increment();
+                    return;
+                }
+                this.lastBroadcast = data.clone();
+                this.lastBroadcastTime = now;
+            }
             if (MessagingLogger.ROOT_LOGGER.isDebugEnabled()) {
                 MessagingLogger.ROOT_LOGGER.debugf("Broadcasting to group %s: %s", this.name, Arrays.toString(data));
             }
@@ -88,6 +117,13 @@ public class CommandDispatcherBroadcastEndpoint implements BroadcastEndpoint {
         }
     }
 
+    /**
+     * @return the number of unchanged broadcasts that were not dispatched to the group
+     */
+    public long getSuppressedCount() {
+        return this.suppressed.sum();
+    }
+
     @Override
     public byte[] receiveBroadcast() throws Exception {
         return (this.mode.get() == Mode.RECEIVER) ? this.manager.getBroadcast() : null;
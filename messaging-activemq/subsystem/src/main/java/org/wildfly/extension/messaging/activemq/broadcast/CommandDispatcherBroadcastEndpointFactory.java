@@ -26,6 +26,6 @@ public class CommandDispatcherBroadcastEndpointFactory implements BroadcastEndpo
 
     @Override
     public BroadcastEndpoint createBroadcastEndpoint() throws Exception {
-        return new CommandDispatcherBroadcastEndpoint(this.factory, this.name, this.factory, QueueBroadcastManager::new);
+        return new CommandDispatcherBroadcastEndpoint(this.factory, this.name, this.factory, CoalescingBroadcastManager::new);
     }
 }
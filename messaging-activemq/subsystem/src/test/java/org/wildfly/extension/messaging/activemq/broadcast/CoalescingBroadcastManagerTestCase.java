@@ -0,0 +1,78 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CoalescingBroadcastManager}.
+ */
+public class CoalescingBroadcastManagerTestCase {
+
+    // The first byte of a broadcast identifies its sender
+    private final CoalescingBroadcastManager manager = new CoalescingBroadcastManager("test", 2, broadcast -> broadcast[0]);
+
+    @Test
+    public void coalesce() throws InterruptedException {
+        byte[] broadcast1 = new byte[] { 1, 1 };
+        byte[] broadcast2 = new byte[] { 1, 2 };
+        byte[] broadcast3 = new byte[] { 2, 1 };
+
+        this.manager.receive(broadcast1);
+        this.manager.receive(broadcast3);
+        this.manager.receive(broadcast2);
+
+        // The latest broadcast of a sender keeps the position of the sender's first pending broadcast
+        assertArrayEquals(broadcast2, this.manager.getBroadcast());
+        assertArrayEquals(broadcast3, this.manager.getBroadcast(1, TimeUnit.MILLISECONDS));
+        assertNull(this.manager.getBroadcast(1, TimeUnit.MILLISECONDS));
+
+        this.manager.receive(broadcast1);
+        assertArrayEquals(broadcast1, this.manager.getBroadcast());
+
+        assertEquals(4, this.manager.getReceivedCount());
+        assertEquals(1, this.manager.getCoalescedCount());
+        assertEquals(0, this.manager.getDroppedCount());
+    }
+
+    @Test
+    public void drop() throws InterruptedException {
+        byte[] broadcast1 = new byte[] { 1 };
+        byte[] broadcast2 = new byte[] { 2 };
+        byte[] broadcast3 = new byte[] { 3 };
+
+        this.manager.receive(broadcast1);
+        this.manager.receive(broadcast2);
+        this.manager.receive(broadcast3);
+
+        assertEquals(1, this.manager.getDroppedCount());
+        assertArrayEquals(broadcast1, this.manager.getBroadcast());
+
+        // Consuming a broadcast makes room for another sender
+        this.manager.receive(broadcast3);
+        assertArrayEquals(broadcast2, this.manager.getBroadcast());
+        assertArrayEquals(broadcast3, this.manager.getBroadcast());
+        assertEquals(1, this.manager.getDroppedCount());
+    }
+
+    @Test
+    public void clear() throws InterruptedException {
+        this.manager.receive(new byte[] { 1 });
+        this.manager.receive(new byte[] { 2 });
+
+        this.manager.clear();
+
+        assertNull(this.manager.getBroadcast(1, TimeUnit.MILLISECONDS));
+        this.manager.receive(new byte[] { 3 });
+        assertArrayEquals(new byte[] { 3 }, this.manager.getBroadcast());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import java.util.Collections;
+import java.util.Locale;
+
+/**
+ * Reads the quality values of the HTTP {@code Accept} and {@code Accept-Encoding} request headers.
+ */
+final class ContentNegotiation {
+
+    private ContentNegotiation() {
+    }
+
+    /**
+     * Returns the quality value of a token in the values of a header.
+     * Parameters of the token other than {@code q} (e.g. the version of a media type) are ignored.
+     *
+     * @param headerValues the values of the header, each one a comma-separated list of tokens. May be {@code null}
+     * @param token the media type or content coding
+     * @param wildcard the token matching any token not listed explicitly, or {@code null} if none applies
+     * @return the highest quality value of the token, or, if not listed, of the wildcard, or 0 if neither is listed
+     */
+    static double quality(Iterable<String> headerValues, String token, String wildcard) {
+        double quality = -1d;
+        double wildcardQuality = 0d;
+        for (String headerValue : (headerValues != null) ? headerValues : Collections.<String>emptyList()) {
+            for (String element : headerValue.split(",")) {
+                String[] parts = element.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ENGLISH);
+                double q = 1d;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q') && parameter.charAt(1) == '=') {
+                        try {
+                            q = Math.max(0d, Math.min(1d, Double.parseDouble(parameter.substring(2).trim())));
+                        } catch (NumberFormatException e) {
+                            q = 0d;
+                        }
+                    }
+                }
+                if (name.equals(token)) {
+                    quality = Math.max(quality, q);
+                } else if (name.equals(wildcard)) {
+                    wildcardQuality = Math.max(wildcardQuality, q);
+                }
+            }
+        }
+        return (quality >= 0d) ? quality : wildcardQuality;
+    }
+}
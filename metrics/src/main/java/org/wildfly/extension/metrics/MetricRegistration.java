@@ -19,7 +19,8 @@ public class MetricRegistration {
     }
 
     public void register() { // synchronized to avoid registering same thing twice. Shouldn't really be possible; just being cautious
-        synchronized (registry) {
+        // the registry itself does not need to be locked so that registrations of different deployments can proceed concurrently
+        synchronized (this) {
             for (Runnable task : registrationTasks) {
                 task.run();
             }
@@ -30,7 +31,7 @@ public class MetricRegistration {
     }
 
     public void unregister() {
-        synchronized (registry) {
+        synchronized (this) {
             for (MetricID id : unregistrationTasks) {
                 registry.unregister(id);
             }
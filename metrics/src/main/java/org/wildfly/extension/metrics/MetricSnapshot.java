@@ -0,0 +1,120 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.wildfly.extension.metrics._private.MetricsLogger.LOGGER;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Values of a set of metrics, collected once per scrape.
+ *
+ * WildFly metrics that are backed by attributes of the same management resource are read together
+ * with a single {@code composite} operation of one {@code read-attribute} step per metric attribute,
+ * so that other runtime attributes of the resource are not evaluated. Other metrics are read directly.
+ */
+class MetricSnapshot {
+
+    private final Map<Metric, OptionalDouble> values;
+
+    private MetricSnapshot(Map<Metric, OptionalDouble> values) {
+        this.values = values;
+    }
+
+    static MetricSnapshot collect(Collection<RenderedMetric> metrics) {
+        Map<Metric, OptionalDouble> values = new IdentityHashMap<>(metrics.size());
+        // group the WildFly metrics by the address of their management resource
+        Map<PathAddress, List<WildFlyMetric>> resources = new LinkedHashMap<>();
+        for (RenderedMetric rendered : metrics) {
+            Metric metric = rendered.getMetric();
+            if (metric instanceof WildFlyMetric) {
+                WildFlyMetric wildFlyMetric = (WildFlyMetric) metric;
+                resources.computeIfAbsent(wildFlyMetric.getAddress(), address -> new ArrayList<>()).add(wildFlyMetric);
+            } else {
+                values.put(metric, metric.getValue());
+            }
+        }
+        for (Map.Entry<PathAddress, List<WildFlyMetric>> entry : resources.entrySet()) {
+            List<WildFlyMetric> resourceMetrics = entry.getValue();
+            ModelNode attributes = (resourceMetrics.size() > 1) ? readAttributes(resourceMetrics, entry.getKey()) : null;
+            for (WildFlyMetric metric : resourceMetrics) {
+                // fall back to reading the metric attribute individually if the resource could not be read as a whole
+                values.put(metric, (attributes != null) ? metric.toValue(attributes.get(metric.getAttributeName())) : metric.getValue());
+            }
+        }
+        return new MetricSnapshot(values);
+    }
+
+    /**
+     * Returns the value of the given metric collected in this snapshot.
+     * If the metric was not part of the snapshot, its value is read directly.
+     *
+     * @param metric a metric. Cannot be {@code null}
+     * @return the value of the metric
+     */
+    OptionalDouble getValue(Metric metric) {
+        OptionalDouble value = values.get(metric);
+        return (value != null) ? value : metric.getValue();
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Reads the attributes of the given metrics of the same management resource.
+     *
+     * @return the values of the attributes by name, or {@code null} if they could not be read
+     */
+    private static ModelNode readAttributes(List<WildFlyMetric> metrics, PathAddress address) {
+        Set<String> attributeNames = new LinkedHashSet<>();
+        for (WildFlyMetric metric : metrics) {
+            attributeNames.add(metric.getAttributeName());
+        }
+        final ModelNode compositeOp = new ModelNode();
+        compositeOp.get(OP).set(COMPOSITE);
+        compositeOp.get(OP_ADDR).setEmptyList();
+        ModelNode steps = compositeOp.get(STEPS);
+        for (String attributeName : attributeNames) {
+            ModelNode readAttributeOp = steps.add();
+            readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            readAttributeOp.get(OP_ADDR).set(address.toModelNode());
+            readAttributeOp.get(INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
+            readAttributeOp.get(NAME).set(attributeName);
+        }
+        ModelNode response = metrics.get(0).getModelControllerClient().execute(compositeOp);
+        if (response.hasDefined(FAILURE_DESCRIPTION)) {
+            LOGGER.debugf("Unable to read attributes %s of resource %s: %s.", attributeNames, address, response.get(FAILURE_DESCRIPTION));
+            return null;
+        }
+        ModelNode result = response.get(RESULT);
+        ModelNode attributes = new ModelNode();
+        int step = 0;
+        for (String attributeName : attributeNames) {
+            attributes.get(attributeName).set(result.get("step-" + (++step)).get(RESULT));
+        }
+        return attributes;
+    }
+}
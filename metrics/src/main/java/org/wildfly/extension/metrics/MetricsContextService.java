@@ -10,12 +10,20 @@ import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_H
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_HTTP_SECURITY_CAPABILITY;
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_REGISTRY_RUNTIME_CAPABILITY;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.OptionalDouble;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
 import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.server.mgmt.domain.ExtensibleHttpManagement;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -29,15 +37,21 @@ import org.jboss.msc.service.StopContext;
 public class MetricsContextService implements Service {
 
     private static final String CONTEXT_NAME = "/metrics";
+    private static final String GZIP = "gzip";
+    private static final int BUFFER_SIZE = 8192;
+    private static final PathAddress SUBSYSTEM_ADDRESS = PathAddress.pathAddress(ModelDescriptionConstants.SUBSYSTEM, MetricsExtension.SUBSYSTEM_NAME);
 
     private final Consumer<MetricsContextService> consumer;
     private final Supplier<ExtensibleHttpManagement> extensibleHttpManagement;
     private Supplier<WildFlyMetricRegistry> wildflyMetricRegistry;
     private final Supplier<Boolean> securityEnabledSupplier;
+    private final String prefix;
     private final PrometheusExporter prometheusExporter = new PrometheusExporter();
     private HttpHandler overrideableMetricHandler;
+    private WildFlyMetricMetadata scrapeDurationMetadata;
+    private WildFlyMetricMetadata scrapeMetricCountMetadata;
 
-    static void install(OperationContext context, boolean securityEnabled) {
+    static void install(OperationContext context, boolean securityEnabled, String prefix) {
         ServiceBuilder<?> serviceBuilder = context.getServiceTarget().addService(METRICS_HTTP_CONTEXT_CAPABILITY.getCapabilityServiceName());
 
         Supplier<ExtensibleHttpManagement> extensibleHttpManagement = serviceBuilder.requires(context.getCapabilityServiceName(HTTP_EXTENSIBILITY_CAPABILITY, ExtensibleHttpManagement.class));
@@ -54,20 +68,30 @@ public class MetricsContextService implements Service {
                 }
             };
         }
-        Service metricsContextService = new MetricsContextService(metricsContext, extensibleHttpManagement, wildflyMetricRegistry, securityEnabledSupplier);
+        Service metricsContextService = new MetricsContextService(metricsContext, extensibleHttpManagement, wildflyMetricRegistry, securityEnabledSupplier, prefix);
 
         serviceBuilder.setInstance(metricsContextService)
                 .install();
     }
-    public MetricsContextService(Consumer<MetricsContextService> consumer, Supplier<ExtensibleHttpManagement> extensibleHttpManagement, Supplier<WildFlyMetricRegistry> wildflyMetricRegistry, Supplier<Boolean> securityEnabledSupplier) {
+    public MetricsContextService(Consumer<MetricsContextService> consumer, Supplier<ExtensibleHttpManagement> extensibleHttpManagement, Supplier<WildFlyMetricRegistry> wildflyMetricRegistry, Supplier<Boolean> securityEnabledSupplier, String prefix) {
         this.consumer = consumer;
         this.extensibleHttpManagement = extensibleHttpManagement;
         this.wildflyMetricRegistry = wildflyMetricRegistry;
         this.securityEnabledSupplier = securityEnabledSupplier;
+        this.prefix = prefix;
     }
 
     @Override
     public void start(StartContext context) {
+        // expose metrics about the scrapes themselves
+        WildFlyMetricRegistry registry = wildflyMetricRegistry.get();
+        scrapeDurationMetadata = new WildFlyMetricMetadata("scrape-duration", SUBSYSTEM_ADDRESS, prefix,
+                "Duration of the last scrape of the metrics", MeasurementUnit.NANOSECONDS, MetricMetadata.Type.GAUGE);
+        registry.registerMetric(() -> OptionalDouble.of(prometheusExporter.getLastScrapeDuration()), scrapeDurationMetadata);
+        scrapeMetricCountMetadata = new WildFlyMetricMetadata("scrape-metric-count", SUBSYSTEM_ADDRESS, prefix,
+                "Number of metrics read during the last scrape of the metrics", MeasurementUnit.NONE, MetricMetadata.Type.GAUGE);
+        registry.registerMetric(() -> OptionalDouble.of(prometheusExporter.getLastScrapeMetricCount()), scrapeMetricCountMetadata);
+
         extensibleHttpManagement.get().addManagementHandler(CONTEXT_NAME, securityEnabledSupplier.get(), new HttpHandler() {
             @Override
             public void handleRequest(HttpServerExchange exchange) throws Exception {
@@ -76,13 +100,25 @@ public class MetricsContextService implements Service {
                     return;
                 }
 
+                if (exchange.isInIoThread()) {
+                    exchange.dispatch(this);
+                    return;
+                }
+                PrometheusExporter.Format format = PrometheusExporter.Format.fromAcceptHeader(exchange.getRequestHeaders().getFirst(Headers.ACCEPT));
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, format.getContentType());
+                boolean gzip = acceptsGzip(exchange);
+                if (gzip) {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_ENCODING, GZIP);
+                }
+                exchange.startBlocking();
+                // the response is streamed (using chunked transfer encoding) while the metrics are exported
+                OutputStream output = exchange.getOutputStream();
+                if (gzip) {
+                    output = new GZIPOutputStream(output, BUFFER_SIZE);
+                }
                 WildFlyMetricRegistry metricRegistry = wildflyMetricRegistry.get();
-                metricRegistry.readLock();
-                try {
-                    String wildFlyMetrics = prometheusExporter.export(metricRegistry);
-                    exchange.getResponseSender().send(wildFlyMetrics);
-                } finally {
-                    metricRegistry.unlock();
+                try (OutputStream out = new BufferedOutputStream(output, BUFFER_SIZE)) {
+                    prometheusExporter.export(metricRegistry, format, out);
                 }
             }
         });
@@ -92,9 +128,16 @@ public class MetricsContextService implements Service {
     @Override
     public void stop(StopContext context) {
         extensibleHttpManagement.get().removeContext(CONTEXT_NAME);
+        WildFlyMetricRegistry registry = wildflyMetricRegistry.get();
+        registry.unregister(scrapeDurationMetadata.getMetricID());
+        registry.unregister(scrapeMetricCountMetadata.getMetricID());
         consumer.accept(null);
     }
 
+    private static boolean acceptsGzip(HttpServerExchange exchange) {
+        return ContentNegotiation.quality(exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING), GZIP, "*") > 0d;
+    }
+
     public void setOverrideableMetricHandler(HttpHandler handler) {
         this.overrideableMetricHandler = handler;
     }
@@ -53,7 +53,7 @@ class MetricsSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         WildFlyMetricRegistryService.install(context);
         MetricsCollectorService.install(context);
-        MetricsContextService.install(context, securityEnabled);
+        MetricsContextService.install(context, securityEnabled, prefix);
 
         // If the MP Metrics module is not installed, we need to install the WF Metrics DPU and initiate a metrics
         // collection. If MP Metrics *is* installed, then we do not need to do either of those things, as that module
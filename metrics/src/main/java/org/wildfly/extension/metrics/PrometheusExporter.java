@@ -4,84 +4,126 @@
  */
 package org.wildfly.extension.metrics;
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.OptionalDouble;
-import java.util.Set;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
-import org.jboss.as.controller.client.helpers.MeasurementUnit;
-import org.wildfly.extension.metrics.MetricMetadata.MetricTag;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.OptionalDouble;
 
 public class PrometheusExporter {
 
-    private static final String LF = "\n";
+    /**
+     * The text formats supported by the exporter.
+     */
+    public enum Format {
+        PROMETHEUS("text/plain; version=0.0.4; charset=utf-8"),
+        OPENMETRICS("application/openmetrics-text; version=1.0.0; charset=utf-8"),
+        ;
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Negotiates the format from the value of an HTTP {@code Accept} header.
+         *
+         * @param accept the value of the {@code Accept} header, may be {@code null}
+         * @return OpenMetrics if the client accepts it at least as much as the Prometheus text format, the Prometheus
+         * text format otherwise
+         */
+        public static Format fromAcceptHeader(String accept) {
+            List<String> values = (accept != null) ? List.of(accept) : List.of();
+            double openMetrics = ContentNegotiation.quality(values, "application/openmetrics-text", null);
+            return (openMetrics > 0d && openMetrics >= ContentNegotiation.quality(values, "text/plain", null)) ? OPENMETRICS : PROMETHEUS;
+        }
+    }
+
+    private static final byte LF = '\n';
+    private static final byte[] EOF = "# EOF\n".getBytes(US_ASCII);
+
+    private volatile long lastScrapeDuration;
+    private volatile int lastScrapeMetricCount;
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            export(registry, Format.PROMETHEUS, out);
+        } catch (IOException e) {
+            // not thrown by a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    /**
+     * Writes the metrics of the registry to the given stream.
+     * The names and tags of the metrics are pre-rendered when they are registered so that only their values
+     * are rendered during the export.
+     *
+     * @param registry the registry of the metrics to export
+     * @param format the exposition format
+     * @param out the stream to write to. It is not closed by this method
+     * @throws IOException if the metrics could not be written to the stream
+     */
+    public void export(WildFlyMetricRegistry registry, Format format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
 
-        StringBuilder out = new StringBuilder();
+        // export a snapshot of the registry so that metrics can be registered or unregistered during the export
+        List<RenderedMetric> metrics = registry.getMetrics();
+        // read the values of all the metrics at once before rendering them
+        MetricSnapshot snapshot = MetricSnapshot.collect(metrics);
 
-        for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
-            MetricID metricID = entry.getKey();
-            String metricName = metricID.getMetricName();
-            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
-            String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
-            OptionalDouble metricValue = entry.getValue().getValue();
+        // metrics are sorted by name so the HELP and TYPE of a metric family are written only before its first sample
+        String lastExportedMetricName = null;
+        for (RenderedMetric rendered : metrics) {
+            OptionalDouble metricValue = snapshot.getValue(rendered.getMetric());
             // if the metric does not return a value, we skip printing the HELP and TYPE
             if (!metricValue.isPresent()) {
                 continue;
             }
-            if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
-                out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
-                out.append(LF);
-                alreadyExportedMetrics.add(metricName);
+            if (!rendered.getMetricName().equals(lastExportedMetricName)) {
+                out.write(rendered.getHeader(format));
+                lastExportedMetricName = rendered.getMetricName();
             }
-            double scaledValue = scaleToBaseUnit(metricValue.getAsDouble(), metadata.getMeasurementUnit());
-            // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
-            if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
-                prometheusMetricName += "_" + metadata.getBaseMetricUnit();
-            }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
-            out.append(LF);
+            out.write(rendered.getPrefix(format));
+            out.write(Double.toString(rendered.scaleToBaseUnit(metricValue.getAsDouble())).getBytes(US_ASCII));
+            out.write(LF);
+        }
+        if (format == Format.OPENMETRICS) {
+            out.write(EOF);
         }
 
-        return out.toString();
+        lastScrapeMetricCount = snapshot.size();
+        lastScrapeDuration = System.nanoTime() - start;
     }
 
-    private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
-        return value * MeasurementUnit.calculateOffset(unit, unit.getBaseUnits());
+    /**
+     * Returns the duration of the last completed scrape.
+     *
+     * @return the duration in nanoseconds
+     */
+    long getLastScrapeDuration() {
+        return lastScrapeDuration;
     }
 
-    private static String toPrometheusMetricName(MetricID metricID, MetricMetadata metadata) {
-        String prometheusName = metricID.getMetricName();
-        // change the Prometheus name depending on type and measurement unit
-        if (metadata.getType() == WildFlyMetricMetadata.Type.COUNTER) {
-            prometheusName += "_total";
-        } else {
-            // if it's a gauge, let's add the base unit to the prometheus name
-            String baseUnit = metadata.getBaseMetricUnit();
-            if (!MetricMetadata.NONE.equals(baseUnit)) {
-                prometheusName += "_" + baseUnit;
-            }
-        }
-        return prometheusName;
+    /**
+     * Returns the number of metrics read during the last completed scrape.
+     *
+     * @return the number of metrics
+     */
+    int getLastScrapeMetricCount() {
+        return lastScrapeMetricCount;
     }
 
     public static String getTagsAsAString(MetricID metricID) {
-        MetricTag[] tags = metricID.getTags();
-        if (tags.length == 0) {
-            return "";
-        }
-        StringBuilder out = new StringBuilder("{");
-        for (int i = 0; i < tags.length; i++) {
-            if (i > 0) {
-                out.append(",");
-            }
-            MetricTag tag = tags[i];
-            out.append(tag.getKey() + "=\"" + tag.getValue() + "\"");
-        }
-        return out.append("}").toString();
+        return RenderedMetric.getTagsAsAString(metricID);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.wildfly.extension.metrics.MetricMetadata.MetricTag;
+import org.wildfly.extension.metrics.PrometheusExporter.Format;
+
+/**
+ * A registered metric with its exposition, rendered once at registration time so that scrapes only have
+ * to write its value.
+ */
+class RenderedMetric {
+
+    private final Metric metric;
+    private final String metricName;
+    private final double scale;
+    // indexed by Format ordinal
+    private final byte[][] headers = new byte[Format.values().length][];
+    private final byte[][] prefixes = new byte[Format.values().length][];
+
+    RenderedMetric(MetricID metricID, Metric metric, MetricMetadata metadata) {
+        this.metric = metric;
+        this.metricName = metricID.getMetricName();
+        MeasurementUnit unit = metadata.getMeasurementUnit();
+        this.scale = MeasurementUnit.calculateOffset(unit, unit.getBaseUnits());
+
+        String tags = getTagsAsAString(metricID);
+        String description = escape(metadata.getDescription(), false);
+        String baseUnit = metadata.getBaseMetricUnit();
+        boolean counter = metadata.getType() == MetricMetadata.Type.COUNTER;
+
+        // Prometheus text format
+        String prometheusName = metricName;
+        if (counter) {
+            prometheusName += "_total";
+        } else if (!MetricMetadata.NONE.equals(baseUnit)) {
+            // if it's a gauge, let's add the base unit to the prometheus name
+            prometheusName += "_" + baseUnit;
+        }
+        String prometheusSampleName = prometheusName;
+        // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
+        if (counter && unit != MeasurementUnit.NONE) {
+            prometheusSampleName += "_" + baseUnit;
+        }
+        headers[Format.PROMETHEUS.ordinal()] = header(prometheusName, description, metadata.getType(), false);
+        prefixes[Format.PROMETHEUS.ordinal()] = (prometheusSampleName + tags + " ").getBytes(UTF_8);
+
+        // OpenMetrics text format: the unit is part of the family name and counter samples have a _total suffix
+        String familyName = MetricMetadata.NONE.equals(baseUnit) ? metricName : metricName + "_" + baseUnit;
+        String sampleName = counter ? familyName + "_total" : familyName;
+        headers[Format.OPENMETRICS.ordinal()] = header(familyName, escape(metadata.getDescription(), true), metadata.getType(), true);
+        prefixes[Format.OPENMETRICS.ordinal()] = (sampleName + tags + " ").getBytes(UTF_8);
+    }
+
+    Metric getMetric() {
+        return metric;
+    }
+
+    String getMetricName() {
+        return metricName;
+    }
+
+    /**
+     * Returns the HELP and TYPE lines of the metric family.
+     */
+    byte[] getHeader(Format format) {
+        return headers[format.ordinal()];
+    }
+
+    /**
+     * Returns the sample name and tags of the metric, followed by the separator before its value.
+     */
+    byte[] getPrefix(Format format) {
+        return prefixes[format.ordinal()];
+    }
+
+    double scaleToBaseUnit(double value) {
+        return value * scale;
+    }
+
+    private static byte[] header(String name, String description, MetricMetadata.Type type, boolean openMetrics) {
+        StringBuilder header = new StringBuilder();
+        if (openMetrics) {
+            // OpenMetrics expects the TYPE before the HELP of the family
+            header.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            header.append("# HELP ").append(name).append(' ').append(description).append('\n');
+        } else {
+            header.append("# HELP ").append(name).append(' ').append(description).append('\n');
+            header.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+        return header.toString().getBytes(UTF_8);
+    }
+
+    static String getTagsAsAString(MetricID metricID) {
+        MetricTag[] tags = metricID.getTags();
+        if (tags.length == 0) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder("{");
+        for (int i = 0; i < tags.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            MetricTag tag = tags[i];
+            out.append(tag.getKey()).append("=\"").append(escape(tag.getValue(), true)).append('"');
+        }
+        return out.append('}').toString();
+    }
+
+    private static String escape(String value, boolean escapeQuote) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = (c == '\\') ? "\\\\" : (c == '\n') ? "\\n" : (c == '"' && escapeQuote) ? "\\\"" : null;
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return (escaped != null) ? escaped.toString() : value;
+    }
+}
@@ -40,7 +40,28 @@ public class WildFlyMetric implements Metric {
 
     @Override
     public OptionalDouble getValue() {
-        ModelNode result = readAttributeValue(address, attributeName);
+        return toValue(readAttributeValue(address, attributeName));
+    }
+
+    LocalModelControllerClient getModelControllerClient() {
+        return modelControllerClient;
+    }
+
+    PathAddress getAddress() {
+        return address;
+    }
+
+    String getAttributeName() {
+        return attributeName;
+    }
+
+    /**
+     * Converts the value of this metric's attribute, as read from the management model, to a metric value.
+     *
+     * @param result the attribute value. Cannot be {@code null}
+     * @return the metric value, or an empty value if the attribute is undefined or is not numerical
+     */
+    OptionalDouble toValue(ModelNode result) {
         if (result.isDefined()) {
             try {
                 return OptionalDouble.of(result.asDouble());
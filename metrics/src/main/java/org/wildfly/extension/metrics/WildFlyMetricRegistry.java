@@ -7,35 +7,39 @@ package org.wildfly.extension.metrics;
 import static java.util.Objects.requireNonNull;
 
 import java.io.Closeable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+/**
+ * Registry of the WildFly (and JMX) metrics.
+ *
+ * Metrics are kept sorted by {@link MetricID} in a concurrent map, so that deployments can register and unregister
+ * their metrics concurrently and never block (or are blocked by) scrapes, which export a snapshot of the registry.
+ */
 public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
 
     /* Key is the metric name */
-    private Map<String, MetricMetadata> metadataMap = new HashMap();
-    private Map<MetricID, Metric> metricMap = new TreeMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-
+    private final Map<String, MetricMetadata> metadataMap = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<MetricID, RenderedMetric> metricMap = new ConcurrentSkipListMap<>();
 
     @Override
     public void close() {
-
-        lock.writeLock().lock();
-        try {
-            metricMap.clear();
-            metadataMap.clear();
-        } finally {
-            lock.writeLock().unlock();
-        }
+        metricMap.clear();
+        metadataMap.clear();
     }
 
-    Map<MetricID, Metric> getMetrics() {
-        return metricMap;
+    /**
+     * Returns a snapshot of the registered metrics, sorted by {@link MetricID}.
+     * Metrics registered or unregistered after this method returns do not affect the snapshot.
+     *
+     * @return a snapshot of the registered metrics
+     */
+    List<RenderedMetric> getMetrics() {
+        return new ArrayList<>(metricMap.values());
     }
 
     Map<String, MetricMetadata> getMetricMetadata() {
@@ -43,39 +47,18 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
     }
 
     @Override
-    public synchronized void registerMetric(Metric metric, MetricMetadata metadata) {
+    public void registerMetric(Metric metric, MetricMetadata metadata) {
         requireNonNull(metadata);
         requireNonNull(metric);
 
-        lock.writeLock().lock();
-        try {
-            MetricID metricID = metadata.getMetricID();
-            if (!metadataMap.containsKey(metadata.getMetricName())) {
-                metadataMap.put(metadata.getMetricName(), metadata);
-            }
-            metricMap.put(metricID, metric);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        MetricID metricID = metadata.getMetricID();
+        // all the metrics with the same name are rendered with the metadata of the first registered one
+        MetricMetadata existingMetadata = metadataMap.putIfAbsent(metadata.getMetricName(), metadata);
+        metricMap.put(metricID, new RenderedMetric(metricID, metric, (existingMetadata != null) ? existingMetadata : metadata));
     }
 
     @Override
     public void unregister(MetricID metricID) {
-        lock.writeLock().lock();
-        try {
-            metricMap.remove(metricID);
-        } finally {
-            lock.writeLock().unlock();
-        }
-    }
-
-    @Override
-    public void readLock() {
-        lock.readLock().lock();
-    }
-
-    @Override
-    public void unlock() {
-        lock.readLock().unlock();
+        metricMap.remove(metricID);
     }
-}
\ No newline at end of file
+}
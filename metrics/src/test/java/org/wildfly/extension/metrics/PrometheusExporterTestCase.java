@@ -0,0 +1,75 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Test;
+import org.wildfly.extension.metrics.PrometheusExporter.Format;
+
+/**
+ * Verifies the Prometheus and OpenMetrics expositions and their negotiation.
+ */
+public class PrometheusExporterTestCase {
+
+    private static final String DESCRIPTION = "A \"quoted\" back\\slash\nnew line";
+
+    @Test
+    public void testPrometheusEscaping() throws IOException {
+        assertEquals("# HELP test_metric A \"quoted\" back\\\\slash\\nnew line\n"
+                + "# TYPE test_metric gauge\n"
+                + "test_metric{cache=\"a\\\"b\\\\c\\nd\"} 1.0\n", export(Format.PROMETHEUS));
+    }
+
+    @Test
+    public void testOpenMetricsEscaping() throws IOException {
+        assertEquals("# TYPE test_metric gauge\n"
+                + "# HELP test_metric A \\\"quoted\\\" back\\\\slash\\nnew line\n"
+                + "test_metric{cache=\"a\\\"b\\\\c\\nd\"} 1.0\n"
+                + "# EOF\n", export(Format.OPENMETRICS));
+    }
+
+    @Test
+    public void testFormatNegotiation() {
+        assertEquals(Format.PROMETHEUS, Format.fromAcceptHeader(null));
+        assertEquals(Format.PROMETHEUS, Format.fromAcceptHeader("*/*"));
+        assertEquals(Format.PROMETHEUS, Format.fromAcceptHeader("text/plain;version=0.0.4"));
+        assertEquals(Format.OPENMETRICS, Format.fromAcceptHeader("application/openmetrics-text; version=1.0.0"));
+        // header sent by Prometheus
+        assertEquals(Format.OPENMETRICS, Format.fromAcceptHeader("application/openmetrics-text;version=1.0.0,application/openmetrics-text;version=0.0.1;q=0.75,text/plain;version=0.0.4;q=0.5,*/*;q=0.1"));
+        assertEquals(Format.PROMETHEUS, Format.fromAcceptHeader("application/openmetrics-text;q=0.5,text/plain;q=0.9"));
+        assertEquals(Format.PROMETHEUS, Format.fromAcceptHeader("application/openmetrics-text;q=0"));
+    }
+
+    @Test
+    public void testEncodingNegotiation() {
+        assertEquals(1d, ContentNegotiation.quality(List.of("gzip, deflate, br"), "gzip", "*"), 0d);
+        assertEquals(0.5d, ContentNegotiation.quality(List.of("deflate", "GZIP;q=0.5"), "gzip", "*"), 0d);
+        assertEquals(0d, ContentNegotiation.quality(List.of("gzip;q=0"), "gzip", "*"), 0d);
+        assertEquals(0d, ContentNegotiation.quality(List.of("gzip;q=0, *"), "gzip", "*"), 0d);
+        assertEquals(1d, ContentNegotiation.quality(List.of("identity, *"), "gzip", "*"), 0d);
+        assertEquals(0d, ContentNegotiation.quality(List.of("identity"), "gzip", "*"), 0d);
+        assertEquals(0d, ContentNegotiation.quality(null, "gzip", "*"), 0d);
+    }
+
+    private static String export(Format format) throws IOException {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        PathAddress address = PathAddress.pathAddress(PathElement.pathElement("subsystem", "test"), PathElement.pathElement("cache", "a\"b\\c\nd"));
+        registry.registerMetric(() -> OptionalDouble.of(1), new WildFlyMetricMetadata("metric", address, null, DESCRIPTION, MeasurementUnit.NONE, MetricMetadata.Type.GAUGE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PrometheusExporter().export(registry, format, out);
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import java.util.OptionalDouble;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the contention between the registration and unregistration of the metrics of deployments and the export of the registry,
+ * i.e. scrapes of the metrics endpoint while applications are deployed and undeployed.
+ * The export benchmark run on its own gives the uncontended baseline.
+ * Not executed by the test suite; run via, e.g.:
+ * <pre>java -cp target/test-classes:&lt;test class path&gt; org.openjdk.jmh.Main WildFlyMetricRegistryBenchmark</pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WildFlyMetricRegistryBenchmark {
+
+    private static final int METRICS_PER_DEPLOYMENT = 20;
+
+    // Number of deployments whose metrics remain registered
+    @Param({ "50" })
+    private int deployments;
+
+    private WildFlyMetricRegistry registry;
+    private PrometheusExporter exporter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.registry = new WildFlyMetricRegistry();
+        this.exporter = new PrometheusExporter();
+        for (int i = 0; i < this.deployments; i++) {
+            for (WildFlyMetricMetadata metadata : metadata("deployment-" + i + ".war")) {
+                this.registry.registerMetric(() -> OptionalDouble.of(1), metadata);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void destroy() {
+        this.registry.close();
+    }
+
+    /**
+     * The metrics of a deployment that is repeatedly deployed and undeployed by a given benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Deployment {
+        final WildFlyMetricMetadata[] metadata = metadata("deployment-" + UUID.randomUUID() + ".war");
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(3)
+    public void deploy(Deployment deployment) {
+        for (WildFlyMetricMetadata metadata : deployment.metadata) {
+            this.registry.registerMetric(() -> OptionalDouble.of(1), metadata);
+        }
+        for (WildFlyMetricMetadata metadata : deployment.metadata) {
+            this.registry.unregister(metadata.getMetricID());
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    public String scrape() {
+        return this.exporter.export(this.registry);
+    }
+
+    @Benchmark
+    public String export() {
+        return this.exporter.export(this.registry);
+    }
+
+    static WildFlyMetricMetadata[] metadata(String deployment) {
+        PathAddress address = PathAddress.pathAddress(PathElement.pathElement("deployment", deployment), PathElement.pathElement("subsystem", "test"));
+        WildFlyMetricMetadata[] metadata = new WildFlyMetricMetadata[METRICS_PER_DEPLOYMENT];
+        for (int i = 0; i < metadata.length; i++) {
+            metadata[i] = new WildFlyMetricMetadata("metric" + i, address, null, "A test metric", MeasurementUnit.NONE, MetricMetadata.Type.GAUGE);
+        }
+        return metadata;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Test;
+
+/**
+ * Verifies that metrics can be registered and unregistered concurrently with scrapes of the registry.
+ */
+public class WildFlyMetricRegistryTestCase {
+
+    private static final int DEPLOYMENTS = 50;
+    private static final int METRICS_PER_DEPLOYMENT = 20;
+
+    @Test
+    public void testConcurrentRegistrationAndExport() throws Exception {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        PrometheusExporter exporter = new PrometheusExporter();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> deployments = new ArrayList<>();
+            for (int i = 0; i < DEPLOYMENTS; i++) {
+                String deployment = "deployment-" + i + ".war";
+                deployments.add(executor.submit(() -> {
+                    start.await();
+                    List<MetricID> ids = new ArrayList<>();
+                    for (int j = 0; j < METRICS_PER_DEPLOYMENT; j++) {
+                        WildFlyMetricMetadata metadata = metadata(deployment, "metric" + j);
+                        registry.registerMetric(() -> OptionalDouble.of(1), metadata);
+                        ids.add(metadata.getMetricID());
+                    }
+                    // odd deployments are undeployed
+                    if (deployment.hashCode() % 2 != 0) {
+                        ids.forEach(registry::unregister);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> scrapes = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    exporter.export(registry);
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> deployment : deployments) {
+                deployment.get(30, TimeUnit.SECONDS);
+            }
+            scrapes.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int registered = 0;
+        for (int i = 0; i < DEPLOYMENTS; i++) {
+            if (("deployment-" + i + ".war").hashCode() % 2 == 0) {
+                registered += METRICS_PER_DEPLOYMENT;
+            }
+        }
+        assertEquals(registered, registry.getMetrics().size());
+
+        String export = exporter.export(registry);
+        for (int j = 0; j < METRICS_PER_DEPLOYMENT; j++) {
+            String help = "# HELP test_metric" + j + " ";
+            int index = export.indexOf(help);
+            if (registered > 0) {
+                assertTrue(export, index >= 0);
+                // HELP is written once per metric name
+                assertEquals(export, -1, export.indexOf(help, index + 1));
+            }
+        }
+    }
+
+    private static WildFlyMetricMetadata metadata(String deployment, String attributeName) {
+        PathAddress address = PathAddress.pathAddress(PathElement.pathElement("deployment", deployment), PathElement.pathElement("subsystem", "test"));
+        return new WildFlyMetricMetadata(attributeName, address, null, "A test metric", MeasurementUnit.NONE, MetricMetadata.Type.GAUGE);
+    }
+}
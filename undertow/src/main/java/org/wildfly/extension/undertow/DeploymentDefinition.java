@@ -41,6 +41,7 @@ import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 
 /**
@@ -138,6 +139,9 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        for (RequestTimePercentile percentile : RequestTimePercentile.values()) {
+            resourceRegistration.registerMetric(percentile.getDefinition(), new RequestTimePercentileHandler(percentile));
+        }
     }
 
     @Override
@@ -354,6 +358,40 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         }
     }
 
+    static class RequestTimePercentileHandler extends AbstractRuntimeOnlyHandler {
+
+        private final RequestTimePercentile percentile;
+
+        RequestTimePercentileHandler(RequestTimePercentile percentile) {
+            this.percentile = percentile;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = SERVER.resolveModelAttribute(context, subModel).asString();
+
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {//check if deployment is active at all
+                return;
+            }
+            final UndertowDeploymentService deploymentService = (UndertowDeploymentService) controller.getService();
+            if (deploymentService == null || deploymentService.getDeploymentInfo() == null) {
+                return;
+            }
+            final UndertowMetricsCollector collector = (UndertowMetricsCollector) deploymentService.getDeploymentInfo().getMetricsCollector();
+            if (collector != null) {
+                context.getResult().set(collector.getDeploymentHistogram().getValueAtQuantile(this.percentile.getQuantile()));
+            }
+        }
+    }
+
     private static SessionManager getSessionManager(OperationContext context, ModelNode operation) throws OperationFailedException {
         final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
         final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
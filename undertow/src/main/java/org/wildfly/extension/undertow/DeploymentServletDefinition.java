@@ -23,6 +23,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.ee.metrics.LatencyHistogram;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
@@ -96,6 +97,17 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                 response.set(metricResult.getTotalRequests());
             }
         });
+        for (RequestTimePercentile percentile : RequestTimePercentile.values()) {
+            registration.registerMetric(percentile.getDefinition(), new AbstractCollectorHandler() {
+                @Override
+                void handle(final OperationContext context, final UndertowMetricsCollector collector, final String servletName) {
+                    LatencyHistogram histogram = collector.getHistogram(servletName);
+                    if (histogram != null) {
+                        context.getResult().set(histogram.getValueAtQuantile(percentile.getQuantile()));
+                    }
+                }
+            });
+        }
         registration.registerReadOnlyAttribute(SERVLET_MAPPINGS, new OperationStepHandler() {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -130,10 +142,25 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
         });
     }
 
-    abstract static class AbstractMetricsHandler implements OperationStepHandler {
+    abstract static class AbstractMetricsHandler extends AbstractCollectorHandler {
 
         abstract void handle(ModelNode response, MetricsHandler.MetricResult metricResult);
 
+        @Override
+        void handle(final OperationContext context, final UndertowMetricsCollector collector, final String servletName) {
+            MetricsHandler.MetricResult result = collector.getMetrics(servletName);
+            if (result != null) {
+                final ModelNode response = new ModelNode();
+                handle(response, result);
+                context.getResult().set(response);
+            }
+        }
+    }
+
+    abstract static class AbstractCollectorHandler implements OperationStepHandler {
+
+        abstract void handle(OperationContext context, UndertowMetricsCollector collector, String servletName);
+
         @Override
         public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
             final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
@@ -156,11 +183,8 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                     final DeploymentInfo deploymentInfo = deploymentService.getDeploymentInfo();
                     final UndertowMetricsCollector collector = (UndertowMetricsCollector)deploymentInfo.getMetricsCollector();
 
-                    MetricsHandler.MetricResult result = collector != null ? collector.getMetrics(context.getCurrentAddressValue()) : null;
-                    if (result != null) {
-                        final ModelNode response = new ModelNode();
-                        handle(response, result);
-                        context.getResult().set(response);
+                    if (collector != null) {
+                        handle(context, collector, context.getCurrentAddressValue());
                     }
                 }
             }, OperationContext.Stage.RUNTIME);
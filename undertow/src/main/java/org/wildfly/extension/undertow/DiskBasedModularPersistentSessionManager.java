@@ -4,8 +4,10 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.servlet.UndertowServletLogger;
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.ByteBufferInput;
 import org.jboss.marshalling.InputStreamByteInput;
 import org.jboss.marshalling.Marshaller;
 import org.jboss.marshalling.OutputStreamByteOutput;
@@ -15,23 +17,37 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.IoUtils;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Persistent session manager that stores persistent session information to disk
+ * <p>
+ * If the {@value #SEGMENT_STORE_PROPERTY} system property is set, the sessions of a deployment are stored individually in a {@link SessionSegmentStore},
+ * such that only modified sessions are written, and the attributes of a session are only read on first access after a restart.
  *
  * @author Stuart Douglas
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
  */
 public class DiskBasedModularPersistentSessionManager extends AbstractPersistentSessionManager {
+    static final String SEGMENT_STORE_PROPERTY = "org.wildfly.extension.undertow.persistent-sessions.segment-store";
+    private static final boolean SEGMENT_STORE = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(SEGMENT_STORE_PROPERTY, "false"));
+    private static final String SEGMENT_FILE_SUFFIX = ".segment";
+
+    private final Map<String, SessionSegmentStore> stores = new ConcurrentHashMap<>();
     private final String path;
     private final String pathRelativeTo;
     private final Supplier<PathManager> pathManager;
@@ -51,6 +67,10 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
     @Override
     public void stop(final StopContext stopContext) {
         super.stop(stopContext);
+        for (SessionSegmentStore store : stores.values()) {
+            store.close();
+        }
+        stores.clear();
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -74,6 +94,10 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
 
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
+        if (SEGMENT_STORE) {
+            persistSegments(deploymentName, serializedData);
+            return;
+        }
         File file = new File(baseDir, deploymentName);
         FileOutputStream out = new FileOutputStream(file, false);
         try {
@@ -116,4 +140,97 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         }
 
     }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
+        if (!SEGMENT_STORE) {
+            return super.loadSessionAttributes(deploymentName, classLoader);
+        }
+        SessionSegmentStore store = stores.computeIfAbsent(deploymentName, this::createStore);
+        try {
+            Map<String, Date> sessions = store.load();
+            Map<String, PersistentSession> result = new HashMap<>();
+            for (Map.Entry<String, Date> session : sessions.entrySet()) {
+                result.put(session.getKey(), new LazyPersistentSession(store, session.getKey(), session.getValue()));
+            }
+            return result;
+        } catch (IOException e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+            return null;
+        }
+    }
+
+    private void persistSegments(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
+        SessionSegmentStore store = stores.remove(deploymentName);
+        if (store == null) {
+            // Sessions of this deployment were never loaded
+            store = createStore(deploymentName);
+            store.load();
+        }
+        try {
+            for (Map.Entry<String, SessionEntry> entry : serializedData.entrySet()) {
+                store.put(entry.getKey(), entry.getValue().getExpiry(), entry.getValue().getData());
+            }
+            store.retain(serializedData.keySet());
+            if (store.isCompactionRequired()) {
+                store.compact();
+            }
+            store.force();
+        } finally {
+            store.close();
+        }
+    }
+
+    private SessionSegmentStore createStore(String deploymentName) {
+        return new SessionSegmentStore(new File(baseDir, deploymentName + SEGMENT_FILE_SUFFIX));
+    }
+
+    /**
+     * A persistent session whose attributes are only read from its segment store on first access.
+     */
+    private class LazyPersistentSession extends PersistentSession {
+        private final SessionSegmentStore store;
+        private final String id;
+        private volatile Map<String, Object> sessionData;
+
+        LazyPersistentSession(SessionSegmentStore store, String id, Date expiration) {
+            super(expiration, null);
+            this.store = store;
+            this.id = id;
+        }
+
+        @Override
+        public Map<String, Object> getSessionData() {
+            Map<String, Object> sessionData = this.sessionData;
+            if (sessionData == null) {
+                sessionData = this.read();
+                this.sessionData = sessionData;
+            }
+            return sessionData;
+        }
+
+        private Map<String, Object> read() {
+            try {
+                Map<String, byte[]> data = this.store.read(this.id);
+                if (data == null) {
+                    return Collections.emptyMap();
+                }
+                Map<String, Object> session = new HashMap<>();
+                Unmarshaller unmarshaller = createUnmarshaller();
+                try {
+                    for (Map.Entry<String, byte[]> attribute : data.entrySet()) {
+                        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(attribute.getValue())));
+                        session.put(attribute.getKey(), unmarshaller.readObject());
+                        unmarshaller.finish();
+                    }
+                } finally {
+                    unmarshaller.close();
+                }
+                return session;
+            } catch (IOException | ClassNotFoundException e) {
+                UndertowLogger.ROOT_LOGGER.failedToRestorePersistentSession(this.id, e);
+                return Collections.emptyMap();
+            }
+        }
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.MICROSECONDS;
+
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Request processing time percentiles exposed as metrics of a deployment and of its servlets.
+ */
+enum RequestTimePercentile {
+    P50("request-time-p50", 0.5d),
+    P90("request-time-p90", 0.9d),
+    P99("request-time-p99", 0.99d),
+    P999("request-time-p999", 0.999d),
+    ;
+    private final SimpleAttributeDefinition definition;
+    private final double quantile;
+
+    RequestTimePercentile(String name, double quantile) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MICROSECONDS)
+                .setStorageRuntime()
+                .build();
+        this.quantile = quantile;
+    }
+
+    SimpleAttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    double getQuantile() {
+        return this.quantile;
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.xnio.IoUtils;
+
+/**
+ * An append-only segment file holding the persistent sessions of a deployment, one record per session.
+ * <p>
+ * Each record either stores the expiration time and serialized attributes of a session or removes a session, and is followed by its CRC-32 checksum.
+ * The file is read via a memory mapping, such that loading the file only builds an index of the live sessions, while the attributes of a session are only read on demand.
+ * A session is only appended if its record differs from the record currently stored for it.
+ * Once the file holds more obsolete than live bytes, it is compacted by atomically replacing it with a file holding only the live records.
+ * <p>
+ * This class is thread safe.
+ */
+final class SessionSegmentStore implements Closeable {
+
+    private static final int MAGIC = 0x55535347;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // Size in bytes below which the file is never compacted
+    private static final long COMPACTION_THRESHOLD = 1 << 20;
+    // Maximum size of a single mapped region of the file
+    private static final long MAPPING_SIZE = 1 << 30;
+
+    private final File file;
+    private final Map<String, Segment> segments = new LinkedHashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer mapping;
+    private long mappingOffset;
+    private long size;
+    private long liveBytes;
+
+    SessionSegmentStore(File file) {
+        this.file = file;
+    }
+
+    File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Opens the segment file, creating it if it does not exist, and indexes the stored sessions.
+     *
+     * @return the expiration time of the stored sessions that have not yet expired, by session id, in the order of their last update
+     * @throws IOException if the segment file cannot be read or created
+     */
+    synchronized Map<String, Date> load() throws IOException {
+        this.close();
+        this.segments.clear();
+        this.liveBytes = 0;
+        this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = this.channel.size();
+        if (this.size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            this.write(header);
+        } else {
+            long valid = this.index();
+            if (valid < this.size) {
+                UndertowLogger.ROOT_LOGGER.persistentSessionSegmentTruncated(this.file, valid);
+                this.channel.truncate(valid);
+                this.size = valid;
+                this.mapping = null;
+            }
+        }
+        long time = System.currentTimeMillis();
+        Map<String, Date> sessions = new LinkedHashMap<>();
+        for (Map.Entry<String, Segment> entry : this.segments.entrySet()) {
+            long expiry = entry.getValue().expiry;
+            if (expiry > time) {
+                sessions.put(entry.getKey(), new Date(expiry));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Reads the records of the segment file into the index.
+     *
+     * @return the offset following the last valid record
+     */
+    private long index() throws IOException {
+        if (this.size < HEADER_SIZE) {
+            throw new IOException(this.file.getAbsolutePath());
+        }
+        ByteBuffer header = this.map(0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException(this.file.getAbsolutePath());
+        }
+        long offset = HEADER_SIZE;
+        CRC32 checksum = new CRC32();
+        while (offset + 4 <= this.size) {
+            int length = this.map(offset, 4).getInt();
+            if (length <= 0 || offset + length + 8 > this.size) {
+                return offset;
+            }
+            ByteBuffer record = this.map(offset + 4, length + 4);
+            checksum.reset();
+            checksum.update(record.duplicate().limit(length));
+            if ((int) checksum.getValue() != record.getInt(length)) {
+                return offset;
+            }
+            DataInputStream in = new DataInputStream(new ByteBufferInputStream(record.limit(length)));
+            byte type = in.readByte();
+            String id = in.readUTF();
+            if (type == PUT) {
+                this.replace(id, new Segment(offset, length + 8, in.readLong()));
+            } else if (type == REMOVE) {
+                this.replace(id, null);
+            } else {
+                return offset;
+            }
+            offset += length + 8;
+        }
+        return offset;
+    }
+
+    /**
+     * Reads the serialized attributes of a session.
+     *
+     * @param id a session id
+     * @return the serialized attributes of the session, by attribute name, or null, if the store does not hold this session
+     * @throws IOException if the session cannot be read
+     */
+    synchronized Map<String, byte[]> read(String id) throws IOException {
+        Segment segment = this.segments.get(id);
+        if (segment == null) return null;
+        if (this.channel == null) {
+            throw new IOException(this.file.getAbsolutePath());
+        }
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(this.map(segment.offset + 4, segment.length - 8)));
+        in.readByte();
+        in.readUTF();
+        in.readLong();
+        int count = in.readInt();
+        Map<String, byte[]> data = new HashMap<>();
+        for (int i = 0; i < count; ++i) {
+            String name = in.readUTF();
+            byte[] value = new byte[in.readInt()];
+            in.readFully(value);
+            data.put(name, value);
+        }
+        return data;
+    }
+
+    /**
+     * Stores a session, unless the store already holds the same state for this session.
+     *
+     * @param id a session id
+     * @param expiry the expiration time of the session
+     * @param data the serialized attributes of the session, by attribute name
+     * @return true, if the session was written, false if it was unchanged
+     */
+    synchronized boolean put(String id, Date expiry, Map<String, byte[]> data) throws IOException {
+        ByteBuffer record = record(PUT, id, expiry.getTime(), data);
+        Segment existing = this.segments.get(id);
+        if ((existing != null) && (existing.length == record.remaining()) && this.map(existing.offset, existing.length).equals(record)) {
+            return false;
+        }
+        long offset = this.size;
+        int length = record.remaining();
+        this.write(record);
+        this.replace(id, new Segment(offset, length, expiry.getTime()));
+        return true;
+    }
+
+    /**
+     * Removes all sessions other than the specified sessions from the store.
+     *
+     * @param ids the ids of the sessions to retain
+     * @return the number of removed sessions
+     */
+    synchronized int retain(Collection<String> ids) throws IOException {
+        int removed = 0;
+        Iterator<Map.Entry<String, Segment>> entries = this.segments.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Segment> entry = entries.next();
+            if (!ids.contains(entry.getKey())) {
+                this.write(record(REMOVE, entry.getKey(), 0, null));
+                this.liveBytes -= entry.getValue().length;
+                entries.remove();
+                removed += 1;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Whether the segment file holds enough obsolete records to be worth compacting.
+     */
+    synchronized boolean isCompactionRequired() {
+        return (this.size >= COMPACTION_THRESHOLD) && (this.size - HEADER_SIZE - this.liveBytes > this.liveBytes);
+    }
+
+    /**
+     * Replaces the segment file with a file holding the live records only.
+     */
+    synchronized void compact() throws IOException {
+        File compacted = new File(this.file.getParentFile(), this.file.getName() + ".compact");
+        Map<String, Segment> segments = new LinkedHashMap<>();
+        try (FileChannel target = FileChannel.open(compacted.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            while (header.hasRemaining()) {
+                target.write(header);
+            }
+            long offset = HEADER_SIZE;
+            for (Map.Entry<String, Segment> entry : this.segments.entrySet()) {
+                Segment segment = entry.getValue();
+                ByteBuffer record = this.map(segment.offset, segment.length);
+                while (record.hasRemaining()) {
+                    target.write(record);
+                }
+                segments.put(entry.getKey(), new Segment(offset, segment.length, segment.expiry));
+                offset += segment.length;
+            }
+            // the compacted file must be durable before it replaces the previous one
+            target.force(true);
+        }
+        this.close();
+        Files.move(compacted.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = this.channel.size();
+        this.segments.clear();
+        this.segments.putAll(segments);
+    }
+
+    /**
+     * Flushes any written records to disk.
+     */
+    synchronized void force() throws IOException {
+        this.channel.force(false);
+    }
+
+    private void replace(String id, Segment segment) {
+        Segment existing = this.segments.remove(id);
+        if (existing != null) {
+            this.liveBytes -= existing.length;
+        }
+        if (segment != null) {
+            this.segments.put(id, segment);
+            this.liveBytes += segment.length;
+        }
+    }
+
+    /**
+     * Returns a view of the specified region of the segment file, remapping the file if the region lies outside of the current mapping.
+     */
+    private ByteBuffer map(long offset, int length) throws IOException {
+        if ((this.mapping == null) || (offset < this.mappingOffset) || (offset + length > this.mappingOffset + this.mapping.capacity())) {
+            this.mapping = this.channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.max(length, Math.min(MAPPING_SIZE, this.size - offset)));
+            this.mappingOffset = offset;
+        }
+        ByteBuffer buffer = this.mapping.duplicate();
+        int position = (int) (offset - this.mappingOffset);
+        buffer.limit(position + length).position(position);
+        return buffer.slice();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.size += this.channel.write(buffer, this.size);
+        }
+    }
+
+    private static ByteBuffer record(byte type, String id, long expiry, Map<String, byte[]> data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeByte(type);
+        out.writeUTF(id);
+        if (type == PUT) {
+            out.writeLong(expiry);
+            out.writeInt(data.size());
+            // Sort attributes so that the record of an unchanged session is reproducible
+            for (Map.Entry<String, byte[]> entry : new TreeMap<>(data).entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        }
+        out.writeInt(0);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int length = buffer.capacity() - 8;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 4, length);
+        buffer.putInt(0, length);
+        buffer.putInt(4 + length, (int) checksum.getValue());
+        return buffer;
+    }
+
+    @Override
+    public synchronized void close() {
+        IoUtils.safeClose(this.channel);
+        this.channel = null;
+        this.mapping = null;
+    }
+
+    private static class Segment {
+        final long offset;
+        final int length;
+        final long expiry;
+
+        Segment(long offset, int length, long expiry) {
+            this.offset = offset;
+            this.length = length;
+            this.expiry = expiry;
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!this.buffer.hasRemaining()) return -1;
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
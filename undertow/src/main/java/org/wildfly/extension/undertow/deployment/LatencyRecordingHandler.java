@@ -0,0 +1,74 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ee.metrics.LatencyHistogram;
+
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.servlet.handlers.ServletChain;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.util.AttachmentKey;
+
+/**
+ * Records the processing time of each request into the latency histograms of the target servlet and of the deployment.
+ * Synchronous requests are recorded once handled, while asynchronous requests are recorded on completion of the exchange.
+ * Each exchange is recorded once, i.e. forwards, includes and asynchronous dispatches within an exchange, which re-enter this handler,
+ * are not recorded separately.
+ */
+class LatencyRecordingHandler implements HttpHandler {
+    private static final AttachmentKey<Boolean> RECORDING = AttachmentKey.create(Boolean.class);
+
+    private final HttpHandler next;
+    private final UndertowMetricsCollector collector;
+
+    LatencyRecordingHandler(HttpHandler next, UndertowMetricsCollector collector) {
+        this.next = next;
+        this.collector = collector;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (exchange.putAttachment(RECORDING, Boolean.TRUE) != null) {
+            // This exchange is already recorded by an enclosing dispatch
+            this.next.handleRequest(exchange);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            this.next.handleRequest(exchange);
+        } finally {
+            ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+            ServletChain servlet = (context != null) ? context.getCurrentServlet() : null;
+            LatencyHistogram histogram = (servlet != null) ? this.collector.getHistogram(servlet.getManagedServlet().getServletInfo().getName()) : null;
+            if (!exchange.isComplete() && (context != null) && context.getServletRequest().isAsyncStarted()) {
+                exchange.addExchangeCompleteListener(new ExchangeCompletionListener() {
+                    @Override
+                    public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
+                        try {
+                            LatencyRecordingHandler.this.record(histogram, start);
+                        } finally {
+                            nextListener.proceed();
+                        }
+                    }
+                });
+            } else {
+                this.record(histogram, start);
+            }
+        }
+    }
+
+    private void record(LatencyHistogram histogram, long start) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        if (histogram != null) {
+            histogram.record(micros);
+        }
+        this.collector.getDeploymentHistogram().record(micros);
+    }
+}
@@ -30,14 +30,36 @@ public class ServletResourceManager implements ResourceManager {
     private final Collection<VirtualFile> overlays;
     private final ResourceManager[] externalOverlays;
     private final boolean explodedDeployment;
+    private final PathResourceManager.ETagFunction eTagFunction;
 
     public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
                                   boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
                                   List<String> externalOverlays) throws IOException {
+        this(resourcesRoot, overlays, explodedDeployment, followSymlink, disableFileWatchService, externalOverlays, null);
+    }
+
+    /**
+     * @param eTagFunction generates the entity tags of the deployment resources, or null, if resources should not have an entity tag
+     */
+    public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
+                                  boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
+                                  List<String> externalOverlays, PathResourceManager.ETagFunction eTagFunction) throws IOException {
         this.explodedDeployment = explodedDeployment;
+        this.eTagFunction = eTagFunction;
         Path physicalFile = resourcesRoot.getPhysicalFile().toPath().toRealPath();
-        deploymentResourceManager = new PathResourceManager(physicalFile, TRANSFER_MIN_SIZE, true,
-                followSymlink, !disableFileWatchService);
+        if (eTagFunction != null) {
+            deploymentResourceManager = PathResourceManager.builder()
+                    .setBase(physicalFile)
+                    .setTransferMinSize(TRANSFER_MIN_SIZE)
+                    .setCaseSensitive(true)
+                    .setFollowLinks(followSymlink)
+                    .setAllowResourceChangeListeners(!disableFileWatchService)
+                    .setETagFunction(eTagFunction)
+                    .build();
+        } else {
+            deploymentResourceManager = new PathResourceManager(physicalFile, TRANSFER_MIN_SIZE, true,
+                    followSymlink, !disableFileWatchService);
+        }
         this.overlays = overlays;
         if(externalOverlays == null) {
             this.externalOverlays = new ResourceManager[0];
@@ -80,7 +102,7 @@ public class ServletResourceManager implements ResourceManager {
                         //CanonicalPathUtils should make sure this cannot happen
                         //but just to be safe we do it anyway
                         child.getPathNameRelativeTo(overlay);
-                        return new ServletResource(this, new VirtualFileResource(overlay.getPhysicalFile(), child, canonical));
+                        return new ServletResource(this, new VirtualFileResource(overlay.getPhysicalFile(), child, canonical, eTagFunction != null));
                     } catch (IllegalArgumentException ignore) {
 
                     }
@@ -155,7 +177,7 @@ public class ServletResourceManager implements ResourceManager {
                 for (VirtualFile overlay : overlays) {
                     VirtualFile child = overlay.getChild(p);
                     if (child.exists()) {
-                        VirtualFileResource vfsResource = new VirtualFileResource(overlay.getPhysicalFile(), child, path);
+                        VirtualFileResource vfsResource = new VirtualFileResource(overlay.getPhysicalFile(), child, path, eTagFunction != null);
                         for (Resource c : vfsResource.list()) {
                             ret.add(new ServletResource(this, c));
                         }
@@ -0,0 +1,40 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.util.ETag;
+
+/**
+ * Generates a strong entity tag for a static resource from its size and last modification time,
+ * allowing clients to revalidate cached static resources via conditional requests.
+ */
+public class StaticResourceETagFunction implements PathResourceManager.ETagFunction {
+
+    public static final StaticResourceETagFunction INSTANCE = new StaticResourceETagFunction();
+
+    private StaticResourceETagFunction() {
+    }
+
+    @Override
+    public ETag generate(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.isDirectory() ? null : createETag(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static ETag createETag(long size, long lastModified) {
+        return new ETag(false, Long.toHexString(lastModified) + '-' + Long.toHexString(size));
+    }
+}
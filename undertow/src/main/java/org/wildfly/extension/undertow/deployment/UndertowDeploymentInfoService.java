@@ -162,6 +162,11 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     public static final String DEFAULT_SERVLET_NAME = "default";
     public static final String UNDERTOW = "undertow";
 
+    /**
+     * Context parameter that enables caching of static resources, along with their strong entity tags and pre-compressed variants.
+     */
+    public static final String STATIC_RESOURCE_CACHE_PARAM = "org.wildfly.extension.undertow.deployment.static-resource-cache";
+
     private DeploymentInfo deploymentInfo;
     private Registration registration;
 
@@ -388,7 +393,9 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             }
             deploymentInfo.setServerName(serverEnvironment.get().getProductConfig().getPrettyVersionString());
             if (undertowService.get().isStatisticsEnabled()) {
-                deploymentInfo.setMetricsCollector(new UndertowMetricsCollector());
+                UndertowMetricsCollector collector = new UndertowMetricsCollector();
+                deploymentInfo.setMetricsCollector(collector);
+                deploymentInfo.addInnerHandlerChainWrapper(collector);
             }
 
             ControlPoint controlPoint = this.controlPoint != null ? this.controlPoint.get() : null;
@@ -487,7 +494,16 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 //TODO: make the caching limits configurable
                 List<String> externalOverlays = mergedMetaData.getOverlays();
 
-                ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays);
+                boolean staticResourceCache = isStaticResourceCacheEnabled();
+                if (staticResourceCache) {
+                    if (servletContainer.getBufferCache() == null) {
+                        UndertowLogger.ROOT_LOGGER.debugf("The content of the static resources of %s is not cached, since the servlet container does not reference a buffer cache", deploymentName);
+                    }
+                    d.addPreCompressedResourceEncoding("br", ".br");
+                    d.addPreCompressedResourceEncoding("gzip", ".gz");
+                }
+
+                ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays, staticResourceCache ? StaticResourceETagFunction.INSTANCE : null);
 
                 resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), resourceManager, servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive());
                 if(externalResources != null && !externalResources.isEmpty()) {
@@ -1010,6 +1026,17 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         }
     }
 
+    private boolean isStaticResourceCacheEnabled() {
+        if (mergedMetaData.getContextParams() != null) {
+            for (ParamValueMetaData param : mergedMetaData.getContextParams()) {
+                if (STATIC_RESOURCE_CACHE_PARAM.equals(param.getParamName())) {
+                    return Boolean.parseBoolean(param.getParamValue());
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Convert the authentication method name from the format specified in the web.xml to the format used by
      * {@link jakarta.servlet.http.HttpServletRequest}.
@@ -5,27 +5,57 @@
 
 package org.wildfly.extension.undertow.deployment;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.jboss.as.ee.metrics.LatencyHistogram;
+
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.MetricsHandler;
 import io.undertow.servlet.api.MetricsCollector;
 
 /**
  * @author Tomaz Cerar (c) 2014 Red Hat Inc.
  */
-public class UndertowMetricsCollector implements MetricsCollector {
-    private final Map<String, MetricsHandler> metrics = new HashMap<>();
+public class UndertowMetricsCollector implements MetricsCollector, HandlerWrapper {
+    private final Map<String, MetricsHandler> metrics = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final LatencyHistogram deploymentHistogram = new LatencyHistogram();
 
     @Override
     public void registerMetric(String name, MetricsHandler handler) {
         metrics.put(name, handler);
+        histograms.computeIfAbsent(name, key -> new LatencyHistogram());
     }
 
     public MetricsHandler.MetricResult getMetrics(String name) {
-        if (metrics.containsKey(name)) {
-            return metrics.get(name).getMetrics();
-        }
-        return null;
+        MetricsHandler handler = metrics.get(name);
+        return (handler != null) ? handler.getMetrics() : null;
+    }
+
+    /**
+     * Returns the request processing time histogram of the specified servlet.
+     * @param name a servlet name
+     * @return a histogram, or null, if no such servlet was registered
+     */
+    public LatencyHistogram getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * Returns the request processing time histogram of all servlets of the deployment.
+     * @return a histogram
+     */
+    public LatencyHistogram getDeploymentHistogram() {
+        return deploymentHistogram;
+    }
+
+    /**
+     * Wraps the servlet dispatching handler of the deployment, recording the processing time of each request.
+     */
+    @Override
+    public HttpHandler wrap(HttpHandler handler) {
+        return new LatencyRecordingHandler(handler, this);
     }
 }
@@ -37,11 +37,20 @@ public class VirtualFileResource implements Resource {
     private final File resourceManagerRoot;
     private final VirtualFile file;
     private final String path;
+    private final boolean eTagEnabled;
 
     public VirtualFileResource(File resourceManagerRoot, final VirtualFile file, String path) {
+        this(resourceManagerRoot, file, path, false);
+    }
+
+    /**
+     * @param eTagEnabled whether the static resource cache is enabled, in which case this resource has a strong entity tag, derived from its size and last modification time
+     */
+    public VirtualFileResource(File resourceManagerRoot, final VirtualFile file, String path, boolean eTagEnabled) {
         this.resourceManagerRoot = resourceManagerRoot;
         this.file = file;
         this.path = path;
+        this.eTagEnabled = eTagEnabled;
     }
 
     @Override
@@ -65,7 +74,10 @@ public class VirtualFileResource implements Resource {
 
     @Override
     public ETag getETag() {
-        return null;
+        if (!eTagEnabled || file.isDirectory()) {
+            return null;
+        }
+        return StaticResourceETagFunction.createETag(file.getSize(), file.getLastModified());
     }
 
     @Override
@@ -82,7 +94,7 @@ public class VirtualFileResource implements Resource {
     public List<Resource> list() {
         final List<Resource> resources = new ArrayList<Resource>();
         for (VirtualFile child : file.getChildren()) {
-            resources.add(new VirtualFileResource(resourceManagerRoot, child, path));
+            resources.add(new VirtualFileResource(resourceManagerRoot, child, path, eTagEnabled));
         }
         return resources;
     }
@@ -204,7 +216,8 @@ public class VirtualFileResource implements Resource {
             }
         }
 
-        BaseFileTask task = new TransferTask();
+        // If the static resource cache is enabled, small resources are sent from a pooled buffer, which allows a caching resource manager to retain them
+        BaseFileTask task = (eTagEnabled && (file.getSize() < ServletResourceManager.TRANSFER_MIN_SIZE)) ? new ServerTask() : new TransferTask();
         if (exchange.isInIoThread()) {
             exchange.dispatch(task);
         } else {
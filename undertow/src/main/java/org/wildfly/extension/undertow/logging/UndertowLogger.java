@@ -428,4 +428,12 @@ public interface UndertowLogger extends BasicLogger {
     @Message(id = 111, value = "The annotation: '%s' will have no effect on Servlet: '%s'")
     void badAnnotationOnServlet(String annotation, String servlet);
 
+    @LogMessage(level = WARN)
+    @Message(id = 112, value = "Discarding incomplete records of persistent session file %s following offset %d")
+    void persistentSessionSegmentTruncated(File file, long offset);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 113, value = "Failed to restore persistent session %s")
+    void failedToRestorePersistentSession(String sessionId, @Cause Throwable cause);
+
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link SessionSegmentStore}.
+ */
+public class SessionSegmentStoreTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void persistAndLoad() throws IOException {
+        File file = new File(this.folder.getRoot(), "test.war.segment");
+        Date expiry = new Date(System.currentTimeMillis() + 60_000);
+        Date expired = new Date(System.currentTimeMillis() - 60_000);
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            Assert.assertTrue(store.load().isEmpty());
+            Assert.assertTrue(store.put("foo", expiry, Map.of("a", new byte[] { 1, 2, 3 }, "b", new byte[] { 4 })));
+            Assert.assertTrue(store.put("bar", expiry, Map.of("c", new byte[] { 5 })));
+            Assert.assertTrue(store.put("baz", expired, Map.of()));
+            store.force();
+        }
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            Map<String, Date> sessions = store.load();
+            // Expired sessions are not loaded
+            Assert.assertEquals(Set.of("foo", "bar"), sessions.keySet());
+            Assert.assertEquals(expiry, sessions.get("foo"));
+
+            Map<String, byte[]> data = store.read("foo");
+            Assert.assertEquals(Set.of("a", "b"), data.keySet());
+            Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, data.get("a"));
+            Assert.assertArrayEquals(new byte[] { 4 }, data.get("b"));
+
+            // Unchanged sessions are not rewritten
+            long length = file.length();
+            Assert.assertFalse(store.put("foo", expiry, Map.of("b", new byte[] { 4 }, "a", new byte[] { 1, 2, 3 })));
+            Assert.assertEquals(length, file.length());
+
+            Assert.assertTrue(store.put("bar", expiry, Map.of("c", new byte[] { 6 })));
+            Assert.assertEquals(2, store.retain(Set.of("bar")));
+            Assert.assertNull(store.read("foo"));
+            store.force();
+        }
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            Assert.assertEquals(Set.of("bar"), store.load().keySet());
+            Assert.assertArrayEquals(new byte[] { 6 }, store.read("bar").get("c"));
+        }
+    }
+
+    @Test
+    public void truncated() throws IOException {
+        File file = new File(this.folder.getRoot(), "test.war.segment");
+        Date expiry = new Date(System.currentTimeMillis() + 60_000);
+
+        long length = 0;
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            store.load();
+            store.put("foo", expiry, Map.of("a", new byte[] { 1 }));
+            length = file.length();
+            store.put("bar", expiry, Map.of("b", new byte[] { 2, 3, 4, 5 }));
+        }
+        // Simulate a partially written record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(file.length() - 2);
+        }
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            Assert.assertEquals(Set.of("foo"), store.load().keySet());
+            Assert.assertEquals(length, file.length());
+            Assert.assertTrue(store.put("bar", expiry, Map.of("b", new byte[] { 2 })));
+        }
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            Assert.assertEquals(Set.of("foo", "bar"), store.load().keySet());
+        }
+    }
+
+    @Test
+    public void compact() throws IOException {
+        File file = new File(this.folder.getRoot(), "test.war.segment");
+        Date expiry = new Date(System.currentTimeMillis() + 60_000);
+        byte[] value = new byte[4096];
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            store.load();
+            for (int i = 0; i < 512; ++i) {
+                value[0] = (byte) i;
+                store.put("foo", expiry, Map.of("a", value));
+            }
+            store.put("bar", expiry, Map.of("b", new byte[] { 1 }));
+            Assert.assertTrue(store.isCompactionRequired());
+            long length = file.length();
+            store.compact();
+            Assert.assertFalse(store.isCompactionRequired());
+            Assert.assertTrue(file.length() < length);
+
+            Assert.assertEquals((byte) 511, store.read("foo").get("a")[0]);
+            Assert.assertArrayEquals(new byte[] { 1 }, store.read("bar").get("b"));
+            Assert.assertTrue(store.put("baz", expiry, Map.of()));
+        }
+
+        try (SessionSegmentStore store = new SessionSegmentStore(file)) {
+            Assert.assertEquals(Set.of("foo", "bar", "baz"), store.load().keySet());
+            Assert.assertEquals((byte) 511, store.read("foo").get("a")[0]);
+        }
+    }
+}
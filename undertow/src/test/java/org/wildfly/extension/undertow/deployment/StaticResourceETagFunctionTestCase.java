@@ -0,0 +1,95 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.ETag;
+import io.undertow.util.ETagUtils;
+import io.undertow.util.Headers;
+import org.jboss.vfs.VFS;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link StaticResourceETagFunction} and the entity tags of {@link VirtualFileResource}.
+ */
+public class StaticResourceETagFunctionTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generate() throws Exception {
+        Path path = this.folder.newFile("index.html").toPath();
+        Files.write(path, "foo".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(path, FileTime.fromMillis(1000000L));
+
+        ETag tag = StaticResourceETagFunction.INSTANCE.generate(path);
+        assertNotNull(tag);
+        assertFalse(tag.isWeak());
+        assertEquals(tag, StaticResourceETagFunction.INSTANCE.generate(path));
+
+        // Entity tag changes with the size of the resource
+        Files.write(path, "foobar".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(path, FileTime.fromMillis(1000000L));
+        ETag resized = StaticResourceETagFunction.INSTANCE.generate(path);
+        assertNotEquals(tag, resized);
+
+        // Entity tag changes with the last modification time of the resource
+        Files.setLastModifiedTime(path, FileTime.fromMillis(2000000L));
+        assertNotEquals(resized, StaticResourceETagFunction.INSTANCE.generate(path));
+    }
+
+    @Test
+    public void generateDirectory() {
+        assertNull(StaticResourceETagFunction.INSTANCE.generate(this.folder.getRoot().toPath()));
+        assertNull(StaticResourceETagFunction.INSTANCE.generate(this.folder.getRoot().toPath().resolve("missing.html")));
+    }
+
+    @Test
+    public void virtualFileResource() throws Exception {
+        File file = this.folder.newFile("overlay.css");
+        Files.write(file.toPath(), "body {}".getBytes(StandardCharsets.UTF_8));
+
+        // Overlay resources use the same entity tags as deployment resources
+        VirtualFileResource resource = new VirtualFileResource(this.folder.getRoot(), VFS.getChild(file.toURI()), "/overlay.css", true);
+        assertEquals(StaticResourceETagFunction.INSTANCE.generate(file.toPath()), resource.getETag());
+
+        // Entity tags are disabled by default
+        assertNull(new VirtualFileResource(this.folder.getRoot(), VFS.getChild(file.toURI()), "/overlay.css").getETag());
+        assertNull(new VirtualFileResource(this.folder.getRoot(), VFS.getChild(this.folder.getRoot().toURI()), "/", true).getETag());
+    }
+
+    @Test
+    public void notModified() throws Exception {
+        Path path = this.folder.newFile("app.js").toPath();
+        Files.write(path, "var foo;".getBytes(StandardCharsets.UTF_8));
+        ETag tag = StaticResourceETagFunction.INSTANCE.generate(path);
+
+        // A revalidation with the current entity tag results in a 304
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.getRequestHeaders().put(Headers.IF_NONE_MATCH, tag.toString());
+        assertFalse(ETagUtils.handleIfNoneMatch(exchange, tag, true));
+
+        // A revalidation with a stale entity tag results in the modified resource
+        Files.write(path, "var foobar;".getBytes(StandardCharsets.UTF_8));
+        assertTrue(ETagUtils.handleIfNoneMatch(exchange, StaticResourceETagFunction.INSTANCE.generate(path), true));
+    }
+}